@@ -0,0 +1,306 @@
+package it.uniroma1.textadv;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+
+/**
+ * Classe che modella l'esecuzione dei comandi di un mondo condiviso tramite attori
+ * (vedi {@link MondoCondiviso.Esecuzione#ATTORI}), alternativa alle {@link SerratureStanze}.
+ *
+ * Ogni stanza ha un attore con la propria casella di posta: i comandi di un giocatore vengono inviati
+ * all'attore della sua stanza corrente, che li esegue uno alla volta, nell'ordine di arrivo.
+ * Gli attori vengono eseguiti da un piccolo pool di thread, che non cresce con il numero di giocatori.
+ *
+ * Quando un giocatore si sposta (vedi {@link Giocatore}), lo spostamento viene completato dall'attore
+ * della stanza di destinazione, a cui il comando viene passato; l'esito del comando viene consegnato
+ * al giocatore solo dopo il suo arrivo, così che i comandi successivi vengano inviati alla nuova stanza.
+ *
+ * Un comando però non agisce solo sulla stanza del suo attore: un link (ES: una porta) è condiviso dalle
+ * due stanze che collega, e i target di un'entità possono trovarsi in altre stanze. Per questo l'attore
+ * esegue ogni comando bloccando le strisce della zona della propria stanza (vedi {@link SerratureStanze}):
+ * i comandi della stessa stanza sono già in fila nella casella, quindi i lock vengono contesi solo
+ * dagli attori di stanze vicine che possono agire sullo stesso stato.
+ *
+ * Poiché ogni comando paga sia i lock sia il passaggio dalla casella, gli attori sono più lenti delle sole
+ * serrature a ogni numero di giocatori per stanza misurato (vedi {@link MondoCondiviso}).
+ *
+ * @author Gabriele
+ *
+ */
+public class AttoriStanze
+{
+	/**
+	 * Il numero massimo di comandi che un attore esegue prima di lasciare il thread ad altri attori
+	 */
+	private final static int COMANDI_PER_TURNO = 64;
+
+	/**
+	 * Il comando in esecuzione nel thread corrente (null se il thread non sta eseguendo un attore)
+	 */
+	private final static ThreadLocal<Richiesta> IN_CORSO = new ThreadLocal<>();
+
+
+	/**
+	 * Classe che modella un comando inviato a un attore
+	 *
+	 * @author Gabriele
+	 */
+	private static class Richiesta
+	{
+		/**
+		 * Il contesto del giocatore che ha inviato il comando
+		 */
+		final ContestoMondo contesto;
+
+		/**
+		 * Il comando da eseguire
+		 */
+		final Supplier<EsitoComando> comando;
+
+		/**
+		 * L'esito del comando, completato quando il comando (ed eventualmente lo spostamento) è terminato
+		 */
+		final CompletableFuture<EsitoComando> esito = new CompletableFuture<>();
+
+		/**
+		 * La stanza in cui si sta spostando il giocatore (null se il comando non lo sposta)
+		 */
+		Stanza arrivo;
+
+		/**
+		 * Il risultato del comando già eseguito, in attesa dell'arrivo del giocatore
+		 */
+		EsitoComando risultato;
+
+		/**
+		 * Costruttore della richiesta
+		 * @param contesto il contesto del giocatore
+		 * @param comando il comando da eseguire
+		 */
+		Richiesta(ContestoMondo contesto, Supplier<EsitoComando> comando)
+		{
+			this.contesto = contesto;
+			this.comando = comando;
+		}
+	}
+
+
+	/**
+	 * Classe che modella l'attore di una stanza
+	 *
+	 * @author Gabriele
+	 */
+	private class Attore implements Runnable
+	{
+		/**
+		 * La stanza dell'attore
+		 */
+		private final Stanza stanza;
+
+		/**
+		 * La casella di posta dell'attore
+		 */
+		private final Queue<Richiesta> casella = new ConcurrentLinkedQueue<>();
+
+		/**
+		 * True se l'attore è in coda per essere eseguito (o in esecuzione)
+		 */
+		private final AtomicBoolean programmato = new AtomicBoolean();
+
+		/**
+		 * Costruttore dell'attore
+		 * @param stanza la stanza dell'attore
+		 */
+		Attore(Stanza stanza)
+		{
+			this.stanza = stanza;
+		}
+
+		/**
+		 * Metodo che invia una richiesta all'attore
+		 * @param richiesta la richiesta
+		 */
+		void invia(Richiesta richiesta)
+		{
+			casella.add(richiesta);
+			programma();
+		}
+
+		/**
+		 * Metodo che mette l'attore in coda per essere eseguito, se ha posta e non è già in coda
+		 */
+		private void programma()
+		{
+			if (!casella.isEmpty() && programmato.compareAndSet(false, true))
+				esecutore.execute(this);
+		}
+
+		@Override
+		public void run()
+		{
+			for (int i = 0; i < COMANDI_PER_TURNO; i++)
+			{
+				Richiesta richiesta = casella.poll();
+
+				if (richiesta == null)
+					break;
+
+				elabora(stanza, richiesta);
+			}
+
+			programmato.set(false);
+
+			// Potrebbe essere arrivata posta dopo l'ultima lettura
+			programma();
+		}
+	}
+
+
+	/**
+	 * Gli attori delle stanze (creati al primo comando inviato alla stanza)
+	 */
+	private final Map<Stanza, Attore> attori = new ConcurrentHashMap<>();
+
+	/**
+	 * Le serrature delle stanze, con cui gli attori bloccano la zona su cui agisce un comando
+	 */
+	private final SerratureStanze serrature;
+
+	/**
+	 * Il pool che esegue gli attori
+	 */
+	private final ExecutorService esecutore;
+
+
+	/**
+	 * Costruttore degli attori
+	 * @param serrature le serrature delle stanze del mondo
+	 * @param numeroThread il numero di thread del pool che esegue gli attori
+	 */
+	AttoriStanze(SerratureStanze serrature, int numeroThread)
+	{
+		this.serrature = serrature;
+		esecutore = Executors.newFixedThreadPool(numeroThread, attore ->
+		{
+			Thread thread = new Thread(attore, "attori-stanze");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+
+	/**
+	 * Metodo che esegue un comando del giocatore del contesto dato tramite l'attore della sua stanza corrente,
+	 * aspettandone l'esito
+	 *
+	 * @param contesto il contesto del giocatore
+	 * @param comando il comando da eseguire
+	 * @return l'esito del comando
+	 */
+	EsitoComando esegui(ContestoMondo contesto, Supplier<EsitoComando> comando)
+	{
+		Richiesta richiesta = new Richiesta(contesto, comando);
+		attore(contesto.getPlayer().getStanzaCorrente()).invia(richiesta);
+
+		try
+		{
+			return richiesta.esito.join();
+		}
+		catch (CompletionException e)
+		{
+			if (e.getCause() instanceof RuntimeException)
+				throw (RuntimeException) e.getCause();
+
+			throw e;
+		}
+	}
+
+
+	/**
+	 * Metodo che sposta il giocatore nella stanza data: se il giocatore sta eseguendo un comando tramite
+	 * un attore, lo spostamento viene completato dall'attore della stanza di destinazione
+	 *
+	 * @param giocatore il giocatore da spostare
+	 * @param destinazione la stanza di destinazione
+	 */
+	void trasferisci(Giocatore giocatore, Stanza destinazione)
+	{
+		Richiesta richiesta = IN_CORSO.get();
+
+		if (richiesta == null || richiesta.contesto.getPlayer() != giocatore)
+			giocatore.setNewStanzaCorrente(destinazione);
+		else
+			richiesta.arrivo = destinazione;
+	}
+
+
+	/**
+	 * Metodo che ritorna l'attore di una stanza
+	 * @param stanza la stanza
+	 * @return l'attore della stanza
+	 */
+	private Attore attore(Stanza stanza)
+	{
+		return attori.computeIfAbsent(stanza, Attore::new);
+	}
+
+
+	/**
+	 * Metodo eseguito da un attore per elaborare una richiesta della propria casella di posta
+	 * @param stanza la stanza dell'attore
+	 * @param richiesta la richiesta da elaborare
+	 */
+	@SuppressWarnings("try")
+	private void elabora(Stanza stanza, Richiesta richiesta)
+	{
+		int[] bloccate = serrature.blocca(stanza);
+
+		try (ContestoMondo.Attivazione attivazione = richiesta.contesto.attiva())
+		{
+			// Se il comando è già stato eseguito, l'attore accoglie il giocatore nella propria stanza
+			if (richiesta.risultato != null)
+			{
+				richiesta.contesto.getPlayer().setNewStanzaCorrente(richiesta.arrivo);
+				richiesta.esito.complete(richiesta.risultato);
+				return;
+			}
+
+			IN_CORSO.set(richiesta);
+			richiesta.risultato = richiesta.comando.get();
+		}
+		catch (RuntimeException | Error e)
+		{
+			richiesta.esito.completeExceptionally(e);
+			return;
+		}
+		finally
+		{
+			IN_CORSO.remove();
+			serrature.sblocca(bloccate);
+		}
+
+		// Se il comando ha spostato il giocatore, lo passo all'attore della stanza di destinazione
+		if (richiesta.arrivo != null)
+			attore(richiesta.arrivo).invia(richiesta);
+		else
+			richiesta.esito.complete(richiesta.risultato);
+	}
+
+
+	/**
+	 * Metodo che ferma il pool degli attori (i comandi inviati dopo non verranno eseguiti)
+	 */
+	void chiudi()
+	{
+		esecutore.shutdown();
+	}
+}
@@ -0,0 +1,25 @@
+package it.uniroma1.textadv;
+
+/**
+ * Interfaccia funzionale che modella un comando testuale eseguibile dal Giocatore.
+ *
+ * I comandi vengono registrati una sola volta nel {@link RegistroComandi} e poi invocati
+ * direttamente dal {@link MotoreTestuale}, senza passare dalla reflection.
+ *
+ * @author Gabriele
+ *
+ */
+@FunctionalInterface
+public interface Comando
+{
+
+	/**
+	 * Metodo che esegue il comando sul giocatore indicato
+	 * @param giocatore il giocatore che esegue il comando
+	 * @param argomenti gli argomenti del comando (già ripuliti dalle stopwords).
+	 * 					L'array viene riusato dal motore testuale, pertanto non va conservato
+	 * @return l'esito del comando
+	 */
+	EsitoComando esegui(Giocatore giocatore, String... argomenti);
+
+}
@@ -0,0 +1,721 @@
+package it.uniroma1.textadv;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+
+import it.uniroma1.textadv.eccezioni.ConfigurazioneNonPossibileException;
+import it.uniroma1.textadv.link.Link;
+import it.uniroma1.textadv.oggetti.Oggetto;
+import it.uniroma1.textadv.output.Uscita;
+import it.uniroma1.textadv.output.UscitaBufferizzata;
+import it.uniroma1.textadv.utilita.MappaNomi;
+import it.uniroma1.textadv.utilita.NomiInterni;
+
+
+/**
+ * Classe che modella il contesto di una partita: contiene il mondo caricato, le sue stanze,
+ * i suoi oggetti, personaggi e link, il giocatore protagonista, la stanza di partenza e l'uscita
+ * su cui viene mostrato il gioco.
+ *
+ * Il mondo di un contesto può essere creato da un {@link ModelloMondo} condiviso con altri contesti:
+ * in tal caso le stanze e le entità vengono istanziate dal modello solo quando la partita le usa.
+ *
+ * I metodi statici di {@link Mondo} (ES: Mondo.getOggettoByName) lavorano sul contesto corrente:
+ * - quello attivato dal thread che li chiama (vedi {@link #attiva()})
+ * - altrimenti, il contesto predefinito (usato quando si gioca una sola partita)
+ *
+ * Ogni contesto è indipendente dagli altri, pertanto più partite possono essere giocate
+ * contemporaneamente (una per contesto), e quando una partita finisce il suo contesto può essere
+ * eliminato dal garbage collector insieme a tutto il suo mondo.
+ *
+ * Più giocatori possono giocare nello stesso mondo tramite un {@link MondoCondiviso}: ognuno ha il
+ * proprio contesto, che condivide le stanze e le entità con quelli degli altri giocatori.
+ *
+ * NOTA: un contesto non è thread-safe, pertanto può essere attivo in un solo thread alla volta.
+ *
+ * ES:
+ * 		ContestoMondo contesto = new ContestoMondo();
+ * 		Mondo mondo = contesto.carica(Paths.get("minizak.game"));
+ * 		new Gioco().play(mondo, "minizak.ff");
+ *
+ * @author Gabriele
+ *
+ */
+public class ContestoMondo
+{
+	/**
+	 * Classe che modella l'attivazione di un contesto nel thread corrente.
+	 * Alla chiusura viene riattivato il contesto che era attivo in precedenza.
+	 *
+	 * L'attivazione serve solo a delimitare il blocco in cui il contesto è attivo, e quindi non viene mai
+	 * usata nel corpo del try: i metodi che la usano sono annotati con @SuppressWarnings("try").
+	 *
+	 * @author Gabriele
+	 */
+	public static class Attivazione implements AutoCloseable
+	{
+		/**
+		 * Il contesto attivo prima dell'attivazione (null se era attivo quello predefinito)
+		 */
+		private final ContestoMondo precedente;
+
+		/**
+		 * Costruttore dell'attivazione
+		 * @param precedente il contesto attivo prima dell'attivazione
+		 */
+		private Attivazione(ContestoMondo precedente)
+		{
+			this.precedente = precedente;
+		}
+
+		@Override
+		public void close()
+		{
+			if (precedente == null)
+				ATTIVO.remove();
+			else
+				ATTIVO.set(precedente);
+		}
+	}
+
+
+	/**
+	 * Il contesto attivo in ogni thread (se non è impostato, si usa quello predefinito)
+	 */
+	private final static ThreadLocal<ContestoMondo> ATTIVO = new ThreadLocal<>();
+
+	/**
+	 * Il contesto predefinito, usato dai thread in cui non è attivo nessun contesto
+	 */
+	private final static ContestoMondo PREDEFINITO = new ContestoMondo();
+
+
+	/**
+	 * La tabella dei nomi del mondo del contesto, che dà l'identificativo ai nomi delle stanze e delle entità
+	 * (se il mondo è creato da un modello, parte dalla tabella del modello)
+	 */
+	private NomiInterni nomiInterni = new NomiInterni();
+
+	/**
+	 * Mappa che associa ad ogni nomeDellOggetto il riferimento all'oggetto istanziato
+	 * (con l'indice diretto, come le tre mappe seguenti: un array indicizzato dall'identificativo del nome)
+	 */
+	private MappaNomi<Oggetto> mappaOggettiIstanziati = new MappaNomi<>(nomiInterni, true);
+
+	/**
+	 * Mappa che associa al nome del personaggio il riferimento al Personaggio istanziato
+	 */
+	private MappaNomi<Personaggio> mappaPersonaggiIstanziati = new MappaNomi<>(nomiInterni, true);
+
+	/**
+	 * Mappa che associa al nome del link il riferimento al link istanziato
+	 */
+	private MappaNomi<Link> mappaLinkIstanziati = new MappaNomi<>(nomiInterni, true);
+
+	/**
+	 * Mappa che associa al nome della stanza il riferimento alla stanza istanziata
+	 */
+	private MappaNomi<Stanza> mappaStanzeIstanziate = new MappaNomi<>(nomiInterni, true);
+
+	/**
+	 * L'indice che associa le entità contenute ai loro contenitori (e viceversa)
+	 */
+	private IndiceContenimento contenimenti = new IndiceContenimento();
+
+	/**
+	 * Il mondo caricato nel contesto
+	 */
+	private Mondo mondo;
+
+	/**
+	 * La stanza di partenza da cui inizia il gioco
+	 */
+	private Stanza stanzaDiPartenza;
+
+	/**
+	 * Riferimento al giocatore protagonista
+	 */
+	private Giocatore player;
+
+	/**
+	 * L'uscita su cui viene mostrato tutto ciò che accade nel mondo
+	 */
+	private Uscita uscita;
+
+	/**
+	 * Il modello da cui istanziare le stanze e le entità non ancora usate
+	 * (null se il mondo è già tutto istanziato)
+	 */
+	private ModelloMondo modello;
+
+	/**
+	 * Le serrature delle stanze, se il mondo del contesto è condiviso con altri giocatori
+	 * (null se il contesto è l'unico a usarlo)
+	 */
+	private SerratureStanze serrature;
+
+	/**
+	 * Gli attori delle stanze, se i comandi sul mondo condiviso vengono eseguiti tramite attori
+	 * (null altrimenti)
+	 */
+	private AttoriStanze attori;
+
+	/**
+	 * L'indice delle stanze e delle entità usato dalle istantanee della partita
+	 * (creato alla prima istantanea)
+	 */
+	private Istantanea.Indice indiceIstantanee;
+
+
+	/**
+	 * Costruttore di un contesto vuoto, che mostra il gioco sulla console
+	 * (scritta una sola volta alla fine di ogni turno)
+	 */
+	public ContestoMondo()
+	{
+		this(new UscitaBufferizzata());
+	}
+
+
+	/**
+	 * Costruttore di un contesto vuoto
+	 * @param uscita l'uscita su cui mostrare il gioco
+	 */
+	public ContestoMondo(Uscita uscita)
+	{
+		this.uscita = uscita;
+	}
+
+
+	/**
+	 * Costruttore del contesto di un giocatore di un mondo condiviso: il contesto usa le stanze e le entità
+	 * del contesto condiviso (già tutto istanziato), ma ha un proprio giocatore e una propria uscita.
+	 *
+	 * @param condiviso il contesto del mondo condiviso
+	 * @param serrature le serrature da usare per eseguire i comandi sul mondo condiviso (oppure null)
+	 * @param attori gli attori che eseguono i comandi sul mondo condiviso (oppure null)
+	 * @param uscita l'uscita su cui mostrare il gioco del giocatore
+	 */
+	ContestoMondo(ContestoMondo condiviso, SerratureStanze serrature, AttoriStanze attori, Uscita uscita)
+	{
+		this.nomiInterni = condiviso.nomiInterni;
+		this.mappaOggettiIstanziati = condiviso.mappaOggettiIstanziati;
+		this.mappaPersonaggiIstanziati = condiviso.mappaPersonaggiIstanziati;
+		this.mappaLinkIstanziati = condiviso.mappaLinkIstanziati;
+		this.mappaStanzeIstanziate = condiviso.mappaStanzeIstanziate;
+		this.contenimenti = condiviso.contenimenti;
+		this.stanzaDiPartenza = condiviso.stanzaDiPartenza;
+		this.serrature = serrature;
+		this.attori = attori;
+		this.uscita = uscita;
+	}
+
+
+	/**
+	 * Metodo che ritorna il contesto corrente: quello attivo nel thread che lo chiama,
+	 * oppure il contesto predefinito se nel thread non è attivo nessun contesto
+	 * @return il contesto corrente
+	 */
+	public static ContestoMondo corrente()
+	{
+		ContestoMondo contesto = ATTIVO.get();
+		return contesto != null ? contesto : PREDEFINITO;
+	}
+
+
+	/**
+	 * Metodo che ritorna il contesto predefinito
+	 * @return il contesto predefinito
+	 */
+	public static ContestoMondo predefinito()
+	{
+		return PREDEFINITO;
+	}
+
+
+	/**
+	 * Metodo che attiva il contesto nel thread corrente, fino alla chiusura dell'attivazione.
+	 *
+	 * ES:
+	 * 		try (ContestoMondo.Attivazione attivazione = contesto.attiva())
+	 * 		{
+	 * 			...
+	 * 		}
+	 *
+	 * @return l'attivazione, da chiudere per riattivare il contesto precedente
+	 */
+	public Attivazione attiva()
+	{
+		Attivazione attivazione = new Attivazione(ATTIVO.get());
+		ATTIVO.set(this);
+
+		return attivazione;
+	}
+
+
+	/**
+	 * Metodo che carica nel contesto il mondo descritto dal file di configurazione dato
+	 * (eliminando il mondo caricato in precedenza nel contesto)
+	 *
+	 * @param percorso il percorso del file di configurazione del mondo
+	 * @return l'istanza del mondo
+	 *
+	 * @throws IOException sollevata se c'è stato un errore di IO
+	 * @throws ConfigurazioneNonPossibileException sollevata se è stato riscontrato un errore
+	 * 											   nel file di configurazione
+	 */
+	@SuppressWarnings("try")
+	public Mondo carica(Path percorso) throws IOException, ConfigurazioneNonPossibileException
+	{
+		try (Attivazione attivazione = attiva())
+		{
+			return MondoCompilato.carica(percorso);
+		}
+	}
+
+
+	/**
+	 * Metodo che crea nel contesto il mondo del modello dato (eliminando il mondo caricato in precedenza
+	 * nel contesto). Le stanze e le entità del mondo vengono istanziate dal modello solo quando
+	 * vengono usate, pertanto il modello può essere condiviso da molte partite.
+	 *
+	 * @param modello il modello del mondo
+	 * @return l'istanza del mondo
+	 */
+	public Mondo carica(ModelloMondo modello)
+	{
+		return modello.istanzia(this, true);
+	}
+
+
+	/**
+	 * Metodo che elimina il mondo del contesto, con tutte le sue stanze, entità e il giocatore.
+	 * L'uscita del contesto viene mantenuta.
+	 */
+	public void reset()
+	{
+		reset(new NomiInterni());
+	}
+
+
+	/**
+	 * Metodo che elimina il mondo del contesto, come {@link #reset()}, e usa la tabella dei nomi data
+	 * per il nuovo mondo
+	 * @param nomiInterni la tabella dei nomi del nuovo mondo
+	 */
+	void reset(NomiInterni nomiInterni)
+	{
+		// Creo nuove mappe invece di svuotarle, dato che potrebbero essere condivise con altri contesti
+		this.nomiInterni = nomiInterni;
+		mappaOggettiIstanziati = new MappaNomi<>(nomiInterni, true);
+		mappaPersonaggiIstanziati = new MappaNomi<>(nomiInterni, true);
+		mappaLinkIstanziati = new MappaNomi<>(nomiInterni, true);
+		mappaStanzeIstanziate = new MappaNomi<>(nomiInterni, true);
+		contenimenti = new IndiceContenimento();
+
+		stanzaDiPartenza = null;
+		player = null;
+		mondo = null;
+		modello = null;
+		serrature = null;
+		attori = null;
+		indiceIstantanee = null;
+	}
+
+
+	/**
+	 * Metodo che salva lo stato della partita del contesto in un'istantanea
+	 * (alla prima istantanea tutto il mondo viene istanziato)
+	 *
+	 * @return l'istantanea della partita
+	 */
+	public Istantanea salvaIstantanea()
+	{
+		return Istantanea.salva(this);
+	}
+
+
+	/**
+	 * Metodo che riporta la partita del contesto allo stato salvato nell'istantanea data
+	 * @param istantanea l'istantanea da ripristinare
+	 *
+	 * @throws IllegalArgumentException sollevata se l'istantanea non è di una partita del mondo del contesto
+	 */
+	@SuppressWarnings("try")
+	public void ripristina(Istantanea istantanea)
+	{
+		// Le entità ripristinate aggiornano l'indice dei contenimenti del contesto corrente
+		try (Attivazione attivazione = attiva())
+		{
+			istantanea.ripristina(this);
+		}
+	}
+
+
+	/**
+	 * Metodo che ritorna l'indice usato dalle istantanee della partita, creandolo se necessario
+	 * @return l'indice delle istantanee
+	 */
+	Istantanea.Indice getIndiceIstantanee()
+	{
+		if (indiceIstantanee == null)
+			indiceIstantanee = new Istantanea.Indice(this);
+
+		return indiceIstantanee;
+	}
+
+
+	/**
+	 * Metodo per impostare il modello da cui istanziare le stanze e le entità quando vengono usate
+	 * @param modello il modello del mondo
+	 */
+	void setModello(ModelloMondo modello)
+	{
+		this.modello = modello;
+	}
+
+
+	/**
+	 * Metodo che istanzia tutte le stanze e le entità del mondo non ancora istanziate dal modello
+	 */
+	void istanziaTutto()
+	{
+		if (modello != null)
+		{
+			ModelloMondo daIstanziare = modello;
+			modello = null;
+			daIstanziare.istanziaTutto(this);
+		}
+	}
+
+
+	/**
+	 * Metodo che ritorna l'oggetto con il nome dato, istanziandolo dal modello se necessario
+	 * @param nome il nome dell'oggetto
+	 * @return l'oggetto, oppure null se non esiste
+	 */
+	Oggetto getOggetto(String nome)
+	{
+		return getOggetto(nomiInterni.getId(nome));
+	}
+
+
+	/**
+	 * Metodo che ritorna l'oggetto con l'identificativo del nome dato, istanziandolo dal modello se necessario
+	 * @param id l'identificativo del nome dell'oggetto (vedi {@link #getNomiInterni()})
+	 * @return l'oggetto, oppure null se non esiste
+	 */
+	Oggetto getOggetto(int id)
+	{
+		Oggetto oggetto = mappaOggettiIstanziati.cerca(id);
+
+		if (oggetto == null && modello != null)
+		{
+			modello.istanziaOggetto(this, id);
+			oggetto = mappaOggettiIstanziati.cerca(id);
+		}
+
+		return oggetto;
+	}
+
+
+	/**
+	 * Metodo che ritorna il personaggio con il nome dato, istanziandolo dal modello se necessario
+	 * @param nome il nome del personaggio
+	 * @return il personaggio, oppure null se non esiste
+	 */
+	Personaggio getPersonaggio(String nome)
+	{
+		return getPersonaggio(nomiInterni.getId(nome));
+	}
+
+
+	/**
+	 * Metodo che ritorna il personaggio con l'identificativo del nome dato, istanziandolo dal modello se necessario
+	 * @param id l'identificativo del nome del personaggio (vedi {@link #getNomiInterni()})
+	 * @return il personaggio, oppure null se non esiste
+	 */
+	Personaggio getPersonaggio(int id)
+	{
+		Personaggio personaggio = mappaPersonaggiIstanziati.cerca(id);
+
+		if (personaggio == null && modello != null)
+		{
+			modello.istanziaPersonaggio(this, id);
+			personaggio = mappaPersonaggiIstanziati.cerca(id);
+		}
+
+		return personaggio;
+	}
+
+
+	/**
+	 * Metodo che ritorna il link con il nome dato, istanziandolo dal modello se necessario
+	 * @param nome il nome del link
+	 * @return il link, oppure null se non esiste
+	 */
+	Link getLink(String nome)
+	{
+		return getLink(nomiInterni.getId(nome));
+	}
+
+
+	/**
+	 * Metodo che ritorna il link con l'identificativo del nome dato, istanziandolo dal modello se necessario
+	 * @param id l'identificativo del nome del link (vedi {@link #getNomiInterni()})
+	 * @return il link, oppure null se non esiste
+	 */
+	Link getLink(int id)
+	{
+		Link link = mappaLinkIstanziati.cerca(id);
+
+		if (link == null && modello != null)
+		{
+			modello.istanziaLink(this, id);
+			link = mappaLinkIstanziati.cerca(id);
+		}
+
+		return link;
+	}
+
+
+	/**
+	 * Metodo che ritorna la stanza con il nome dato, istanziandola dal modello se necessario
+	 * @param nome il nome della stanza
+	 * @return la stanza, oppure null se non esiste
+	 */
+	Stanza getStanza(String nome)
+	{
+		return getStanza(nomiInterni.getId(nome));
+	}
+
+
+	/**
+	 * Metodo che ritorna la stanza con l'identificativo del nome dato, istanziandola dal modello se necessario
+	 * @param id l'identificativo del nome della stanza (vedi {@link #getNomiInterni()})
+	 * @return la stanza, oppure null se non esiste
+	 */
+	Stanza getStanza(int id)
+	{
+		Stanza stanza = mappaStanzeIstanziate.cerca(id);
+
+		if (stanza == null && modello != null)
+		{
+			modello.istanziaStanza(this, id);
+			stanza = mappaStanzeIstanziate.cerca(id);
+		}
+
+		return stanza;
+	}
+
+
+	/**
+	 * Metodo che ritorna la tabella dei nomi del mondo del contesto: gli identificativi dei nomi
+	 * usati dalle ricerche per identificativo (ES: {@link Mondo#getOggettoById(int)}) sono quelli di questa tabella
+	 * @return la tabella dei nomi
+	 */
+	public NomiInterni getNomiInterni()
+	{
+		return nomiInterni;
+	}
+
+
+	/**
+	 * Metodo che ritorna l'indice dei contenimenti del mondo del contesto
+	 * @return l'indice che associa le entità contenute ai loro contenitori
+	 */
+	public IndiceContenimento getContenimenti()
+	{
+		return contenimenti;
+	}
+
+
+	/**
+	 * Metodo che ritorna il mondo caricato nel contesto
+	 * @return il mondo, oppure null se non è stato caricato nessun mondo
+	 */
+	public Mondo getMondo()
+	{
+		return mondo;
+	}
+
+
+	/**
+	 * Metodo per impostare il mondo del contesto
+	 * @param mondo il mondo
+	 */
+	void setMondo(Mondo mondo)
+	{
+		this.mondo = mondo;
+	}
+
+
+	/**
+	 * Metodo che ritorna il giocatore protagonista del contesto
+	 * @return il giocatore protagonista
+	 */
+	public Giocatore getPlayer()
+	{
+		return player;
+	}
+
+
+	/**
+	 * Metodo per impostare il giocatore protagonista del contesto
+	 * @param player il giocatore protagonista
+	 */
+	void setPlayer(Giocatore player)
+	{
+		this.player = player;
+	}
+
+
+	/**
+	 * Metodo che ritorna la stanza di partenza del mondo del contesto
+	 * @return la stanza di partenza
+	 */
+	public Stanza getStanzaDiPartenza()
+	{
+		return stanzaDiPartenza;
+	}
+
+
+	/**
+	 * Metodo per impostare la stanza di partenza del mondo del contesto
+	 * @param stanzaDiPartenza la stanza di partenza
+	 */
+	void setStanzaDiPartenza(Stanza stanzaDiPartenza)
+	{
+		this.stanzaDiPartenza = stanzaDiPartenza;
+	}
+
+
+	/**
+	 * Metodo che ritorna le serrature delle stanze del mondo condiviso
+	 * @return le serrature, oppure null se il mondo del contesto non è condiviso
+	 */
+	SerratureStanze getSerrature()
+	{
+		return serrature;
+	}
+
+
+	/**
+	 * Metodo che ritorna gli attori che eseguono i comandi sul mondo condiviso
+	 * @return gli attori, oppure null se i comandi vengono eseguiti direttamente
+	 */
+	AttoriStanze getAttori()
+	{
+		return attori;
+	}
+
+
+	/**
+	 * Metodo che ritorna l'uscita su cui viene mostrato il gioco del contesto
+	 * @return l'uscita del contesto
+	 */
+	public Uscita getUscita()
+	{
+		return uscita;
+	}
+
+
+	/**
+	 * Metodo per impostare l'uscita su cui viene mostrato il gioco del contesto
+	 * @param uscita la nuova uscita
+	 */
+	public void setUscita(Uscita uscita)
+	{
+		this.uscita = uscita;
+	}
+
+
+	/**
+	 * Metodo che ritorna la mappa con tutti gli oggetti del mondo del contesto (istanziando dal modello
+	 * quelli non ancora istanziati)
+	 * @return la mappa degli oggetti
+	 */
+	Map<String, Oggetto> getMappaOggettiIstanziati()
+	{
+		istanziaTutto();
+		return mappaOggettiIstanziati;
+	}
+
+
+	/**
+	 * Metodo che ritorna la mappa con tutti i personaggi del mondo del contesto (istanziando dal modello
+	 * quelli non ancora istanziati)
+	 * @return la mappa dei personaggi
+	 */
+	Map<String, Personaggio> getMappaPersonaggiIstanziati()
+	{
+		istanziaTutto();
+		return mappaPersonaggiIstanziati;
+	}
+
+
+	/**
+	 * Metodo che ritorna la mappa con tutti i link del mondo del contesto (istanziando dal modello
+	 * quelli non ancora istanziati)
+	 * @return la mappa dei link
+	 */
+	Map<String, Link> getMappaLinkIstanziati()
+	{
+		istanziaTutto();
+		return mappaLinkIstanziati;
+	}
+
+
+	/**
+	 * Metodo che ritorna la mappa con tutte le stanze del mondo del contesto (istanziando dal modello
+	 * quelle non ancora istanziate)
+	 * @return la mappa delle stanze
+	 */
+	Map<String, Stanza> getMappaStanzeIstanziate()
+	{
+		istanziaTutto();
+		return mappaStanzeIstanziate;
+	}
+
+
+	/**
+	 * Metodo che ritorna la mappa degli oggetti già istanziati nel contesto
+	 * @return la mappa degli oggetti
+	 */
+	MappaNomi<Oggetto> mappaOggetti()
+	{
+		return mappaOggettiIstanziati;
+	}
+
+
+	/**
+	 * Metodo che ritorna la mappa dei personaggi già istanziati nel contesto
+	 * @return la mappa dei personaggi
+	 */
+	MappaNomi<Personaggio> mappaPersonaggi()
+	{
+		return mappaPersonaggiIstanziati;
+	}
+
+
+	/**
+	 * Metodo che ritorna la mappa dei link già istanziati nel contesto
+	 * @return la mappa dei link
+	 */
+	MappaNomi<Link> mappaLink()
+	{
+		return mappaLinkIstanziati;
+	}
+
+
+	/**
+	 * Metodo che ritorna la mappa delle stanze già istanziate nel contesto
+	 * @return la mappa delle stanze
+	 */
+	MappaNomi<Stanza> mappaStanze()
+	{
+		return mappaStanzeIstanziate;
+	}
+
+}
@@ -1,128 +1,229 @@
-package it.uniroma1.textadv;
-
-import java.util.Arrays;
-import java.util.LinkedHashMap;
-import java.util.List;
-import java.util.Map;
-
-import it.uniroma1.textadv.oggetti.Oggetto;
-import it.uniroma1.textadv.utilita.EntitaPrendibile;
-import it.uniroma1.textadv.utilita.Target;
-
-/**
- * Classe madre di tutte le entit che esistono nel mondo (come {@link Personaggio}, {@link Oggetto})
- * Ogni entit dispone di una propria posizione nel mondo e di un proprio nome univoco.
- * 
- * Inoltre, un'entit pu essere un target per un altra entit.
- * 
- * @author Gabriele
- *
- */
-public abstract class Entita implements Target
-{
-	
-	/**
-	 * Il nome dell'entit
-	 */
-	protected String nome;
-
-	/**
-	 * La stanza corrente in cui si trova l'entit
-	 */
-	protected Stanza stanzaCorrente;
-	
-	/**
-	 * La mappa contenente i target dell'entit
-	 * - chiave: il nome del target
-	 * - valore: il riferimento al target
-	 */
-	protected Map<String, Target> elencoTarget = new LinkedHashMap<>();
-	
-	
-	/**
-	 * Costruttore delle entit
-	 * @param nome il nome dell'entit
-	 */
-	public Entita(String nome)
-	{
-		this.nome = nome;
-	}
-	
-	
-	/**
-	 * Costruttore dell'entit
-	 * @param nome il nome dell'entit
-	 * @param entita l'elenco delle entit target dell'entit stessa
-	 */
-	public Entita(String nome, EntitaPrendibile...entita)
-	{
-		// Mi occupo dei target dell'entit
-		List<EntitaPrendibile> listaEntita = Arrays.asList(entita);
-		
-		// Per ogni entita prendibile data in input, la metto nell'elenco dei target dell'entita
-		for (EntitaPrendibile entPrendibile : listaEntita)
-		{
-			Entita ent = (Entita) entPrendibile;
-			
-			elencoTarget.put(ent.getName(), ent);
-			
-		}
-	}
-	
-	/**
-	 * Ritorna il nome dell'entit
-	 * @return il nome dell'entit
-	 */
-	public String getName() { return nome; }
-	
-	
-	/**
-	 * Metodo per settare la nuova stanza corrente di un entit
-	 * @param newStanzaCorrente la nuova stanza da settare come corrente
-	 */
-	public void setNewStanzaCorrente(Stanza newStanzaCorrente)
-	{
-		this.stanzaCorrente = newStanzaCorrente;	
-	}
-	
-	
-	/**
-	 * Metodo che ritorna la stanza corrente dell'entit
-	 * @return la stanza corrente dell'entit
-	 */
-	public Stanza getStanzaCorrente() { return stanzaCorrente; }
-	
-	
-	/**
-	 * Metodo per aggiungere un target all'elenco dei target dell'entit
-	 * @param nomeTarget il nome del target
-	 * @param target il riferimento al target
-	 */
-	public void addTarget(String nomeTarget, Target target)
-	{
-		elencoTarget.putIfAbsent(nomeTarget, target);
-	}
-
-	
-	/**
-	 * Sapendo il nome del target, ottengo il suo riferimento
-	 * 
-	 * @param nomeTarget il nome del target che si vuole ottenere
-	 * @return il riferimento al target desiderato
-	 */
-	public Target getTargetByName(String nomeTarget)
-	{		
-		return elencoTarget.get(nomeTarget);
-	}
-	
-	
-	/**
-	 * Metodo per ottenere l'elenco dei target dell'entit
-	 * @return l'elenco dei target dell'entit
-	 */
-	public Map<String, Target> getElencoTarget()
-	{
-		return elencoTarget;
-	}
-		
-}
+package it.uniroma1.textadv;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import it.uniroma1.textadv.oggetti.Oggetto;
+import it.uniroma1.textadv.utilita.Capacita;
+import it.uniroma1.textadv.utilita.Contenitore;
+import it.uniroma1.textadv.utilita.EntitaPrendibile;
+import it.uniroma1.textadv.utilita.MappaNomi;
+import it.uniroma1.textadv.utilita.NomiInterni;
+import it.uniroma1.textadv.utilita.Target;
+
+/**
+ * Classe madre di tutte le entità che esistono nel mondo (come {@link Personaggio}, {@link Oggetto})
+ * Ogni entità dispone di una propria posizione nel mondo e di un proprio nome univoco.
+ * 
+ * Inoltre, un'entità può essere un target per un altra entità.
+ * 
+ * @author Gabriele
+ *
+ */
+public abstract class Entita implements Target
+{
+	
+	/**
+	 * Il nome dell'entità
+	 */
+	protected String nome;
+	
+	/**
+	 * L'identificativo intero del nome dell'entità, nella tabella dei nomi del contesto
+	 * in cui l'entità è stata creata (vedi {@link ContestoMondo#getNomiInterni()})
+	 */
+	private final int id;
+
+	/**
+	 * La stanza corrente in cui si trova l'entità
+	 */
+	protected Stanza stanzaCorrente;
+	
+	/**
+	 * La mappa contenente i target dell'entità
+	 * - chiave: il nome del target
+	 * - valore: il riferimento al target
+	 */
+	protected MappaNomi<Target> elencoTarget;
+	
+	/**
+	 * L'insieme delle capacità dell'entità (vedi {@link Capacita})
+	 */
+	private final int capacita = Capacita.di(getClass());
+	
+	
+	/**
+	 * Costruttore delle entità
+	 * @param nome il nome dell'entità
+	 */
+	public Entita(String nome)
+	{
+		NomiInterni nomiInterni = ContestoMondo.corrente().getNomiInterni();
+		
+		this.nome = nome;
+		this.id = nomiInterni.interna(nome);
+		this.elencoTarget = new MappaNomi<>(nomiInterni);
+	}
+	
+	
+	/**
+	 * Costruttore dell'entità
+	 * @param nome il nome dell'entità
+	 * @param entita l'elenco delle entità target dell'entità stessa
+	 */
+	public Entita(String nome, EntitaPrendibile...entita)
+	{
+		this(nome);
+		
+		// Mi occupo dei target dell'entità
+		List<EntitaPrendibile> listaEntita = Arrays.asList(entita);
+		
+		// Per ogni entita prendibile data in input, la metto nell'elenco dei target dell'entita
+		for (EntitaPrendibile entPrendibile : listaEntita)
+		{
+			Entita ent = (Entita) entPrendibile;
+			
+			elencoTarget.put(ent.getName(), ent);
+			contieni(ent);
+		}
+	}
+	
+	/**
+	 * Ritorna il nome dell'entità
+	 * @return il nome dell'entità
+	 */
+	public String getName() { return nome; }
+	
+	
+	/**
+	 * Ritorna l'identificativo intero del nome dell'entità
+	 * @return l'identificativo del nome dell'entità
+	 */
+	public int getId() { return id; }
+	
+	
+	/**
+	 * Ritorna l'insieme delle capacità dell'entità
+	 * @return l'insieme delle capacità dell'entità
+	 */
+	@Override
+	public int getCapacita() { return capacita; }
+	
+	
+	/**
+	 * Metodo per settare la nuova stanza corrente di un entità
+	 * @param newStanzaCorrente la nuova stanza da settare come corrente
+	 */
+	public void setNewStanzaCorrente(Stanza newStanzaCorrente)
+	{
+		this.stanzaCorrente = newStanzaCorrente;	
+	}
+	
+	
+	/**
+	 * Metodo che ritorna la stanza corrente dell'entità
+	 * @return la stanza corrente dell'entità
+	 */
+	public Stanza getStanzaCorrente() { return stanzaCorrente; }
+	
+	
+	/**
+	 * Metodo per aggiungere un target all'elenco dei target dell'entità
+	 * @param nomeTarget il nome del target
+	 * @param target il riferimento al target
+	 */
+	public void addTarget(String nomeTarget, Target target)
+	{
+		elencoTarget.putIfAbsent(nomeTarget, target);
+		
+		// Se il target è stato aggiunto, l'entità lo contiene
+		if (target != null && elencoTarget.get(nomeTarget) == target)
+			contieni(target);
+	}
+	
+	
+	/**
+	 * Metodo che ritorna l'entità che contiene l'entità (ES: il cassetto che contiene la chiave),
+	 * secondo l'indice dei contenimenti del mondo corrente (vedi {@link IndiceContenimento})
+	 * @return l'entità che la contiene, oppure null se non è contenuta in nessuna entità
+	 * 		   o se è già stata rilasciata nella stanza
+	 */
+	public Entita getContenitore()
+	{
+		return ContestoMondo.corrente().getContenimenti().getContenitore(this);
+	}
+	
+	
+	/**
+	 * Metodo che mette nell'entità il target dato, se l'entità è un {@link Contenitore} e il target è un'entità.
+	 * I target delle altre entità non sono contenuti in esse (ES: la chiave non contiene l'armadio che apre)
+	 * @param target il target contenuto dall'entità
+	 */
+	protected void contieni(Target target)
+	{
+		if (this instanceof Contenitore && target instanceof Entita)
+			ContestoMondo.corrente().getContenimenti().contieni(this, (Entita) target);
+	}
+	
+	
+	/**
+	 * Metodo che rilascia il target dato, se è un'entità contenuta dall'entità
+	 * (ES: quando il salvadanaio viene rotto i soldi non sono più al suo interno)
+	 * @param target il target rilasciato dall'entità
+	 */
+	protected void rilascia(Target target)
+	{
+		if (target instanceof Entita)
+			ContestoMondo.corrente().getContenimenti().rilascia(this, (Entita) target);
+	}
+	
+	
+	/**
+	 * Metodo che toglie dall'entità un'entità che contiene, se la contiene ancora
+	 * (ES: quando il giocatore prende la chiave dalla scrivania).
+	 * Se più giocatori di un mondo condiviso tolgono la stessa entità, solo uno ci riesce
+	 * 
+	 * @param contenuta l'entità da togliere
+	 * @return true se l'entità è stata tolta, false se non è (più) contenuta nell'entità
+	 */
+	boolean togli(Entita contenuta)
+	{
+		return ContestoMondo.corrente().getContenimenti().rilascia(this, contenuta);
+	}
+
+	
+	/**
+	 * Sapendo il nome del target, ottengo il suo riferimento
+	 * 
+	 * @param nomeTarget il nome del target che si vuole ottenere
+	 * @return il riferimento al target desiderato
+	 */
+	public Target getTargetByName(String nomeTarget)
+	{		
+		return elencoTarget.get(nomeTarget);
+	}
+	
+	
+	/**
+	 * Sapendo l'identificativo del nome del target, ottengo il suo riferimento
+	 * 
+	 * @param idTarget l'identificativo del nome del target (vedi {@link ContestoMondo#getNomiInterni()})
+	 * @return il riferimento al target desiderato
+	 */
+	public Target getTargetById(int idTarget)
+	{
+		return elencoTarget.cerca(idTarget);
+	}
+	
+	
+	/**
+	 * Metodo per ottenere l'elenco dei target dell'entità
+	 * @return l'elenco dei target dell'entità
+	 */
+	public Map<String, Target> getElencoTarget()
+	{
+		return elencoTarget;
+	}
+		
+}
@@ -0,0 +1,164 @@
+package it.uniroma1.textadv;
+
+/**
+ * Classe che modella l'esito di un comando eseguito dal Giocatore.
+ *
+ * Un comando rifiutato (ES: prendere un oggetto che non c'è) è un caso normale del gioco,
+ * pertanto non viene comunicato con un'eccezione ma con un esito, che riporta:
+ * - uno stato, che indica se il comando è andato a buon fine o perchè è stato rifiutato
+ * - la chiave del messaggio da mostrare al giocatore e i suoi argomenti
+ *
+ * Il testo del messaggio viene composto solamente quando viene richiesto.
+ *
+ * @author Gabriele
+ *
+ */
+public class EsitoComando
+{
+	/**
+	 * Enumerazione dei possibili stati di un comando
+	 *
+	 * @author Gabriele
+	 */
+	public enum Stato { OK, NON_PRESENTE, IMPOSSIBILE, NON_SUPPORTATO, NON_RICONOSCIUTO, ERRORE }
+
+
+	/**
+	 * Esito di un comando andato a buon fine che non ha niente da comunicare
+	 */
+	public final static EsitoComando OK = new EsitoComando(Stato.OK, null);
+
+
+	/**
+	 * Lo stato del comando
+	 */
+	private final Stato stato;
+
+	/**
+	 * La chiave del messaggio da mostrare (null se non c'è niente da mostrare)
+	 */
+	private final Messaggio chiave;
+
+	/**
+	 * Gli argomenti del messaggio
+	 */
+	private final Object[] argomenti;
+
+
+	/**
+	 * Costruttore dell'esito
+	 * @param stato lo stato del comando
+	 * @param chiave la chiave del messaggio
+	 * @param argomenti gli argomenti del messaggio
+	 */
+	public EsitoComando(Stato stato, Messaggio chiave, Object... argomenti)
+	{
+		this.stato = stato;
+		this.chiave = chiave;
+		this.argomenti = argomenti;
+	}
+
+
+	/**
+	 * Metodo che crea l'esito di un comando andato a buon fine
+	 * @param chiave la chiave del messaggio
+	 * @param argomenti gli argomenti del messaggio
+	 * @return l'esito del comando
+	 */
+	public static EsitoComando ok(Messaggio chiave, Object... argomenti)
+	{
+		return new EsitoComando(Stato.OK, chiave, argomenti);
+	}
+
+
+	/**
+	 * Metodo che crea l'esito di un comando rifiutato perchè riguarda qualcosa che non c'è
+	 * @param chiave la chiave del messaggio
+	 * @param argomenti gli argomenti del messaggio
+	 * @return l'esito del comando
+	 */
+	public static EsitoComando nonPresente(Messaggio chiave, Object... argomenti)
+	{
+		return new EsitoComando(Stato.NON_PRESENTE, chiave, argomenti);
+	}
+
+
+	/**
+	 * Metodo che crea l'esito di un comando rifiutato perchè non può essere portato a termine
+	 * @param chiave la chiave del messaggio
+	 * @param argomenti gli argomenti del messaggio
+	 * @return l'esito del comando
+	 */
+	public static EsitoComando impossibile(Messaggio chiave, Object... argomenti)
+	{
+		return new EsitoComando(Stato.IMPOSSIBILE, chiave, argomenti);
+	}
+
+
+	/**
+	 * Metodo che ritorna lo stato del comando
+	 * @return lo stato del comando
+	 */
+	public Stato getStato()
+	{
+		return stato;
+	}
+
+
+	/**
+	 * Metodo che ritorna true se il verbo del comando non è stato riconosciuto
+	 * @return true se il verbo del comando non corrisponde a nessuna operazione, false altrimenti
+	 */
+	public boolean isNonRiconosciuto()
+	{
+		return stato == Stato.NON_RICONOSCIUTO;
+	}
+
+
+	/**
+	 * Metodo che ritorna true se il comando è andato a buon fine
+	 * @return true se il comando è andato a buon fine, false altrimenti
+	 */
+	public boolean isOk()
+	{
+		return stato == Stato.OK;
+	}
+
+
+	/**
+	 * Metodo che ritorna la chiave del messaggio dell'esito
+	 * @return la chiave del messaggio, oppure null se non c'è niente da mostrare
+	 */
+	public Messaggio getChiave()
+	{
+		return chiave;
+	}
+
+
+	/**
+	 * Metodo che ritorna gli argomenti del messaggio
+	 * @return gli argomenti del messaggio
+	 */
+	public Object[] getArgomenti()
+	{
+		return argomenti;
+	}
+
+
+	/**
+	 * Metodo che compone il messaggio da mostrare al giocatore
+	 * @return il messaggio composto, oppure null se non c'è niente da mostrare
+	 */
+	public String getMessaggio()
+	{
+		return chiave == null ? null : chiave.componi(argomenti);
+	}
+
+
+	@Override
+	public String toString()
+	{
+		return stato + (chiave == null ? "" : ": " + getMessaggio());
+	}
+
+}
@@ -0,0 +1,19 @@
+package it.uniroma1.textadv;
+
+/**
+ * Interfaccia che permette di aggiungere nuovi tipi di entità al {@link RegistroTipi} predefinito.
+ *
+ * Le implementazioni vengono trovate tramite {@link java.util.ServiceLoader}, pertanto vanno dichiarate
+ * nel file META-INF/services/it.uniroma1.textadv.FornitoreTipi (oppure con provides nel module-info).
+ *
+ * @author Gabriele
+ *
+ */
+public interface FornitoreTipi
+{
+	/**
+	 * Metodo che registra i propri tipi di entità
+	 * @param registro il registro in cui registrarli
+	 */
+	void registra(RegistroTipi registro);
+}
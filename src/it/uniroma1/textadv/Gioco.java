@@ -1,268 +1,465 @@
-package it.uniroma1.textadv;
-
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.InputStreamReader;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.util.List;
-
-import it.uniroma1.textadv.eccezioni.ImpossibileGiocareException;
-import it.uniroma1.textadv.eccezioni.OperazioneNonSupportataException;
-import it.uniroma1.textadv.oggetti.Tesoro;
-import it.uniroma1.textadv.utilita.EntitaPrendibile;
-
-
-/**
- * Classe che modella il Gioco.
- * 
- * Il gioco pu essere giocato in modalit .ff (ossia eseguendo i comandi presenti in file di testo)
- * oppure manualmente, digitando i comandi da tastiera.
- * 
- * Nel caso di gioco in modalit manuale, il gioco termina solamente quando il Giocatore trova l'obiettivo
- * 
- * @author Gabriele
- *
- */
-public class Gioco 
-{
-	
-	/**
-	 * Enumerazione che specifica i possibili stati di gioco
-	 * 
-	 * @author Gabriele
-	 */
-	enum StatoDiGioco { BLOCKED, RUNNING, WIN }
-	
-	/**
-	 * Il nome dell'obiettivo del gioco
-	 */
-	public final static String TESORO = "tesoro";
-	
-	
-	/**
-	 * Lo stato corrente del gioco. 
-	 * Di default prima di iniziare  Blocked
-	 */
-	private StatoDiGioco statoGame = StatoDiGioco.BLOCKED;
-	
-	
-	/**
-	 * Metodo che dato un mondo, fa partire il gioco
- 	 * @param world il mondo su cui giocare
-	 */
-	public void play(Mondo world)
-	{
-		// Do il benvenuto al giocatore, dando una descrizione del mondo
-		welcome(world);
-		
-		// Inizializzo il motore testuale che si occupa del parsing dei comandi
-		MotoreTestuale motoreTestuale = new MotoreTestuale();
-		
-		// Per la lettura dell'input da tastiera
-		BufferedReader terminalReader = new BufferedReader(new InputStreamReader(System.in));
-		
-		// Fino a che il gioco  in esecuzione
-		while(statoGame == StatoDiGioco.RUNNING)
-		{
-			// Formatto l'output sul terminale
-			System.out.println();
-			
-			try 
-			{
-				// Leggo l'input da tastiera
-				String inputTastiera = terminalReader.readLine();
-				
-				// Analizzo l'input letto e invoco il comando pi adeguato
-				motoreTestuale.parseAndExecute(inputTastiera);
-			}
-			catch (IOException e)
-			{
-				System.out.println("[ERROR] Nella lettura dell'input! Re-inserire il comando!");
-				//e.printStackTrace();
-			}
-			catch(OperazioneNonSupportataException e) 
-			{
-				System.out.println(e.getMessage());
-			} 
-			
-			// Richiamo il metodo per verificare se il giocatore ha vinto.
-			// Se cosi fosse, il gioco termina
-			endGame();
-
-		}
-		
-		
-		try 
-		{
-			// Chiudo il BufferedReader usato per leggere gli input
-			terminalReader.close();
-		} 
-		catch (IOException e) 
-		{
-			System.out.println("[ERROR] Nella chiusura del Lettore dell'input! ");
-			//e.printStackTrace();
-		}
-		
-	}	
-	
-	
-	/**
-	 * Metodo che dato un mondo e un file script .ff gioca nel mondo eseguendo tutti i comandi
-	 * testuali del file
-	 * 
-	 * @param world il mondo su cui giocare
-	 * @param script il file .ff contenente i comandi testuali da eseguire
-	 * 
-	 * @throws ImpossibileGiocareException sollevata se si verificano errori durante il gioco 
-	 */
-	public void play(Mondo world, Path script) throws ImpossibileGiocareException
-	{
-		// Verifico che il formato del file che voglio eseguire in fastforward sia corretto
-		if ( !script.toString().endsWith(".ff") )
-			throw new ImpossibileGiocareException("Il formato del file fastforward non : .ff");
-		
-		// Do il benvenuto al giocatore, dando una descrizione del mondo
-		welcome(world);
-		
-		// Inizializzo il motore testuale che si occuper della traduzione dei comandi
-		MotoreTestuale motoreTestuale = new MotoreTestuale();
-		
-		try 
-		{
-			// Ottengo una lista con tutte le linee (separate) del file .ff
-			List<String> lineeFile = Files.readAllLines(script);
-			
-			// Eseguo una alla volta ogni riga del file .ff
-			for (String linea : lineeFile)
-			{
-				// Se presenti, rimuovo i commenti dalla linea
-				linea = removeCommenti(linea);
-
-				// Analizzo ed eseguo la linea letta dal file
-				motoreTestuale.parseAndExecute(linea);
-			
-			}
-		}
-		catch (IOException | SecurityException | IllegalArgumentException e)
-		{
-			e.printStackTrace();
-		} 
-		catch (OperazioneNonSupportataException e) 
-		{
-			// Se un operazione del file .ff non  supportata sollevo l'eccezione
-			throw new ImpossibileGiocareException("Operazione non riconosciuta: " + e.getMessage());
-		} 
-		
-		// Chiamo il metodo che si occupa di verificare se l'utente ha terminato il gioco
-		endGameFastForward();
-	}
-	
-	
-	
-	/**
-	 * Dato il nome del file .ff e un mondo, gioco in fast forward all'avventura testuale
-	 * 
-	 * @param world il mondo su cui giocare
-	 * @param nomeFileScript il nome del file script .ff dal quale prendere i comandi e giocare 
-	 */
-	public void play(Mondo world, String nomeFileScript)
-	{
-		
-		try 
-		{
-			// Richiamo il metodo per giocare sapendo il percorso del file
-			play(world, Paths.get(nomeFileScript));
-		}
-		catch (ImpossibileGiocareException e) 
-		{
-			System.out.println("[ERROR] " + e.getMessage());
-		}
-	}
-	
-	
-	
-	
-	/**
-	 * Metodo di utilit pre rimuovere i commenti dalle linee
-	 * @param linea la linea letta dal file
-	 * @return la linea senza il commento
-	 */
-	private String removeCommenti(String linea)
-	{
-		// Se presente, rimuovo dalla linea il commento
-		// In lineaSplittata[0] = il comando espresso nella linea
-		// In lineaSplittata[1] = il commento sulla linea
-		String[] lineaSplittata = linea.split(" //|\\t//");
-		
-		// Ritorno solamente il comando da gestire
-		return lineaSplittata[0];
-	}
-	
-	
-	
-	/**
-	 * Metodo che dato un riferimento al mondo di gioco, da il benvenuto al giocatore fornendo
-	 * indicazioni sul gioco
-	 * 
-	 * @param world il mondo di gioco
-	 */
-	private void welcome(Mondo world)
-	{
-		// Cambio lo stato del gioco per indicare che il gioco  in esecuzione
-		statoGame = StatoDiGioco.RUNNING;
-		
-		// Il gioco inizia mostrando la descrizione del mondo
-		System.out.println(world);
-		System.out.println("[ISTRUZIONI] Per giocare inserisci i comandi da tastiera!");
-		System.out.println("[CONSIGLIO] Guardati attentamente intorno!");
-		
-		
-		System.out.println("\n[START GAME]\nSei " + Mondo.getPlayer() + ", e ti trovi nella " + Mondo.getStanzaDiPartenza());
-		System.out.println("==> L'obiettivo del gioco  trovare e prendere il tesoro! <==\n");
-		
-	}
-	
-	
-	/**
-	 * Metodo che si occupa di verificare se il gioco  terminato.
-	 * Valido per giocare sia in .ff sia manualmente.
-	 * 
-	 * @return true se il giocatore ha vinto, false se  ancora in gioco
-	 */
-	private boolean endGame()
-	{
-		// Ricavo il riferimento all'entit chiamata tesoro
-		Entita ogg = Mondo.getOggettoByName(TESORO);
-		
-		// Se tale entit  davvero un tesoro, allora faccio l'upCasting a EntitPrendibile
-		EntitaPrendibile tesoro = ogg instanceof Tesoro ? (EntitaPrendibile) ogg : null;
-		
-		// Se il Giocatore ha nel suo inventario il tesoro, allora ha vinto
-		if (tesoro != null && Mondo.getPlayer().getInventario().contains(tesoro))
-		{
-			// Imposto la vittoria del giocatore
-			statoGame = StatoDiGioco.WIN;
-			
-			System.out.println("\n\n==> <Congratulazioni!! Hai terminato il gioco!!> <==");
-			return true;
-		}
-		// Altrimenti non  ancora finito il gioco
-		else
-			return false;
-	}
-	
-	
-	/**
-	 * Metodo per verificare se il gioco in .ff  terminato con la vittoria o meno del giocatore
-	 */
-	private void endGameFastForward()
-	{
-		// Se il gioco in .ff  finito ma il giocatore non ha vinto, allora ha perso
-		if ( !endGame() )
-			System.out.println("\n\n==> <GAME OVER: non hai trovato il tesoro!> <==");
-	}
-	
-	
-}
+package it.uniroma1.textadv;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import it.uniroma1.textadv.eccezioni.ImpossibileGiocareException;
+import it.uniroma1.textadv.oggetti.Tesoro;
+import it.uniroma1.textadv.output.Uscita;
+import it.uniroma1.textadv.utilita.EntitaPrendibile;
+
+
+/**
+ * Classe che modella il Gioco.
+ * 
+ * Il gioco può essere giocato in modalità .ff (ossia eseguendo i comandi presenti in file di testo)
+ * oppure manualmente, digitando i comandi da tastiera.
+ * 
+ * Nel caso di gioco in modalità manuale, il gioco termina solamente quando il Giocatore trova l'obiettivo
+ * 
+ * Ogni partita viene giocata nel {@link ContestoMondo} del mondo dato, indipendentemente dalle altre.
+ * 
+ * @author Gabriele
+ *
+ */
+public class Gioco 
+{
+	
+	/**
+	 * Enumerazione che specifica i possibili stati di gioco
+	 * 
+	 * @author Gabriele
+	 */
+	enum StatoDiGioco { BLOCKED, RUNNING, WIN }
+	
+	/**
+	 * Il nome dell'obiettivo del gioco
+	 */
+	public final static String TESORO = "tesoro";
+	
+	/**
+	 * Valore da usare come linea finale per eseguire uno script fino alla fine
+	 */
+	public final static long FINE_SCRIPT = Long.MAX_VALUE;
+	
+	/**
+	 * Dimensione (in byte) oltre la quale uno script .ff non viene compilato
+	 * ma eseguito man mano che viene letto
+	 */
+	public final static long MAX_DIMENSIONE_SCRIPT_COMPILATO = 8 * 1024 * 1024;
+	
+	
+	/**
+	 * Lo stato corrente del gioco. 
+	 * Di default prima di iniziare è Blocked
+	 */
+	private StatoDiGioco statoGame = StatoDiGioco.BLOCKED;
+	
+	
+	/**
+	 * Metodo che dato un mondo, fa partire il gioco
+ 	 * @param world il mondo su cui giocare
+	 */
+	@SuppressWarnings("try")
+	public void play(Mondo world)
+	{
+		// Per la lettura dell'input da tastiera
+		BufferedReader terminalReader = new BufferedReader(new InputStreamReader(System.in));
+		
+		// Gioco leggendo i comandi da tastiera
+		play(world, terminalReader);
+		
+		// Gioco nel contesto del mondo dato
+		try (ContestoMondo.Attivazione contesto = world.getContesto().attiva())
+		{
+			// Chiudo il BufferedReader usato per leggere gli input
+			terminalReader.close();
+		} 
+		catch (IOException e) 
+		{
+			Mondo.getUscita().println("[ERROR] Nella chiusura del Lettore dell'input! ");
+			Mondo.getUscita().fineTurno();
+			//e.printStackTrace();
+		}
+	}	
+	
+	
+	/**
+	 * Metodo che dato un mondo, fa partire il gioco leggendo i comandi dal lettore dato
+	 * (ES: la tastiera oppure la connessione di un giocatore remoto).
+	 * 
+	 * Il gioco termina quando il giocatore trova l'obiettivo, quando l'input finisce
+	 * oppure quando la lettura va in timeout (il lettore non viene chiuso).
+	 * 
+ 	 * @param world il mondo su cui giocare
+ 	 * @param input il lettore da cui leggere i comandi, uno per riga
+	 */
+	@SuppressWarnings("try")
+	public void play(Mondo world, BufferedReader input)
+	{
+		// Gioco nel contesto del mondo dato, così che più partite possano essere giocate contemporaneamente
+		try (ContestoMondo.Attivazione contesto = world.getContesto().attiva())
+		{
+			// Do il benvenuto al giocatore, dando una descrizione del mondo
+			welcome(world);
+			
+			// Inizializzo il motore testuale che si occupa del parsing dei comandi
+			MotoreTestuale motoreTestuale = new MotoreTestuale();
+			
+			// L'uscita su cui mostrare il gioco
+			Uscita uscita = Mondo.getUscita();
+			
+			// Fino a che il gioco è in esecuzione
+			while(statoGame == StatoDiGioco.RUNNING)
+			{
+				// Formatto l'output sul terminale
+				uscita.println();
+				
+				// Mostro il turno prima di aspettare il prossimo comando
+				uscita.fineTurno();
+				
+				try 
+				{
+					// Leggo l'input da tastiera
+					String inputTastiera = input.readLine();
+					
+					// Se l'input è finito (ES: connessione chiusa) il gioco si interrompe
+					if (inputTastiera == null)
+					{
+						statoGame = StatoDiGioco.BLOCKED;
+						break;
+					}
+					
+					// Analizzo l'input letto e invoco il comando più adeguato
+					EsitoComando esito = motoreTestuale.parseAndExecute(inputTastiera);
+					
+					// Se il verbo non è riconosciuto lo comunico al giocatore
+					if (esito.isNonRiconosciuto())
+						uscita.println("[ERROR] " + esito.getMessaggio());
+				}
+				catch (InterruptedIOException e)
+				{
+					// Nessun comando ricevuto entro il timeout: il gioco si interrompe
+					uscita.println("[ERROR] Nessun comando ricevuto in tempo: la partita termina!");
+					statoGame = StatoDiGioco.BLOCKED;
+					break;
+				}
+				catch (IOException e)
+				{
+					uscita.println("[ERROR] Nella lettura dell'input! Re-inserire il comando!");
+					//e.printStackTrace();
+				}
+				
+				// Richiamo il metodo per verificare se il giocatore ha vinto.
+				// Se cosi fosse, il gioco termina
+				endGame();
+	
+			}
+			
+			// Mostro la fine del gioco
+			uscita.fineTurno();
+		}
+	}
+	
+	
+	/**
+	 * Metodo che dato un mondo e un file script .ff gioca nel mondo eseguendo tutti i comandi
+	 * testuali del file
+	 * 
+	 * @param world il mondo su cui giocare
+	 * @param script il file .ff contenente i comandi testuali da eseguire
+	 * 
+	 * @throws ImpossibileGiocareException sollevata se si verificano errori durante il gioco 
+	 */
+	@SuppressWarnings("try")
+	public void play(Mondo world, Path script) throws ImpossibileGiocareException
+	{
+		// Gioco nel contesto del mondo dato
+		try (ContestoMondo.Attivazione contesto = world.getContesto().attiva())
+		{
+			// Verifico che il formato del file che voglio eseguire in fastforward sia corretto
+			if ( !script.toString().endsWith(".ff") )
+				throw new ImpossibileGiocareException("Il formato del file fastforward non è: .ff");
+			
+			// Gli script molto grandi non vengono compilati (la forma compilata starebbe tutta in memoria),
+			// ma eseguiti man mano che vengono letti
+			if (isScriptGrande(script))
+			{
+				play(world, script, 0, FINE_SCRIPT);
+				return;
+			}
+			
+			// Do il benvenuto al giocatore, dando una descrizione del mondo
+			welcome(world);
+			
+			// Inizializzo il motore testuale che si occuperà della traduzione dei comandi
+			MotoreTestuale motoreTestuale = new MotoreTestuale();
+			
+			try 
+			{
+				// Ottengo lo script già compilato (viene compilato solo se il file .ff è cambiato)
+				ScriptCompilato compilato = ScriptCompilato.carica(script);
+				
+				// Eseguo una alla volta ogni istruzione del file .ff
+				for (int i = 0; i < compilato.size(); i++)
+				{
+					// Eseguo l'istruzione, senza dover analizzare di nuovo la linea
+					EsitoComando esito = motoreTestuale.esegui(compilato, i);
+					
+					// Se l'operazione del file .ff non è riconosciuta, mostro quanto eseguito finora e interrompo lo script
+					if (esito.isNonRiconosciuto())
+					{
+						Mondo.getUscita().fineTurno();
+						throw new ImpossibileGiocareException(esito.getMessaggio());
+					}
+					
+					// Il turno è finito: ne mostro l'output
+					Mondo.getUscita().fineTurno();
+				}
+			}
+			catch (IOException | SecurityException | IllegalArgumentException e)
+			{
+				e.printStackTrace();
+			} 
+			
+			// Chiamo il metodo che si occupa di verificare se l'utente ha terminato il gioco
+			endGameFastForward();
+			Mondo.getUscita().fineTurno();
+		}
+	}
+	
+	
+	
+	/**
+	 * Metodo che dato un mondo e un file script .ff gioca nel mondo eseguendo i comandi testuali
+	 * del file compresi tra due linee.
+	 * 
+	 * Lo script viene letto ed eseguito una linea alla volta, senza mai caricarlo tutto in memoria:
+	 * in questo modo possono essere eseguiti anche script con milioni di linee, ed è possibile
+	 * riprendere un'esecuzione interrotta dalla linea in cui si era fermata.
+	 * Il benvenuto viene mostrato solo partendo dalla prima linea, e la fine del gioco solo
+	 * quando viene raggiunto il termine dello script.
+	 * 
+	 * @param world il mondo su cui giocare
+	 * @param script il file .ff contenente i comandi testuali da eseguire
+	 * @param lineaIniziale la prima linea da eseguire (a partire da 0)
+	 * @param lineaFinale la linea a cui fermarsi, esclusa (FINE_SCRIPT per eseguire tutto lo script)
+	 * @return la linea da cui riprendere l'esecuzione (se è stato raggiunto il termine dello script,
+	 * 		   il numero di linee dello script)
+	 * 
+	 * @throws ImpossibileGiocareException sollevata se si verificano errori durante il gioco
+	 * 										(compresi quelli nella lettura dello script)
+	 */
+	@SuppressWarnings("try")
+	public long play(Mondo world, Path script, long lineaIniziale, long lineaFinale) throws ImpossibileGiocareException
+	{
+		// Gioco nel contesto del mondo dato
+		try (ContestoMondo.Attivazione contesto = world.getContesto().attiva())
+		{
+			// Verifico che il formato del file che voglio eseguire in fastforward sia corretto
+			if ( !script.toString().endsWith(".ff") )
+				throw new ImpossibileGiocareException("Il formato del file fastforward non è: .ff");
+			
+			// Verifico che le linee da eseguire siano valide
+			if (lineaIniziale < 0 || lineaFinale < lineaIniziale)
+				throw new ImpossibileGiocareException("Linee da eseguire non valide: " + lineaIniziale + "-" + lineaFinale);
+			
+			// Do il benvenuto al giocatore, dando una descrizione del mondo, solo all'inizio dello script:
+			// chi riprende un'esecuzione interrotta lo ha già visto
+			if (lineaIniziale == 0)
+				welcome(world);
+			else
+				statoGame = StatoDiGioco.RUNNING;
+			
+			// Inizializzo il motore testuale che si occuperà della traduzione dei comandi
+			MotoreTestuale motoreTestuale = new MotoreTestuale();
+			
+			// Il numero della prossima linea da leggere, e se è stato raggiunto il termine dello script
+			long linea = 0;
+			boolean finito = false;
+			
+			try (BufferedReader reader = Files.newBufferedReader(script))
+			{
+				// Salto le linee che precedono la linea iniziale
+				while (!finito && linea < lineaIniziale)
+				{
+					if (reader.readLine() == null)
+						finito = true;
+					else
+						linea++;
+				}
+				
+				// Eseguo una alla volta ogni linea letta, fino alla linea finale
+				while (!finito && linea < lineaFinale)
+				{
+					String testo = reader.readLine();
+					
+					if (testo == null)
+					{
+						finito = true;
+						break;
+					}
+					
+					// Se presente, rimuovo il commento dalla linea, poi la analizzo ed eseguo
+					EsitoComando esito = motoreTestuale.parseAndExecute(ScriptCompilato.rimuoviCommento(testo));
+					
+					// Se l'operazione del file .ff non è riconosciuta, mostro quanto eseguito finora e interrompo lo script
+					if (esito.isNonRiconosciuto())
+					{
+						Mondo.getUscita().fineTurno();
+						throw new ImpossibileGiocareException(esito.getMessaggio());
+					}
+					linea++;
+					
+					// Il turno è finito: ne mostro l'output
+					Mondo.getUscita().fineTurno();
+				}
+			}
+			catch (IOException | SecurityException e)
+			{
+				// Mostro quanto eseguito finora, poi comunico che lo script non può essere letto
+				Mondo.getUscita().fineTurno();
+				throw new ImpossibileGiocareException("Impossibile leggere lo script " + script + ": " + e.getMessage());
+			} 
+			
+			// Se lo script è finito, chiamo il metodo che si occupa di verificare se l'utente ha terminato il gioco
+			if (finito)
+			{
+				endGameFastForward();
+				Mondo.getUscita().fineTurno();
+			}
+			
+			return linea;
+		}
+	}
+	
+	
+	/**
+	 * Metodo che indica se l'ultima partita giocata è stata vinta
+	 * @return true se il giocatore ha trovato e preso il tesoro, false altrimenti
+	 */
+	public boolean isVinto()
+	{
+		return statoGame == StatoDiGioco.WIN;
+	}
+	
+	
+	/**
+	 * Metodo di utilità che verifica se uno script è troppo grande per essere compilato
+	 * @param script il file .ff
+	 * @return true se lo script va eseguito man mano che viene letto, false altrimenti
+	 */
+	private boolean isScriptGrande(Path script)
+	{
+		try 
+		{
+			return Files.size(script) > MAX_DIMENSIONE_SCRIPT_COMPILATO;
+		}
+		catch (IOException e) 
+		{
+			// Se non riesco a conoscerne la dimensione, l'errore verrà segnalato nella lettura dello script
+			return false;
+		}
+	}
+	
+	
+	
+	/**
+	 * Dato il nome del file .ff e un mondo, gioco in fast forward all'avventura testuale
+	 * 
+	 * @param world il mondo su cui giocare
+	 * @param nomeFileScript il nome del file script .ff dal quale prendere i comandi e giocare 
+	 */
+	@SuppressWarnings("try")
+	public void play(Mondo world, String nomeFileScript)
+	{
+		// Gioco nel contesto del mondo dato
+		try (ContestoMondo.Attivazione contesto = world.getContesto().attiva())
+		{
+			try 
+			{
+				// Richiamo il metodo per giocare sapendo il percorso del file
+				play(world, Paths.get(nomeFileScript));
+			}
+			catch (ImpossibileGiocareException e) 
+			{
+				Mondo.getUscita().println("[ERROR] " + e.getMessage());
+				Mondo.getUscita().fineTurno();
+			}
+		}
+	}
+	
+	
+	
+	
+	/**
+	 * Metodo che dato un riferimento al mondo di gioco, da il benvenuto al giocatore fornendo
+	 * indicazioni sul gioco
+	 * 
+	 * @param world il mondo di gioco
+	 */
+	private void welcome(Mondo world)
+	{
+		// Cambio lo stato del gioco per indicare che il gioco è in esecuzione
+		statoGame = StatoDiGioco.RUNNING;
+		
+		// Il gioco inizia mostrando la descrizione del mondo
+		Uscita uscita = Mondo.getUscita();
+		uscita.println(world.toString());
+		uscita.println("[ISTRUZIONI] Per giocare inserisci i comandi da tastiera!");
+		uscita.println("[CONSIGLIO] Guardati attentamente intorno!");
+		
+		
+		uscita.println("\n[START GAME]\nSei " + Mondo.getPlayer() + ", e ti trovi nella " + Mondo.getStanzaDiPartenza());
+		uscita.println("==> L'obiettivo del gioco è trovare e prendere il tesoro! <==\n");
+		uscita.fineTurno();
+		
+	}
+	
+	
+	/**
+	 * Metodo che si occupa di verificare se il gioco è terminato.
+	 * Valido per giocare sia in .ff sia manualmente.
+	 * 
+	 * @return true se il giocatore ha vinto, false se è ancora in gioco
+	 */
+	private boolean endGame()
+	{
+		// Ricavo il riferimento all'entità chiamata tesoro
+		Entita ogg = Mondo.getOggettoByName(TESORO);
+		
+		// Se tale entità è davvero un tesoro, allora faccio l'upCasting a EntitàPrendibile
+		EntitaPrendibile tesoro = ogg instanceof Tesoro ? (EntitaPrendibile) ogg : null;
+		
+		// Se il Giocatore ha nel suo inventario il tesoro, allora ha vinto
+		if (tesoro != null && Mondo.getPlayer().getInventario().contains(tesoro))
+		{
+			// Imposto la vittoria del giocatore
+			statoGame = StatoDiGioco.WIN;
+			
+			Mondo.getUscita().println("\n\n==> <Congratulazioni!! Hai terminato il gioco!!> <==");
+			return true;
+		}
+		// Altrimenti non è ancora finito il gioco
+		else
+			return false;
+	}
+	
+	
+	/**
+	 * Metodo per verificare se il gioco in .ff è terminato con la vittoria o meno del giocatore
+	 */
+	private void endGameFastForward()
+	{
+		// Se il gioco in .ff è finito ma il giocatore non ha vinto, allora ha perso
+		if ( !endGame() )
+			Mondo.getUscita().println("\n\n==> <GAME OVER: non hai trovato il tesoro!> <==");
+	}
+	
+	
+}
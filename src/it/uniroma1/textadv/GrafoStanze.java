@@ -0,0 +1,198 @@
+package it.uniroma1.textadv;
+
+import java.util.Arrays;
+
+import it.uniroma1.textadv.utilita.Direzione;
+
+
+/**
+ * Classe che modella il grafo delle stanze di un {@link ModelloMondo} in forma compatta (CSR):
+ * ogni stanza è identificata dal suo indice nel modello, e le stanze raggiunte dai collegamenti
+ * della stanza s sono nelle posizioni da inizio[s] a inizio[s+1] (esclusa) di un unico array di interi,
+ * insieme alla direzione di ogni collegamento.
+ *
+ * I nomi delle stanze vengono risolti una sola volta, alla creazione del grafo: le visite dell'intero
+ * grafo (ES: le stanze raggiungibili dalla partenza) scorrono array contigui, senza istanziare le stanze
+ * e senza cercarle per nome, anche sui mondi con milioni di stanze.
+ * I collegamenti verso stanze che non esistono nel mondo non fanno parte del grafo.
+ *
+ * @author Gabriele
+ *
+ */
+public class GrafoStanze
+{
+	/**
+	 * Il valore delle distanze delle stanze non raggiungibili
+	 */
+	public final static int NON_RAGGIUNGIBILE = -1;
+
+
+	/**
+	 * Il nome di ogni stanza (condiviso con il modello)
+	 */
+	private final String[] nomiStanze;
+
+	/**
+	 * L'indice delle stanze per nome (condiviso con il modello)
+	 */
+	private final ModelloMondo.Indice indiceStanze;
+
+	/**
+	 * I collegamenti di ogni stanza: quelli della stanza s sono nelle posizioni da inizio[s]
+	 * a inizio[s+1] (esclusa), con l'indice della stanza raggiunta e l'ordinale della direzione
+	 */
+	private final int[] inizio;
+	private final int[] adiacenti;
+	private final byte[] direzioni;
+
+
+	/**
+	 * Costruttore del grafo
+	 * @param nomiStanze il nome di ogni stanza
+	 * @param indiceStanze l'indice delle stanze per nome
+	 * @param inizio la posizione del primo collegamento di ogni stanza (più la fine dell'ultimo)
+	 * @param adiacenti l'indice della stanza raggiunta da ogni collegamento
+	 * @param direzioni l'ordinale della direzione di ogni collegamento
+	 */
+	GrafoStanze(String[] nomiStanze, ModelloMondo.Indice indiceStanze, int[] inizio, int[] adiacenti, byte[] direzioni)
+	{
+		this.nomiStanze = nomiStanze;
+		this.indiceStanze = indiceStanze;
+		this.inizio = inizio;
+		this.adiacenti = adiacenti;
+		this.direzioni = direzioni;
+	}
+
+
+	/**
+	 * Metodo che ritorna il numero di stanze del grafo
+	 * @return il numero di stanze
+	 */
+	public int getNumeroStanze()
+	{
+		return nomiStanze.length;
+	}
+
+
+	/**
+	 * Metodo che ritorna il numero di collegamenti del grafo
+	 * @return il numero di collegamenti
+	 */
+	public int getNumeroCollegamenti()
+	{
+		return adiacenti.length;
+	}
+
+
+	/**
+	 * Metodo che ritorna l'indice della stanza con il nome dato
+	 * @param nomeStanza il nome della stanza
+	 * @return l'indice della stanza, oppure -1 se non esiste
+	 */
+	public int getIndice(String nomeStanza)
+	{
+		return indiceStanze.get(nomeStanza);
+	}
+
+
+	/**
+	 * Metodo che ritorna il nome di una stanza
+	 * @param stanza l'indice della stanza
+	 * @return il nome della stanza
+	 */
+	public String getNomeStanza(int stanza)
+	{
+		return nomiStanze[stanza];
+	}
+
+
+	/**
+	 * Metodo che ritorna il numero di collegamenti di una stanza
+	 * @param stanza l'indice della stanza
+	 * @return il numero di collegamenti della stanza
+	 */
+	public int getNumeroAdiacenti(int stanza)
+	{
+		return inizio[stanza + 1] - inizio[stanza];
+	}
+
+
+	/**
+	 * Metodo che ritorna la stanza raggiunta da un collegamento di una stanza
+	 * @param stanza l'indice della stanza
+	 * @param collegamento la posizione del collegamento tra quelli della stanza
+	 * @return l'indice della stanza raggiunta
+	 */
+	public int getAdiacente(int stanza, int collegamento)
+	{
+		return adiacenti[inizio[stanza] + collegamento];
+	}
+
+
+	/**
+	 * Metodo che ritorna la direzione di un collegamento di una stanza
+	 * @param stanza l'indice della stanza
+	 * @param collegamento la posizione del collegamento tra quelli della stanza
+	 * @return la direzione del collegamento
+	 */
+	public Direzione getDirezione(int stanza, int collegamento)
+	{
+		return MondoCompilato.DIREZIONI[direzioni[inizio[stanza] + collegamento]];
+	}
+
+
+	/**
+	 * Metodo che calcola, con una visita in ampiezza, il numero minimo di spostamenti necessari
+	 * per raggiungere ogni stanza dalla stanza data
+	 *
+	 * @param partenza l'indice della stanza di partenza
+	 * @return la distanza di ogni stanza dalla partenza ({@link #NON_RAGGIUNGIBILE} se non è raggiungibile)
+	 */
+	public int[] distanzeDa(int partenza)
+	{
+		int[] distanze = new int[nomiStanze.length];
+		Arrays.fill(distanze, NON_RAGGIUNGIBILE);
+
+		// La coda della visita: ogni stanza vi entra al massimo una volta
+		int[] coda = new int[nomiStanze.length];
+		int testa = 0, fine = 0;
+
+		distanze[partenza] = 0;
+		coda[fine++] = partenza;
+
+		while (testa < fine)
+		{
+			int stanza = coda[testa++];
+
+			for (int c = inizio[stanza]; c < inizio[stanza + 1]; c++)
+			{
+				int adiacente = adiacenti[c];
+
+				if (distanze[adiacente] == NON_RAGGIUNGIBILE)
+				{
+					distanze[adiacente] = distanze[stanza] + 1;
+					coda[fine++] = adiacente;
+				}
+			}
+		}
+
+		return distanze;
+	}
+
+
+	/**
+	 * Metodo che ritorna il numero di stanze raggiungibili dalla stanza data (compresa la stanza stessa)
+	 * @param partenza l'indice della stanza di partenza
+	 * @return il numero di stanze raggiungibili
+	 */
+	public int contaRaggiungibili(int partenza)
+	{
+		int raggiungibili = 0;
+
+		for (int distanza : distanzeDa(partenza))
+			if (distanza != NON_RAGGIUNGIBILE)
+				raggiungibili++;
+
+		return raggiungibili;
+	}
+}
@@ -0,0 +1,115 @@
+package it.uniroma1.textadv;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * Classe che modella l'indice dei contenimenti di un mondo: associa ad ogni entità contenuta il suo
+ * contenitore (ES: il cacciavite all'armadio) e ad ogni contenitore le entità che contiene.
+ *
+ * L'indice riporta solo i contenimenti reali, ossia quelli dei {@link it.uniroma1.textadv.utilita.Contenitore}:
+ * un'entità è contenuta finché il contenitore non la rilascia (ES: quando l'armadio viene aperto)
+ * oppure finché un personaggio non la prende.
+ *
+ * L'indice è di tutto il mondo, pertanto in un mondo condiviso è condiviso da tutti i giocatori
+ * (vedi {@link MondoCondiviso}): può essere letto e modificato da più thread, e il rilascio
+ * di un'entità riesce ad uno solo dei thread che lo tentano contemporaneamente.
+ *
+ * @author Gabriele
+ *
+ */
+public class IndiceContenimento
+{
+	/**
+	 * Mappa che associa ad ogni entità contenuta il suo contenitore
+	 */
+	private final ConcurrentHashMap<Entita, Entita> contenitori = new ConcurrentHashMap<>();
+
+	/**
+	 * Mappa che associa ad ogni contenitore le entità che contiene
+	 */
+	private final ConcurrentHashMap<Entita, Set<Entita>> contenuti = new ConcurrentHashMap<>();
+
+
+	/**
+	 * Metodo che ritorna il contenitore di un'entità
+	 * @param contenuta l'entità contenuta
+	 * @return il contenitore dell'entità, oppure null se non è contenuta in nessuna entità
+	 */
+	public Entita getContenitore(Entita contenuta)
+	{
+		return contenitori.get(contenuta);
+	}
+
+
+	/**
+	 * Metodo che ritorna le entità contenute in un contenitore
+	 * @param contenitore il contenitore
+	 * @return le entità contenute (non modificabili), vuote se il contenitore non contiene niente
+	 */
+	public Set<Entita> getContenuto(Entita contenitore)
+	{
+		Set<Entita> contenuto = contenuti.get(contenitore);
+		return contenuto == null ? Collections.emptySet() : Collections.unmodifiableSet(contenuto);
+	}
+
+
+	/**
+	 * Metodo che mette un'entità nel contenitore dato, togliendola dal contenitore in cui si trovava
+	 * @param contenitore il contenitore
+	 * @param contenuta l'entità da mettere nel contenitore
+	 */
+	void contieni(Entita contenitore, Entita contenuta)
+	{
+		Entita precedente = contenitori.put(contenuta, contenitore);
+
+		if (precedente != null && precedente != contenitore)
+			togliDalContenuto(precedente, contenuta);
+
+		contenuti.computeIfAbsent(contenitore, c -> ConcurrentHashMap.newKeySet()).add(contenuta);
+	}
+
+
+	/**
+	 * Metodo che rilascia un'entità dal contenitore dato, se vi è ancora contenuta
+	 * @param contenitore il contenitore
+	 * @param contenuta l'entità da rilasciare
+	 * @return true se l'entità è stata rilasciata, false se non era (più) contenuta nel contenitore
+	 */
+	boolean rilascia(Entita contenitore, Entita contenuta)
+	{
+		// Se più thread rilasciano la stessa entità, solo uno la trova ancora nel contenitore
+		if (!contenitori.remove(contenuta, contenitore))
+			return false;
+
+		togliDalContenuto(contenitore, contenuta);
+		return true;
+	}
+
+
+	/**
+	 * Metodo che rilascia un'entità dal contenitore in cui si trova (ES: quando un personaggio la prende)
+	 * @param contenuta l'entità da rilasciare
+	 */
+	void rilascia(Entita contenuta)
+	{
+		Entita contenitore = contenitori.remove(contenuta);
+
+		if (contenitore != null)
+			togliDalContenuto(contenitore, contenuta);
+	}
+
+
+	/**
+	 * Metodo di utilità che toglie un'entità dalle entità contenute in un contenitore
+	 */
+	private void togliDalContenuto(Entita contenitore, Entita contenuta)
+	{
+		Set<Entita> contenuto = contenuti.get(contenitore);
+
+		if (contenuto != null)
+			contenuto.remove(contenuta);
+	}
+}
@@ -0,0 +1,28 @@
+package it.uniroma1.textadv;
+
+import it.uniroma1.textadv.utilita.Target;
+
+/**
+ * Interfaccia funzionale che modella un'interazione del Giocatore con un target,
+ * eventualmente usando uno strumento (ES: rompere il salvadanaio con il martello).
+ *
+ * Le interazioni vengono registrate nella {@link TabellaInterazioni} in base alle capacità
+ * dello strumento e del target, e scelte dal {@link Giocatore} con un solo accesso alla tabella.
+ *
+ * @author Gabriele
+ *
+ */
+@FunctionalInterface
+public interface Interazione
+{
+
+	/**
+	 * Metodo che esegue l'interazione
+	 * @param giocatore il giocatore che interagisce
+	 * @param strumento lo strumento usato (oppure null se l'interazione non prevede uno strumento)
+	 * @param target il target dell'interazione
+	 * @return l'esito dell'interazione
+	 */
+	EsitoComando esegui(Giocatore giocatore, Target strumento, Target target);
+
+}
@@ -0,0 +1,459 @@
+package it.uniroma1.textadv;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import it.uniroma1.textadv.link.Link;
+import it.uniroma1.textadv.personaggi.Inventario;
+import it.uniroma1.textadv.utilita.EntitaPrendibile;
+import it.uniroma1.textadv.utilita.Ripristinabile;
+import it.uniroma1.textadv.utilita.Target;
+
+
+/**
+ * Classe che modella un'istantanea dello stato di una partita, da cui la partita può essere ripristinata.
+ *
+ * L'istantanea contiene solo ciò che cambia durante la partita:
+ * - la stanza corrente di ogni entità (compreso il giocatore) e le entità presenti in ogni stanza
+ * - l'inventario di ogni personaggio (compreso il giocatore)
+ * - lo stato di ogni entità e link {@link Ripristinabile} (ES: una porta aperta, un salvadanaio rotto,
+ *   un tesoro controllato, un guardiano distratto)
+ * - il contenitore di ogni entità (vedi {@link IndiceContenimento})
+ * Le stanze, le entità e i link vengono riportati per indice (vedi {@link Indice}), pertanto
+ * l'istantanea di minizak occupa poche centinaia di byte, e salvarla o ripristinarla non crea nessuna
+ * entità: può essere presa dopo ogni turno.
+ *
+ * Formato dei dati (ogni numero è un intero a lunghezza variabile):
+ * 		numero di stanze, di link e di entità del mondo,
+ * 		numero di entità salvate, per ogni entità: indice della stanza corrente + 1 (0 se non è in una stanza),
+ * 		stato di ogni entità ripristinabile, inventario di ogni personaggio (numero di entità, indici),
+ * 		entità di ogni stanza (numero di entità, indici), stato di ogni link ripristinabile,
+ * 		per ogni entità: indice del contenitore + 1 (0 se non è contenuta)
+ * Le istantanee salvate prima che vi fossero i contenitori ne sono prive: in tal caso i contenimenti
+ * restano quelli ripristinati dalle entità {@link Ripristinabile}.
+ *
+ * Un'istantanea può essere ripristinata in qualsiasi contesto in cui è caricato lo stesso mondo
+ * (ES: per riprendere una partita salvata su file).
+ *
+ * ES:
+ * 		Istantanea istantanea = contesto.salvaIstantanea();
+ * 		...
+ * 		contesto.ripristina(istantanea);
+ *
+ * @author Gabriele
+ *
+ */
+public class Istantanea
+{
+	/**
+	 * Classe che associa un indice a ogni stanza, entità e link del mondo di un contesto.
+	 *
+	 * Le stanze, le entità e i link del mondo vengono ordinati per nome, così che lo stesso mondo abbia
+	 * gli stessi indici in ogni contesto (anche se le entità sono state istanziate in un ordine diverso).
+	 * Seguono le entità create dalle entità {@link Ripristinabile} (vedi {@link Ripristinabile#getEntitaCreate()});
+	 * le altre entità create durante la partita ricevono un indice quando compaiono per la prima volta
+	 * in una stanza o in un inventario.
+	 *
+	 * @author Gabriele
+	 */
+	static class Indice
+	{
+		/**
+		 * Le stanze del mondo
+		 */
+		private final Stanza[] stanze;
+
+		/**
+		 * I link del mondo
+		 */
+		private final Link[] link;
+
+		/**
+		 * Il numero di entità del mondo (quelle create durante la partita seguono)
+		 */
+		private final int entitaDelMondo;
+
+		/**
+		 * Le entità del mondo, seguite da quelle create durante la partita
+		 */
+		private final List<Entita> entita = new ArrayList<>();
+
+		/**
+		 * L'indice di ogni stanza e di ogni entità
+		 */
+		private final Map<Object, Integer> indici = new IdentityHashMap<>();
+
+		/**
+		 * Costruttore dell'indice, che istanzia tutto il mondo del contesto
+		 * @param contesto il contesto del mondo
+		 */
+		Indice(ContestoMondo contesto)
+		{
+			Comparator<Entita> perNome = Comparator.comparing(Entita::getName);
+
+			stanze = contesto.getMappaStanzeIstanziate().values().toArray(new Stanza[0]);
+			Arrays.sort(stanze, Comparator.comparing(Stanza::getNomeStanza));
+
+			link = contesto.getMappaLinkIstanziati().values().toArray(new Link[0]);
+			Arrays.sort(link, Comparator.comparing(Link::getName));
+
+			for (int s = 0; s < stanze.length; s++)
+				indici.put(stanze[s], s);
+
+			List<Entita> oggetti = new ArrayList<>(contesto.getMappaOggettiIstanziati().values());
+			oggetti.sort(perNome);
+			oggetti.forEach(this::aggiungi);
+
+			List<Entita> personaggi = new ArrayList<>(contesto.getMappaPersonaggiIstanziati().values());
+			personaggi.sort(perNome);
+			personaggi.forEach(this::aggiungi);
+
+			if (contesto.getPlayer() != null)
+				aggiungi(contesto.getPlayer());
+
+			// Le entità che possono comparire durante la partita hanno un indice fin dall'inizio
+			for (int e = 0; e < entita.size(); e++)
+				if (entita.get(e) instanceof Ripristinabile)
+					for (Target creata : ((Ripristinabile) entita.get(e)).getEntitaCreate())
+						aggiungi((Entita) creata);
+
+			entitaDelMondo = entita.size();
+		}
+
+		/**
+		 * Metodo che assegna un indice a un'entità, se non lo ha già
+		 * @param nuova l'entità
+		 * @return l'indice dell'entità
+		 */
+		private int aggiungi(Entita nuova)
+		{
+			Integer indice = indici.get(nuova);
+
+			if (indice == null)
+			{
+				indice = entita.size();
+				entita.add(nuova);
+				indici.put(nuova, indice);
+			}
+
+			return indice;
+		}
+	}
+
+
+	/**
+	 * I dati dell'istantanea
+	 */
+	private final byte[] dati;
+
+
+	/**
+	 * Costruttore dell'istantanea
+	 * @param dati i dati dell'istantanea (vedi il formato nella descrizione della classe)
+	 */
+	private Istantanea(byte[] dati)
+	{
+		this.dati = dati;
+	}
+
+
+	/**
+	 * Metodo che ricrea un'istantanea dai dati ritornati da {@link #getDati()} (ES: letti da un file)
+	 * @param dati i dati dell'istantanea
+	 * @return l'istantanea
+	 */
+	public static Istantanea daDati(byte[] dati)
+	{
+		return new Istantanea(dati.clone());
+	}
+
+
+	/**
+	 * Metodo che ritorna i dati dell'istantanea, per poterla salvare (ES: su un file)
+	 * @return una copia dei dati dell'istantanea
+	 */
+	public byte[] getDati()
+	{
+		return dati.clone();
+	}
+
+
+	/**
+	 * Metodo che ritorna la dimensione dell'istantanea
+	 * @return il numero di byte dell'istantanea
+	 */
+	public int size()
+	{
+		return dati.length;
+	}
+
+
+	/**
+	 * Metodo che salva lo stato della partita del contesto dato
+	 * @param contesto il contesto della partita
+	 * @return l'istantanea della partita
+	 */
+	static Istantanea salva(ContestoMondo contesto)
+	{
+		Indice indice = contesto.getIndiceIstantanee();
+
+		// Assegno un indice alle entità create durante la partita
+		for (Stanza stanza : indice.stanze)
+			for (Entita entita : stanza.getElencoEntitaNellaStanza().values())
+				indice.aggiungi(entita);
+
+		for (int e = 0; e < indice.entita.size(); e++)
+			if (indice.entita.get(e) instanceof Personaggio)
+				for (EntitaPrendibile presa : ((Personaggio) indice.entita.get(e)).getInventario())
+					indice.aggiungi((Entita) presa);
+
+		List<Entita> entita = indice.entita;
+		Scrittore scrittore = new Scrittore(16 + entita.size() * 3);
+
+		scrittore.scrivi(indice.stanze.length);
+		scrittore.scrivi(indice.link.length);
+		scrittore.scrivi(indice.entitaDelMondo);
+		scrittore.scrivi(entita.size());
+
+		for (Entita e : entita)
+			scrittore.scrivi(e.getStanzaCorrente() != null ? indice.indici.get(e.getStanzaCorrente()) + 1 : 0);
+
+		for (Entita e : entita)
+			if (e instanceof Ripristinabile)
+				scrittore.scrivi(((Ripristinabile) e).getStatoSalvabile());
+
+		for (Entita e : entita)
+		{
+			if (e instanceof Personaggio)
+			{
+				Inventario inventario = ((Personaggio) e).getInventario();
+				scrittore.scrivi(inventario.size());
+
+				for (EntitaPrendibile presa : inventario)
+					scrittore.scrivi(indice.indici.get(presa));
+			}
+		}
+
+		for (Stanza stanza : indice.stanze)
+		{
+			Map<String, Entita> elenco = stanza.getElencoEntitaNellaStanza();
+			scrittore.scrivi(elenco.size());
+
+			for (Entita e : elenco.values())
+				scrittore.scrivi(indice.indici.get(e));
+		}
+
+		for (Link l : indice.link)
+			if (l instanceof Ripristinabile)
+				scrittore.scrivi(((Ripristinabile) l).getStatoSalvabile());
+
+		IndiceContenimento contenimenti = contesto.getContenimenti();
+
+		for (Entita e : entita)
+		{
+			Entita contenitore = contenimenti.getContenitore(e);
+			Integer i = contenitore == null ? null : indice.indici.get(contenitore);
+			scrittore.scrivi(i == null ? 0 : i + 1);
+		}
+
+		return new Istantanea(scrittore.toByteArray());
+	}
+
+
+	/**
+	 * Metodo che ripristina l'istantanea nel contesto dato
+	 * @param contesto il contesto della partita
+	 *
+	 * @throws IllegalArgumentException sollevata se l'istantanea non è di una partita del mondo del contesto
+	 */
+	void ripristina(ContestoMondo contesto)
+	{
+		Indice indice = contesto.getIndiceIstantanee();
+		Lettore lettore = new Lettore(dati);
+
+		if (lettore.leggi() != indice.stanze.length || lettore.leggi() != indice.link.length
+				|| lettore.leggi() != indice.entitaDelMondo)
+			throw new IllegalArgumentException("L'istantanea non è di una partita di questo mondo");
+
+		int salvate = lettore.leggi();
+		List<Entita> entita = indice.entita;
+
+		if (salvate > entita.size())
+			throw new IllegalArgumentException("L'istantanea contiene entità che non sono mai comparse in questa partita");
+
+		// Le entità create dopo l'istantanea non sono in nessuna stanza
+		for (int e = 0; e < entita.size(); e++)
+		{
+			int stanza = e < salvate ? lettore.leggi() : 0;
+
+			// Imposto la stanza senza notificare l'inventario (viene ripristinato a parte)
+			entita.get(e).stanzaCorrente = stanza > 0 ? indice.stanze[stanza - 1] : null;
+		}
+
+		for (int e = 0; e < salvate; e++)
+			if (entita.get(e) instanceof Ripristinabile)
+				((Ripristinabile) entita.get(e)).ripristinaStato(lettore.leggi());
+
+		for (int e = 0; e < entita.size(); e++)
+		{
+			if (entita.get(e) instanceof Personaggio)
+			{
+				Personaggio personaggio = (Personaggio) entita.get(e);
+				personaggio.getInventario().svuota();
+
+				for (int i = e < salvate ? lettore.leggi() : 0; i > 0; i--)
+					personaggio.getInventario().addOggetto((EntitaPrendibile) entita.get(lettore.leggi()));
+			}
+		}
+
+		for (Stanza stanza : indice.stanze)
+		{
+			Map<String, Entita> elenco = stanza.getElencoEntitaNellaStanza();
+			elenco.clear();
+
+			for (int i = lettore.leggi(); i > 0; i--)
+			{
+				Entita e = entita.get(lettore.leggi());
+				elenco.put(e.getName(), e);
+			}
+		}
+
+		for (Link l : indice.link)
+			if (l instanceof Ripristinabile)
+				((Ripristinabile) l).ripristinaStato(lettore.leggi());
+
+		if (lettore.finito())
+			return;
+
+		// Le entità create dopo l'istantanea non sono in nessun contenitore
+		IndiceContenimento contenimenti = contesto.getContenimenti();
+
+		for (int e = 0; e < entita.size(); e++)
+		{
+			int contenitore = e < salvate ? lettore.leggi() : 0;
+
+			contenimenti.rilascia(entita.get(e));
+			if (contenitore > 0)
+				contenimenti.contieni(entita.get(contenitore - 1), entita.get(e));
+		}
+	}
+
+
+	/**
+	 * Classe di utilità che scrive interi a lunghezza variabile (7 bit per byte) in un array di byte
+	 *
+	 * @author Gabriele
+	 */
+	private static class Scrittore
+	{
+		/**
+		 * I byte scritti
+		 */
+		private byte[] dati;
+
+		/**
+		 * Il numero di byte scritti
+		 */
+		private int dimensione;
+
+		/**
+		 * Costruttore dello scrittore
+		 * @param capacita la capacità iniziale
+		 */
+		Scrittore(int capacita)
+		{
+			dati = new byte[capacita];
+		}
+
+		/**
+		 * Metodo che scrive un intero non negativo
+		 * @param valore l'intero da scrivere
+		 */
+		void scrivi(int valore)
+		{
+			if (dimensione + 5 > dati.length)
+				dati = Arrays.copyOf(dati, dati.length * 2 + 5);
+
+			while ((valore & ~0x7F) != 0)
+			{
+				dati[dimensione++] = (byte) ((valore & 0x7F) | 0x80);
+				valore >>>= 7;
+			}
+
+			dati[dimensione++] = (byte) valore;
+		}
+
+		/**
+		 * Metodo che ritorna i byte scritti
+		 * @return i byte scritti
+		 */
+		byte[] toByteArray()
+		{
+			return Arrays.copyOf(dati, dimensione);
+		}
+	}
+
+
+	/**
+	 * Classe di utilità che legge gli interi scritti dallo {@link Scrittore}
+	 *
+	 * @author Gabriele
+	 */
+	private static class Lettore
+	{
+		/**
+		 * I byte da leggere
+		 */
+		private final byte[] dati;
+
+		/**
+		 * La posizione del prossimo byte da leggere
+		 */
+		private int posizione;
+
+		/**
+		 * Costruttore del lettore
+		 * @param dati i byte da leggere
+		 */
+		Lettore(byte[] dati)
+		{
+			this.dati = dati;
+		}
+
+		/**
+		 * Metodo che ritorna true se tutti i dati sono stati letti
+		 * @return true se non ci sono altri dati da leggere, false altrimenti
+		 */
+		boolean finito()
+		{
+			return posizione >= dati.length;
+		}
+
+		/**
+		 * Metodo che legge un intero
+		 * @return l'intero letto
+		 *
+		 * @throws IllegalArgumentException sollevata se i dati sono finiti
+		 */
+		int leggi()
+		{
+			int valore = 0;
+
+			for (int spostamento = 0; ; spostamento += 7)
+			{
+				if (posizione >= dati.length)
+					throw new IllegalArgumentException("L'istantanea è incompleta");
+
+				byte b = dati[posizione++];
+				valore |= (b & 0x7F) << spostamento;
+
+				if (b >= 0)
+					return valore;
+			}
+		}
+	}
+}
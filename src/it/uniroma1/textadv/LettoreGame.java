@@ -0,0 +1,279 @@
+package it.uniroma1.textadv;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import it.uniroma1.textadv.eccezioni.ConfigurazioneNonPossibileException;
+
+
+/**
+ * Classe che legge un file di configurazione del mondo (.game) una linea alla volta.
+ *
+ * Il file viene letto in un solo passaggio da un {@link Reader}, senza mai caricarlo tutto in memoria:
+ * per ogni linea il lettore indica se è l'intestazione di un blocco ([classe] oppure [classe:nome])
+ * oppure una linea di dati, di cui fornisce i campi separati da tab.
+ * - i separatori di linea riconosciuti sono \n, \r\n e \r, indipendentemente dal sistema operativo
+ * - i commenti (da " //" a fine linea) e le linee vuote vengono saltati
+ * - un'intestazione è riconosciuta solo all'inizio della linea, quindi una "[" nel testo di una descrizione
+ *   non apre un nuovo blocco
+ *
+ * Le posizioni dei campi vengono mantenute in buffer riutilizzati ad ogni linea, e gli errori
+ * riportano il numero della linea in cui sono stati trovati.
+ *
+ * @author Gabriele
+ *
+ */
+public class LettoreGame implements Closeable
+{
+	/**
+	 * Il file da leggere
+	 */
+	private final BufferedReader reader;
+
+	/**
+	 * La linea corrente (senza commenti)
+	 */
+	private String linea;
+
+	/**
+	 * Il numero della linea corrente (a partire da 1)
+	 */
+	private int numeroLinea;
+
+	/**
+	 * Indica se la linea corrente è l'intestazione di un blocco
+	 */
+	private boolean intestazione;
+
+	/**
+	 * La classe e il nome (null se non c'è) dell'intestazione corrente
+	 */
+	private String classe, nome;
+
+	/**
+	 * Le posizioni di inizio e fine (esclusa) di ogni campo nella linea corrente
+	 */
+	private int[] inizioCampi = new int[8];
+	private int[] fineCampi = new int[8];
+
+	/**
+	 * Il numero di campi della linea corrente
+	 */
+	private int numeroCampi;
+
+
+	/**
+	 * Costruttore del lettore
+	 * @param reader il reader da cui leggere il file
+	 */
+	public LettoreGame(Reader reader)
+	{
+		this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+	}
+
+
+	/**
+	 * Metodo che passa alla prossima linea significativa del file (saltando linee vuote e commenti)
+	 * @return true se è stata letta una linea, false se il file è finito
+	 *
+	 * @throws IOException sollevata se c'è stato un errore di IO
+	 * @throws ConfigurazioneNonPossibileException sollevata se l'intestazione di un blocco non è chiusa dalla "]"
+	 */
+	public boolean prossimaLinea() throws IOException, ConfigurazioneNonPossibileException
+	{
+		while ((linea = reader.readLine()) != null)
+		{
+			numeroLinea++;
+			linea = rimuoviCommento(linea);
+
+			if (linea.isBlank())
+				continue;
+
+			intestazione = linea.charAt(0) == '[';
+
+			if (intestazione)
+				analizzaIntestazione();
+			else
+				analizzaCampi();
+
+			return true;
+		}
+
+		return false;
+	}
+
+
+	/**
+	 * Metodo di utilità che ricava classe e nome dall'intestazione di un blocco
+	 */
+	private void analizzaIntestazione() throws ConfigurazioneNonPossibileException
+	{
+		String intestazione = linea.stripTrailing();
+
+		if ( !intestazione.endsWith("]") )
+			throw errore(MondoFactory.FILE_CONFIG_ERRATO);
+
+		int indexDuePunti = intestazione.indexOf(':');
+		int fine = intestazione.length() - 1;
+
+		classe = intestazione.substring(1, indexDuePunti == -1 ? fine : indexDuePunti);
+		nome = indexDuePunti == -1 ? null : intestazione.substring(indexDuePunti + 1, fine);
+		numeroCampi = 0;
+	}
+
+
+	/**
+	 * Metodo di utilità che trova le posizioni dei campi separati da tab nella linea corrente.
+	 * Come per {@link String#split(String)} i campi vuoti in fondo alla linea vengono ignorati.
+	 */
+	private void analizzaCampi()
+	{
+		classe = nome = null;
+		numeroCampi = 0;
+
+		int inizio = 0;
+		int fine;
+
+		while ((fine = linea.indexOf('\t', inizio)) != -1)
+		{
+			aggiungiCampo(inizio, fine);
+			inizio = fine + 1;
+		}
+		aggiungiCampo(inizio, linea.length());
+
+		// Elimino i campi vuoti in fondo alla linea
+		while (numeroCampi > 1 && inizioCampi[numeroCampi - 1] == fineCampi[numeroCampi - 1])
+			numeroCampi--;
+	}
+
+
+	/**
+	 * Metodo di utilità che aggiunge la posizione di un campo, ingrandendo i buffer se necessario
+	 */
+	private void aggiungiCampo(int inizio, int fine)
+	{
+		if (numeroCampi == inizioCampi.length)
+		{
+			inizioCampi = Arrays.copyOf(inizioCampi, numeroCampi * 2);
+			fineCampi = Arrays.copyOf(fineCampi, numeroCampi * 2);
+		}
+
+		inizioCampi[numeroCampi] = inizio;
+		fineCampi[numeroCampi] = fine;
+		numeroCampi++;
+	}
+
+
+	/**
+	 * Metodo di utilità per rimuovere il commento da una linea del file
+	 */
+	private static String rimuoviCommento(String linea)
+	{
+		int indexCommento = linea.indexOf(" //");
+		return indexCommento == -1 ? linea : linea.substring(0, indexCommento);
+	}
+
+
+	/**
+	 * Metodo che ritorna true se la linea corrente è l'intestazione di un blocco
+	 * @return true se la linea è un'intestazione, false se è una linea di dati
+	 */
+	public boolean isIntestazione()
+	{
+		return intestazione;
+	}
+
+
+	/**
+	 * Metodo che ritorna la classe dell'intestazione corrente (ES: room per [room:cucina])
+	 * @return la classe del blocco, oppure null se la linea corrente non è un'intestazione
+	 */
+	public String getClasse()
+	{
+		return classe;
+	}
+
+
+	/**
+	 * Metodo che ritorna il nome dell'intestazione corrente (ES: cucina per [room:cucina])
+	 * @return il nome del blocco, oppure null se il blocco non ha nome
+	 */
+	public String getNome()
+	{
+		return nome;
+	}
+
+
+	/**
+	 * Metodo che ritorna il numero di campi della linea di dati corrente
+	 * @return il numero di campi
+	 */
+	public int getNumeroCampi()
+	{
+		return numeroCampi;
+	}
+
+
+	/**
+	 * Metodo che ritorna un campo della linea di dati corrente
+	 * @param i l'indice del campo
+	 * @return il campo
+	 */
+	public String getCampo(int i)
+	{
+		if (i < 0 || i >= numeroCampi)
+			throw new IndexOutOfBoundsException("La linea " + numeroLinea + " non ha il campo " + i);
+
+		return linea.substring(inizioCampi[i], fineCampi[i]);
+	}
+
+
+	/**
+	 * Metodo che ritorna i campi della linea di dati corrente a partire da quello indicato
+	 * @param da l'indice del primo campo
+	 * @return la lista dei campi
+	 */
+	public List<String> getCampi(int da)
+	{
+		List<String> campi = new ArrayList<>(Math.max(0, numeroCampi - da));
+
+		for (int i = da; i < numeroCampi; i++)
+			campi.add(getCampo(i));
+
+		return campi;
+	}
+
+
+	/**
+	 * Metodo che ritorna il numero della linea corrente
+	 * @return il numero della linea (a partire da 1)
+	 */
+	public int getNumeroLinea()
+	{
+		return numeroLinea;
+	}
+
+
+	/**
+	 * Metodo che crea l'eccezione per un errore trovato nella linea corrente
+	 * @param messaggio il messaggio dell'errore
+	 * @return l'eccezione, con il numero della linea
+	 */
+	public ConfigurazioneNonPossibileException errore(String messaggio)
+	{
+		return new ConfigurazioneNonPossibileException(messaggio + " (linea " + numeroLinea + ")");
+	}
+
+
+	@Override
+	public void close() throws IOException
+	{
+		reader.close();
+	}
+
+}
@@ -0,0 +1,80 @@
+package it.uniroma1.textadv;
+
+/**
+ * Enumerazione dei messaggi che i comandi del Giocatore possono comunicare.
+ *
+ * Ogni messaggio ha un proprio formato, in cui i %s vengono sostituiti dagli argomenti
+ * dell'{@link EsitoComando} solo quando il messaggio deve essere effettivamente mostrato.
+ *
+ * @author Gabriele
+ *
+ */
+public enum Messaggio
+{
+	// Messaggio già composto (ad esempio quello di un'eccezione sollevata da un oggetto)
+	TESTO("%s"),
+
+	DESCRIZIONE_STANZA("Sei in: <%s>\n%s\n%s"),
+	STAI_GUARDANDO("Stai guardando: %s"),
+	NON_NELLA_STANZA("%s non è nella stanza!"),
+	NON_IN_QUESTA_STANZA("In questa stanza non ci sta: %s"),
+
+	IMPOSSIBILE_APRIRE("Impossibile aprire: %s"),
+	IMPOSSIBILE_USARE_PER_APRIRE("Impossibile usare: %s per aprire: %s"),
+
+	HAI_PRESO("Hai preso %s"),
+	NON_CONTENUTO("In %s non c'è: %s"),
+	IMPOSSIBILE_PRENDERE_DA("Impossibile prendere: %s da %s"),
+	DEVI_PAGARE("Per prendere %s devi pagarlo!"),
+	CONTROLLATO("%s non può essere preso, perchè qualcuno lo sta controllando!"),
+	NON_PRENDIBILE_ORA("Questo oggetto al momento non può essere preso"),
+	NON_PRENDIBILE("[ERROR] %s non può essere preso!!"),
+
+	IMPOSSIBILE_ANDARE("Impossibile andare a: %s"),
+	LINK_CHIUSO("Il link %s è chiuso\nSei ancora in: %s"),
+	TI_SEI_SPOSTATO("Ti sei spostato in: %s"),
+	LINK_INESISTENTE("Non esiste link per questa stanza: %s"),
+
+	SERVE_STRUMENTO_FORTE("Per rompere questo oggetto serve uno strumento molto forte!"),
+	NON_PUOI_USARE("Non puoi usare: %s"),
+	IMPOSSIBILE_USARE("Impossibile usare: %s"),
+	IMPOSSIBILE_USARE_SU("Impossibile usare: %s su %s"),
+	ORA_HAI("Ora hai: %s"),
+	OPERAZIONE_RIUSCITA("Operazione conclusa con successo"),
+
+	NON_PUOI_ACCAREZZARE("Non puoi accarezzare %s"),
+	NON_HAI("Non puoi dare %s. Non lo hai!"),
+	NON_PUOI_DARE_A("Non puoi dare niente a:%s"),
+	ACQUISTO_EFFETTUATO("Acquisto effettuato: %s"),
+
+	OPERAZIONE_NON_SUPPORTATA("[ERROR] Operazione non supportata: %s"),
+	OPERAZIONE_NON_RICONOSCIUTA("Operazione non riconosciuta: %s");
+
+
+	/**
+	 * Il formato del messaggio
+	 */
+	private String formato;
+
+
+	/**
+	 * Costruttore del messaggio
+	 * @param formato il formato del messaggio
+	 */
+	Messaggio(String formato)
+	{
+		this.formato = formato;
+	}
+
+
+	/**
+	 * Metodo che compone il messaggio con gli argomenti dati
+	 * @param argomenti gli argomenti del messaggio
+	 * @return il messaggio composto
+	 */
+	public String componi(Object... argomenti)
+	{
+		return argomenti.length == 0 ? formato : String.format(formato, argomenti);
+	}
+
+}
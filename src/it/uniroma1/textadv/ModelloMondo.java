@@ -0,0 +1,901 @@
+package it.uniroma1.textadv;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import it.uniroma1.textadv.eccezioni.ClasseJavaNonEsistenteException;
+import it.uniroma1.textadv.eccezioni.ConfigurazioneNonPossibileException;
+import it.uniroma1.textadv.link.Link;
+import it.uniroma1.textadv.link.StanzaLink;
+import it.uniroma1.textadv.oggetti.Oggetto;
+import it.uniroma1.textadv.utilita.Collezionabile;
+import it.uniroma1.textadv.utilita.Direzione;
+import it.uniroma1.textadv.utilita.NomiInterni;
+import it.uniroma1.textadv.utilita.Target;
+
+
+/**
+ * Classe che modella il modello immutabile di un mondo: i nomi, le descrizioni e i tipi delle entità,
+ * i loro target già risolti, le stanze con le loro entità e i loro collegamenti.
+ *
+ * Il modello viene caricato una sola volta (dalla forma compilata del mondo, vedi {@link MondoCompilato})
+ * e può essere condiviso da tutte le partite giocate su quel mondo, anche contemporaneamente:
+ * ogni partita ({@link ContestoMondo}) istanzia dal modello solo le stanze e le entità che usa davvero,
+ * la prima volta che le usa, così che il loro stato (ES: una porta aperta, un camino acceso,
+ * l'inventario del giocatore) sia solo suo. Le stringhe del modello (nomi e descrizioni) vengono
+ * condivise da tutte le entità istanziate, e la tabella dei nomi di ogni partita parte da quella
+ * del modello (vedi {@link NomiInterni}).
+ *
+ * Le entità vengono istanziate a gruppi: ogni gruppo contiene le entità collegate tra loro dai target
+ * (ES: una chiave e la porta che apre), così che i target di ogni entità istanziata siano sempre completi.
+ *
+ * ES:
+ * 		ModelloMondo modello = ModelloMondo.carica(Paths.get("minizak.game"));
+ * 		Mondo mondo = new ContestoMondo().carica(modello);
+ *
+ * @author Gabriele
+ *
+ */
+public class ModelloMondo
+{
+	/**
+	 * Il nome e la descrizione del mondo, il nome del giocatore e il nome della stanza di partenza
+	 */
+	private final String nomeMondo, descrizioneMondo, nomeGiocatore, stanzaDiPartenza;
+
+	/**
+	 * Il registro con i costruttori dei tipi delle entità
+	 */
+	private final RegistroTipi tipi;
+
+	/**
+	 * Il numero di oggetti, di personaggi e di link.
+	 * Ogni entità è identificata da un indice: prima gli oggetti, poi i personaggi e infine i link
+	 */
+	private final int numeroOggetti, numeroPersonaggi, numeroLink;
+
+	/**
+	 * Il nome e il tipo di ogni entità
+	 */
+	private final String[] nomi, tipiEntita;
+
+	/**
+	 * La descrizione di ogni oggetto (null se l'oggetto non è collezionabile)
+	 */
+	private final String[] descrizioni;
+
+	/**
+	 * Le due stanze collegate da ogni link
+	 */
+	private final String[] stanze1, stanze2;
+
+	/**
+	 * I target di ogni oggetto e personaggio: quelli dell'entità i sono nelle posizioni
+	 * da inizioTarget[i] a inizioTarget[i+1] (esclusa), con il loro nome e l'indice dell'entità (-1 se non esiste)
+	 */
+	private final int[] inizioTarget;
+	private final String[] nomiTarget;
+	private final int[] target;
+
+	/**
+	 * Il gruppo di ogni entità e le entità di ogni gruppo: quelle del gruppo g sono nelle posizioni
+	 * da inizioGruppo[g] a inizioGruppo[g+1] (esclusa)
+	 */
+	private final int[] gruppo;
+	private final int numeroGruppi;
+	private final int[] inizioGruppo;
+	private final int[] entitaGruppi;
+
+	/**
+	 * Il nome e la descrizione di ogni stanza
+	 */
+	private final String[] nomiStanze, descrizioniStanze;
+
+	/**
+	 * Le entità di ogni stanza (con il nome con cui compaiono nella stanza): quelle della stanza s
+	 * sono nelle posizioni da inizioEntita[s] a inizioEntita[s+1] (esclusa)
+	 */
+	private final int[] inizioEntita;
+	private final String[] chiaviEntita;
+	private final int[] entitaStanze;
+
+	/**
+	 * I collegamenti di ogni stanza: quelli della stanza s sono nelle posizioni da inizioCollegamenti[s]
+	 * a inizioCollegamenti[s+1] (esclusa), con la direzione e l'indice del link
+	 * (oppure -1 e il nome della stanza che fa da collegamento)
+	 */
+	private final int[] inizioCollegamenti;
+	private final Direzione[] direzioni;
+	private final int[] linkCollegamenti;
+	private final String[] stanzeCollegate;
+
+	/**
+	 * I link delle stanze che fanno da collegamento, creati la prima volta che servono e condivisi
+	 * da tutte le partite (non hanno stato)
+	 */
+	private final StanzaLink[] linkStanze;
+
+	/**
+	 * Il grafo delle stanze del mondo (null finché non viene richiesto)
+	 */
+	private volatile GrafoStanze grafo;
+
+	/**
+	 * La tabella con tutti i nomi del mondo, completa alla fine del caricamento
+	 */
+	private final NomiInterni nomiInterni = new NomiInterni();
+
+	/**
+	 * Gli identificativi dei nomi delle entità e delle stanze, nelle stesse posizioni di nomi e nomiStanze
+	 */
+	private final int[] idNomi, idNomiStanze;
+
+	/**
+	 * Gli indici di oggetti, personaggi, link e stanze per nome
+	 */
+	private final Indice indiceOggetti, indicePersonaggi, indiceLink, indiceStanze;
+
+
+	/**
+	 * Classe che modella l'indice per nome di una parte delle entità (o delle stanze) del modello:
+	 * dato l'identificativo di un nome, ritorna la posizione della prima entità con quel nome
+	 *
+	 * @author Gabriele
+	 */
+	static class Indice
+	{
+		/**
+		 * La tabella dei nomi del modello
+		 */
+		private final NomiInterni nomiInterni;
+
+		/**
+		 * Gli identificativi dei nomi, in posizione id
+		 */
+		private final int[] idNomi;
+
+		/**
+		 * La tabella hash ad indirizzamento aperto.
+		 * Ogni cella contiene (posizione + 1) dell'entità, oppure 0 se è vuota
+		 */
+		private final int[] celle;
+
+		/**
+		 * Costruttore dell'indice
+		 * @param nomiInterni la tabella dei nomi del modello
+		 * @param idNomi gli identificativi dei nomi
+		 * @param da la prima posizione da indicizzare
+		 * @param a la posizione successiva all'ultima da indicizzare
+		 */
+		Indice(NomiInterni nomiInterni, int[] idNomi, int da, int a)
+		{
+			this.nomiInterni = nomiInterni;
+			this.idNomi = idNomi;
+			this.celle = new int[Math.max(2, Integer.highestOneBit(Math.max(1, a - da)) * 4)];
+
+			for (int i = da; i < a; i++)
+			{
+				int cella = cella(idNomi[i]);
+
+				// A parità di nome vale la prima entità
+				if (celle[cella] == 0)
+					celle[cella] = i + 1;
+			}
+		}
+
+		/**
+		 * Metodo che ritorna la cella in cui si trova l'identificativo, oppure la cella vuota in cui andrebbe inserito
+		 */
+		private int cella(int id)
+		{
+			int maschera = celle.length - 1;
+			int h = id * 0x9E3779B9;
+			int i = (h ^ (h >>> 16)) & maschera;
+
+			while (celle[i] != 0 && idNomi[celle[i] - 1] != id)
+				i = (i + 1) & maschera;
+
+			return i;
+		}
+
+		/**
+		 * Metodo che ritorna la posizione dell'entità con il nome dato
+		 * @param nome il nome dell'entità
+		 * @return la posizione dell'entità, oppure -1 se non esiste
+		 */
+		int get(String nome)
+		{
+			return get(nomiInterni.getId(nome));
+		}
+
+		/**
+		 * Metodo che ritorna la posizione dell'entità con l'identificativo del nome dato
+		 * @param id l'identificativo del nome dell'entità
+		 * @return la posizione dell'entità, oppure -1 se non esiste
+		 */
+		int get(int id)
+		{
+			// Un identificativo aggiunto da una partita non è un nome del modello
+			return id == NomiInterni.NON_PRESENTE || id >= nomiInterni.size() ? -1 : celle[cella(id)] - 1;
+		}
+	}
+
+
+	/**
+	 * Costruttore del modello, che legge il mondo dalla sua forma compilata
+	 * (posizionata dopo l'intestazione e la tabella delle stringhe)
+	 *
+	 * @param dati la forma compilata del mondo
+	 * @param stringhe la tabella delle stringhe della forma compilata
+	 * @param tipi il registro dei tipi di entità
+	 *
+	 * @throws ClasseJavaNonEsistenteException sollevata se un tipo di entità non è registrato
+	 */
+	ModelloMondo(ByteBuffer dati, String[] stringhe, RegistroTipi tipi) throws ClasseJavaNonEsistenteException
+	{
+		this.tipi = tipi;
+
+		nomeMondo = stringhe[dati.getInt()];
+		descrizioneMondo = stringhe[dati.getInt()];
+		nomeGiocatore = stringhe[dati.getInt()];
+		stanzaDiPartenza = stringhe[dati.getInt()];
+
+		// Gli oggetti e i personaggi, con i loro target (li scorro una prima volta per contare i target,
+		// così da allocarli tutti insieme)
+		numeroOggetti = dati.getInt();
+		int posizioneOggetti = dati.position();
+		int[] numeroTargetOggetti = new int[numeroOggetti];
+		for (int i = 0; i < numeroOggetti; i++)
+		{
+			dati.position(dati.position() + 12);
+			numeroTargetOggetti[i] = saltaTarget(dati);
+		}
+
+		numeroPersonaggi = dati.getInt();
+		int posizionePersonaggi = dati.position();
+		int[] numeroTargetPersonaggi = new int[numeroPersonaggi];
+		for (int i = 0; i < numeroPersonaggi; i++)
+		{
+			dati.position(dati.position() + 8);
+			numeroTargetPersonaggi[i] = saltaTarget(dati);
+		}
+
+		numeroLink = dati.getInt();
+		int posizioneLink = dati.position();
+
+		int numeroEntita = numeroOggetti + numeroPersonaggi + numeroLink;
+		nomi = new String[numeroEntita];
+		tipiEntita = new String[numeroEntita];
+		descrizioni = new String[numeroOggetti];
+		inizioTarget = new int[numeroOggetti + numeroPersonaggi + 1];
+
+		for (int i = 0; i < numeroOggetti + numeroPersonaggi; i++)
+			inizioTarget[i + 1] = inizioTarget[i] + (i < numeroOggetti ? numeroTargetOggetti[i] : numeroTargetPersonaggi[i - numeroOggetti]);
+
+		int numeroTarget = inizioTarget[numeroOggetti + numeroPersonaggi];
+		nomiTarget = new String[numeroTarget];
+		target = new int[numeroTarget];
+
+		dati.position(posizioneOggetti);
+		for (int i = 0; i < numeroOggetti + numeroPersonaggi; i++)
+		{
+			if (i == numeroOggetti)
+				dati.position(posizionePersonaggi);
+
+			nomi[i] = stringhe[dati.getInt()];
+			tipiEntita[i] = stringhe[dati.getInt()];
+
+			if (i < numeroOggetti)
+			{
+				int descrizione = dati.getInt();
+				descrizioni[i] = descrizione == MondoCompilato.NESSUNA ? null : stringhe[descrizione];
+			}
+
+			int t = inizioTarget[i];
+			for (int n = dati.getInt(); n > 0; n--, t++)
+			{
+				nomiTarget[t] = stringhe[dati.getInt()];
+				target[t] = leggiRiferimento(dati);
+			}
+		}
+
+		// I link
+		stanze1 = new String[numeroLink];
+		stanze2 = new String[numeroLink];
+
+		dati.position(posizioneLink);
+		for (int i = 0; i < numeroLink; i++)
+		{
+			int id = numeroOggetti + numeroPersonaggi + i;
+			nomi[id] = stringhe[dati.getInt()];
+			tipiEntita[id] = stringhe[dati.getInt()];
+			stanze1[i] = stringhe[dati.getInt()];
+			stanze2[i] = stringhe[dati.getInt()];
+		}
+
+		// Verifico che tutti i tipi siano ancora registrati
+		for (int id = 0; id < numeroEntita; id++)
+			if ((id < numeroOggetti ? tipi.getOggetto(tipiEntita[id])
+				: id < numeroOggetti + numeroPersonaggi ? tipi.getPersonaggio(tipiEntita[id]) : tipi.getLink(tipiEntita[id])) == null)
+				throw new ClasseJavaNonEsistenteException(MondoFactory.CLASS_NOT_FOUND + tipiEntita[id]);
+
+		// Le stanze (le leggo due volte: la prima per contarne entità e collegamenti)
+		int numeroStanze = dati.getInt();
+		int posizioneStanze = dati.position();
+		int numeroEntitaStanze = 0, numeroCollegamenti = 0;
+
+		for (int s = 0; s < numeroStanze; s++)
+		{
+			dati.position(dati.position() + 8);
+
+			int n = dati.getInt();
+			numeroEntitaStanze += n;
+			dati.position(dati.position() + n * 9);
+
+			n = dati.getInt();
+			numeroCollegamenti += n;
+			dati.position(dati.position() + n * 6);
+		}
+
+		nomiStanze = new String[numeroStanze];
+		descrizioniStanze = new String[numeroStanze];
+		inizioEntita = new int[numeroStanze + 1];
+		chiaviEntita = new String[numeroEntitaStanze];
+		entitaStanze = new int[numeroEntitaStanze];
+		inizioCollegamenti = new int[numeroStanze + 1];
+		direzioni = new Direzione[numeroCollegamenti];
+		linkCollegamenti = new int[numeroCollegamenti];
+		stanzeCollegate = new String[numeroCollegamenti];
+		linkStanze = new StanzaLink[numeroCollegamenti];
+
+		dati.position(posizioneStanze);
+		int e = 0, c = 0;
+		for (int s = 0; s < numeroStanze; s++)
+		{
+			nomiStanze[s] = stringhe[dati.getInt()];
+			int descrizione = dati.getInt();
+			descrizioniStanze[s] = descrizione == MondoCompilato.NESSUNA ? null : stringhe[descrizione];
+
+			inizioEntita[s] = e;
+			for (int n = dati.getInt(); n > 0; n--, e++)
+			{
+				chiaviEntita[e] = stringhe[dati.getInt()];
+				entitaStanze[e] = leggiRiferimento(dati);
+			}
+
+			inizioCollegamenti[s] = c;
+			for (int n = dati.getInt(); n > 0; n--, c++)
+			{
+				direzioni[c] = MondoCompilato.DIREZIONI[dati.get()];
+
+				if (dati.get() == MondoCompilato.RIF_STANZA)
+				{
+					linkCollegamenti[c] = -1;
+					stanzeCollegate[c] = stringhe[dati.getInt()];
+				}
+				else
+					linkCollegamenti[c] = numeroOggetti + numeroPersonaggi + dati.getInt();
+			}
+		}
+		inizioEntita[numeroStanze] = e;
+		inizioCollegamenti[numeroStanze] = c;
+
+		// Assegno un identificativo a tutti i nomi del mondo, così che le partite non debbano farlo:
+		// compresi quelli del giocatore e dei link delle stanze che fanno da collegamento, condivisi dalle partite
+		idNomi = interna(nomi);
+		idNomiStanze = interna(nomiStanze);
+		interna(nomiTarget);
+		interna(chiaviEntita);
+		interna(stanzeCollegate);
+		nomiInterni.interna(nomeGiocatore);
+
+		for (int s = 0; s < numeroStanze; s++)
+			for (int k = inizioCollegamenti[s]; k < inizioCollegamenti[s + 1]; k++)
+				if (linkCollegamenti[k] == -1)
+					nomiInterni.interna(Link.nomeTraStanze(nomiStanze[s], stanzeCollegate[k]));
+
+		// Gli indici per nome
+		indiceOggetti = new Indice(nomiInterni, idNomi, 0, numeroOggetti);
+		indicePersonaggi = new Indice(nomiInterni, idNomi, numeroOggetti, numeroOggetti + numeroPersonaggi);
+		indiceLink = new Indice(nomiInterni, idNomi, numeroOggetti + numeroPersonaggi, numeroEntita);
+		indiceStanze = new Indice(nomiInterni, idNomiStanze, 0, numeroStanze);
+
+		// I gruppi di entità collegate dai target
+		gruppo = new int[numeroEntita];
+		inizioGruppo = new int[numeroEntita + 1];
+		entitaGruppi = new int[numeroEntita];
+		numeroGruppi = calcolaGruppi();
+	}
+
+
+	/**
+	 * Metodo che carica il modello del mondo descritto da un file .game
+	 * (dalla sua forma compilata, che viene creata se non è aggiornata)
+	 *
+	 * @param percorso il percorso del file .game
+	 * @return il modello del mondo
+	 *
+	 * @throws IOException sollevata se c'è stato un errore di IO
+	 * @throws ConfigurazioneNonPossibileException sollevata se è stato riscontrato un errore
+	 * 											   nel file di configurazione
+	 */
+	public static ModelloMondo carica(Path percorso) throws IOException, ConfigurazioneNonPossibileException
+	{
+		return MondoCompilato.caricaModello(percorso);
+	}
+
+
+	/**
+	 * Metodo che ritorna il nome del mondo
+	 * @return il nome del mondo
+	 */
+	public String getNomeMondo()
+	{
+		return nomeMondo;
+	}
+
+
+	/**
+	 * Metodo che ritorna il numero di entità (oggetti, personaggi e link) del mondo
+	 * @return il numero di entità
+	 */
+	public int getNumeroEntita()
+	{
+		return nomi.length;
+	}
+
+
+	/**
+	 * Metodo che ritorna il numero di stanze del mondo
+	 * @return il numero di stanze
+	 */
+	public int getNumeroStanze()
+	{
+		return nomiStanze.length;
+	}
+
+
+	/**
+	 * Metodo che ritorna il grafo delle stanze del mondo, creandolo la prima volta
+	 * @return il grafo delle stanze
+	 */
+	public GrafoStanze getGrafo()
+	{
+		GrafoStanze grafoStanze = grafo;
+
+		// Se due thread creano il grafo contemporaneamente, creano due grafi identici
+		if (grafoStanze == null)
+			grafo = grafoStanze = creaGrafo();
+
+		return grafoStanze;
+	}
+
+
+	/**
+	 * Metodo che crea il grafo delle stanze, risolvendo una sola volta la stanza raggiunta da ogni collegamento
+	 * @return il grafo delle stanze
+	 */
+	private GrafoStanze creaGrafo()
+	{
+		int numeroStanze = nomiStanze.length;
+		int[] inizio = new int[numeroStanze + 1];
+		int[] adiacenti = new int[direzioni.length];
+		byte[] direzioniGrafo = new byte[direzioni.length];
+		int a = 0;
+
+		for (int s = 0; s < numeroStanze; s++)
+		{
+			inizio[s] = a;
+
+			for (int c = inizioCollegamenti[s]; c < inizioCollegamenti[s + 1]; c++)
+			{
+				int raggiunta = indiceStanze.get(getNomeStanzaRaggiunta(s, c));
+
+				// I collegamenti verso stanze che non esistono non fanno parte del grafo
+				if (raggiunta != -1)
+				{
+					adiacenti[a] = raggiunta;
+					direzioniGrafo[a] = (byte) direzioni[c].ordinal();
+					a++;
+				}
+			}
+		}
+		inizio[numeroStanze] = a;
+
+		return new GrafoStanze(nomiStanze, indiceStanze, inizio, Arrays.copyOf(adiacenti, a), Arrays.copyOf(direzioniGrafo, a));
+	}
+
+
+	/**
+	 * Metodo che ritorna il nome della stanza raggiunta da un collegamento di una stanza
+	 * @param s l'indice della stanza
+	 * @param c l'indice del collegamento
+	 * @return il nome della stanza raggiunta
+	 */
+	private String getNomeStanzaRaggiunta(int s, int c)
+	{
+		if (linkCollegamenti[c] == -1)
+			return stanzeCollegate[c];
+
+		// Il link porta nella sua stanza diversa da quella del collegamento
+		int l = linkCollegamenti[c] - numeroOggetti - numeroPersonaggi;
+		return !nomiStanze[s].equals(stanze1[l]) ? stanze1[l] : stanze2[l];
+	}
+
+
+	/**
+	 * Metodo che crea il mondo del modello nel contesto dato (eliminando il mondo caricato in precedenza
+	 * nel contesto), istanziando la stanza di partenza
+	 *
+	 * @param contesto il contesto della partita
+	 * @param pigro true per istanziare le altre stanze ed entità solo quando vengono usate,
+	 * 				false per istanziarle subito tutte
+	 * @return l'istanza del mondo
+	 */
+	@SuppressWarnings("try")
+	Mondo istanzia(ContestoMondo contesto, boolean pigro)
+	{
+		try (ContestoMondo.Attivazione attivazione = contesto.attiva())
+		{
+			// La partita usa gli identificativi dei nomi del modello
+			contesto.reset(new NomiInterni(nomiInterni));
+
+			Mondo mondo = Mondo.getInstance(nomeMondo, descrizioneMondo);
+			Mondo.setPlayerProtagonista(nomeGiocatore);
+
+			if (pigro)
+				contesto.setModello(this);
+			else
+				istanziaTutto(contesto);
+
+			// Imposto la stanza di partenza del mondo sia per il mondo stesso che per il giocatore
+			Stanza stanzaDiStart = Mondo.getStanzaByName(stanzaDiPartenza);
+			Mondo.setStanzaDiPartenza(stanzaDiStart);
+			Mondo.getPlayer().setNewStanzaCorrente(stanzaDiStart);
+
+			return mondo;
+		}
+	}
+
+
+	/**
+	 * Metodo che istanzia nel contesto dato l'oggetto con l'identificativo del nome dato, se non è già stato istanziato
+	 * @param contesto il contesto della partita
+	 * @param idNome l'identificativo del nome dell'oggetto
+	 */
+	void istanziaOggetto(ContestoMondo contesto, int idNome)
+	{
+		int id = indiceOggetti.get(idNome);
+
+		if (id != -1)
+			istanziaGruppo(contesto, gruppo[id]);
+	}
+
+
+	/**
+	 * Metodo che istanzia nel contesto dato il personaggio con l'identificativo del nome dato, se non è già stato istanziato
+	 * @param contesto il contesto della partita
+	 * @param idNome l'identificativo del nome del personaggio
+	 */
+	void istanziaPersonaggio(ContestoMondo contesto, int idNome)
+	{
+		int id = indicePersonaggi.get(idNome);
+
+		if (id != -1)
+			istanziaGruppo(contesto, gruppo[id]);
+	}
+
+
+	/**
+	 * Metodo che istanzia nel contesto dato il link con l'identificativo del nome dato, se non è già stato istanziato
+	 * @param contesto il contesto della partita
+	 * @param idNome l'identificativo del nome del link
+	 */
+	void istanziaLink(ContestoMondo contesto, int idNome)
+	{
+		int id = indiceLink.get(idNome);
+
+		if (id != -1)
+			istanziaGruppo(contesto, gruppo[id]);
+	}
+
+
+	/**
+	 * Metodo che istanzia nel contesto dato la stanza con l'identificativo del nome dato, con tutte le sue entità
+	 * e i suoi collegamenti, se non è già stata istanziata
+	 * @param contesto il contesto della partita
+	 * @param idNome l'identificativo del nome della stanza
+	 */
+	@SuppressWarnings("try")
+	void istanziaStanza(ContestoMondo contesto, int idNome)
+	{
+		int s = indiceStanze.get(idNome);
+
+		if (s == -1 || contesto.mappaStanze().contiene(idNome))
+			return;
+
+		// La stanza prende gli identificativi dalla tabella dei nomi del contesto corrente
+		try (ContestoMondo.Attivazione attivazione = contesto.attiva())
+		{
+			String nome = nomiStanze[s];
+			Stanza stanza = new Stanza(nome, descrizioniStanze[s]);
+			contesto.mappaStanze().inserisci(stanza.getId(), stanza);
+
+			for (int e = inizioEntita[s]; e < inizioEntita[s + 1]; e++)
+			{
+				Entita entita = (Entita) getEntita(contesto, entitaStanze[e]);
+
+				// Se l'entità è già stata spostata durante la partita non è più in questa stanza
+				if (entita.getStanzaCorrente() == null)
+					stanza.addEntitaNellaStanza(chiaviEntita[e], entita);
+			}
+
+			for (int c = inizioCollegamenti[s]; c < inizioCollegamenti[s + 1]; c++)
+				stanza.addLinkDellaStanza(direzioni[c], linkCollegamenti[c] == -1 ? getLinkStanza(nome, c)
+																			  : (Link) getEntita(contesto, linkCollegamenti[c]));
+		}
+	}
+
+
+	/**
+	 * Metodo di utilità che ritorna il link di un collegamento verso una stanza che fa da collegamento,
+	 * creandolo la prima volta (i suoi campi sono final, quindi può essere condiviso tra i thread)
+	 *
+	 * @param nome il nome della stanza del collegamento
+	 * @param c l'indice del collegamento
+	 * @return il link del collegamento
+	 */
+	private StanzaLink getLinkStanza(String nome, int c)
+	{
+		StanzaLink link = linkStanze[c];
+
+		if (link == null)
+			linkStanze[c] = link = new StanzaLink(nome, stanzeCollegate[c]);
+
+		return link;
+	}
+
+
+	/**
+	 * Metodo che istanzia nel contesto dato tutte le entità e le stanze del modello che non
+	 * sono ancora state istanziate, mantenendo l'ordine del file .game nelle mappe del mondo
+	 * @param contesto il contesto della partita
+	 */
+	void istanziaTutto(ContestoMondo contesto)
+	{
+		for (int g = 0; g < numeroGruppi; g++)
+			istanziaGruppo(contesto, g);
+
+		for (int idNome : idNomiStanze)
+			istanziaStanza(contesto, idNome);
+
+		// Ora che ci sono tutte le stanze, risolvo subito i collegamenti
+		for (Stanza stanza : contesto.mappaStanze().values())
+			stanza.risolviCollegamenti(contesto.mappaStanze());
+
+		riordina(contesto.mappaOggetti(), nomi, 0, numeroOggetti);
+		riordina(contesto.mappaPersonaggi(), nomi, numeroOggetti, numeroOggetti + numeroPersonaggi);
+		riordina(contesto.mappaLink(), nomi, numeroOggetti + numeroPersonaggi, nomi.length);
+		riordina(contesto.mappaStanze(), nomiStanze, 0, nomiStanze.length);
+	}
+
+
+	/**
+	 * Metodo di utilità che istanzia tutte le entità di un gruppo e ne collega i target
+	 */
+	@SuppressWarnings("try")
+	private void istanziaGruppo(ContestoMondo contesto, int g)
+	{
+		// Se la prima entità del gruppo esiste già, allora il gruppo è già stato istanziato
+		if (cerca(contesto, entitaGruppi[inizioGruppo[g]]) != null)
+			return;
+
+		// Le entità prendono gli identificativi dalla tabella dei nomi del contesto corrente
+		try (ContestoMondo.Attivazione attivazione = contesto.attiva())
+		{
+			// Prima creo tutte le entità, poi collego i target (che sono tutti nel gruppo)
+			for (int i = inizioGruppo[g]; i < inizioGruppo[g + 1]; i++)
+				crea(contesto, entitaGruppi[i]);
+
+			for (int i = inizioGruppo[g]; i < inizioGruppo[g + 1]; i++)
+			{
+				int id = entitaGruppi[i];
+
+				if (id >= numeroOggetti + numeroPersonaggi)
+					continue;
+
+				Entita entita = (Entita) cerca(contesto, id);
+
+				for (int t = inizioTarget[id]; t < inizioTarget[id + 1]; t++)
+				{
+					if (target[t] == -1)
+						entita.addTarget(nomiTarget[t], null);
+					else
+						MondoFactory.configuraTarget(entita, nomiTarget[t], cerca(contesto, target[t]));
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * Metodo di utilità che crea un'entità e la aggiunge al contesto
+	 */
+	private void crea(ContestoMondo contesto, int id)
+	{
+		String nome = nomi[id];
+
+		if (id < numeroOggetti)
+		{
+			Oggetto oggetto = tipi.getOggetto(tipiEntita[id]).apply(nome);
+
+			if (descrizioni[id] != null)
+				((Collezionabile) oggetto).setDescrizione(descrizioni[id]);
+
+			contesto.mappaOggetti().putIfAbsent(nome, oggetto);
+		}
+		else if (id < numeroOggetti + numeroPersonaggi)
+			contesto.mappaPersonaggi().putIfAbsent(nome, tipi.getPersonaggio(tipiEntita[id]).apply(nome));
+		else
+		{
+			int i = id - numeroOggetti - numeroPersonaggi;
+			contesto.mappaLink().putIfAbsent(nome, tipi.getLink(tipiEntita[id]).crea(nome, stanze1[i], stanze2[i]));
+		}
+	}
+
+
+	/**
+	 * Metodo di utilità che ritorna un'entità del contesto, istanziando il suo gruppo se necessario
+	 */
+	private Target getEntita(ContestoMondo contesto, int id)
+	{
+		istanziaGruppo(contesto, gruppo[id]);
+		return cerca(contesto, id);
+	}
+
+
+	/**
+	 * Metodo di utilità che ritorna un'entità del contesto (null se non è ancora stata istanziata)
+	 */
+	private Target cerca(ContestoMondo contesto, int id)
+	{
+		if (id < numeroOggetti)
+			return contesto.mappaOggetti().cerca(idNomi[id]);
+
+		if (id < numeroOggetti + numeroPersonaggi)
+			return contesto.mappaPersonaggi().cerca(idNomi[id]);
+
+		return contesto.mappaLink().cerca(idNomi[id]);
+	}
+
+
+	/**
+	 * Metodo di utilità che divide le entità in gruppi, unendo ogni entità ai suoi target,
+	 * e ritorna il numero di gruppi
+	 */
+	private int calcolaGruppi()
+	{
+		// Ogni entità parte da sola nel proprio gruppo
+		int[] padre = new int[nomi.length];
+		for (int id = 0; id < padre.length; id++)
+			padre[id] = id;
+
+		for (int id = 0; id < numeroOggetti + numeroPersonaggi; id++)
+			for (int t = inizioTarget[id]; t < inizioTarget[id + 1]; t++)
+				if (target[t] != -1)
+					padre[radice(padre, id)] = radice(padre, target[t]);
+
+		// Numero i gruppi e conto le entità di ognuno
+		int[] numeroGruppo = new int[padre.length];
+		Arrays.fill(numeroGruppo, -1);
+		int numeroGruppi = 0;
+
+		for (int id = 0; id < padre.length; id++)
+		{
+			int r = radice(padre, id);
+
+			if (numeroGruppo[r] == -1)
+				numeroGruppo[r] = numeroGruppi++;
+
+			gruppo[id] = numeroGruppo[r];
+			inizioGruppo[gruppo[id] + 1]++;
+		}
+
+		for (int g = 0; g < numeroGruppi; g++)
+			inizioGruppo[g + 1] += inizioGruppo[g];
+
+		int[] posizione = Arrays.copyOf(inizioGruppo, numeroGruppi);
+		for (int id = 0; id < padre.length; id++)
+			entitaGruppi[posizione[gruppo[id]]++] = id;
+
+		return numeroGruppi;
+	}
+
+
+	/**
+	 * Metodo di utilità che trova la radice del gruppo di un'entità (comprimendo il percorso)
+	 */
+	private static int radice(int[] padre, int id)
+	{
+		while (padre[id] != id)
+		{
+			padre[id] = padre[padre[id]];
+			id = padre[id];
+		}
+
+		return id;
+	}
+
+
+	/**
+	 * Metodo di utilità che legge il riferimento a un'entità, e ne ritorna l'indice (-1 se nullo)
+	 */
+	private int leggiRiferimento(ByteBuffer dati)
+	{
+		switch (dati.get())
+		{
+			case MondoCompilato.RIF_OGGETTO: return dati.getInt();
+			case MondoCompilato.RIF_PERSONAGGIO: return numeroOggetti + dati.getInt();
+			case MondoCompilato.RIF_LINK: return numeroOggetti + numeroPersonaggi + dati.getInt();
+			default: return -1;
+		}
+	}
+
+
+	/**
+	 * Metodo di utilità che salta i target di un'entità, e ne ritorna il numero
+	 */
+	private static int saltaTarget(ByteBuffer dati)
+	{
+		int numero = dati.getInt();
+
+		for (int n = 0; n < numero; n++)
+		{
+			dati.getInt();
+			if (dati.get() != MondoCompilato.RIF_NULLO)
+				dati.getInt();
+		}
+
+		return numero;
+	}
+
+
+	/**
+	 * Metodo di utilità che assegna un identificativo ad ogni nome di un array (saltando quelli nulli)
+	 * e ritorna gli identificativi, nelle stesse posizioni dei nomi
+	 */
+	private int[] interna(String[] nomi)
+	{
+		int[] ids = new int[nomi.length];
+
+		for (int i = 0; i < nomi.length; i++)
+			ids[i] = nomi[i] == null ? NomiInterni.NON_PRESENTE : nomiInterni.interna(nomi[i]);
+
+		return ids;
+	}
+
+
+	/**
+	 * Metodo di utilità che riordina una mappa secondo l'ordine dei nomi dati
+	 */
+	private static <T> void riordina(Map<String, T> mappa, String[] nomi, int da, int a)
+	{
+		Map<String, T> copia = new LinkedHashMap<>(mappa);
+		mappa.clear();
+
+		for (int i = da; i < a; i++)
+		{
+			T valore = copia.remove(nomi[i]);
+
+			if (valore != null)
+				mappa.put(nomi[i], valore);
+		}
+
+		mappa.putAll(copia);
+	}
+
+}
@@ -0,0 +1,409 @@
+package it.uniroma1.textadv;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import it.uniroma1.textadv.eccezioni.ClasseJavaNonEsistenteException;
+import it.uniroma1.textadv.eccezioni.ConfigurazioneNonPossibileException;
+import it.uniroma1.textadv.link.Link;
+import it.uniroma1.textadv.link.StanzaLink;
+import it.uniroma1.textadv.oggetti.Oggetto;
+import it.uniroma1.textadv.output.UscitaNulla;
+import it.uniroma1.textadv.utilita.Collezionabile;
+import it.uniroma1.textadv.utilita.Direzione;
+import it.uniroma1.textadv.utilita.ScritturaAtomica;
+import it.uniroma1.textadv.utilita.TabellaNomi;
+import it.uniroma1.textadv.utilita.Target;
+
+
+/**
+ * Classe che salva e carica la forma compilata di un mondo (.gamec).
+ *
+ * La forma compilata contiene il mondo già creato dal {@link MondoFactory}: le stanze con le loro entità
+ * e i loro collegamenti, il tipo di ogni entità, i target di ogni entità già risolti, la stanza di partenza
+ * e il giocatore. Caricandola, le entità vengono solamente istanziate (tramite il {@link RegistroTipi})
+ * e collegate tra loro per indice, senza dover analizzare il file di testo nè cercare i target per nome.
+ * La forma compilata viene letta in un {@link ModelloMondo}, che può anche essere condiviso da più partite.
+ *
+ * La forma compilata viene salvata accanto al file .game e viene usata finchè è più recente del file
+ * .game e ne riporta la stessa dimensione e data di modifica; altrimenti il mondo viene ricreato
+ * dal file .game e la forma compilata viene riscritta.
+ *
+ * Formato del file .gamec:
+ * 		MAGIC, VERSIONE, dimensione e data di modifica del file .game,
+ * 		tabella delle stringhe (numero stringhe, per ogni stringa: lunghezza e byte UTF-8),
+ * 		nome e descrizione del mondo, nome del giocatore, stanza di partenza,
+ * 		oggetti (nome, tipo, descrizione se collezionabile, target),
+ * 		personaggi (nome, tipo, target),
+ * 		link (nome, tipo, stanza1, stanza2),
+ * 		stanze (nome, descrizione, entità, collegamenti)
+ * Ogni target è un riferimento (tipo di entità, indice) a un oggetto, un personaggio o un link,
+ * e tutte le stringhe sono indici nella tabella delle stringhe.
+ *
+ * @author Gabriele
+ *
+ */
+public class MondoCompilato
+{
+	/**
+	 * L'estensione dei file che contengono un mondo compilato
+	 */
+	public final static String ESTENSIONE = ".gamec";
+
+	/**
+	 * Il numero magico con cui inizia ogni file .gamec ("MZGC")
+	 */
+	private final static int MAGIC = 0x4D5A4743;
+
+	/**
+	 * La versione del formato del file .gamec
+	 */
+	private final static short VERSIONE = 1;
+
+	/**
+	 * Indice usato al posto di una stringa assente (ES: la descrizione di un oggetto non collezionabile)
+	 */
+	final static int NESSUNA = -1;
+
+	/**
+	 * I tipi di riferimento a un target, a un'entità di una stanza o a un collegamento
+	 */
+	final static byte RIF_NULLO = 0;
+	final static byte RIF_OGGETTO = 1;
+	final static byte RIF_PERSONAGGIO = 2;
+	final static byte RIF_LINK = 3;
+	final static byte RIF_STANZA = 4;
+
+	/**
+	 * Le direzioni, indicizzate per ordinale
+	 */
+	final static Direzione[] DIREZIONI = Direzione.values();
+
+
+	/**
+	 * Metodo che ritorna il mondo descritto dal file .game dato.
+	 * Se accanto al file c'è una forma compilata aggiornata, il mondo viene caricato da essa;
+	 * altrimenti viene creato dal {@link MondoFactory} e la forma compilata viene salvata per le volte successive.
+	 *
+	 * @param percorso il percorso del file .game
+	 * @return il riferimento all'istanza del mondo
+	 *
+	 * @throws IOException sollevata se si è verificato un errore di IO
+	 * @throws ConfigurazioneNonPossibileException sollevata se è stato riscontrato un errore
+	 * 											   nel file di configurazione
+	 */
+	public static Mondo carica(Path percorso) throws IOException, ConfigurazioneNonPossibileException
+	{
+		RegistroTipi tipi = RegistroTipi.predefinito();
+		long dimensione = Files.size(percorso);
+		long modifica = Files.getLastModifiedTime(percorso).toMillis();
+
+		// Se esiste una forma compilata aggiornata, istanzio subito tutto il mondo che descrive
+		ModelloMondo modello = leggiCache(percorso, dimensione, modifica, tipi);
+
+		if (modello != null)
+			return modello.istanzia(ContestoMondo.corrente(), false);
+
+		MondoFactory factory = new MondoFactory();
+		Mondo mondo = factory.crea(percorso, tipi);
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		scrivi(out, mondo, factory, dimensione, modifica);
+		salva(getPercorsoCache(percorso), out.toByteArray());
+
+		return mondo;
+	}
+
+
+	/**
+	 * Metodo che ritorna il modello del mondo descritto dal file .game dato, da condividere tra più partite.
+	 * Se accanto al file c'è una forma compilata aggiornata, il modello viene letto da essa;
+	 * altrimenti il mondo viene creato dal {@link MondoFactory} (in un contesto a parte) e la sua
+	 * forma compilata viene salvata e poi letta.
+	 *
+	 * @param percorso il percorso del file .game
+	 * @return il modello del mondo
+	 *
+	 * @throws IOException sollevata se si è verificato un errore di IO
+	 * @throws ConfigurazioneNonPossibileException sollevata se è stato riscontrato un errore
+	 * 											   nel file di configurazione
+	 */
+	@SuppressWarnings("try")
+	public static ModelloMondo caricaModello(Path percorso) throws IOException, ConfigurazioneNonPossibileException
+	{
+		RegistroTipi tipi = RegistroTipi.predefinito();
+		long dimensione = Files.size(percorso);
+		long modifica = Files.getLastModifiedTime(percorso).toMillis();
+
+		ModelloMondo modello = leggiCache(percorso, dimensione, modifica, tipi);
+
+		if (modello != null)
+			return modello;
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+		try (ContestoMondo.Attivazione attivazione = new ContestoMondo(UscitaNulla.getInstance()).attiva())
+		{
+			MondoFactory factory = new MondoFactory();
+			Mondo mondo = factory.crea(percorso, tipi);
+			scrivi(out, mondo, factory, dimensione, modifica);
+		}
+
+		byte[] compilato = out.toByteArray();
+		salva(getPercorsoCache(percorso), compilato);
+
+		return leggi(ByteBuffer.wrap(compilato), dimensione, modifica, tipi);
+	}
+
+
+	/**
+	 * Metodo di utilità che legge il modello dalla forma compilata di un mondo,
+	 * se esiste ed è più recente del file .game
+	 * @return il modello, oppure null se la forma compilata non esiste o non è aggiornata
+	 */
+	private static ModelloMondo leggiCache(Path percorso, long dimensione, long modifica, RegistroTipi tipi)
+	{
+		Path cache = getPercorsoCache(percorso);
+
+		try
+		{
+			if (Files.isRegularFile(cache) && Files.getLastModifiedTime(cache).toMillis() >= modifica)
+				return leggi(ByteBuffer.wrap(Files.readAllBytes(cache)), dimensione, modifica, tipi);
+		}
+		catch (IOException e)
+		{
+			// La forma compilata è illeggibile: il mondo va ricreato dal file .game
+		}
+
+		return null;
+	}
+
+
+	/**
+	 * Metodo di utilità che salva la forma compilata di un mondo
+	 */
+	private static void salva(Path cache, byte[] compilato)
+	{
+		// Se non è possibile salvare la forma compilata, il mondo verrà ricreato dal file .game la prossima volta
+		ScritturaAtomica.scrivi(cache, out -> out.write(compilato));
+	}
+
+
+	/**
+	 * Metodo che ritorna il percorso della forma compilata di un mondo
+	 * @param percorso il percorso del file .game
+	 * @return il percorso del file .gamec
+	 */
+	public static Path getPercorsoCache(Path percorso)
+	{
+		return percorso.resolveSibling(percorso.getFileName() + "c");
+	}
+
+
+	/**
+	 * Metodo che scrive la forma compilata del mondo appena creato dal {@link MondoFactory}
+	 * @param out dove scrivere il mondo compilato
+	 * @param mondo il mondo appena creato
+	 * @param factory la factory che ha creato il mondo (di cui si usa la configurazione letta)
+	 * @param dimensione la dimensione del file .game
+	 * @param modifica la data di ultima modifica del file .game
+	 *
+	 * @throws IOException sollevata se c'è stato un errore di IO
+	 */
+	private static void scrivi(OutputStream out, Mondo mondo, MondoFactory factory, long dimensione, long modifica) throws IOException
+	{
+		List<Oggetto> oggetti = new ArrayList<>(Mondo.getMappaOggettiIstanziati().values());
+		List<Personaggio> personaggi = new ArrayList<>(Mondo.getMappaPersonaggiIstanziati().values());
+		List<Link> links = new ArrayList<>(Mondo.getMappaLinkIstanziati().values());
+		List<Stanza> stanze = new ArrayList<>(Mondo.getMappaStanzeIstanziate().values());
+
+		// Gli indici di ogni entità, per poterla riferire
+		Map<Target, Integer> indici = new IdentityHashMap<>();
+		for (int i = 0; i < oggetti.size(); i++) indici.put(oggetti.get(i), i);
+		for (int i = 0; i < personaggi.size(); i++) indici.put(personaggi.get(i), i);
+		for (int i = 0; i < links.size(); i++) indici.put(links.get(i), i);
+
+		// Le istruzioni vengono scritte in un buffer, mentre le stringhe vengono raccolte
+		// nella tabella che verrà scritta prima delle istruzioni
+		TabellaNomi stringhe = new TabellaNomi();
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		DataOutputStream dati = new DataOutputStream(buffer);
+
+		dati.writeInt(stringhe.aggiungi(mondo.getNomeMondo()));
+		dati.writeInt(stringhe.aggiungi(mondo.getDescrizioneMondo()));
+		dati.writeInt(stringhe.aggiungi(Mondo.getPlayer().getName()));
+		dati.writeInt(stringhe.aggiungi(Mondo.getStanzaDiPartenza().getNomeStanza()));
+
+		// Gli oggetti
+		dati.writeInt(oggetti.size());
+		for (Oggetto ogg : oggetti)
+		{
+			dati.writeInt(stringhe.aggiungi(ogg.getName()));
+			dati.writeInt(stringhe.aggiungi(factory.getTipoOggetto(ogg.getName())));
+
+			String descrizione = ogg instanceof Collezionabile ? factory.getDescrizioneCollezionabile(ogg.getName()) : null;
+			dati.writeInt(descrizione == null ? NESSUNA : stringhe.aggiungi(descrizione));
+
+			scriviTarget(dati, ogg, indici, stringhe);
+		}
+
+		// I personaggi
+		dati.writeInt(personaggi.size());
+		for (Personaggio pers : personaggi)
+		{
+			dati.writeInt(stringhe.aggiungi(pers.getName()));
+			dati.writeInt(stringhe.aggiungi(factory.getTipoPersonaggio(pers.getName())));
+			scriviTarget(dati, pers, indici, stringhe);
+		}
+
+		// I link
+		dati.writeInt(links.size());
+		for (Link link : links)
+		{
+			dati.writeInt(stringhe.aggiungi(link.getName()));
+			dati.writeInt(stringhe.aggiungi(factory.getTipoLink(link.getName())));
+			dati.writeInt(stringhe.aggiungi(link.getStanza1()));
+			dati.writeInt(stringhe.aggiungi(link.getStanza2()));
+		}
+
+		// Le stanze
+		dati.writeInt(stanze.size());
+		for (Stanza stanza : stanze)
+		{
+			dati.writeInt(stringhe.aggiungi(stanza.getNomeStanza()));
+			dati.writeInt(stanza.getDescrizione() == null ? NESSUNA : stringhe.aggiungi(stanza.getDescrizione()));
+
+			Map<String, Entita> entita = stanza.getElencoEntitaNellaStanza();
+			dati.writeInt(entita.size());
+			for (Entry<String, Entita> entry : entita.entrySet())
+			{
+				dati.writeInt(stringhe.aggiungi(entry.getKey()));
+				dati.writeByte(entry.getValue() instanceof Oggetto ? RIF_OGGETTO : RIF_PERSONAGGIO);
+				dati.writeInt(indici.get(entry.getValue()));
+			}
+
+			Map<Direzione, List<Link>> collegamenti = stanza.getElencoCollegamenti();
+			dati.writeInt(collegamenti.values().stream().mapToInt(List::size).sum());
+			for (Entry<Direzione, List<Link>> entry : collegamenti.entrySet())
+			{
+				for (Link link : entry.getValue())
+				{
+					dati.writeByte(entry.getKey().ordinal());
+
+					// Le stanze che fanno da collegamento non sono nella mappa dei link del mondo
+					if (link instanceof StanzaLink && !indici.containsKey(link))
+					{
+						dati.writeByte(RIF_STANZA);
+						dati.writeInt(stringhe.aggiungi(link.getStanza2()));
+					}
+					else
+					{
+						dati.writeByte(RIF_LINK);
+						dati.writeInt(indici.get(link));
+					}
+				}
+			}
+		}
+
+		// Scrivo l'intestazione, la tabella delle stringhe e infine le istruzioni
+		DataOutputStream file = new DataOutputStream(new BufferedOutputStream(out));
+		file.writeInt(MAGIC);
+		file.writeShort(VERSIONE);
+		file.writeLong(dimensione);
+		file.writeLong(modifica);
+
+		file.writeInt(stringhe.size());
+		for (int id = 0; id < stringhe.size(); id++)
+		{
+			byte[] utf8 = stringhe.getNome(id).getBytes(StandardCharsets.UTF_8);
+			file.writeInt(utf8.length);
+			file.write(utf8);
+		}
+
+		buffer.writeTo(file);
+		file.flush();
+	}
+
+
+	/**
+	 * Metodo di utilità che scrive i target (già risolti) di un'entità
+	 */
+	private static void scriviTarget(DataOutputStream dati, Entita entita, Map<Target, Integer> indici, TabellaNomi stringhe)
+																										throws IOException
+	{
+		Map<String, Target> elencoTarget = entita.getElencoTarget();
+		dati.writeInt(elencoTarget.size());
+
+		for (Entry<String, Target> entry : elencoTarget.entrySet())
+		{
+			Target target = entry.getValue();
+			Integer indice = target == null ? null : indici.get(target);
+
+			dati.writeInt(stringhe.aggiungi(entry.getKey()));
+
+			if (indice == null)
+				dati.writeByte(RIF_NULLO);
+			else
+			{
+				dati.writeByte(target instanceof Oggetto ? RIF_OGGETTO : target instanceof Personaggio ? RIF_PERSONAGGIO : RIF_LINK);
+				dati.writeInt(indice);
+			}
+		}
+	}
+
+
+	/**
+	 * Metodo che legge il modello del mondo dalla sua forma compilata
+	 * @param dati il contenuto del file .gamec
+	 * @param dimensione la dimensione che deve avere il file .game
+	 * @param modifica la data di ultima modifica che deve avere il file .game
+	 * @param tipi il registro dei tipi di entità
+	 * @return il modello del mondo, oppure null se la forma compilata non corrisponde al file .game
+	 *
+	 * @throws IOException sollevata se il file non è valido
+	 */
+	private static ModelloMondo leggi(ByteBuffer dati, long dimensione, long modifica, RegistroTipi tipi) throws IOException
+	{
+		try
+		{
+			// Verifico che sia un file .gamec, del formato corrente e dello stesso file .game
+			if (dati.getInt() != MAGIC || dati.getShort() != VERSIONE
+				|| dati.getLong() != dimensione || dati.getLong() != modifica)
+				return null;
+
+			// La tabella delle stringhe
+			String[] stringhe = new String[dati.getInt()];
+			for (int id = 0; id < stringhe.length; id++)
+			{
+				int lunghezza = dati.getInt();
+				stringhe[id] = new String(dati.array(), dati.position(), lunghezza, StandardCharsets.UTF_8);
+				dati.position(dati.position() + lunghezza);
+			}
+
+			return new ModelloMondo(dati, stringhe, tipi);
+		}
+		catch (ClasseJavaNonEsistenteException e)
+		{
+			// Se un tipo non è più registrato, il mondo va ricreato dal file .game
+			return null;
+		}
+		catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException | NegativeArraySizeException e)
+		{
+			throw new IOException("Mondo compilato non valido", e);
+		}
+	}
+
+}
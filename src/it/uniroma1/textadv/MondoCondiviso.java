@@ -0,0 +1,178 @@
+package it.uniroma1.textadv;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import it.uniroma1.textadv.eccezioni.ConfigurazioneNonPossibileException;
+import it.uniroma1.textadv.output.Uscita;
+import it.uniroma1.textadv.output.UscitaNulla;
+
+
+/**
+ * Classe che modella un mondo in cui giocano più giocatori contemporaneamente.
+ *
+ * Il mondo viene istanziato tutto alla creazione, e ogni giocatore aggiunto ha il proprio
+ * {@link ContestoMondo}, con la propria uscita, che condivide le stanze e le entità del mondo.
+ * Le partite dei giocatori possono essere giocate in thread diversi (ES: con {@link Gioco#play(Mondo, java.io.BufferedReader)}),
+ * e i comandi vengono eseguiti in uno dei due modi (vedi {@link Esecuzione}):
+ * - di default ogni comando blocca solo le stanze su cui può agire (vedi {@link SerratureStanze}),
+ *   pertanto i comandi di giocatori in zone diverse del mondo vengono eseguiti in parallelo
+ * - con gli attori, ogni comando viene eseguito dall'attore della stanza del giocatore (vedi {@link AttoriStanze})
+ *
+ * Gli attori bloccano le stesse strisce delle serrature, a cui aggiungono il passaggio del comando
+ * alla casella di posta, pertanto sono più lenti in ogni caso misurato da {@link it.uniroma1.textadv.benchmark.BenchmarkAttoriStanze}
+ * (ns per comando, serrature contro attori): 4107 contro 9476 con 1 giocatore per stanza,
+ * 545 contro 7572 con 100 e 1372 contro 8269 con 10.000. Il modo di default resta quindi quello consigliato.
+ *
+ * ES:
+ * 		MondoCondiviso condiviso = new MondoCondiviso(ModelloMondo.carica(Paths.get("minizak.game")));
+ * 		Mondo mondo = condiviso.aggiungiGiocatore("zak", new UscitaBufferizzata());
+ * 		new Gioco().play(mondo);
+ *
+ * @author Gabriele
+ *
+ */
+public class MondoCondiviso implements AutoCloseable
+{
+	/**
+	 * Enumerazione che specifica i possibili modi di eseguire i comandi dei giocatori
+	 *
+	 * @author Gabriele
+	 */
+	public enum Esecuzione { SERRATURE, ATTORI }
+
+
+	/**
+	 * Il contesto che contiene le stanze e le entità del mondo
+	 */
+	private final ContestoMondo condiviso;
+
+	/**
+	 * Le serrature delle stanze del mondo (null se i comandi vengono eseguiti dagli attori)
+	 */
+	private final SerratureStanze serrature;
+
+	/**
+	 * Gli attori delle stanze del mondo (null se i comandi vengono eseguiti con le serrature)
+	 */
+	private final AttoriStanze attori;
+
+
+	/**
+	 * Costruttore del mondo condiviso, con una striscia di serrature per stanza
+	 * @param modello il modello del mondo
+	 */
+	public MondoCondiviso(ModelloMondo modello)
+	{
+		this(modello, SerratureStanze.MAX_STRISCE);
+	}
+
+
+	/**
+	 * Costruttore del mondo condiviso in cui i comandi vengono eseguiti con le serrature
+	 * @param modello il modello del mondo
+	 * @param maxStrisce il numero massimo di strisce in cui sono suddivise le stanze
+	 * 					 (con una sola striscia ogni comando blocca tutto il mondo)
+	 */
+	public MondoCondiviso(ModelloMondo modello, int maxStrisce)
+	{
+		condiviso = istanzia(modello);
+		serrature = new SerratureStanze(condiviso, maxStrisce);
+		attori = null;
+	}
+
+
+	/**
+	 * Costruttore del mondo condiviso
+	 * @param modello il modello del mondo
+	 * @param esecuzione il modo in cui eseguire i comandi dei giocatori
+	 */
+	public MondoCondiviso(ModelloMondo modello, Esecuzione esecuzione)
+	{
+		condiviso = istanzia(modello);
+		serrature = esecuzione == Esecuzione.SERRATURE ? new SerratureStanze(condiviso, SerratureStanze.MAX_STRISCE) : null;
+		attori = esecuzione == Esecuzione.ATTORI ? new AttoriStanze(new SerratureStanze(condiviso, SerratureStanze.MAX_STRISCE), Runtime.getRuntime().availableProcessors()) : null;
+	}
+
+
+	/**
+	 * Metodo di utilità che istanzia tutto il mondo del modello in un nuovo contesto
+	 * @param modello il modello del mondo
+	 * @return il contesto con il mondo istanziato
+	 */
+	private static ContestoMondo istanzia(ModelloMondo modello)
+	{
+		ContestoMondo contesto = new ContestoMondo(UscitaNulla.getInstance());
+		modello.istanzia(contesto, false);
+
+		return contesto;
+	}
+
+
+	/**
+	 * Metodo che crea il mondo condiviso dal file di configurazione dato
+	 * @param percorso il percorso del file di configurazione del mondo
+	 * @return il mondo condiviso
+	 *
+	 * @throws IOException sollevata se c'è stato un errore di IO
+	 * @throws ConfigurazioneNonPossibileException sollevata se è stato riscontrato un errore
+	 * 											   nel file di configurazione
+	 */
+	public static MondoCondiviso carica(Path percorso) throws IOException, ConfigurazioneNonPossibileException
+	{
+		return new MondoCondiviso(ModelloMondo.carica(percorso));
+	}
+
+
+	/**
+	 * Metodo che aggiunge un giocatore al mondo, nella stanza di partenza
+	 * @param nome il nome del giocatore
+	 * @param uscita l'uscita su cui mostrare il gioco del giocatore
+	 * @return il mondo visto dal giocatore, su cui giocare la sua partita
+	 */
+	@SuppressWarnings("try")
+	public Mondo aggiungiGiocatore(String nome, Uscita uscita)
+	{
+		ContestoMondo contesto = new ContestoMondo(condiviso, serrature, attori, uscita);
+		Mondo mondoCondiviso = condiviso.getMondo();
+
+		try (ContestoMondo.Attivazione attivazione = contesto.attiva())
+		{
+			Mondo mondo = Mondo.getInstance(mondoCondiviso.getNomeMondo(), mondoCondiviso.getDescrizioneMondo());
+			Giocatore.getInstance(nome).setNewStanzaCorrente(contesto.getStanzaDiPartenza());
+
+			return mondo;
+		}
+	}
+
+
+	/**
+	 * Metodo che ritorna il modo in cui vengono eseguiti i comandi dei giocatori
+	 * @return il modo di esecuzione
+	 */
+	public Esecuzione getEsecuzione()
+	{
+		return attori != null ? Esecuzione.ATTORI : Esecuzione.SERRATURE;
+	}
+
+
+	/**
+	 * Metodo che ritorna il numero di strisce in cui sono suddivise le stanze del mondo
+	 * @return il numero di strisce (0 se i comandi vengono eseguiti dagli attori)
+	 */
+	public int getNumeroStrisce()
+	{
+		return serrature != null ? serrature.getNumeroStrisce() : 0;
+	}
+
+
+	/**
+	 * Ferma i thread degli attori delle stanze (se i comandi vengono eseguiti dagli attori)
+	 */
+	@Override
+	public void close()
+	{
+		if (attori != null)
+			attori.chiudi();
+	}
+}
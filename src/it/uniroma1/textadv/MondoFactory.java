@@ -1,816 +1,824 @@
-package it.uniroma1.textadv;
-
-import java.io.IOException;
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.util.Arrays;
-import java.util.HashMap;
-import java.util.LinkedHashMap;
-import java.util.List;
-import java.util.Map;
-
-import it.uniroma1.textadv.eccezioni.ClasseJavaNonEsistenteException;
-import it.uniroma1.textadv.eccezioni.ConfigurazioneNonPossibileException;
-import it.uniroma1.textadv.link.Link;
-import it.uniroma1.textadv.link.StanzaLink;
-import it.uniroma1.textadv.oggetti.Chiave;
-import it.uniroma1.textadv.oggetti.Oggetto;
-import it.uniroma1.textadv.oggetti.Tesoro;
-import it.uniroma1.textadv.oggetti.Tesoro.StatoSicurezza;
-import it.uniroma1.textadv.personaggi.Guardiano;
-import it.uniroma1.textadv.utilita.ApribileConStrumento;
-import it.uniroma1.textadv.utilita.Collezionabile;
-import it.uniroma1.textadv.utilita.Direzione;
-import it.uniroma1.textadv.utilita.Target;
-
-
-/**
- * Classe specializzata nell'istanziare il Mondo e tutte le sue componenti
- * 
- * @author Gabriele
- *
- */
-public class MondoFactory 
-{
-	// Stringhe usate nel file di configurazione per distinguere oggetti,stanze,link, ecc
-	public final static String OBJECTS = "objects";
-	public final static String CHARACTERS = "characters";
-	public final static String LINKS = "links";
-	public final static String PLAYER = "player";
-	public final static String ROOM = "room";
-	public final static String WORLD = "world";
-	public final static String DESCRIPTION = "description";
-	public final static String START = "start";
-	
-	// Usato per l'easter Egg
-	public final static String COLLEZIONABILI = "collezionabili";
-	
-	// Package in cui si trovano le classi relative
-	public final static String PACKAGE_LINK = "it.uniroma1.textadv.link.";
-	public final static String PACKAGE_OGGETTI = "it.uniroma1.textadv.oggetti.";
-	public final static String PACKAGE_PERSONAGGI = "it.uniroma1.textadv.personaggi.";
-	
-	// Messaggio di errore nel caso in cui il file di configurazione ha degli errori
-	public final static String FILE_CONFIG_ERRATO = "Il formato del file di configurazione  errato!";
-	public final static String FILE_CONFIG_ELEMENTO_DUPLICATO = "Esistono due elementi con lo stesso nome";
-	public static final String FILE_CONFIG_STANZE_DUPLICATE = "Ci sono due stanze con lo stesso nome!";
-	
-	public static final String CLASS_NOT_FOUND = "Non  stata trovata la classe: ";
-	
-	
-	
-	/**
-	 * Riferimento al mondo di gioco che viene creato.
-	 */
-	private static Mondo mondo;
-	
-	/**
-	 * Per salvare il nome della stanza di partenza quando viene trovata l'informazione nel file
-	 */
-	private static String stanzaDiPartenza;
-	
-	
-	// =================== MAPPE DI CONFIGURAZIONE ===========================
-	
-	/**
-	 * Mappa delle stanze del mondo, che contiene come:
-	 * - chiave: il nome della stanza
-	 * - valori: una mappa che riporta come chiave il dettaglio interessato (es: objects, links, ecc),
-	 *           e come valori i nomi di ci che la stanza deve avere
-	 */
-	private static Map<String, Map<String, String>> mappaStanze = new LinkedHashMap<>();
-	
-	
-	/**
-	 * Mappa degli oggetti presenti nel mondo, che contiene:
-	 * - come chiavi: i nomi degli oggetti
-	 * - come valori: la lista contenente i nomi della classeJava corrispondente e i target dell'oggetto
-	 */
-	private static Map<String, List<String>> mappaOggetti = new LinkedHashMap<>();
-	
-	
-	/**
-	 * Mappa dei link del mondo, che contiene:
-	 * - come chiavi: il nome del link
-	 * - come valori: l'elenco dei nomi delle stanze che collega
-	 */
-	private static Map<String, List<String>> mappaLink = new LinkedHashMap<>();
-	
-	
-	
-	/**
-	 * Mappa dei personaggi del mondo, contenente:
-	 * - come chiavi: i nomi dei personaggi
-	 * - come valori: l'elenco con i nomi dei target del personaggio
-	 */
-	private static Map<String, List<String>> mappaPersonaggi = new LinkedHashMap<>();
-
-	
-	/**
-	 * Introdotta per l' EASTEREGG
-	 * 
-	 * Mappa che preserva il nome degli oggetti collezionabili (inseriti come easter egg)
-	 * - come chiave: il nome dell'oggetto collezionabile
-	 * - come valore: la lista con i suoi target e la sua descrizione
-	 */
-	private static Map<String, List<String>> mappaCollezionabili = new LinkedHashMap<>();
-	
-	
-	/**
-	 * Metodo che dato il percorso di un file di configurazione, crea il mondo
-	 * 
-	 * @param percorso il percorso del file di configurazione
-	 * @return il riferimento all'istanza del mondo creata
-	 * 
-	 * @throws IOException sollevata se si  verificato un errore di IO
-	 * @throws ConfigurazioneNonPossibileException sollevata se  stato riscontrato un errore 
-	 * 											   nel file di configurazione
-	 */
-	public static Mondo creaMondo(Path percorso) throws IOException, ConfigurazioneNonPossibileException
-	{
-		// Verifico che sia stato dato il formato corretto del file di configurazione
-		if ( !percorso.toString().endsWith(".game") )
-			throw new ConfigurazioneNonPossibileException("Il formato del file non  .game!");
-
-		// Se il formato  corretto, leggo tutto il file e ne ottengo un'unica stringa
-		String file = Files.readString(percorso);
-		
-		// Splitto il file in blocchi secondo le parentesi quadre aperte "["
-		// Esse sanciscono l'inizio di un nuovo blocco dedicato alla configurazione di un certo elemento
-		String[] blocchi = file.split("\\[");
-		
-		// Itero su ogni blocco per mapparne i dati
-		// Salto il blocco[0] perch non contiene dati utili ( generato dallo split)
-		for (int i = 1; i <blocchi.length; i++)
-			
-				// Dato il blocco, ne mappo le informazioni in modo pi organizzato
-				mappaFromBlocco(blocchi[i]);
-		
-
-		// Riempio il mondo con tutto ci che deve contenere
-		try 
-		{
-			// Creo gli oggetti del mondo
-			creaOggetti();
-			
-			// Creo i personaggi del mondo
-			creaPersonaggi();
-			
-			// Creo i Link del mondo
-			creaLink();
-			
-			// Per ogni entit, sistemo l'elenco dei loro target
-			aggiustaTargetPerEntita();
-			
-			// Creo le stanze del mondo
-			creaStanze();
-			
-		} 
-		catch (ClasseJavaNonEsistenteException e) 
-		{
-			throw new ConfigurazioneNonPossibileException(e.getMessage());
-		}
-		
-		
-		// Ricavo il riferimento alla stanza di partenza
-		Stanza stanzaDiStart = Mondo.getStanzaByName(stanzaDiPartenza);
-		
-		if (stanzaDiStart != null)
-		{
-			// Imposto la stanza di partenza del mondo sia per il mondo stesso che per il giocatore
-			Mondo.setStanzaDiPartenza(stanzaDiStart);
-			Mondo.getPlayer().setNewStanzaCorrente(stanzaDiStart);
-		}
-		else 
-			throw new ConfigurazioneNonPossibileException("Non  stata trovata la stanza di partenza!");
-		
-		// ritorno il riferimento all'istanza del mondo
-		return mondo;
-	}
-	
-	
-	
-	/**
-	 * Data una stringa che rappresenta un intero blocco del file di configurazione, mappo nell'apposita
-	 * mappa i dati che riguardano questo blocco di configurazione (es: le room, gli objects, ecc)
-	 * 
-	 * @param blocco la stringa che rappresenta il blocco che si vuole mappare
-	 * @throws ConfigurazioneNonPossibileException sollevata se  impossibile configurare qualcosa
-	 */
-	private static void mappaFromBlocco(String blocco) throws ConfigurazioneNonPossibileException
-	{
-		// Verranno usate nel seguito
-		String classe, nome = null;
-		
-		// Splitto il blocco per riga secondo il separatore dell'OS corrente
-		String[] lineeDelBlocco = blocco.split(System.lineSeparator());
-	
-		// Verifico che la prima riga del blocco sia compresa tra quadre [...]
-		// Altrimenti  un errore del file di configurazione.
-		// NOTA:  sufficente verificare se sia presente la "]" perch il blocco  gi stato splittato sul "["
-		if ( !lineeDelBlocco[0].endsWith("]") )
-			throw new ConfigurazioneNonPossibileException(FILE_CONFIG_ERRATO);
-		
-		
-		// Poich lineeDelBlocco[0] ha sempre la riga di configurazione compresa tra "[...]", e 
-		// in alcuni casi al suo interno  compreso il ":", identifico in quale di questi casi ricadere.
-		int indexDuePunti = lineeDelBlocco[0].indexOf(":");
-		int endSeparator = lineeDelBlocco[0].indexOf("]");
-		
-		// Se non sono presenti i due punti ":" nella prima riga del blocco, allora non 
-		// una stanza e neanche un mondo
-		if (indexDuePunti == -1) 
-		{
-			// Ricavo il nome della classe che devo configurare
-			classe = lineeDelBlocco[0].substring(0, endSeparator);
-			
-			// Se sto esaminando gli oggetti
-			if (classe.equals(OBJECTS))	
-					configuraElementi(mappaOggetti, lineeDelBlocco);
-					
-			// Se sto esaminando i personaggi
-			else if (classe.equals(CHARACTERS))				
-					configuraElementi(mappaPersonaggi, lineeDelBlocco);
-
-			// Se sto esaminando i Link
-			else if (classe.equals(LINKS))		
-					configuraElementi(mappaLink, lineeDelBlocco);
-			
-			//===================== PER EASTEREGG ====================================
-			else if (classe.equals(COLLEZIONABILI))
-			{
-				configuraElementi(mappaCollezionabili, lineeDelBlocco);
-			}
-			//==================================================================
-
-			// Se  il giocatore protagonista
-			else if (classe.equals(PLAYER))
-			{
-				// In lineeDelBlocco[1] vengono specificati i dati del Giocatore
-				// Se presenti, rimuovo i commenti dalla linea
-				lineeDelBlocco[1] = removeCommenti(lineeDelBlocco[1]);
-				
-				// Splitto i dati sul tab
-				// In dettagli[0] = nome del Giocatore
-				// In dettagli[1] = classeJava del Giocatore
-				String[] dettagli = lineeDelBlocco[1].split("\\t");
-				
-				// Imposto il giocatore protagonista
-				Mondo.setPlayerProtagonista(dettagli[0]);
-			}
-			
-		}
-		// Altrimenti, la prima linea del blocco  della forma [_classe_:_nomeIstanza_]
-		else
-		{
-			// Prendo il nome della classe a cui si riferisce il blocco e il nome dell'istanza della classe
-			classe = lineeDelBlocco[0].substring(0, indexDuePunti);
-			nome = lineeDelBlocco[0].substring(indexDuePunti+1, endSeparator);
-			
-			
-			// Definisco delle variabili utili in seguito
-			String description = null, objects = null, start = null, links = null, characters = null;
-			
-			// Esamino ogni riga del blocco
-			for (int i = 1; i < lineeDelBlocco.length; i++)
-			{
-				// Se presenti, rimuovo i commenti dalla linea
-				lineeDelBlocco[i] = removeCommenti(lineeDelBlocco[i]);
-				
-				// Se non ce li ha, continuo splittando la linea sul tab
-				// In dettagli[0] = la parola chiave che indica cosa rappresenta la linea
-				// In dettagli[1] = stringa che elenca i dati che riguardano la parola chiave
-				String[] dettagli = lineeDelBlocco[i].split("\\t");
-				
-				
-				// Se un elemento della configurazione non ha argomenti, allora lo salto
-				// ES: nel file  presente la linea characters senza nessun personaggio specificato
-				if (dettagli.length < 2)
-					continue;						
-				
-				// Altrimenti posso raccogliere gli elementi di configurazione
-				switch(dettagli[0]) 
-				{			
-					case DESCRIPTION -> description = dettagli[1];
-					case OBJECTS -> objects = dettagli[1];
-					case START -> start = dettagli[1];
-					case LINKS -> links = dettagli[1];
-					case CHARACTERS -> characters = dettagli[1];
-					default -> throw new ConfigurazioneNonPossibileException("Non  previsto: " + dettagli[0]);			
-				}
-				
-			}
-			
-			// Se  una stanza
-			if (classe.equals(ROOM))
-			{
-				// Mappo la parola chiave alla stringa che rappresenta i dati
-				Map<String, String> map = new HashMap<>();
-		
-				// Controllo quali dati  stato possibile raccogliere
-				if (description != null)
-					map.put(DESCRIPTION, description);
-				if (objects != null)
-					map.put(OBJECTS, objects);
-				if (characters != null)
-					map.put(CHARACTERS, characters);
-				if (links != null)
-					map.put(LINKS, links);
-				
-				// Aggiungo la configurazione della stanza
-				// Se esistono due stanze con stesso nome  un errore nel file di configurazione
-				if ( mappaStanze.putIfAbsent(nome, map) != null)
-					throw new ConfigurazioneNonPossibileException(FILE_CONFIG_STANZE_DUPLICATE);
-			}
-			// Altrimenti, se  un mondo
-			else if (classe.equals(WORLD))
-			{
-				// Se nel blocco del mondo non sono presenti il nome e la descrizione, il mondo
-				// non pu essere istanziato
-				if (nome == null || description == null)
-					throw new ConfigurazioneNonPossibileException("Non sono stati trovati nome e descrizione del mondo!");
-				
-				// Creo l'unica istanza del mondo
-				MondoFactory.mondo = Mondo.getInstance(nome, description);
-				
-				// Se  presente l'informazione sulla stanza di partenza la salvo
-				if (start != null)
-					stanzaDiPartenza = start;
-			}
-			// Altrimenti non  supportata la configurazione
-			else
-				throw new ConfigurazioneNonPossibileException("Non  prevista la configurazione per: " + classe);
-		
-		}
-		
-	}
-	
-	
-	/**
-	 * Metodo di utilit per rimuovere i commenti da una linea del file
-	 * @param lineaDelBlocco la linea da cui eliminare i commenti
-	 * @return la linea senza commenti
-	 */
-	private static String removeCommenti(String lineaDelBlocco)
-	{
-		// Controllo se la linea ha un commento
-		int indexCommenti = lineaDelBlocco.indexOf(" //");
-		
-		// Se ce l'ha, allora lo elimino prendendo la sottostringa che va dall'inizio della riga
-		// all'inizio del commento
-		if (indexCommenti != -1)
-			lineaDelBlocco = lineaDelBlocco.substring(0, indexCommenti);
-		
-		// ritorno la linea senza commenti
-		return lineaDelBlocco;
-	}
-	
-	
-	
-	/**
-	 * Metodo di utilit usato per configurare la mappa specificata secondo i dati che vengono raccolti
-	 * nella prima fase di parsing del file di configurazione
-	 * 
-	 * @param mappaDaConfigurare la mappa che si vuole popolare
-	 * @param lineeDelBlocco l'array contenente tutte le linee di un blocco estratto dal file di configurazione
-	 * 
-	 * @throws ConfigurazioneNonPossibileException sollevata se nel file di configurazione si trovano
-	 * 											   due elementi con lo stesso nome
-	 */
-	private static void configuraElementi(Map<String, List<String>> mappaDaConfigurare, String[] lineeDelBlocco) 
-															throws ConfigurazioneNonPossibileException
-	{
-		// Esamino separatamente ogni riga del blocco
-		for (int i = 1; i < lineeDelBlocco.length; i++) 
-		{
-			// Se presenti, rimuovo i commenti dalla linea
-			lineeDelBlocco[i] = removeCommenti(lineeDelBlocco[i]);
-			
-			// Splitto la linea sul tab
-			List<String> datiElemento = Arrays.asList(lineeDelBlocco[i].split("\\t"));
-			
-			// Prendo il nome dell'elemento dai dati che lo riguardano.
-			// Esso  sempre in prima posizione
-			String nomeElemento = datiElemento.get(0);
-			
-			// Ricavo la sottolista contenente il nome della ClasseJava e i target, 
-			// che sono nelle posizioni >= 1 della lista dei dati
-			datiElemento = datiElemento.subList(1, datiElemento.size());
-			
-			// Alla mappa indicata aggiungo [chiave = nomeElemento] e [valore = i suoi dati]
-			// Altrimenti, se l'elemento  stato gi inserito, c' un errore nel file di configurazione
-			if ( mappaDaConfigurare.putIfAbsent(nomeElemento, datiElemento) != null)
-				throw new ConfigurazioneNonPossibileException(FILE_CONFIG_ELEMENTO_DUPLICATO);
-		}
-	}
-	
-	
-	/**
-	 * Metodo che si occupa della creazione dei link nel mondo
-	 * 
-	 * @throws ClasseJavaNonEsistenteException sollevata se un link non  associato ad una classeJava
-	 * @throws ConfigurazioneNonPossibileException sollevata se nel file di configurazione il link non ha
-	 * 											   tutti i dati che ci si aspettano
-	 */
-	private static void creaLink() throws ClasseJavaNonEsistenteException, ConfigurazioneNonPossibileException
-	{
-		// Per ogni (nome di) link presente nella mappa dei link configurati
-		for (String nomeLink : mappaLink.keySet())
-		{
-			// Ne ricavo la lista dei dati
-			List<String> datiDelLink = mappaLink.get(nomeLink);
-			
-			// Controllo che ci siano tutti i dati del link
-			if (datiDelLink.size() < 3)
-				throw new ConfigurazioneNonPossibileException("Errore di configurazione nel link: " + nomeLink);
-			
-			// Estraggo il nome della classeJava associato al link, che  sempre in posizione 0
-			String nomeClasseJava = datiDelLink.get(0);
-			
-			// Ricavo i nomi delle due stanze che il link collega,
-			// che sono sempre in posizione 1 e 2
-			String nomeStanza1 = datiDelLink.get(1);
-			String nomeStanza2 = datiDelLink.get(2);
-			
-			try 
-			{
-				// Uso la reflection per capire il link a quale classeJava appartiene
-				Class<?> classeJava = Class.forName(PACKAGE_LINK + nomeClasseJava);
-				
-				// Ne ricavo il costruttore con 3 parametri
-				Constructor<?> costruttore = classeJava.getConstructor(String.class, String.class, String.class);
-				
-				// Lo istanzio
-				Link linkRif = (Link) costruttore.newInstance(nomeLink, nomeStanza1, nomeStanza2);
-				
-				// Aggiungo il riferimento al link creato nella mappa dei link del mondo
-				Mondo.addLinkToMappaLinkIstanziati(nomeLink, linkRif);
-			}
-			catch (ClassNotFoundException e) 
-			{
-				throw new ClasseJavaNonEsistenteException(CLASS_NOT_FOUND + nomeClasseJava);
-			}
-			catch (NoSuchMethodException |
-					SecurityException | InstantiationException |
-					IllegalAccessException | IllegalArgumentException | InvocationTargetException e) 
-			{
-				e.printStackTrace();
-			}
-			
-		}
-	}
-	
-	
-	
-	/**
-	 * Metodo che si occupa della creazione delle stanze del mondo
-	 */
-	private static void creaStanze()
-	{
-		// Itero sui nomi delle stanze presenti nella mappa che le configura
-		for (String nomeStanza : mappaStanze.keySet())
-		{
-			// Per ogni stanza ne ricavo tutti i dati raccolti
-			Map<String, String> datiDellaStanza = mappaStanze.get(nomeStanza);
-			
-			// Ricavo la descrizione della stanza
-			String descrizione = datiDellaStanza.get(DESCRIPTION);
-			
-			// Creo la stanza e la aggiungo al mondo
-			Stanza stanza = new Stanza(nomeStanza, descrizione);
-			
-			// Aggiungo alla mappa delle stanze istanziate la coppia (nomeStanza, suoRiferimento)
-			Mondo.addStanzaToMappaStanzeIstanziate(nomeStanza, stanza);
-		
-			// Ricavo dalla mappa la stringa con tutti i nomi degli oggetti che sono nella stanza
-			String strDiOggettiNellaStanza = datiDellaStanza.get(OBJECTS);
-			
-			// Se ci devono essere oggetti nella stanza
-			if (strDiOggettiNellaStanza != null)
-			{
-				// Creo una lista con i nomi (isolati) di tutti gli oggetti nella stanza
-				// Splitto su ", " (virgola<SPAZIO>) oppure su "," (virgola)
-				List<String> listaDiOggettiNellaStanza = Arrays.asList(strDiOggettiNellaStanza.split(", |,"));
-					
-				// Ogni oggetto che deve stare nella stanza lo metto nella stanza
-				for (String nomeOggetto : listaDiOggettiNellaStanza)
-				{
-					// Dalla mappa degli oggetti istanziati del mondo ricavo l'oggetto che mi interessa
-					Oggetto obj = Mondo.getOggettoByName(nomeOggetto);
-					
-					// E lo metto nella stanza
-					stanza.addEntitaNellaStanza(nomeOggetto, obj);
-				}
-			}
-			
-			// Ricavo i nomi dei personaggi presenti nella stanza
-			String nomiPersonaggiNellaStanza = datiDellaStanza.get(CHARACTERS);
-			
-			// Se la stanza ha personaggi, allora li metto nella stanza
-			if (nomiPersonaggiNellaStanza != null)
-			{
-				// Creo una lista con i nomi (isolati) di tutti i personaggi nella stanza
-				List<String> listaNomiPersonaggi = Arrays.asList(nomiPersonaggiNellaStanza.split(","));
-				
-				// Ogni oggetto che deve stare nella stanza lo metto nella stanza
-				for (String nomePersonaggio : listaNomiPersonaggi)
-				{
-					// Ricavo il riferimento al personaggio dalla mappa dei personaggi istanziati del mondo
-					Personaggio pers = Mondo.getPersonaggioByName(nomePersonaggio);
-					
-					// Lo aggiungo alla stanza
-					stanza.addEntitaNellaStanza(nomePersonaggio, pers);
-				}
-			}
-			
-			// Ricavo dalla mappa la stringa con tutti i nomi dei link della stanza
-			String strDiLinkNellaStanza = datiDellaStanza.get(LINKS);
-			
-			// Se ci sono link, allora li metto nella stanza
-			if (strDiLinkNellaStanza != null)
-			{
-				// Creo una lista con i nomi (isolati) di tutti i link della stanza
-				List<String> listaDiLinkNellaStanza = Arrays.asList(strDiLinkNellaStanza.split(","));
-				
-				// Per ogni link che deve stare nella stanza
-				for (String link : listaDiLinkNellaStanza)
-				{
-					// In datiLink[0] = la direzione
-					// In dettagli[1] = il nome del Link (oppure il nome della stanza che fa da link)
-					String[] datiLink = link.split(":");
-					
-					// Ottengo l'istanza associata alla direzione che mi interessa
-					Direzione dir = Direzione.valueOf(Direzione.class, datiLink[0]);
-					
-					// Dalla mappa dei link, ricavo il riferimento al link stesso
-					Link rifLink = Mondo.getLinkByName(datiLink[1]);
-					
-					// Se non esiste il link, allora  perch  la stanza stessa a fare da collegamento
-					// Pertanto creo una StanzaLink che unisce le due stanze
-					if (rifLink == null)
-						rifLink = new StanzaLink(nomeStanza, datiLink[1]);
-					
-					// Aggiungo alla stanza la coppia (direzione, link)
-					stanza.addLinkDellaStanza(dir, rifLink);
-					
-				}
-		
-			}
-			
-			// Passo alla prossima stanza
-		
-		}
-		
-	}
-	
-	
-	
-	/**
-	 * Metodo che si occupa della creazione degli oggetti presenti nel mondo
-	 * 
-	 * @throws ClasseJavaNonEsistenteException sollevata se un oggetto non  associato ad una classe Java
-	 */
-	private static void creaOggetti() throws ClasseJavaNonEsistenteException
-	{
-		// Per ogni oggetto presente nella mappaDiCofigurazione degli oggetti
-		for (String nomeOggettoDaCreare : mappaOggetti.keySet())
-		{
-			// Ricavo dalla mappa degli oggetti i dati che lo riguardano
-			List<String> datiDellOggetto = mappaOggetti.get(nomeOggettoDaCreare);
-			
-			// In datiDellOggetto[0] ho il nome della classeJava associata all'oggetto
-			String nomeClasseJava = datiDellOggetto.get(0);
-			
-			
-			// In tutte le posizioni successive possono esserci i target con cui l'oggetto pu interagire
-			// Se oltre al nomeDellaClasseJava ha anche dei target, allora li considero
-			if (datiDellOggetto.size() > 1)
-				datiDellOggetto = datiDellOggetto.subList(1, datiDellOggetto.size());
-			
-			
-			// Uso la reflection per capire quale oggetto istanziare
-			try 
-			{
-				// Sapendo il nome della ClasseJava, ne ricavo il Class
-				Class<?> classeJava = Class.forName(PACKAGE_OGGETTI + nomeClasseJava );
-				
-				// Ottengo un array con i costruttori della classe
-				Constructor<?>[] arrCostruttori = classeJava.getConstructors();
-				
-				// Inizializzo a null il riferimento all'oggetto che voglio creare
-				Oggetto obj = null;
-				
-				// Esamino i costruttori per trovare quello corretto e istanzio l'oggetto
-				for(Constructor<?> costruttore : arrCostruttori)
-				{
-					// Se l'oggetto non ha target
-					if (costruttore.getParameterCount() == 0)
-					{
-						obj = (Oggetto) costruttore.newInstance();
-						break;
-					}
-					// Se l'oggetto ha un target
-					else if (costruttore.getParameterCount() == 1)
-					{
-						obj = (Oggetto) costruttore.newInstance(nomeOggettoDaCreare);
-						break;
-					}
-					
-				}
-				
-				// Salvo per l'oggetto il nome delle sue entit target
-				for (String target : datiDellOggetto)
-					obj.addTarget(target, null);
-				
-				
-				//=================== PER EASTEREGG ============================
-				
-				// Se l'oggetto  un collezionabile
-				if (obj instanceof Collezionabile)
-				{
-					// Ricavo la lista delle sue descrizioni dalla mappa apposita
-					List<String> descrizione = mappaCollezionabili.get(nomeOggettoDaCreare);
-					
-					// E setto la sua descrizione
-					((Collezionabile) obj).setDescrizione(descrizione.get(0));
-				}
-				//==================================================================
-				
-				// Aggiungo il riferimento all'oggetto creato alla mappa degli oggetti istanziati
-				Mondo.addOggettoToMappaOggettiIstanziati(nomeOggettoDaCreare, obj);
-			} 
-			catch (ClassNotFoundException e) 
-			{
-				throw new ClasseJavaNonEsistenteException(CLASS_NOT_FOUND + nomeClasseJava);
-			} 
-			catch (InstantiationException| IllegalAccessException|
-				   SecurityException|IllegalArgumentException|InvocationTargetException e) 
-			{
-				e.printStackTrace();
-			} 
-		}
-	}
-	
-	
-	/**
-	 * Metodo che si occupa della creazione dei personaggi del mondo
-	 * 
-	 * @throws ClasseJavaNonEsistenteException sollevata se il personaggio non  associato ad alcuna classeJava
-	 */
-	private static void creaPersonaggi() throws ClasseJavaNonEsistenteException
-	{
-		
-		// Esamino ogni personaggio nella mappa di configurazione dei personaggi
-		for (String nomePersonaggio : mappaPersonaggi.keySet())
-		{
-			// Estraggo i dati che riguardano il personaggio
-			List<String> datiDelPersonaggio = mappaPersonaggi.get(nomePersonaggio);
-			
-			// Ricavo la classeJava associata al personaggio
-			String nomeClasseJava = datiDelPersonaggio.get(0);
-			
-			// Se il personaggio ha dei target, allora li ricavo 
-			if(datiDelPersonaggio.size() > 1)
-				datiDelPersonaggio = datiDelPersonaggio.subList(1, datiDelPersonaggio.size());
-				
-			try 
-			{
-				// Uso la reflection per ottenere il .class della classeJava associata al personaggio
-				Class<?> classeJava = Class.forName(PACKAGE_PERSONAGGI + nomeClasseJava);
-				
-				// Ottengo il costruttore che mi interessa, che prende in input solo una stringa (il nome)
-				Constructor<?> costruttore = classeJava.getConstructor(String.class);
-				
-				// Inizializzo il personaggio dandogli il suo nome
-				Personaggio pers = (Personaggio) costruttore.newInstance(nomePersonaggio);
-				
-				// Per ogni target del personaggio
-				for (String nomeTarget : datiDelPersonaggio)
-				{	
-					// Controllo se il target  un oggetto che  stato istanziato
-					Entita rifOgg = Mondo.getOggettoByName(nomeTarget);
-					
-					if (rifOgg != null)
-					{
-						pers.addTarget(nomeTarget, rifOgg);
-						continue;
-					}
-					
-					// Controllo se il target  un personaggio prendibile che  stato istanziato
-					rifOgg = Mondo.getPersonaggioByName(nomeTarget);
-					if (rifOgg != null)
-					{
-						pers.addTarget(nomeTarget, rifOgg);
-						continue;
-					}
-
-				}
-				
-				// Aggiungo alla mappa dei personaggi istanziati la coppia (nomePersonaggio, suo riferimento)
-				Mondo.addPersonaggioToMappaPersonaggiIstanziati(nomePersonaggio, pers);
-			}
-			catch (ClassNotFoundException e) 
-			{
-				throw new ClasseJavaNonEsistenteException(CLASS_NOT_FOUND + nomeClasseJava);
-			} 
-			catch (InstantiationException|IllegalAccessException| 
-					IllegalArgumentException| SecurityException| InvocationTargetException| 
-					NoSuchMethodException e) 
-			{
-				e.printStackTrace();
-			}
-		}
-	}
-	
-	
-	/**
-	 * Metodo che si occupa di assegnare a ogni Personaggio e oggetto
-	 * i riferimenti ai propri target
-	 */
-	private static void aggiustaTargetPerEntita()
-	{
-		// Per ogni personaggio del mondo
-		for (Personaggio personaggio : Mondo.getMappaPersonaggiIstanziati().values())
-			
-			// Gli aggiungo i suoi target
-			aggiungiTargetTo(personaggio);
-		
-		
-		// Per ogni oggetto presente nel mondo
-		for (Oggetto oggetto : Mondo.getMappaOggettiIstanziati().values())
-			
-			// Gli aggiungo i suoi target
-			aggiungiTargetTo(oggetto);
-		
-	}
-	
-	
-	
-	/**
-	 * Metodo che dato il riferimento ad un'entit, esamina tutti i suoi target e associa ad ogni
-	 * nome del target il proprio riferimento.
-	 * 
-	 * I riferimenti ai target vengono ricavati dalle mappe del mondo che mantengono tali dati.
-	 * 
-	 * @param entita l'entit a cui aggiungere i target
-	 */
-	private static void aggiungiTargetTo(Entita entita)
-	{
-		// Per ogni (nome di) target dell'entit
-		for (String nomeTarget : entita.getElencoTarget().keySet())
-		{
-			// Ricavo il riferimento all'eventuale oggetto target 
-			Target obj = Mondo.getOggettoByName(nomeTarget);
-			
-			// Ricavo il riferimento all'eventuale personaggio target
-			Target pers = Mondo.getPersonaggioByName(nomeTarget);
-			
-			// Ricavo il riferimento all'eventuale link target
-			Target link = Mondo.getLinkByName(nomeTarget);
-			
-			// Se il target  un oggetto
-			if (obj != null)
-				configuraTarget(entita, nomeTarget, obj);
-			
-			// Se il target  un personaggio (Es: il gatto)
-			else if (pers != null)
-				configuraTarget(entita, nomeTarget, pers);
-			
-			// Se il target  un link
-			else if (link != null)
-				configuraTarget(entita, nomeTarget, link);
-		}
-
-	}
-		
-
-	/**
-	 * Metodo che data un'entit, e la coppia (nomeDelTarget, riferimentoAlTarget),
-	 * la aggiunge all'elenco dei target dell'entit
-	 * 
-	 * @param entita l'entit a cui aggiungere il target
-	 * @param nomeTarget il nome del target da aggiungere
-	 * @param target il riferimento del target da aggiungere
-	 */
-	private static void configuraTarget(Entita entita, String nomeTarget, Target target)
-	{
-		// Aggiungo ai target dell'entita la coppia (nometarget, riferimentoTarget)
-		entita.addTarget(nomeTarget, target);
-		
-		// Se l'entita  una chiave e il target  un'apribile con strumento
-		if (entita instanceof Chiave && target instanceof ApribileConStrumento)
-		{
-			// Imposto che il target pu essere aperto solo con la chiave
-			((ApribileConStrumento) target).setAperturaConStrumento();
-		}
-		// Se l'entit  un guardiano ed ha come target il tesoro, allora il tesoro
-		//  sotto controllo
-		else if (entita instanceof Guardiano && target instanceof Tesoro)
-		{
-			((Tesoro) target).setStatoSicurezza(StatoSicurezza.CONTROLLATO);
-		}
-	}
-	
+package it.uniroma1.textadv;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import it.uniroma1.textadv.eccezioni.ClasseJavaNonEsistenteException;
+import it.uniroma1.textadv.eccezioni.ConfigurazioneNonPossibileException;
+import it.uniroma1.textadv.link.Link;
+import it.uniroma1.textadv.link.StanzaLink;
+import it.uniroma1.textadv.oggetti.Chiave;
+import it.uniroma1.textadv.oggetti.Oggetto;
+import it.uniroma1.textadv.oggetti.Tesoro;
+import it.uniroma1.textadv.oggetti.Tesoro.StatoSicurezza;
+import it.uniroma1.textadv.personaggi.Guardiano;
+import it.uniroma1.textadv.utilita.ApribileConStrumento;
+import it.uniroma1.textadv.utilita.Collezionabile;
+import it.uniroma1.textadv.utilita.Direzione;
+import it.uniroma1.textadv.utilita.Target;
+
+
+/**
+ * Classe specializzata nell'istanziare il Mondo e tutte le sue componenti
+ * 
+ * Ogni mondo viene creato da una propria istanza della factory, che mantiene la configurazione
+ * letta dal file, e viene istanziato nel {@link ContestoMondo} corrente.
+ * 
+ * @author Gabriele
+ *
+ */
+public class MondoFactory 
+{
+	// Stringhe usate nel file di configurazione per distinguere oggetti,stanze,link, ecc
+	public final static String OBJECTS = "objects";
+	public final static String CHARACTERS = "characters";
+	public final static String LINKS = "links";
+	public final static String PLAYER = "player";
+	public final static String ROOM = "room";
+	public final static String WORLD = "world";
+	public final static String DESCRIPTION = "description";
+	public final static String START = "start";
+	
+	// Usato per l'easter Egg
+	public final static String COLLEZIONABILI = "collezionabili";
+	
+	// Messaggio di errore nel caso in cui il file di configurazione ha degli errori
+	public final static String FILE_CONFIG_ERRATO = "Il formato del file di configurazione è errato!";
+	public final static String FILE_CONFIG_ELEMENTO_DUPLICATO = "Esistono due elementi con lo stesso nome";
+	public static final String FILE_CONFIG_STANZE_DUPLICATE = "Ci sono due stanze con lo stesso nome!";
+	
+	public static final String CLASS_NOT_FOUND = "Non è stata trovata la classe: ";
+	
+	
+	
+	/**
+	 * Riferimento al mondo di gioco che viene creato.
+	 */
+	private Mondo mondo;
+	
+	/**
+	 * Per salvare il nome della stanza di partenza quando viene trovata l'informazione nel file
+	 */
+	private String stanzaDiPartenza;
+	
+	
+	// =================== MAPPE DI CONFIGURAZIONE ===========================
+	
+	/**
+	 * Mappa delle stanze del mondo, che contiene come:
+	 * - chiave: il nome della stanza
+	 * - valori: una mappa che riporta come chiave il dettaglio interessato (es: objects, links, ecc),
+	 *           e come valori i nomi di ciò che la stanza deve avere
+	 */
+	private Map<String, Map<String, String>> mappaStanze = new LinkedHashMap<>();
+	
+	
+	/**
+	 * Mappa degli oggetti presenti nel mondo, che contiene:
+	 * - come chiavi: i nomi degli oggetti
+	 * - come valori: la lista contenente i nomi della classeJava corrispondente e i target dell'oggetto
+	 */
+	private Map<String, List<String>> mappaOggetti = new LinkedHashMap<>();
+	
+	
+	/**
+	 * Mappa dei link del mondo, che contiene:
+	 * - come chiavi: il nome del link
+	 * - come valori: l'elenco dei nomi delle stanze che collega
+	 */
+	private Map<String, List<String>> mappaLink = new LinkedHashMap<>();
+	
+	
+	
+	/**
+	 * Mappa dei personaggi del mondo, contenente:
+	 * - come chiavi: i nomi dei personaggi
+	 * - come valori: l'elenco con i nomi dei target del personaggio
+	 */
+	private Map<String, List<String>> mappaPersonaggi = new LinkedHashMap<>();
+
+	
+	/**
+	 * Introdotta per l' EASTEREGG
+	 * 
+	 * Mappa che preserva il nome degli oggetti collezionabili (inseriti come easter egg)
+	 * - come chiave: il nome dell'oggetto collezionabile
+	 * - come valore: la lista con i suoi target e la sua descrizione
+	 */
+	private Map<String, List<String>> mappaCollezionabili = new LinkedHashMap<>();
+	
+	
+	// =================== STATO DEL BLOCCO IN LETTURA ===========================
+	
+	/**
+	 * La classe e il nome del blocco di configurazione che si sta leggendo
+	 * (la classe è null se il blocco non contiene dati utili)
+	 */
+	private String classeBlocco, nomeBlocco;
+	
+	/**
+	 * Il numero della linea in cui inizia il blocco e il numero di linee di dati lette finora nel blocco
+	 */
+	private int lineaBlocco, lineeNelBlocco;
+	
+	/**
+	 * I dati raccolti per il blocco di una stanza o del mondo:
+	 * - come chiave: il dettaglio interessato (es: objects, links, ecc)
+	 * - come valore: la stringa con i nomi di ciò che la stanza (o il mondo) deve avere
+	 */
+	private Map<String, String> datiBlocco;
+	
+	
+	/**
+	 * Costruttore della factory, che crea un solo mondo
+	 * (usato da {@link MondoCompilato} per ricavare la configurazione del mondo appena creato)
+	 */
+	MondoFactory()
+	{
+	}
+	
+	
+	/**
+	 * Metodo che dato il percorso di un file di configurazione, crea il mondo
+	 * 
+	 * @param percorso il percorso del file di configurazione
+	 * @return il riferimento all'istanza del mondo creata
+	 * 
+	 * @throws IOException sollevata se si è verificato un errore di IO
+	 * @throws ConfigurazioneNonPossibileException sollevata se è stato riscontrato un errore 
+	 * 											   nel file di configurazione
+	 */
+	public static Mondo creaMondo(Path percorso) throws IOException, ConfigurazioneNonPossibileException
+	{
+		return creaMondo(percorso, RegistroTipi.predefinito());
+	}
+	
+	
+	/**
+	 * Metodo che dato il percorso di un file di configurazione, crea il mondo istanziando le sue
+	 * entità con i costruttori del registro dei tipi dato
+	 * 
+	 * @param percorso il percorso del file di configurazione
+	 * @param tipi il registro dei tipi di entità che possono comparire nel file
+	 * @return il riferimento all'istanza del mondo creata
+	 * 
+	 * @throws IOException sollevata se si è verificato un errore di IO
+	 * @throws ConfigurazioneNonPossibileException sollevata se è stato riscontrato un errore 
+	 * 											   nel file di configurazione
+	 */
+	public static Mondo creaMondo(Path percorso, RegistroTipi tipi) throws IOException, ConfigurazioneNonPossibileException
+	{
+		// Ogni creazione usa una propria factory, così che più mondi possano essere creati contemporaneamente
+		return new MondoFactory().crea(percorso, tipi);
+	}
+	
+	
+	/**
+	 * Metodo che dato il percorso di un file di configurazione, crea il mondo nel contesto corrente
+	 * (vedi {@link ContestoMondo#corrente()}) e ne mantiene la configurazione letta
+	 * 
+	 * @param percorso il percorso del file di configurazione
+	 * @param tipi il registro dei tipi di entità che possono comparire nel file
+	 * @return il riferimento all'istanza del mondo creata
+	 * 
+	 * @throws IOException sollevata se si è verificato un errore di IO
+	 * @throws ConfigurazioneNonPossibileException sollevata se è stato riscontrato un errore 
+	 * 											   nel file di configurazione
+	 */
+	Mondo crea(Path percorso, RegistroTipi tipi) throws IOException, ConfigurazioneNonPossibileException
+	{
+		// Verifico che sia stato dato il formato corretto del file di configurazione
+		if ( !percorso.toString().endsWith(".game") )
+			throw new ConfigurazioneNonPossibileException("Il formato del file non è .game!");
+
+		// Elimino il mondo caricato in precedenza nel contesto corrente
+		Mondo.reset();
+		
+		// Se il formato è corretto, leggo il file una linea alla volta e ne mappo i dati blocco per blocco
+		// Ogni blocco inizia con una linea tra parentesi quadre, che indica l'elemento da configurare
+		try (LettoreGame lettore = new LettoreGame(Files.newBufferedReader(percorso)))
+		{
+			while (lettore.prossimaLinea())
+			{
+				// Se inizia un nuovo blocco, concludo quello precedente
+				if (lettore.isIntestazione())
+				{
+					chiudiBlocco();
+					apriBlocco(lettore);
+				}
+				// Altrimenti mappo la linea nel blocco corrente
+				// (le linee che precedono il primo blocco non contengono dati utili)
+				else if (classeBlocco != null)
+					mappaLinea(lettore);
+			}
+			
+			chiudiBlocco();
+		}
+		
+		
+		// Riempio il mondo con tutto ciò che deve contenere
+		try 
+		{
+			// Creo gli oggetti del mondo
+			creaOggetti(tipi);
+			
+			// Creo i personaggi del mondo
+			creaPersonaggi(tipi);
+			
+			// Creo i Link del mondo
+			creaLink(tipi);
+			
+			// Per ogni entità, sistemo l'elenco dei loro target
+			aggiustaTargetPerEntita();
+			
+			// Creo le stanze del mondo
+			creaStanze();
+			
+			// Risolvo una sola volta le stanze raggiunte dai collegamenti, così che gli spostamenti
+			// non debbano cercarle per nome
+			Map<String, Stanza> stanze = ContestoMondo.corrente().mappaStanze();
+			for (Stanza stanza : stanze.values())
+				stanza.risolviCollegamenti(stanze);
+			
+		} 
+		catch (ClasseJavaNonEsistenteException e) 
+		{
+			throw new ConfigurazioneNonPossibileException(e.getMessage());
+		}
+		
+		
+		// Ricavo il riferimento alla stanza di partenza
+		Stanza stanzaDiStart = Mondo.getStanzaByName(stanzaDiPartenza);
+		
+		if (stanzaDiStart != null)
+		{
+			// Imposto la stanza di partenza del mondo sia per il mondo stesso che per il giocatore
+			Mondo.setStanzaDiPartenza(stanzaDiStart);
+			Mondo.getPlayer().setNewStanzaCorrente(stanzaDiStart);
+		}
+		else 
+			throw new ConfigurazioneNonPossibileException("Non è stata trovata la stanza di partenza!");
+		
+		// ritorno il riferimento all'istanza del mondo
+		return mondo;
+	}
+	
+	
+	
+	/**
+	 * Metodo che inizia il blocco di configurazione indicato dall'intestazione corrente del lettore
+	 * (es: [room:cucina], [objects], ecc)
+	 *
+	 * @param lettore il lettore del file di configurazione, posizionato sull'intestazione del blocco
+	 * @throws ConfigurazioneNonPossibileException sollevata se il blocco non è previsto o è duplicato
+	 */
+	private void apriBlocco(LettoreGame lettore) throws ConfigurazioneNonPossibileException
+	{
+		classeBlocco = lettore.getClasse();
+		nomeBlocco = lettore.getNome();
+		lineaBlocco = lettore.getNumeroLinea();
+		lineeNelBlocco = 0;
+		datiBlocco = null;
+		
+		// Se l'intestazione non ha il nome, allora il blocco non è una stanza e neanche un mondo
+		if (nomeBlocco == null)
+		{
+			switch (classeBlocco)
+			{
+				case OBJECTS, CHARACTERS, LINKS, COLLEZIONABILI, PLAYER -> {}
+				
+				// Gli altri blocchi senza nome vengono ignorati
+				default -> classeBlocco = null;
+			}
+		}
+		// Altrimenti, l'intestazione è della forma [_classe_:_nomeIstanza_]
+		else if (classeBlocco.equals(ROOM) || classeBlocco.equals(WORLD))
+		{
+			// Se esistono due stanze con stesso nome è un errore nel file di configurazione
+			if (classeBlocco.equals(ROOM) && mappaStanze.containsKey(nomeBlocco))
+				throw lettore.errore(FILE_CONFIG_STANZE_DUPLICATE);
+			
+			// Raccolgo i dati del blocco fino alla sua chiusura
+			datiBlocco = new HashMap<>();
+		}
+		// Altrimenti non è supportata la configurazione
+		else
+			throw lettore.errore("Non è prevista la configurazione per: " + classeBlocco);
+	}
+	
+	
+	/**
+	 * Metodo che mappa nell'apposita mappa i dati della linea corrente del lettore,
+	 * secondo il blocco di configurazione in cui si trova (es: le room, gli objects, ecc)
+	 *
+	 * @param lettore il lettore del file di configurazione, posizionato su una linea di dati
+	 * @throws ConfigurazioneNonPossibileException sollevata se è impossibile configurare qualcosa
+	 */
+	private void mappaLinea(LettoreGame lettore) throws ConfigurazioneNonPossibileException
+	{
+		lineeNelBlocco++;
+		
+		switch (classeBlocco)
+		{
+			// Se sto esaminando gli oggetti, i personaggi, i link o i collezionabili (per EASTEREGG)
+			case OBJECTS -> configuraElemento(mappaOggetti, lettore);
+			case CHARACTERS -> configuraElemento(mappaPersonaggi, lettore);
+			case LINKS -> configuraElemento(mappaLink, lettore);
+			case COLLEZIONABILI -> configuraElemento(mappaCollezionabili, lettore);
+			
+			// Se è il giocatore protagonista, i suoi dati sono nella prima linea del blocco
+			// In campo 0 = nome del Giocatore
+			// In campo 1 = classeJava del Giocatore
+			case PLAYER ->
+			{
+				if (lineeNelBlocco == 1)
+					Mondo.setPlayerProtagonista(lettore.getCampo(0));
+			}
+			
+			// Altrimenti è una stanza o un mondo
+			// In campo 0 = la parola chiave che indica cosa rappresenta la linea
+			// In campo 1 = stringa che elenca i dati che riguardano la parola chiave
+			default ->
+			{
+				// Se un elemento della configurazione non ha argomenti, allora lo salto
+				// ES: nel file è presente la linea characters senza nessun personaggio specificato
+				if (lettore.getNumeroCampi() < 2)
+					return;
+				
+				String chiave = lettore.getCampo(0);
+				
+				switch (chiave)
+				{
+					case DESCRIPTION, OBJECTS, START, LINKS, CHARACTERS -> datiBlocco.put(chiave, lettore.getCampo(1));
+					default -> throw lettore.errore("Non è previsto: " + chiave);
+				}
+			}
+		}
+	}
+	
+	
+	/**
+	 * Metodo che conclude il blocco di configurazione corrente: per le stanze e il mondo,
+	 * i cui dati sono raccolti linea per linea, registra la configurazione raccolta
+	 *
+	 * @throws ConfigurazioneNonPossibileException sollevata se al blocco mancano dei dati necessari
+	 */
+	private void chiudiBlocco() throws ConfigurazioneNonPossibileException
+	{
+		// Se è una stanza
+		if (ROOM.equals(classeBlocco))
+		{
+			// La stanza non ha bisogno di indicare la stanza di partenza
+			datiBlocco.remove(START);
+			mappaStanze.put(nomeBlocco, datiBlocco);
+		}
+		// Altrimenti, se è un mondo
+		else if (WORLD.equals(classeBlocco))
+		{
+			String description = datiBlocco.get(DESCRIPTION);
+			
+			// Se nel blocco del mondo non sono presenti il nome e la descrizione, il mondo
+			// non può essere istanziato
+			if (description == null)
+				throw new ConfigurazioneNonPossibileException("Non sono stati trovati nome e descrizione del mondo! (linea "
+																+ lineaBlocco + ")");
+			
+			// Creo l'unica istanza del mondo
+			mondo = Mondo.getInstance(nomeBlocco, description);
+			
+			// Se è presente l'informazione sulla stanza di partenza la salvo
+			if (datiBlocco.get(START) != null)
+				stanzaDiPartenza = datiBlocco.get(START);
+		}
+		
+		classeBlocco = null;
+		nomeBlocco = null;
+		datiBlocco = null;
+	}
+	
+	
+	/**
+	 * Metodo di utilità usato per configurare la mappa specificata secondo i dati della linea corrente
+	 * del lettore, che nella prima fase di parsing del file di configurazione descrive un elemento:
+	 * in campo 0 il nome dell'elemento, nei successivi il nome della classeJava e i target
+	 *
+	 * @param mappaDaConfigurare la mappa che si vuole popolare
+	 * @param lettore il lettore del file di configurazione, posizionato sulla linea dell'elemento
+	 *
+	 * @throws ConfigurazioneNonPossibileException sollevata se nel file di configurazione si trovano
+	 * 											   due elementi con lo stesso nome
+	 */
+	private void configuraElemento(Map<String, List<String>> mappaDaConfigurare, LettoreGame lettore)
+															throws ConfigurazioneNonPossibileException
+	{
+		// Alla mappa indicata aggiungo [chiave = nomeElemento] e [valore = i suoi dati]
+		// Altrimenti, se l'elemento è stato già inserito, c'è un errore nel file di configurazione
+		if ( mappaDaConfigurare.putIfAbsent(lettore.getCampo(0), lettore.getCampi(1)) != null)
+			throw lettore.errore(FILE_CONFIG_ELEMENTO_DUPLICATO);
+	}
+	
+	
+	/**
+	 * Metodo che si occupa della creazione dei link nel mondo
+	 * 
+	 * @param tipi il registro dei tipi di link
+	 * @throws ClasseJavaNonEsistenteException sollevata se un link non è associato ad una classeJava
+	 * @throws ConfigurazioneNonPossibileException sollevata se nel file di configurazione il link non ha
+	 * 											   tutti i dati che ci si aspettano
+	 */
+	private void creaLink(RegistroTipi tipi) throws ClasseJavaNonEsistenteException, ConfigurazioneNonPossibileException
+	{
+		// Per ogni (nome di) link presente nella mappa dei link configurati
+		for (String nomeLink : mappaLink.keySet())
+		{
+			// Ne ricavo la lista dei dati
+			List<String> datiDelLink = mappaLink.get(nomeLink);
+			
+			// Controllo che ci siano tutti i dati del link
+			if (datiDelLink.size() < 3)
+				throw new ConfigurazioneNonPossibileException("Errore di configurazione nel link: " + nomeLink);
+			
+			// Estraggo il nome della classeJava associato al link, che è sempre in posizione 0
+			String nomeClasseJava = datiDelLink.get(0);
+			
+			// Ricavo i nomi delle due stanze che il link collega,
+			// che sono sempre in posizione 1 e 2
+			String nomeStanza1 = datiDelLink.get(1);
+			String nomeStanza2 = datiDelLink.get(2);
+			
+			// Ricavo dal registro il costruttore del tipo di link
+			RegistroTipi.CostruttoreLink costruttore = tipi.getLink(nomeClasseJava);
+			
+			if (costruttore == null)
+				throw new ClasseJavaNonEsistenteException(CLASS_NOT_FOUND + nomeClasseJava);
+			
+			// Istanzio il link
+			Link linkRif = costruttore.crea(nomeLink, nomeStanza1, nomeStanza2);
+			
+			// Aggiungo il riferimento al link creato nella mappa dei link del mondo
+			Mondo.addLinkToMappaLinkIstanziati(nomeLink, linkRif);
+		}
+	}
+	
+	
+	
+	/**
+	 * Metodo che si occupa della creazione delle stanze del mondo
+	 */
+	private void creaStanze()
+	{
+		// Itero sui nomi delle stanze presenti nella mappa che le configura
+		for (String nomeStanza : mappaStanze.keySet())
+		{
+			// Per ogni stanza ne ricavo tutti i dati raccolti
+			Map<String, String> datiDellaStanza = mappaStanze.get(nomeStanza);
+			
+			// Ricavo la descrizione della stanza
+			String descrizione = datiDellaStanza.get(DESCRIPTION);
+			
+			// Creo la stanza e la aggiungo al mondo
+			Stanza stanza = new Stanza(nomeStanza, descrizione);
+			
+			// Aggiungo alla mappa delle stanze istanziate la coppia (nomeStanza, suoRiferimento)
+			Mondo.addStanzaToMappaStanzeIstanziate(nomeStanza, stanza);
+		
+			// Ricavo dalla mappa la stringa con tutti i nomi degli oggetti che sono nella stanza
+			String strDiOggettiNellaStanza = datiDellaStanza.get(OBJECTS);
+			
+			// Se ci devono essere oggetti nella stanza
+			if (strDiOggettiNellaStanza != null)
+			{
+				// Creo una lista con i nomi (isolati) di tutti gli oggetti nella stanza
+				// Splitto su ", " (virgola<SPAZIO>) oppure su "," (virgola)
+				List<String> listaDiOggettiNellaStanza = Arrays.asList(strDiOggettiNellaStanza.split(", |,"));
+					
+				// Ogni oggetto che deve stare nella stanza lo metto nella stanza
+				for (String nomeOggetto : listaDiOggettiNellaStanza)
+				{
+					// Dalla mappa degli oggetti istanziati del mondo ricavo l'oggetto che mi interessa
+					Oggetto obj = Mondo.getOggettoByName(nomeOggetto);
+					
+					// E lo metto nella stanza
+					stanza.addEntitaNellaStanza(nomeOggetto, obj);
+				}
+			}
+			
+			// Ricavo i nomi dei personaggi presenti nella stanza
+			String nomiPersonaggiNellaStanza = datiDellaStanza.get(CHARACTERS);
+			
+			// Se la stanza ha personaggi, allora li metto nella stanza
+			if (nomiPersonaggiNellaStanza != null)
+			{
+				// Creo una lista con i nomi (isolati) di tutti i personaggi nella stanza
+				List<String> listaNomiPersonaggi = Arrays.asList(nomiPersonaggiNellaStanza.split(","));
+				
+				// Ogni oggetto che deve stare nella stanza lo metto nella stanza
+				for (String nomePersonaggio : listaNomiPersonaggi)
+				{
+					// Ricavo il riferimento al personaggio dalla mappa dei personaggi istanziati del mondo
+					Personaggio pers = Mondo.getPersonaggioByName(nomePersonaggio);
+					
+					// Lo aggiungo alla stanza
+					stanza.addEntitaNellaStanza(nomePersonaggio, pers);
+				}
+			}
+			
+			// Ricavo dalla mappa la stringa con tutti i nomi dei link della stanza
+			String strDiLinkNellaStanza = datiDellaStanza.get(LINKS);
+			
+			// Se ci sono link, allora li metto nella stanza
+			if (strDiLinkNellaStanza != null)
+			{
+				// Creo una lista con i nomi (isolati) di tutti i link della stanza
+				List<String> listaDiLinkNellaStanza = Arrays.asList(strDiLinkNellaStanza.split(","));
+				
+				// Per ogni link che deve stare nella stanza
+				for (String link : listaDiLinkNellaStanza)
+				{
+					// In datiLink[0] = la direzione
+					// In dettagli[1] = il nome del Link (oppure il nome della stanza che fa da link)
+					String[] datiLink = link.split(":");
+					
+					// Ottengo l'istanza associata alla direzione che mi interessa
+					Direzione dir = Direzione.valueOf(Direzione.class, datiLink[0]);
+					
+					// Dalla mappa dei link, ricavo il riferimento al link stesso
+					Link rifLink = Mondo.getLinkByName(datiLink[1]);
+					
+					// Se non esiste il link, allora è perchè è la stanza stessa a fare da collegamento
+					// Pertanto creo una StanzaLink che unisce le due stanze
+					if (rifLink == null)
+						rifLink = new StanzaLink(nomeStanza, datiLink[1]);
+					
+					// Aggiungo alla stanza la coppia (direzione, link)
+					stanza.addLinkDellaStanza(dir, rifLink);
+					
+				}
+		
+			}
+			
+			// Passo alla prossima stanza
+		
+		}
+		
+	}
+	
+	
+	
+	/**
+	 * Metodo che si occupa della creazione degli oggetti presenti nel mondo
+	 * 
+	 * @param tipi il registro dei tipi di oggetto
+	 * @throws ClasseJavaNonEsistenteException sollevata se un oggetto non è associato ad una classe Java
+	 */
+	private void creaOggetti(RegistroTipi tipi) throws ClasseJavaNonEsistenteException
+	{
+		// Per ogni oggetto presente nella mappaDiCofigurazione degli oggetti
+		for (String nomeOggettoDaCreare : mappaOggetti.keySet())
+		{
+			// Ricavo dalla mappa degli oggetti i dati che lo riguardano
+			List<String> datiDellOggetto = mappaOggetti.get(nomeOggettoDaCreare);
+			
+			// In datiDellOggetto[0] ho il nome della classeJava associata all'oggetto
+			String nomeClasseJava = datiDellOggetto.get(0);
+			
+			
+			// In tutte le posizioni successive possono esserci i target con cui l'oggetto può interagire
+			// Se oltre al nomeDellaClasseJava ha anche dei target, allora li considero
+			if (datiDellOggetto.size() > 1)
+				datiDellOggetto = datiDellOggetto.subList(1, datiDellOggetto.size());
+			
+			
+			// Ricavo dal registro il costruttore del tipo di oggetto
+			Function<String, Oggetto> costruttore = tipi.getOggetto(nomeClasseJava);
+			
+			if (costruttore == null)
+				throw new ClasseJavaNonEsistenteException(CLASS_NOT_FOUND + nomeClasseJava);
+			
+			// Istanzio l'oggetto dandogli il suo nome
+			Oggetto obj = costruttore.apply(nomeOggettoDaCreare);
+			
+			// Salvo per l'oggetto il nome delle sue entità target
+			for (String target : datiDellOggetto)
+				obj.addTarget(target, null);
+			
+			
+			//=================== PER EASTEREGG ============================
+			
+			// Se l'oggetto è un collezionabile
+			if (obj instanceof Collezionabile)
+			{
+				// Ricavo la lista delle sue descrizioni dalla mappa apposita
+				List<String> descrizione = mappaCollezionabili.get(nomeOggettoDaCreare);
+				
+				// E setto la sua descrizione
+				((Collezionabile) obj).setDescrizione(descrizione.get(0));
+			}
+			//==================================================================
+			
+			// Aggiungo il riferimento all'oggetto creato alla mappa degli oggetti istanziati
+			Mondo.addOggettoToMappaOggettiIstanziati(nomeOggettoDaCreare, obj);
+		}
+	}
+	
+	
+	/**
+	 * Metodo che si occupa della creazione dei personaggi del mondo
+	 * 
+	 * @param tipi il registro dei tipi di personaggio
+	 * @throws ClasseJavaNonEsistenteException sollevata se il personaggio non è associato ad alcuna classeJava
+	 */
+	private void creaPersonaggi(RegistroTipi tipi) throws ClasseJavaNonEsistenteException
+	{
+		
+		// Esamino ogni personaggio nella mappa di configurazione dei personaggi
+		for (String nomePersonaggio : mappaPersonaggi.keySet())
+		{
+			// Estraggo i dati che riguardano il personaggio
+			List<String> datiDelPersonaggio = mappaPersonaggi.get(nomePersonaggio);
+			
+			// Ricavo la classeJava associata al personaggio
+			String nomeClasseJava = datiDelPersonaggio.get(0);
+			
+			// Se il personaggio ha dei target, allora li ricavo 
+			if(datiDelPersonaggio.size() > 1)
+				datiDelPersonaggio = datiDelPersonaggio.subList(1, datiDelPersonaggio.size());
+				
+			// Ricavo dal registro il costruttore del tipo di personaggio
+			Function<String, Personaggio> costruttore = tipi.getPersonaggio(nomeClasseJava);
+			
+			if (costruttore == null)
+				throw new ClasseJavaNonEsistenteException(CLASS_NOT_FOUND + nomeClasseJava);
+			
+			// Inizializzo il personaggio dandogli il suo nome
+			Personaggio pers = costruttore.apply(nomePersonaggio);
+			
+			// Per ogni target del personaggio
+			for (String nomeTarget : datiDelPersonaggio)
+			{	
+				// Controllo se il target è un oggetto che è stato istanziato
+				Entita rifOgg = Mondo.getOggettoByName(nomeTarget);
+				
+				if (rifOgg != null)
+				{
+					pers.addTarget(nomeTarget, rifOgg);
+					continue;
+				}
+				
+				// Controllo se il target è un personaggio prendibile che è stato istanziato
+				rifOgg = Mondo.getPersonaggioByName(nomeTarget);
+				if (rifOgg != null)
+				{
+					pers.addTarget(nomeTarget, rifOgg);
+					continue;
+				}
+				
+			}
+			
+			// Aggiungo alla mappa dei personaggi istanziati la coppia (nomePersonaggio, suo riferimento)
+			Mondo.addPersonaggioToMappaPersonaggiIstanziati(nomePersonaggio, pers);
+		}
+	}
+	
+	
+	/**
+	 * Metodo che si occupa di assegnare a ogni Personaggio e oggetto
+	 * i riferimenti ai propri target
+	 */
+	private void aggiustaTargetPerEntita()
+	{
+		// Per ogni personaggio del mondo
+		for (Personaggio personaggio : Mondo.getMappaPersonaggiIstanziati().values())
+			
+			// Gli aggiungo i suoi target
+			aggiungiTargetTo(personaggio);
+		
+		
+		// Per ogni oggetto presente nel mondo
+		for (Oggetto oggetto : Mondo.getMappaOggettiIstanziati().values())
+			
+			// Gli aggiungo i suoi target
+			aggiungiTargetTo(oggetto);
+		
+	}
+	
+	
+	
+	/**
+	 * Metodo che dato il riferimento ad un'entità, esamina tutti i suoi target e associa ad ogni
+	 * nome del target il proprio riferimento.
+	 * 
+	 * I riferimenti ai target vengono ricavati dalle mappe del mondo che mantengono tali dati.
+	 * 
+	 * @param entita l'entità a cui aggiungere i target
+	 */
+	private void aggiungiTargetTo(Entita entita)
+	{
+		// Per ogni (nome di) target dell'entità
+		for (String nomeTarget : entita.getElencoTarget().keySet())
+		{
+			// Ricavo il riferimento all'eventuale oggetto target 
+			Target obj = Mondo.getOggettoByName(nomeTarget);
+			
+			// Ricavo il riferimento all'eventuale personaggio target
+			Target pers = Mondo.getPersonaggioByName(nomeTarget);
+			
+			// Ricavo il riferimento all'eventuale link target
+			Target link = Mondo.getLinkByName(nomeTarget);
+			
+			// Se il target è un oggetto
+			if (obj != null)
+				configuraTarget(entita, nomeTarget, obj);
+			
+			// Se il target è un personaggio (Es: il gatto)
+			else if (pers != null)
+				configuraTarget(entita, nomeTarget, pers);
+			
+			// Se il target è un link
+			else if (link != null)
+				configuraTarget(entita, nomeTarget, link);
+		}
+		
+	}
+		
+	
+	/**
+	 * Metodo che data un'entità, e la coppia (nomeDelTarget, riferimentoAlTarget),
+	 * la aggiunge all'elenco dei target dell'entità
+	 * 
+	 * @param entita l'entità a cui aggiungere il target
+	 * @param nomeTarget il nome del target da aggiungere
+	 * @param target il riferimento del target da aggiungere
+	 */
+	static void configuraTarget(Entita entita, String nomeTarget, Target target)
+	{
+		// Aggiungo ai target dell'entita la coppia (nometarget, riferimentoTarget)
+		entita.addTarget(nomeTarget, target);
+		
+		// Se l'entita è una chiave e il target è un'apribile con strumento
+		if (entita instanceof Chiave && target instanceof ApribileConStrumento)
+		{
+			// Imposto che il target può essere aperto solo con la chiave
+			((ApribileConStrumento) target).setAperturaConStrumento();
+		}
+		// Se l'entità è un guardiano ed ha come target il tesoro, allora il tesoro
+		// è sotto controllo
+		else if (entita instanceof Guardiano && target instanceof Tesoro)
+		{
+			((Tesoro) target).setStatoSicurezza(StatoSicurezza.CONTROLLATO);
+		}
+	}
+	
+	
+	
+	/**
+	 * Metodo che ritorna il tipo (il nome della classeJava) di un oggetto del mondo appena creato
+	 * @param nomeOggetto il nome dell'oggetto
+	 * @return il tipo dell'oggetto
+	 */
+	String getTipoOggetto(String nomeOggetto)
+	{
+		return mappaOggetti.get(nomeOggetto).get(0);
+	}
+	
+	
+	/**
+	 * Metodo che ritorna il tipo (il nome della classeJava) di un personaggio del mondo appena creato
+	 * @param nomePersonaggio il nome del personaggio
+	 * @return il tipo del personaggio
+	 */
+	String getTipoPersonaggio(String nomePersonaggio)
+	{
+		return mappaPersonaggi.get(nomePersonaggio).get(0);
+	}
+	
+	
+	/**
+	 * Metodo che ritorna il tipo (il nome della classeJava) di un link del mondo appena creato
+	 * @param nomeLink il nome del link
+	 * @return il tipo del link
+	 */
+	String getTipoLink(String nomeLink)
+	{
+		return mappaLink.get(nomeLink).get(0);
+	}
+	
+	
+	/**
+	 * Metodo che ritorna la descrizione di un collezionabile del mondo appena creato
+	 * @param nomeCollezionabile il nome del collezionabile
+	 * @return la descrizione del collezionabile
+	 */
+	String getDescrizioneCollezionabile(String nomeCollezionabile)
+	{
+		return mappaCollezionabili.get(nomeCollezionabile).get(0);
+	}
+	
 }
\ No newline at end of file
@@ -1,116 +1,273 @@
-package it.uniroma1.textadv;
-
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
-import java.util.Arrays;
-import java.util.List;
-import java.util.stream.Collectors;
-
-import it.uniroma1.textadv.eccezioni.OperazioneNonSupportataException;
-
-
-/**
- * Classe che si occupa di gestire la parte testuale del gioco.
- * 
- * Grazie al metodo parseAndExecute()  in grado di interpretare e eseguire 
- * comandi che ammettono in input fino a due argomenti.
- * 
- * @author Gabriele
- *
- */
-public class MotoreTestuale 
-{
-	/**
-	 * Elenco delle stopwords.
-	 * Seguono il formato: 			<SPAZIO>stopword<SPAZIO>|<SPAZIO>stopword<SPAZIO>|...
-	 * E' cosi specificato perch segue la sintassi delle regex (ossia | sta per OR)
-	 */
-	public final static String STOPWORDS = " il | lo | la | i | gli | in | da | per | ad | con | su | a | nella ";
-	
-	
-
-	/**
-	 * Metodo che si occupa di interpretare e eseguire un comando testuale
-	 * @param lineaDaParsare la linea che va interpretata e eseguita
-	 * 
-	 * @throws OperazioneNonSupportataException sollevata se l'operazione non  supportata
-	 */
-	public void parseAndExecute(String lineaDaParsare) throws OperazioneNonSupportataException
-	{
-
-		// Estraggo il comando da eseguire, che  sempre in prima posizione
-		String comando = Arrays.stream(lineaDaParsare.split(" ")).findFirst().orElse(null);
-
-		// Mostro il comando che sto eseguendo
-		System.out.println("\nComando: " + lineaDaParsare);
-		
-		// Riduco la lineaDaParsare ai soli argomenti del comando
-		String argomenti = lineaDaParsare.substring(comando.length());
-		
-		
-		// Splitto gli argomenti secondo le stopword e tengo tutti quelli diversi da "" e " "
-		// Pu capitare infatti che nello splittare sulle stopword rimangano "" e " " dovuto
-		// alla formattazione del comando in input
-		List<String> listaArg = Arrays.stream(argomenti.split(STOPWORDS))
-									  .filter( x -> !(x.equals("") || x.equals(" ")) )
-									  .collect(Collectors.toList());
-		
-		// Rimuovo lo " " all'inzio di tutti gli argomenti che ci iniziano.
-		for (int i = 0; i < listaArg.size(); i++)
-		{
-			String el = listaArg.get(i);
-			if (el.startsWith(" "))
-				listaArg.set(i, el.substring(1));
-		}
-
-		
-		try 
-		{
-			// Scopro quanti argomenti ha in input il comando
-			int argomentiComando = listaArg.size();
-			
-			// Se sono 0, invoco il comando con 0 argomenti
-			if (argomentiComando == 0)
-			{
-				Method metodo = Giocatore.class.getMethod(comando);
-				metodo.invoke(Mondo.getPlayer());
-			}
-			// Se l'argomento  1, allora invoco il comando con 1 argomento
-			else if (argomentiComando == 1)
-			{
-				Method metodo = Giocatore.class.getMethod(comando, String.class);
-				metodo.invoke(Mondo.getPlayer(), listaArg.get(0));
-			}
-			// Se gli argomenti sono 2 invoco il comando con 2 argomenti
-			else if (argomentiComando == 2 ) 
-			{
-				Method metodo = Giocatore.class.getMethod(comando, String.class, String.class);
-				metodo.invoke(Mondo.getPlayer(), listaArg.get(0), listaArg.get(1));
-			}
-			// Altrimenti, l'operazione non  supportata
-			else
-				throw new OperazioneNonSupportataException(comando);
-				
-		}
-		catch (NoSuchMethodException e)
-		{
-			// Se il comando non esiste lancio l'eccezione che comunica che l'operazione non  supportata
-			throw new OperazioneNonSupportataException(comando);
-		}
-		// Gestisco le eccezioni lanciate dai metodi richiamati tramite reflection
-		catch(InvocationTargetException e)
-		{
-			System.out.println(e.getCause().getMessage());
-		}
-		catch(OperazioneNonSupportataException e)
-		{
-			System.out.println("[ERROR] Operazione non supportata: " + e.getMessage());
-		}
-		catch(SecurityException | IllegalAccessException | IllegalArgumentException  e)
-		{
-			System.out.println("[ERROR] Nel parsing del motore testuale!");
-			e.printStackTrace();
-		}
-	}
-	
-}
+package it.uniroma1.textadv;
+
+import it.uniroma1.textadv.utilita.TabellaNomi;
+
+
+/**
+ * Classe che si occupa di gestire la parte testuale del gioco.
+ * 
+ * Grazie al metodo parseAndExecute() è in grado di interpretare e eseguire 
+ * comandi che ammettono in input fino a due argomenti.
+ * 
+ * @author Gabriele
+ *
+ */
+public class MotoreTestuale 
+{
+	/**
+	 * Elenco delle stopwords.
+	 * Seguono il formato: 			<SPAZIO>stopword<SPAZIO>|<SPAZIO>stopword<SPAZIO>|...
+	 * E' cosi specificato perchè segue la sintassi delle regex (ossia | sta per OR)
+	 * 
+	 * NOTA: il motore testuale usa l'elenco di {@link Tokenizzatore#STOPWORDS}
+	 */
+	public final static String STOPWORDS = " il | lo | la | i | gli | in | da | per | ad | con | su | a | nella ";
+	
+	/**
+	 * Numero massimo di argomenti diversi che il motore testuale ricorda
+	 */
+	private final static int MAX_ARGOMENTI_RICORDATI = 4096;
+	
+	
+	/**
+	 * Il registro dei comandi che il motore testuale è in grado di eseguire
+	 */
+	private RegistroComandi registroComandi;
+	
+	/**
+	 * Il tokenizzatore usato per suddividere le linee in verbo e argomenti
+	 */
+	private Tokenizzatore tokenizzatore = new Tokenizzatore();
+	
+	/**
+	 * Gli argomenti già incontrati: se un argomento si ripete, viene riusata la stessa stringa
+	 */
+	private TabellaNomi argomentiRicordati = new TabellaNomi();
+	
+	/**
+	 * Array (riutilizzati) che contengono gli argomenti da passare ai comandi,
+	 * in posizione i c'è l'array per i comandi con i argomenti
+	 */
+	private String[][] bufferArgomenti = new String[RegistroComandi.ARITA_MASSIMA + 1][];
+	
+	
+	/**
+	 * Costruttore del motore testuale che riconosce tutti i comandi standard del gioco
+	 */
+	public MotoreTestuale()
+	{
+		this(RegistroComandi.standard());
+	}
+	
+	
+	/**
+	 * Costruttore del motore testuale che riconosce i comandi del registro dato
+	 * @param registroComandi il registro dei comandi da usare
+	 */
+	public MotoreTestuale(RegistroComandi registroComandi)
+	{
+		this.registroComandi = registroComandi;
+		
+		for (int i = 0; i < bufferArgomenti.length; i++)
+			bufferArgomenti[i] = new String[i];
+	}
+	
+	
+	/**
+	 * Metodo che ritorna il registro dei comandi del motore testuale.
+	 * Può essere usato per registrare nuovi comandi.
+	 * @return il registro dei comandi
+	 */
+	public RegistroComandi getRegistroComandi()
+	{
+		return registroComandi;
+	}
+	
+	
+
+	/**
+	 * Metodo che si occupa di interpretare e eseguire un comando testuale
+	 * @param lineaDaParsare la linea che va interpretata e eseguita
+	 * @return l'esito del comando eseguito, che non viene mostrato se il verbo non è riconosciuto
+	 * 		(vedi {@link EsitoComando#isNonRiconosciuto()}): decide il chiamante come comunicarlo
+	 */
+	public EsitoComando parseAndExecute(String lineaDaParsare)
+	{
+
+		// Mostro il comando che sto eseguendo
+		Mondo.getUscita().println("\nComando: " + lineaDaParsare);
+		
+		// Suddivido la linea nel verbo e nei suoi argomenti (già ripuliti dalle stopwords)
+		tokenizzatore.analizza(lineaDaParsare);
+		
+		// Scopro quanti argomenti ha in input il comando
+		int argomentiComando = tokenizzatore.getNumeroArgomenti();
+		
+		// Se sono troppi, l'operazione non è supportata
+		if (argomentiComando > RegistroComandi.ARITA_MASSIMA)
+			return operazioneNonSupportata(tokenizzatore.getVerbo().toString());
+		
+		// Ricavo dal registro il comando con il verbo e il numero di argomenti richiesti
+		Comando cmd = registroComandi.getComando(tokenizzatore.getVerbo(), argomentiComando);
+		
+		// Se il comando non esiste, l'operazione non è riconosciuta
+		if (cmd == null)
+			return operazioneNonRiconosciuta(tokenizzatore.getVerbo().toString());
+		
+		// Preparo gli argomenti da passare al comando
+		String[] argomenti = bufferArgomenti[argomentiComando];
+		for (int i = 0; i < argomentiComando; i++)
+			argomenti[i] = getArgomento(tokenizzatore.getArgomento(i));
+		
+		return esegui(cmd, argomenti);
+	}
+	
+	
+	/**
+	 * Metodo che esegue un'istruzione di uno script già compilato.
+	 * Il comando viene eseguito come se la sua linea fosse stata passata a parseAndExecute(),
+	 * ma senza doverla analizzare di nuovo.
+	 * 
+	 * @param script lo script compilato
+	 * @param istruzione l'indice dell'istruzione da eseguire
+	 * @return l'esito del comando eseguito, che non viene mostrato se il verbo non è riconosciuto
+	 */
+	public EsitoComando esegui(ScriptCompilato script, int istruzione)
+	{
+		// Mostro il comando che sto eseguendo
+		Mondo.getUscita().println("\nComando: " + script.getLinea(istruzione));
+		
+		String[] argomenti = script.getArgomenti(istruzione);
+		
+		// Se sono troppi, l'operazione non è supportata
+		if (argomenti.length > RegistroComandi.ARITA_MASSIMA)
+			return operazioneNonSupportata(script.getVerbo(istruzione));
+		
+		// Ricavo dal registro il comando con il verbo e il numero di argomenti richiesti
+		Comando cmd = registroComandi.getComando(script.getVerbo(istruzione), argomenti.length);
+		
+		// Se il comando non esiste, l'operazione non è riconosciuta
+		if (cmd == null)
+			return operazioneNonRiconosciuta(script.getVerbo(istruzione));
+		
+		return esegui(cmd, argomenti);
+	}
+	
+	
+	/**
+	 * Metodo di utilità che esegue un comando sul giocatore protagonista e ne mostra l'esito.
+	 * Se il mondo è condiviso con altri giocatori, il comando viene eseguito dall'attore della stanza
+	 * del giocatore (vedi {@link AttoriStanze}) oppure bloccando le stanze su cui può agire
+	 * (vedi {@link SerratureStanze}).
+	 * 
+	 * @param cmd il comando da eseguire
+	 * @param argomenti gli argomenti del comando
+	 * @return l'esito del comando
+	 */
+	private EsitoComando esegui(Comando cmd, String[] argomenti)
+	{
+		ContestoMondo contesto = ContestoMondo.corrente();
+		AttoriStanze attori = contesto.getAttori();
+		
+		if (attori != null)
+			return attori.esegui(contesto, () -> eseguiBloccando(contesto, cmd, argomenti));
+		
+		return eseguiBloccando(contesto, cmd, argomenti);
+	}
+	
+	
+	/**
+	 * Metodo di utilità che esegue un comando sul giocatore protagonista, bloccando le stanze su cui può agire
+	 * se il mondo è condiviso con serrature, e ne mostra l'esito
+	 * @param contesto il contesto del giocatore
+	 * @param cmd il comando da eseguire
+	 * @param argomenti gli argomenti del comando
+	 * @return l'esito del comando
+	 */
+	private EsitoComando eseguiBloccando(ContestoMondo contesto, Comando cmd, String[] argomenti)
+	{
+		Giocatore player = contesto.getPlayer();
+		SerratureStanze serrature = contesto.getSerrature();
+		int[] bloccate = serrature != null ? serrature.blocca(player.getStanzaCorrente()) : null;
+		
+		try 
+		{
+			// Eseguo il comando sul giocatore protagonista e ne mostro l'esito
+			return mostra(cmd.esegui(player, argomenti));
+		}
+		// Un'eccezione a questo punto è un vero errore (e non un comando rifiutato):
+		// lo comunico senza interrompere il gioco
+		catch(RuntimeException e)
+		{
+			return mostra(new EsitoComando(EsitoComando.Stato.ERRORE, Messaggio.TESTO, "[ERROR] " + e.getMessage()));
+		}
+		finally
+		{
+			if (bloccate != null)
+				serrature.sblocca(bloccate);
+		}
+	}
+	
+	
+	/**
+	 * Metodo di utilità che comunica che un comando con troppi argomenti non è supportato
+	 * @param verbo il verbo del comando
+	 * @return l'esito del comando
+	 */
+	private EsitoComando operazioneNonSupportata(String verbo)
+	{
+		return mostra(new EsitoComando(EsitoComando.Stato.NON_SUPPORTATO, Messaggio.OPERAZIONE_NON_SUPPORTATA, verbo));
+	}
+	
+	
+	/**
+	 * Metodo di utilità che crea l'esito di un comando il cui verbo non è riconosciuto.
+	 * L'esito non viene mostrato: in partita lo si comunica al giocatore, mentre uno script viene interrotto
+	 * @param verbo il verbo del comando
+	 * @return l'esito del comando
+	 */
+	private EsitoComando operazioneNonRiconosciuta(String verbo)
+	{
+		return new EsitoComando(EsitoComando.Stato.NON_RICONOSCIUTO, Messaggio.OPERAZIONE_NON_RICONOSCIUTA, verbo);
+	}
+	
+	
+	/**
+	 * Metodo di utilità che mostra al giocatore il messaggio dell'esito di un comando
+	 * @param esito l'esito da mostrare
+	 * @return l'esito mostrato
+	 */
+	private EsitoComando mostra(EsitoComando esito)
+	{
+		String messaggio = esito.getMessaggio();
+		
+		if (messaggio != null)
+			Mondo.getUscita().println(messaggio);
+		
+		return esito;
+	}
+	
+	
+	/**
+	 * Metodo di utilità che trasforma un argomento in stringa.
+	 * Se l'argomento è già stato incontrato viene riusata la stessa stringa, senza allocarne una nuova.
+	 * 
+	 * @param argomento l'argomento da trasformare
+	 * @return la stringa corrispondente all'argomento
+	 */
+	private String getArgomento(CharSequence argomento)
+	{
+		int id = argomentiRicordati.getId(argomento);
+		
+		// Se l'argomento è già noto, ritorno la stringa già creata
+		if (id != TabellaNomi.NON_PRESENTE)
+			return argomentiRicordati.getNome(id);
+		
+		// Altrimenti lo ricordo (se c'è ancora posto)
+		if (argomentiRicordati.size() < MAX_ARGOMENTI_RICORDATI)
+			return argomentiRicordati.getNome(argomentiRicordati.aggiungi(argomento));
+		
+		return argomento.toString();
+	}
+	
+}
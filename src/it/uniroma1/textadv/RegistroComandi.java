@@ -0,0 +1,129 @@
+package it.uniroma1.textadv;
+
+import java.util.Arrays;
+
+import it.uniroma1.textadv.utilita.TabellaNomi;
+
+
+/**
+ * Classe che mantiene l'elenco dei comandi testuali supportati dal gioco.
+ *
+ * Ogni comando è identificato dalla coppia (verbo, numero di argomenti) ed è associato
+ * ad un {@link Comando} già pronto per essere invocato: in questo modo il {@link MotoreTestuale}
+ * trova il comando da eseguire con un solo accesso alla tabella, senza usare la reflection.
+ * Il verbo può essere cercato anche come porzione della linea digitata, senza doverlo copiare.
+ *
+ * Il registro standard contiene tutti i comandi del {@link Giocatore}, ma è possibile
+ * registrarne di nuovi tramite il metodo registra().
+ *
+ * @author Gabriele
+ *
+ */
+public class RegistroComandi
+{
+	/**
+	 * Il numero massimo di argomenti che un comando può avere
+	 */
+	public final static int ARITA_MASSIMA = 2;
+
+
+	/**
+	 * Tabella che associa ad ogni verbo registrato il proprio identificativo
+	 */
+	private TabellaNomi verbi = new TabellaNomi();
+	
+	
+	/**
+	 * Comandi registrati: in comandi[idVerbo][i] c'è il comando che ammette i argomenti
+	 */
+	private Comando[][] comandi = new Comando[0][];
+
+
+	/**
+	 * Metodo che crea un registro contenente tutti i comandi del Giocatore
+	 * @return il registro con i comandi standard del gioco
+	 */
+	public static RegistroComandi standard()
+	{
+		RegistroComandi registro = new RegistroComandi();
+
+		registro.registra("guarda", 0, (g, arg) -> g.guarda());
+		registro.registra("guarda", 1, (g, arg) -> g.guarda(arg[0]));
+		registro.registra("apri", 1, (g, arg) -> g.apri(arg[0]));
+		registro.registra("apri", 2, (g, arg) -> g.apri(arg[0], arg[1]));
+		registro.registra("prendi", 1, (g, arg) -> g.prendi(arg[0]));
+		registro.registra("prendi", 2, (g, arg) -> g.prendi(arg[0], arg[1]));
+		registro.registra("vai", 1, (g, arg) -> g.vai(arg[0]));
+		registro.registra("entra", 1, (g, arg) -> g.entra(arg[0]));
+		registro.registra("rompi", 1, (g, arg) -> g.rompi(arg[0]));
+		registro.registra("rompi", 2, (g, arg) -> g.rompi(arg[0], arg[1]));
+		registro.registra("usa", 1, (g, arg) -> g.usa(arg[0]));
+		registro.registra("usa", 2, (g, arg) -> g.usa(arg[0], arg[1]));
+		registro.registra("inventario", 0, (g, arg) -> g.inventario());
+		registro.registra("parla", 1, (g, arg) -> { g.parla(arg[0]); return EsitoComando.OK; });
+		registro.registra("accarezza", 1, (g, arg) -> g.accarezza(arg[0]));
+		registro.registra("dai", 2, (g, arg) -> g.dai(arg[0], arg[1]));
+
+		return registro;
+	}
+
+
+	/**
+	 * Metodo per registrare un nuovo comando (oppure sostituirne uno già esistente)
+	 *
+	 * @param verbo il verbo con cui il comando viene digitato
+	 * @param arita il numero di argomenti che il comando ammette
+	 * @param comando il comando da eseguire
+	 */
+	public void registra(String verbo, int arita, Comando comando)
+	{
+		// Il motore testuale non è in grado di gestire comandi con troppi argomenti
+		if (arita < 0 || arita > ARITA_MASSIMA)
+			throw new IllegalArgumentException("Numero di argomenti non supportato: " + arita);
+
+		// Ricavo (o assegno) l'identificativo del verbo
+		int idVerbo = verbi.aggiungi(verbo);
+		
+		// Se il verbo è nuovo, gli riservo lo spazio per i suoi comandi
+		if (idVerbo == comandi.length)
+		{
+			comandi = Arrays.copyOf(comandi, idVerbo + 1);
+			comandi[idVerbo] = new Comando[ARITA_MASSIMA + 1];
+		}
+		
+		comandi[idVerbo][arita] = comando;
+	}
+
+
+	/**
+	 * Metodo che dato un verbo e il numero dei suoi argomenti, ritorna il comando associato
+	 *
+	 * @param verbo il verbo del comando
+	 * @param arita il numero di argomenti del comando
+	 * @return il comando associato, oppure null se il comando non è supportato
+	 */
+	public Comando getComando(CharSequence verbo, int arita)
+	{
+		// Se il numero di argomenti è fuori dai limiti, il comando non esiste
+		if (arita < 0 || arita > ARITA_MASSIMA)
+			return null;
+
+		int idVerbo = verbi.getId(verbo);
+
+		return idVerbo == TabellaNomi.NON_PRESENTE ? null : comandi[idVerbo][arita];
+	}
+
+
+	/**
+	 * Metodo che verifica se un comando è supportato
+	 *
+	 * @param verbo il verbo del comando
+	 * @param arita il numero di argomenti del comando
+	 * @return true se il comando è supportato, false altrimenti
+	 */
+	public boolean isSupportato(CharSequence verbo, int arita)
+	{
+		return getComando(verbo, arita) != null;
+	}
+
+}
@@ -0,0 +1,207 @@
+package it.uniroma1.textadv;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.function.Function;
+
+import it.uniroma1.textadv.link.Botola;
+import it.uniroma1.textadv.link.Bus;
+import it.uniroma1.textadv.link.Link;
+import it.uniroma1.textadv.link.Porta;
+import it.uniroma1.textadv.link.Teletrasporto;
+import it.uniroma1.textadv.oggetti.Armadio;
+import it.uniroma1.textadv.oggetti.Cacciavite;
+import it.uniroma1.textadv.oggetti.Camino;
+import it.uniroma1.textadv.oggetti.Cassetto;
+import it.uniroma1.textadv.oggetti.Chiave;
+import it.uniroma1.textadv.oggetti.Martello;
+import it.uniroma1.textadv.oggetti.Moneta;
+import it.uniroma1.textadv.oggetti.Oggetto;
+import it.uniroma1.textadv.oggetti.Pozzo;
+import it.uniroma1.textadv.oggetti.Salvadanaio;
+import it.uniroma1.textadv.oggetti.Scrivania;
+import it.uniroma1.textadv.oggetti.Secchio;
+import it.uniroma1.textadv.oggetti.Soldi;
+import it.uniroma1.textadv.oggetti.Tesoro;
+import it.uniroma1.textadv.oggetti.Tronchesi;
+import it.uniroma1.textadv.oggetti.Vite;
+import it.uniroma1.textadv.personaggi.Cane;
+import it.uniroma1.textadv.personaggi.Gatto;
+import it.uniroma1.textadv.personaggi.Guardiano;
+import it.uniroma1.textadv.personaggi.Venditore;
+
+
+/**
+ * Classe che mantiene l'elenco dei tipi di entità che possono comparire nel file di configurazione del mondo.
+ *
+ * Ogni tipo (ES: Armadio, Porta, Guardiano) è associato al costruttore che lo istanzia, così che il
+ * {@link MondoFactory} possa creare le entità del mondo senza usare la reflection.
+ *
+ * Il registro predefinito contiene tutti i tipi del gioco, più quelli registrati dai {@link FornitoreTipi}
+ * trovati tramite {@link ServiceLoader} (ES: i tipi aggiunti da un'estensione del gioco).
+ *
+ * @author Gabriele
+ *
+ */
+public class RegistroTipi
+{
+	/**
+	 * Interfaccia funzionale che modella il costruttore di un link
+	 *
+	 * @author Gabriele
+	 */
+	@FunctionalInterface
+	public interface CostruttoreLink
+	{
+		/**
+		 * Crea il link
+		 * @param nomeLink il nome del link
+		 * @param stanza1 il nome della prima stanza collegata
+		 * @param stanza2 il nome della seconda stanza collegata
+		 * @return il link creato
+		 */
+		Link crea(String nomeLink, String stanza1, String stanza2);
+	}
+
+
+	/**
+	 * Il registro predefinito (creato alla prima richiesta)
+	 */
+	private static RegistroTipi predefinito;
+
+
+	/**
+	 * I costruttori degli oggetti, dei personaggi e dei link, per nome del tipo
+	 */
+	private Map<String, Function<String, Oggetto>> oggetti = new HashMap<>();
+	private Map<String, Function<String, Personaggio>> personaggi = new HashMap<>();
+	private Map<String, CostruttoreLink> links = new HashMap<>();
+
+
+	/**
+	 * Metodo che crea un registro contenente tutti i tipi di entità del gioco
+	 * @return il registro con i tipi standard del gioco
+	 */
+	public static RegistroTipi standard()
+	{
+		RegistroTipi registro = new RegistroTipi();
+
+		registro.registraOggetto("Armadio", Armadio::new);
+		registro.registraOggetto("Cacciavite", Cacciavite::new);
+		registro.registraOggetto("Camino", Camino::new);
+		registro.registraOggetto("Cassetto", Cassetto::new);
+		registro.registraOggetto("Chiave", Chiave::new);
+		registro.registraOggetto("Martello", Martello::new);
+		registro.registraOggetto("Moneta", Moneta::new);
+		registro.registraOggetto("Pozzo", Pozzo::new);
+		registro.registraOggetto("Salvadanaio", Salvadanaio::new);
+		registro.registraOggetto("Scrivania", Scrivania::new);
+		registro.registraOggetto("Secchio", Secchio::new);
+		registro.registraOggetto("Soldi", Soldi::new);
+		registro.registraOggetto("Tesoro", Tesoro::new);
+		registro.registraOggetto("Tronchesi", Tronchesi::new);
+		registro.registraOggetto("Vite", Vite::new);
+
+		registro.registraPersonaggio("Cane", Cane::new);
+		registro.registraPersonaggio("Gatto", Gatto::new);
+		registro.registraPersonaggio("Guardiano", Guardiano::new);
+		registro.registraPersonaggio("Venditore", Venditore::new);
+
+		registro.registraLink("Botola", Botola::new);
+		registro.registraLink("Bus", Bus::new);
+		registro.registraLink("Porta", Porta::new);
+		registro.registraLink("Teletrasporto", Teletrasporto::new);
+
+		return registro;
+	}
+
+
+	/**
+	 * Metodo che ritorna il registro predefinito: i tipi standard del gioco più quelli registrati
+	 * dai {@link FornitoreTipi} disponibili tramite {@link ServiceLoader}
+	 *
+	 * @return il registro predefinito
+	 */
+	public static synchronized RegistroTipi predefinito()
+	{
+		if (predefinito == null)
+		{
+			RegistroTipi registro = standard();
+
+			for (FornitoreTipi fornitore : ServiceLoader.load(FornitoreTipi.class))
+				fornitore.registra(registro);
+
+			predefinito = registro;
+		}
+
+		return predefinito;
+	}
+
+
+	/**
+	 * Metodo per registrare un tipo di oggetto (oppure sostituirne uno già esistente)
+	 * @param tipo il nome del tipo, come compare nel file di configurazione
+	 * @param costruttore il costruttore che, dato il nome dell'oggetto, lo crea
+	 */
+	public void registraOggetto(String tipo, Function<String, Oggetto> costruttore)
+	{
+		oggetti.put(tipo, costruttore);
+	}
+
+
+	/**
+	 * Metodo per registrare un tipo di personaggio (oppure sostituirne uno già esistente)
+	 * @param tipo il nome del tipo, come compare nel file di configurazione
+	 * @param costruttore il costruttore che, dato il nome del personaggio, lo crea
+	 */
+	public void registraPersonaggio(String tipo, Function<String, Personaggio> costruttore)
+	{
+		personaggi.put(tipo, costruttore);
+	}
+
+
+	/**
+	 * Metodo per registrare un tipo di link (oppure sostituirne uno già esistente)
+	 * @param tipo il nome del tipo, come compare nel file di configurazione
+	 * @param costruttore il costruttore del link
+	 */
+	public void registraLink(String tipo, CostruttoreLink costruttore)
+	{
+		links.put(tipo, costruttore);
+	}
+
+
+	/**
+	 * Metodo che ritorna il costruttore di un tipo di oggetto
+	 * @param tipo il nome del tipo
+	 * @return il costruttore, oppure null se il tipo non è registrato
+	 */
+	public Function<String, Oggetto> getOggetto(String tipo)
+	{
+		return oggetti.get(tipo);
+	}
+
+
+	/**
+	 * Metodo che ritorna il costruttore di un tipo di personaggio
+	 * @param tipo il nome del tipo
+	 * @return il costruttore, oppure null se il tipo non è registrato
+	 */
+	public Function<String, Personaggio> getPersonaggio(String tipo)
+	{
+		return personaggi.get(tipo);
+	}
+
+
+	/**
+	 * Metodo che ritorna il costruttore di un tipo di link
+	 * @param tipo il nome del tipo
+	 * @return il costruttore, oppure null se il tipo non è registrato
+	 */
+	public CostruttoreLink getLink(String tipo)
+	{
+		return links.get(tipo);
+	}
+
+}
@@ -0,0 +1,398 @@
+package it.uniroma1.textadv;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import it.uniroma1.textadv.utilita.ScritturaAtomica;
+import it.uniroma1.textadv.utilita.TabellaNomi;
+
+
+/**
+ * Classe che modella uno script .ff già compilato.
+ *
+ * Ogni linea dello script viene analizzata una sola volta e trasformata in un'istruzione composta da:
+ * - la linea originale (senza commenti), da mostrare durante l'esecuzione
+ * - il verbo del comando
+ * - gli argomenti del comando (già ripuliti dalle stopwords)
+ *
+ * Tutte le stringhe sono salvate una sola volta in una tabella, e le istruzioni ne contengono solo gli indici.
+ * La forma compilata viene salvata accanto allo script (nel file .ffc) insieme all'hash del contenuto
+ * dello script: finchè lo script non cambia, viene riusata senza dover analizzare di nuovo le linee.
+ *
+ * Formato del file .ffc:
+ * 		MAGIC, VERSIONE, hash dello script, numero istruzioni,
+ * 		per ogni istruzione: linea, verbo, numero argomenti, argomenti (indici nella tabella delle stringhe),
+ * 		tabella delle stringhe (numero stringhe, stringhe)
+ *
+ * @author Gabriele
+ *
+ */
+public class ScriptCompilato
+{
+	/**
+	 * L'estensione dei file che contengono uno script compilato
+	 */
+	public final static String ESTENSIONE = ".ffc";
+
+	/**
+	 * Il numero magico con cui inizia ogni file .ffc ("MZFF")
+	 */
+	private final static int MAGIC = 0x4D5A4646;
+
+	/**
+	 * La versione del formato del file .ffc
+	 */
+	private final static short VERSIONE = 1;
+
+	/**
+	 * L'algoritmo usato per calcolare l'hash del contenuto dello script
+	 */
+	private final static String ALGORITMO_HASH = "SHA-256";
+
+
+	/**
+	 * La tabella delle stringhe dello script (linee, verbi e argomenti)
+	 */
+	private String[] stringhe;
+
+	/**
+	 * Per ogni istruzione, l'indice della linea originale
+	 */
+	private int[] linee;
+
+	/**
+	 * Per ogni istruzione, l'indice del verbo
+	 */
+	private int[] verbi;
+
+	/**
+	 * Per ogni istruzione, gli indici dei suoi argomenti
+	 */
+	private int[][] idArgomenti;
+
+	/**
+	 * Per ogni istruzione, gli argomenti già pronti per essere passati al comando
+	 */
+	private String[][] argomenti;
+
+
+	/**
+	 * Costruttore dello script compilato
+	 * @param stringhe la tabella delle stringhe
+	 * @param linee gli indici delle linee delle istruzioni
+	 * @param verbi gli indici dei verbi delle istruzioni
+	 * @param idArgomenti gli indici degli argomenti delle istruzioni
+	 */
+	private ScriptCompilato(String[] stringhe, int[] linee, int[] verbi, int[][] idArgomenti)
+	{
+		this.stringhe = stringhe;
+		this.linee = linee;
+		this.verbi = verbi;
+		this.idArgomenti = idArgomenti;
+
+		// Preparo una sola volta gli argomenti di ogni istruzione
+		argomenti = new String[idArgomenti.length][];
+		for (int i = 0; i < idArgomenti.length; i++)
+			argomenti[i] = Arrays.stream(idArgomenti[i]).mapToObj(id -> stringhe[id]).toArray(String[]::new);
+	}
+
+
+	/**
+	 * Metodo che compila le linee di uno script .ff
+	 * @param lineeScript le linee dello script
+	 * @return lo script compilato
+	 */
+	public static ScriptCompilato compila(List<String> lineeScript)
+	{
+		TabellaNomi tabella = new TabellaNomi();
+		Tokenizzatore tokenizzatore = new Tokenizzatore();
+
+		int n = lineeScript.size();
+		int[] linee = new int[n];
+		int[] verbi = new int[n];
+		int[][] idArgomenti = new int[n][];
+
+		for (int i = 0; i < n; i++)
+		{
+			// Se presente, rimuovo il commento dalla linea
+			String linea = rimuoviCommento(lineeScript.get(i));
+
+			// Suddivido la linea nel verbo e nei suoi argomenti
+			tokenizzatore.analizza(linea);
+
+			linee[i] = tabella.aggiungi(linea);
+			verbi[i] = tabella.aggiungi(tokenizzatore.getVerbo());
+
+			idArgomenti[i] = new int[tokenizzatore.getNumeroArgomenti()];
+			for (int a = 0; a < idArgomenti[i].length; a++)
+				idArgomenti[i][a] = tabella.aggiungi(tokenizzatore.getArgomento(a));
+		}
+
+		String[] stringhe = new String[tabella.size()];
+		for (int id = 0; id < stringhe.length; id++)
+			stringhe[id] = tabella.getNome(id);
+
+		return new ScriptCompilato(stringhe, linee, verbi, idArgomenti);
+	}
+
+
+	/**
+	 * Metodo che ritorna lo script compilato corrispondente al file .ff dato.
+	 * Se accanto allo script c'è una forma compilata dello stesso contenuto, viene riusata;
+	 * altrimenti lo script viene compilato e la forma compilata viene salvata per le volte successive.
+	 *
+	 * @param script il percorso del file .ff
+	 * @return lo script compilato
+	 *
+	 * @throws IOException sollevata se non è possibile leggere lo script
+	 */
+	public static ScriptCompilato carica(Path script) throws IOException
+	{
+		byte[] contenuto = Files.readAllBytes(script);
+		byte[] hash = hash(contenuto);
+		Path cache = getPercorsoCache(script);
+
+		// Se esiste una forma compilata aggiornata, la uso
+		if (Files.isRegularFile(cache))
+		{
+			try (InputStream in = Files.newInputStream(cache))
+			{
+				ScriptCompilato compilato = leggi(in, hash);
+
+				if (compilato != null)
+					return compilato;
+			}
+			catch (IOException e)
+			{
+				// La forma compilata è illeggibile: ricompilo lo script
+			}
+		}
+
+		// Compilo lo script (con le stesse regole di Files.readAllLines())
+		String testo = StandardCharsets.UTF_8.newDecoder().decode(ByteBuffer.wrap(contenuto)).toString();
+		ScriptCompilato compilato = compila(testo.lines().collect(Collectors.toList()));
+
+		// Se non è possibile salvare la forma compilata, lo script verrà compilato di nuovo la prossima volta
+		ScritturaAtomica.scrivi(cache, out -> compilato.scrivi(out, hash));
+
+		return compilato;
+	}
+
+
+	/**
+	 * Metodo che ritorna il percorso della forma compilata di uno script
+	 * @param script il percorso dello script .ff
+	 * @return il percorso del file .ffc
+	 */
+	public static Path getPercorsoCache(Path script)
+	{
+		String nome = script.getFileName().toString();
+
+		if (nome.endsWith(".ff"))
+			nome = nome.substring(0, nome.length() - ".ff".length());
+
+		return script.resolveSibling(nome + ESTENSIONE);
+	}
+
+
+	/**
+	 * Metodo di utilità che rimuove il commento da una linea dello script.
+	 * Un commento inizia con " //" oppure con "\t//".
+	 *
+	 * @param linea la linea letta dallo script
+	 * @return la linea senza il commento
+	 */
+	static String rimuoviCommento(String linea)
+	{
+		int inizio = linea.indexOf("//");
+
+		// Cerco il primo "//" preceduto da uno spazio o da un tab
+		while (inizio != -1)
+		{
+			if (inizio > 0 && (linea.charAt(inizio - 1) == ' ' || linea.charAt(inizio - 1) == '\t'))
+				return linea.substring(0, inizio - 1);
+
+			inizio = linea.indexOf("//", inizio + 1);
+		}
+
+		return linea;
+	}
+
+
+	/**
+	 * Metodo di utilità che calcola l'hash del contenuto di uno script.
+	 * Nell'hash rientrano anche le stopwords, perchè cambiano il modo in cui gli argomenti vengono divisi.
+	 *
+	 * @param contenuto il contenuto dello script
+	 * @return l'hash del contenuto
+	 */
+	private static byte[] hash(byte[] contenuto)
+	{
+		try
+		{
+			MessageDigest digest = MessageDigest.getInstance(ALGORITMO_HASH);
+
+			for (String stopword : Tokenizzatore.STOPWORDS)
+				digest.update((stopword + " ").getBytes(StandardCharsets.UTF_8));
+
+			return digest.digest(contenuto);
+		}
+		catch (NoSuchAlgorithmException e)
+		{
+			// Ogni JVM deve supportare SHA-256
+			throw new IllegalStateException(e);
+		}
+	}
+
+
+	/**
+	 * Metodo che scrive la forma compilata dello script
+	 * @param out dove scrivere lo script compilato
+	 * @param hash l'hash del contenuto dello script
+	 *
+	 * @throws IOException sollevata se c'è stato un errore di IO
+	 */
+	private void scrivi(OutputStream out, byte[] hash) throws IOException
+	{
+		DataOutputStream dati = new DataOutputStream(new BufferedOutputStream(out));
+
+		dati.writeInt(MAGIC);
+		dati.writeShort(VERSIONE);
+		dati.writeByte(hash.length);
+		dati.write(hash);
+
+		// Le istruzioni
+		dati.writeInt(size());
+		for (int i = 0; i < size(); i++)
+		{
+			dati.writeInt(linee[i]);
+			dati.writeInt(verbi[i]);
+			dati.writeShort(idArgomenti[i].length);
+
+			for (int id : idArgomenti[i])
+				dati.writeInt(id);
+		}
+
+		// La tabella delle stringhe
+		dati.writeInt(stringhe.length);
+		for (String stringa : stringhe)
+			dati.writeUTF(stringa);
+
+		dati.flush();
+	}
+
+
+	/**
+	 * Metodo che legge la forma compilata di uno script
+	 * @param in da dove leggere lo script compilato
+	 * @param hash l'hash che deve avere lo script compilato
+	 * @return lo script compilato, oppure null se non corrisponde all'hash dato
+	 *
+	 * @throws IOException sollevata se c'è stato un errore di IO oppure se il file non è valido
+	 */
+	private static ScriptCompilato leggi(InputStream in, byte[] hash) throws IOException
+	{
+		DataInputStream dati = new DataInputStream(new BufferedInputStream(in));
+
+		// Verifico che sia un file .ffc, del formato corrente e dello stesso script
+		if (dati.readInt() != MAGIC || dati.readShort() != VERSIONE)
+			return null;
+
+		byte[] hashLetto = new byte[dati.readUnsignedByte()];
+		dati.readFully(hashLetto);
+
+		if (!Arrays.equals(hash, hashLetto))
+			return null;
+
+		// Le istruzioni
+		int n = dati.readInt();
+		int[] linee = new int[n];
+		int[] verbi = new int[n];
+		int[][] idArgomenti = new int[n][];
+
+		for (int i = 0; i < n; i++)
+		{
+			linee[i] = dati.readInt();
+			verbi[i] = dati.readInt();
+			idArgomenti[i] = new int[dati.readUnsignedShort()];
+
+			for (int a = 0; a < idArgomenti[i].length; a++)
+				idArgomenti[i][a] = dati.readInt();
+		}
+
+		// La tabella delle stringhe
+		String[] stringhe = new String[dati.readInt()];
+		for (int id = 0; id < stringhe.length; id++)
+			stringhe[id] = dati.readUTF();
+
+		// Verifico che ogni indice sia valido
+		boolean validi = Arrays.stream(linee).allMatch(id -> id >= 0 && id < stringhe.length)
+					  && Arrays.stream(verbi).allMatch(id -> id >= 0 && id < stringhe.length)
+					  && Arrays.stream(idArgomenti).flatMapToInt(Arrays::stream).allMatch(id -> id >= 0 && id < stringhe.length);
+
+		if (!validi)
+			throw new IOException("Script compilato non valido");
+
+		return new ScriptCompilato(stringhe, linee, verbi, idArgomenti);
+	}
+
+
+	/**
+	 * Metodo che ritorna il numero di istruzioni dello script
+	 * @return il numero di istruzioni
+	 */
+	public int size()
+	{
+		return linee.length;
+	}
+
+
+	/**
+	 * Metodo che ritorna la linea originale (senza commento) di un'istruzione
+	 * @param istruzione l'indice dell'istruzione
+	 * @return la linea dell'istruzione
+	 */
+	public String getLinea(int istruzione)
+	{
+		return stringhe[linee[istruzione]];
+	}
+
+
+	/**
+	 * Metodo che ritorna il verbo di un'istruzione
+	 * @param istruzione l'indice dell'istruzione
+	 * @return il verbo dell'istruzione
+	 */
+	public String getVerbo(int istruzione)
+	{
+		return stringhe[verbi[istruzione]];
+	}
+
+
+	/**
+	 * Metodo che ritorna gli argomenti di un'istruzione.
+	 * L'array è condiviso tra tutte le esecuzioni, pertanto non va modificato
+	 *
+	 * @param istruzione l'indice dell'istruzione
+	 * @return gli argomenti dell'istruzione
+	 */
+	public String[] getArgomenti(int istruzione)
+	{
+		return argomenti[istruzione];
+	}
+
+}
@@ -0,0 +1,213 @@
+package it.uniroma1.textadv;
+
+import java.util.ArrayDeque;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+import it.uniroma1.textadv.link.Link;
+
+
+/**
+ * Classe che modella le serrature (lock) delle stanze di un mondo condiviso da più giocatori
+ * (vedi {@link MondoCondiviso}).
+ *
+ * Le stanze sono suddivise in un numero fisso di strisce, ognuna con il proprio lock.
+ * Un comando del giocatore blocca solo le strisce della zona della sua stanza corrente, ossia:
+ * - la stanza stessa (le sue entità e gli inventari dei personaggi che ci sono)
+ * - le stanze collegate dai suoi link (in cui il giocatore si può spostare e i cui link può aprire)
+ * - le stanze delle entità e dei link che sono target (anche indiretti) delle entità della stanza
+ *
+ * Le zone vengono calcolate una sola volta, alla creazione, dato che nel gioco le entità non possono
+ * essere spostate da una stanza a un'altra (solo prese dal giocatore, che ne è l'unico a poterle usare).
+ *
+ * Le strisce di ogni zona vengono bloccate sempre in ordine crescente, pertanto due comandi
+ * non possono bloccarsi a vicenda (deadlock), e comandi in zone diverse vengono eseguiti in parallelo.
+ *
+ * @author Gabriele
+ *
+ */
+public class SerratureStanze
+{
+	/**
+	 * Il numero massimo di strisce di default
+	 */
+	public final static int MAX_STRISCE = 1024;
+
+
+	/**
+	 * I lock delle strisce
+	 */
+	private final ReentrantLock[] strisce;
+
+	/**
+	 * Le strisce (ordinate, senza ripetizioni) della zona di ogni stanza
+	 */
+	private final Map<Stanza, int[]> zone = new HashMap<>();
+
+	/**
+	 * Tutte le strisce, per le stanze che non appartengono al mondo
+	 */
+	private final int[] tutte;
+
+
+	/**
+	 * Costruttore delle serrature delle stanze del contesto dato, con una striscia per stanza
+	 * fino al numero massimo di strisce dato
+	 * @param contesto il contesto del mondo condiviso, già tutto istanziato
+	 * @param maxStrisce il numero massimo di strisce (con una sola striscia ogni comando blocca tutto il mondo)
+	 */
+	SerratureStanze(ContestoMondo contesto, int maxStrisce)
+	{
+		if (maxStrisce <= 0)
+			throw new IllegalArgumentException("Numero di strisce non valido: " + maxStrisce);
+
+		int numeroStrisce = Math.min(maxStrisce, Math.max(1, contesto.mappaStanze().size()));
+
+		strisce = new ReentrantLock[numeroStrisce];
+		tutte = new int[numeroStrisce];
+
+		for (int i = 0; i < numeroStrisce; i++)
+		{
+			strisce[i] = new ReentrantLock();
+			tutte[i] = i;
+		}
+
+		// Ogni stanza appartiene alla striscia data dalla sua posizione nel mondo
+		Map<Stanza, Integer> striscia = new HashMap<>();
+
+		for (Stanza stanza : contesto.mappaStanze().values())
+			striscia.put(stanza, striscia.size() % numeroStrisce);
+
+		for (Stanza stanza : contesto.mappaStanze().values())
+		{
+			BitSet zona = new BitSet(numeroStrisce);
+
+			for (Stanza toccata : stanzeToccate(contesto, stanza))
+				zona.set(striscia.getOrDefault(toccata, 0));
+
+			zone.put(stanza, zona.stream().toArray());
+		}
+	}
+
+
+	/**
+	 * Metodo che ritorna le stanze su cui può agire un comando eseguito nella stanza data
+	 * @param contesto il contesto del mondo
+	 * @param stanza la stanza
+	 * @return le stanze della zona della stanza
+	 */
+	private static Set<Stanza> stanzeToccate(ContestoMondo contesto, Stanza stanza)
+	{
+		Set<Stanza> toccate = new HashSet<>();
+		toccate.add(stanza);
+
+		// Le stanze collegate dai link della stanza
+		for (List<Link> links : stanza.getElencoCollegamenti().values())
+			for (Link link : links)
+				aggiungiStanzeLink(contesto, link, toccate);
+
+		// Le stanze dei target delle entità della stanza, seguendo anche i target dei target
+		Set<String> visitati = new HashSet<>();
+		Deque<Entita> daVisitare = new ArrayDeque<>(stanza.getElencoEntitaNellaStanza().values());
+
+		while (!daVisitare.isEmpty())
+		{
+			Entita entita = daVisitare.pop();
+
+			if (!visitati.add(entita.getName()))
+				continue;
+
+			if (entita.getStanzaCorrente() != null)
+				toccate.add(entita.getStanzaCorrente());
+
+			if (entita.getElencoTarget() == null)
+				continue;
+
+			for (String nomeTarget : entita.getElencoTarget().keySet())
+			{
+				Link link = contesto.mappaLink().get(nomeTarget);
+				Entita target = contesto.mappaOggetti().get(nomeTarget);
+
+				if (target == null)
+					target = contesto.mappaPersonaggi().get(nomeTarget);
+
+				if (link != null)
+					aggiungiStanzeLink(contesto, link, toccate);
+
+				if (target != null)
+					daVisitare.push(target);
+			}
+		}
+
+		return toccate;
+	}
+
+
+	/**
+	 * Metodo di utilità che aggiunge alle stanze date le stanze collegate da un link
+	 * @param contesto il contesto del mondo
+	 * @param link il link
+	 * @param stanze le stanze a cui aggiungere quelle del link
+	 */
+	private static void aggiungiStanzeLink(ContestoMondo contesto, Link link, Set<Stanza> stanze)
+	{
+		Stanza stanza1 = contesto.mappaStanze().get(link.getStanza1());
+		Stanza stanza2 = contesto.mappaStanze().get(link.getStanza2());
+
+		if (stanza1 != null)
+			stanze.add(stanza1);
+
+		if (stanza2 != null)
+			stanze.add(stanza2);
+	}
+
+
+	/**
+	 * Metodo che blocca le strisce della zona della stanza data, in ordine crescente.
+	 * Le strisce vanno sbloccate con {@link #sblocca(int[])}.
+	 *
+	 * @param stanza la stanza in cui viene eseguito il comando
+	 * @return le strisce bloccate
+	 */
+	int[] blocca(Stanza stanza)
+	{
+		int[] zona = stanza == null ? null : zone.get(stanza);
+
+		// Una stanza che non appartiene al mondo potrebbe toccare qualsiasi cosa
+		if (zona == null)
+			zona = tutte;
+
+		for (int striscia : zona)
+			strisce[striscia].lock();
+
+		return zona;
+	}
+
+
+	/**
+	 * Metodo che sblocca le strisce bloccate con {@link #blocca(Stanza)}
+	 * @param zona le strisce da sbloccare
+	 */
+	void sblocca(int[] zona)
+	{
+		for (int i = zona.length - 1; i >= 0; i--)
+			strisce[zona[i]].unlock();
+	}
+
+
+	/**
+	 * Metodo che ritorna il numero di strisce
+	 * @return il numero di strisce
+	 */
+	public int getNumeroStrisce()
+	{
+		return strisce.length;
+	}
+
+}
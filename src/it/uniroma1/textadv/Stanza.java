@@ -1,321 +1,522 @@
-package it.uniroma1.textadv;
-
-import java.util.Arrays;
-import java.util.LinkedHashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.Objects;
-import java.util.Map.Entry;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
-
-import it.uniroma1.textadv.eccezioni.LinkInesistenteException;
-import it.uniroma1.textadv.link.Link;
-import it.uniroma1.textadv.utilita.Direzione;
-
-
-/**
- * Classe che modella una stanza, intesa come un qualsiasi ambiente (sia interno che esterno)
- * 
- * @author Gabriele
- *
- */
-public class Stanza 
-{	
-	// Messaggio di errore
-	public static final String DIREZIONE_NON_VALIDA = "Non ci sono collegamenti validi a ";
-	
-	/**
-	 * Il nome della stanza
-	 */
-	private String nomeStanza;
-	
-	/**
-	 * La descrizione testuale della stanza
-	 */
-	private String descrizioneStanza;
-	
-	/**
-	 * Elenco delle stanze raggiungibili dalla stanza corrente,
-	 * organizzate secondo una direzione
-	 */
-	private Map<Direzione, List<Link>> elencoCollegamenti = new LinkedHashMap<>();
-	
-	/**
-	 * Mappa delle entit contenute nella stanza:
-	 * - chiave: il nome dell'entit
-	 * - valore: il riferimento all'entit
-	 */
-	private Map<String, Entita> elencoEntitaNellaStanza = new LinkedHashMap<>();
-	
-	/**
-	 * Costruttore delle Stanze
-	 * @param nomeStanza il nome della stanza
-	 * @param descrizioneStanza la descrizione testuale della stanza
-	 */
-	public Stanza(String nomeStanza, String descrizioneStanza)
-	{
-		this.nomeStanza = nomeStanza;
-		this.descrizioneStanza = descrizioneStanza;
-	}
-	
-	/**
-	 * Metodo per ottenere il nome della stanza
-	 * @return il nome della stanza
-	 */
-	public String getNomeStanza() { return nomeStanza; }
-	
-	
-	/**
-	 * Metodo che ritorna la descrizione della stanza
-	 * @return la descrizione della stanza
-	 */
-	public String getDescrizione()
-	{
-		return descrizioneStanza;
-	}
-	
-	
-	/**
-	 * Metodo per aggiungere un'entit nella stanza
-	 * @param nomeEntita il nome dell'entit da aggiungere nella stanza
-	 * @param entita l'entita da aggiungere nella stanza
-	 */
-	public void addEntitaNellaStanza(String nomeEntita, Entita entita)
-	{
-		// Aggiungo nella mappa delle entit nella stanza la coppia (nome, riferimento)
-		elencoEntitaNellaStanza.putIfAbsent(nomeEntita, entita);
-		
-		// Posiziono l'entit nella stanza
-		entita.setNewStanzaCorrente(this);
-	}
-	
-	
-	/**
-	 * Metodo per aggiungere un link alla stanza
-	 * @param dir la direzione in cui  il link
-	 * @param link il link da aggiungere
-	 */
-	public void addLinkDellaStanza(Direzione dir, Link link)
-	{
-		// Nella mappa dei Link, aggiungo una lista contenente solo il link se la chiave dir non  presente,
-		// altrimenti unisco il nuovo link alla lista dei link precedente
-		elencoCollegamenti.merge(dir, Arrays.asList(link), 
-								(oldList, newList) -> Stream.concat(oldList.stream(), newList.stream())
-															.collect(Collectors.toList()));
-	}
-	
-	/**
-	 * Metodo per verificare se due stanze sono uguali
-	 * @return true se sono la stessa stanza, false se sono stanze diverse
-	 */
-	@Override
-	public boolean equals(Object o)
-	{
-		if (o == null || getClass() != o.getClass())
-			return false;
-		
-		Stanza other = (Stanza) o;
-		
-		// Ogni stanza ha il proprio nome e la propria descrizione univoca
-		return nomeStanza.equals(other.nomeStanza) && descrizioneStanza.equals(other.descrizioneStanza);
-	}
-	
-	
-	/**
-	 * Metodo che restituisce l'hashCode associato alla stanza
-	 * @return l'intero associato alla stanza
-	 */
-	@Override
-	public int hashCode()
-	{
-		return Objects.hash(nomeStanza, descrizioneStanza);
-	}
-	
-	
-	/**
-	 * Metodo che ritorna una stringa che elenca tutte le entit presenti nella stanza
-	 * @return l'elenco delle entit nella stanza
-	 */
-	public String showEntitaNellaStanza()
-	{
-		StringBuffer sb = new StringBuffer();
-		sb.append("Ci sono le seguenti entit:\n");
-		
-		for (Entita ent : elencoEntitaNellaStanza.values())
-			sb.append(" - " + ent.toString() + "\n");
-		
-		return sb.toString();
-	}
-	
-	
-	/**
-	 * Metodo che data una Direzione, ritorna la stringa raffigurante i link in quella direzione
-	 * @param dir la direzione da controllare
-	 * @return la stringa rappresentante i link in quella direzione
-	 */
-	public String showCollegamentiByDirezione(Direzione dir)
-	{
-		// Se nella direzione data non ci sono link
-		if (getCollegamentiByDirezione(dir) == null)
-			return DIREZIONE_NON_VALIDA + dir;
-		
-		// Altrimenti compongo la stringa con tutti i link della stanza
-		StringBuffer sb = new StringBuffer();
-		sb.append("Ad " + dir + " ci sono:\n");
-		
-		for (Link link : getCollegamentiByDirezione(dir))
-			sb.append(" - " + link.toString() + "\n");
-		
-		return sb.toString();
-	}
-	
-	/**
-	 * Data una direzione, ritorna l'elenco dei collegamenti in quella direzione
-	 * @param dir la direzione che ci interessa
-	 * @return la lista dei collegamenti in quella direzione
-	 */
-	public List<Link> getCollegamentiByDirezione(Direzione dir)
-	{
-		return elencoCollegamenti.get(dir);
-	}
-	
-	/**
-	 * Metodo per ottenere la mappa completa dei collegamenti di una stanza
-	 * @return la mappa dei collegamenti della stanza
-	 */
-	public Map<Direzione, List<Link>> getElencoCollegamenti()
-	{
-		return elencoCollegamenti;
-	}
-	
-	/**
-	 * Metodo che ritorna l'elenco delle entit nella stanza
-	 * @return l'elenco delle entit nella stanza
-	 */
-	public Map<String, Entita> getElencoEntitaNellaStanza()
-	{
-		return elencoEntitaNellaStanza;
-	}
-	
-	
-	/**
-	 * Sapendo il nome dell'entit, otteniamo il suo riferimento
-	 * @param nomeEntita il nome dell'entit che vogliamo ottenere
-	 * @return il riferimento all'entit desiderata
-	 */
-	public Entita getEntitaByName(String nomeEntita)
-	{
-		return elencoEntitaNellaStanza.get(nomeEntita);
-	}
-	
-	
-	/**
-	 * Metodo che dato il nome di un link/stanza, ritorna la sua direzione
-	 * @param nomeLink il nome della stanza/link di cui si vuole conoscere la direzione
-	 * @return la direzione della stanza/link
-	 * 
-	 * @throws LinkInesistenteException sollevata se non esiste alcun link/stanza con il nome dato
-	 */
-	public Direzione getDirezioneByLinkName(String nomeLink) throws LinkInesistenteException
-	{
-		// Ricavo il riferimento al link con il nome dato
-		Link link = Mondo.getLinkByName(nomeLink);
-		
-		// Ricavo il riferimento alla stanza con il nome dato
-		Stanza stanza = Mondo.getStanzaByName(nomeLink);
-		
-		// Se  un link esistente nel mondo
-		if (link != null)
-		{
-			// Prendo tutte le coppie Chiave:Valore dell'elenco dei collegamenti della stanza
-			for (Entry<Direzione, List<Link>> entry : getElencoCollegamenti().entrySet())
-			{
-				// Se il link richiesto  nella stanza,
-				// -> allora ne ritorno la direzione
-				if (entry.getValue().contains(link))
-					return entry.getKey();
-			}
-		}
-		// Altrimenti, se il link cercato  in realt una stanza vicina della stanzaCorrente
-		else if (stanza != null)
-		{
-			// Prendo tutte le coppie Chiave:Valore dell'elenco dei collegamenti della stanza
-			for (Entry<Direzione, List<Link>> entry : getElencoCollegamenti().entrySet())
-			{
-				// Se esiste un link con lo stesso nome della stanza
-				// -> allora ne ritorno la direzione
-				if (entry.getValue().stream().map(Link::getStanza2).anyMatch(l -> l.equals(stanza.getNomeStanza())))
-					return entry.getKey();
-			}
-		}
-		else
-			// Sollevo l'eccezione che il link non esiste
-			throw new LinkInesistenteException("Non esiste link per questa stanza: " + nomeLink);
-		
-		return null;
-	}
-	
-	
-	/**
-	 * Metodo che ritorna una stringa che elenca tutti i collegamenti della stanza corrente
-	 * @return una stringa che riporta l'elenco dei collegamenti della stanza
-	 */
-	public String showCollegamenti()
-	{
-		StringBuffer sb = new StringBuffer();
-		sb.append("I collegamenti di <" + getNomeStanza() + "> sono:\n");
-		
-		for (Entry<Direzione, List<Link>> entry : elencoCollegamenti.entrySet())
-				if (entry.getValue() != null)
-					sb.append(" - Ad " + entry.getKey() + ": " + entry.getValue() + "\n");
-		
-		return sb.toString();
-	}
-	
-	
-	
-	/**
-	 * Metodo che dato il nome di un link, restituisce il riferimento al link se esso 
-	 * appartiene alla stanza
-	 * 
-	 * @param nomeLink il nome del link di cui interessa ricavare il riferimento
-	 * @return il riferimento al link se esso appartiene alla stanza
-	 * 
-	 * @throws LinkInesistenteException sollevata se il link non  nella stanza
-	 */
-	public Link getLinkByName(String nomeLink) throws LinkInesistenteException
-	{
-		Link link = Mondo.getLinkByName(nomeLink);
-		
-		// Se il link esiste nel mondo
-		if (link != null )
-		{
-			// Per ogni link della stanza verifico se il proprio nome  uguale a quello in input
-			// Se true -> ne ritorno il riferimento
-			for (List<Link> lista : elencoCollegamenti.values())
-				for (Link l : lista)
-					if (l.getName().equals(nomeLink))
-						return l;
-		}
-		// Altrimenti, il link non esiste
-		else
-			throw new LinkInesistenteException("Il link non esiste: " + nomeLink);
-		
-		// Se il link esiste nel mondo ma non  un link della stanza, ritorno null
-		return null;
-	}
-	
-	
-	/**
-	 * Metodo che ritora il nome e la descrizione di base della stanza
-	 * @return una stringa che riporta nome e descrizione della stanza
-	 */
-	@Override
-	public String toString()
-	{
-		return "<" + getNomeStanza() + "> (" + getDescrizione() + ")";
-			
-	}
-	
-}
+package it.uniroma1.textadv;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Map.Entry;
+
+import it.uniroma1.textadv.eccezioni.LinkInesistenteException;
+import it.uniroma1.textadv.link.Link;
+import it.uniroma1.textadv.utilita.Direzione;
+import it.uniroma1.textadv.utilita.MappaNomi;
+import it.uniroma1.textadv.utilita.NomiInterni;
+
+
+/**
+ * Classe che modella una stanza, intesa come un qualsiasi ambiente (sia interno che esterno)
+ * 
+ * @author Gabriele
+ *
+ */
+public class Stanza 
+{	
+	// Messaggio di errore
+	public static final String DIREZIONE_NON_VALIDA = "Non ci sono collegamenti validi a ";
+	
+	/**
+	 * Il nome della stanza
+	 */
+	private String nomeStanza;
+	
+	/**
+	 * L'identificativo intero del nome della stanza, nella tabella dei nomi del contesto
+	 * in cui la stanza è stata creata (vedi {@link ContestoMondo#getNomiInterni()})
+	 */
+	private final int id;
+	
+	/**
+	 * La descrizione testuale della stanza
+	 */
+	private String descrizioneStanza;
+	
+	/**
+	 * Classe che modella un link della stanza insieme alla sua direzione
+	 */
+	private static class Collegamento
+	{
+		/**
+		 * Il link
+		 */
+		private final Link link;
+		
+		/**
+		 * La direzione in cui è il link
+		 */
+		private final Direzione direzione;
+		
+		/**
+		 * Costruttore del collegamento
+		 * @param link il link
+		 * @param direzione la direzione in cui è il link
+		 */
+		private Collegamento(Link link, Direzione direzione)
+		{
+			this.link = link;
+			this.direzione = direzione;
+		}
+	}
+	
+	
+	/**
+	 * Elenco delle stanze raggiungibili dalla stanza corrente,
+	 * organizzate secondo una direzione (nell'ordine in cui le direzioni sono state aggiunte,
+	 * che è quello in cui vengono mostrate al giocatore).
+	 * Finché la stanza non ha collegamenti, questa mappa e le due seguenti sono la mappa vuota condivisa
+	 */
+	private Map<Direzione, List<Link>> elencoCollegamenti = Collections.emptyMap();
+	
+	/**
+	 * Le stesse liste di elencoCollegamenti, indicizzate per direzione
+	 */
+	private Map<Direzione, List<Link>> collegamentiPerDirezione = Collections.emptyMap();
+	
+	/**
+	 * Le stanze raggiunte dai link di ogni direzione, nelle stesse posizioni dei link
+	 * (null finché la stanza raggiunta da un link non viene risolta dal suo nome)
+	 */
+	private Map<Direzione, List<Stanza>> destinazioniPerDirezione = Collections.emptyMap();
+	
+	/**
+	 * Indice dei link della stanza:
+	 * - chiave: il nome del link
+	 * - valore: il primo link con quel nome (nell'ordine di elencoCollegamenti) e la sua direzione
+	 */
+	private final MappaNomi<Collegamento> collegamentiPerNome;
+	
+	/**
+	 * Indice delle stanze vicine:
+	 * - chiave: il nome della stanza a cui porta un link
+	 * - valore: la direzione del primo link che vi porta (nell'ordine di elencoCollegamenti)
+	 */
+	private final MappaNomi<Direzione> direzioniPerStanza;
+	
+	/**
+	 * Mappa delle entità contenute nella stanza:
+	 * - chiave: il nome dell'entità
+	 * - valore: il riferimento all'entità
+	 */
+	private final MappaNomi<Entita> elencoEntitaNellaStanza;
+	
+	/**
+	 * Costruttore delle Stanze
+	 * @param nomeStanza il nome della stanza
+	 * @param descrizioneStanza la descrizione testuale della stanza
+	 */
+	public Stanza(String nomeStanza, String descrizioneStanza)
+	{
+		NomiInterni nomiInterni = ContestoMondo.corrente().getNomiInterni();
+		
+		this.nomeStanza = nomeStanza;
+		this.id = nomiInterni.interna(nomeStanza);
+		this.descrizioneStanza = descrizioneStanza;
+		this.collegamentiPerNome = new MappaNomi<>(nomiInterni);
+		this.direzioniPerStanza = new MappaNomi<>(nomiInterni);
+		this.elencoEntitaNellaStanza = new MappaNomi<>(nomiInterni);
+	}
+	
+	/**
+	 * Metodo per ottenere il nome della stanza
+	 * @return il nome della stanza
+	 */
+	public String getNomeStanza() { return nomeStanza; }
+	
+	
+	/**
+	 * Metodo per ottenere l'identificativo intero del nome della stanza
+	 * @return l'identificativo del nome della stanza
+	 */
+	public int getId() { return id; }
+	
+	
+	/**
+	 * Metodo che ritorna la descrizione della stanza
+	 * @return la descrizione della stanza
+	 */
+	public String getDescrizione()
+	{
+		return descrizioneStanza;
+	}
+	
+	
+	/**
+	 * Metodo per aggiungere un'entità nella stanza
+	 * @param nomeEntita il nome dell'entità da aggiungere nella stanza
+	 * @param entita l'entita da aggiungere nella stanza
+	 */
+	public void addEntitaNellaStanza(String nomeEntita, Entita entita)
+	{
+		// Aggiungo nella mappa delle entità nella stanza la coppia (nome, riferimento)
+		elencoEntitaNellaStanza.putIfAbsent(nomeEntita, entita);
+		
+		// Posiziono l'entità nella stanza
+		entita.setNewStanzaCorrente(this);
+	}
+	
+	
+	/**
+	 * Metodo per aggiungere un link alla stanza
+	 * @param dir la direzione in cui è il link
+	 * @param link il link da aggiungere
+	 */
+	public void addLinkDellaStanza(Direzione dir, Link link)
+	{
+		// Al primo link creo le mappe dei collegamenti
+		if (elencoCollegamenti.isEmpty())
+		{
+			elencoCollegamenti = new LinkedHashMap<>();
+			collegamentiPerDirezione = new EnumMap<>(Direzione.class);
+			destinazioniPerDirezione = new EnumMap<>(Direzione.class);
+		}
+		
+		// Aggiungo il link alla lista della direzione, creandola se è la prima volta che la direzione compare
+		List<Link> links = collegamentiPerDirezione.get(dir);
+		
+		if (links == null)
+		{
+			links = new ArrayList<>();
+			collegamentiPerDirezione.put(dir, links);
+			elencoCollegamenti.put(dir, links);
+			destinazioniPerDirezione.put(dir, new ArrayList<>());
+		}
+		
+		links.add(link);
+		destinazioniPerDirezione.get(dir).add(null);
+		
+		// Aggiorno gli indici, che devono ritornare lo stesso risultato di una ricerca su elencoCollegamenti
+		Collegamento collegamento = collegamentiPerNome.cerca(link.getId());
+		
+		if (collegamento == null || precede(dir, collegamento.direzione))
+			collegamentiPerNome.inserisci(link.getId(), new Collegamento(link, dir));
+		
+		if (link.getStanza2() != null)
+		{
+			Direzione direzioneStanza = direzioniPerStanza.get(link.getStanza2());
+			
+			if (direzioneStanza == null || precede(dir, direzioneStanza))
+				direzioniPerStanza.put(link.getStanza2(), dir);
+		}
+	}
+	
+	
+	/**
+	 * Metodo che ritorna la stanza in cui porta un link della stanza.
+	 * La stanza viene cercata per nome solo la prima volta, poi ne viene ricordato il riferimento.
+	 * 
+	 * @param dir la direzione del link
+	 * @param posizione la posizione del link nella lista dei collegamenti della direzione
+	 * @return la stanza in cui porta il link (null se non esiste)
+	 */
+	public Stanza getStanzaRaggiunta(Direzione dir, int posizione)
+	{
+		List<Stanza> destinazioni = destinazioniPerDirezione.get(dir);
+		Stanza destinazione = destinazioni.get(posizione);
+		
+		if (destinazione == null)
+		{
+			destinazione = Mondo.getStanzaByName(getNomeStanzaRaggiunta(collegamentiPerDirezione.get(dir).get(posizione)));
+			destinazioni.set(posizione, destinazione);
+		}
+		
+		return destinazione;
+	}
+	
+	
+	/**
+	 * Metodo che risolve subito le stanze in cui portano tutti i link della stanza
+	 * (ES: quando tutte le stanze del mondo sono già state create)
+	 * 
+	 * @param stanze le stanze del mondo, per nome
+	 */
+	void risolviCollegamenti(Map<String, Stanza> stanze)
+	{
+		for (Entry<Direzione, List<Link>> entry : collegamentiPerDirezione.entrySet())
+		{
+			List<Stanza> destinazioni = destinazioniPerDirezione.get(entry.getKey());
+			
+			for (int i = 0; i < destinazioni.size(); i++)
+				if (destinazioni.get(i) == null)
+					destinazioni.set(i, stanze.get(getNomeStanzaRaggiunta(entry.getValue().get(i))));
+		}
+	}
+	
+	
+	/**
+	 * Metodo che ritorna il nome della stanza in cui porta un link della stanza
+	 * @param link il link
+	 * @return il nome della stanza del link diversa da questa
+	 */
+	private String getNomeStanzaRaggiunta(Link link)
+	{
+		// Se la stanza1 del link non è questa stanza allora il link porta lì, altrimenti nella stanza2
+		String nomeStanza1 = link.getStanza1();
+		
+		return !nomeStanza1.equals(nomeStanza) ? nomeStanza1 : link.getStanza2();
+	}
+	
+	
+	/**
+	 * Metodo che indica se una direzione viene prima di un'altra in elencoCollegamenti
+	 * @param dir la direzione
+	 * @param altra l'altra direzione
+	 * @return true se dir è diversa da altra e viene prima
+	 */
+	private boolean precede(Direzione dir, Direzione altra)
+	{
+		if (dir == altra)
+			return false;
+		
+		// Le direzioni sono al massimo cinque
+		for (Direzione d : elencoCollegamenti.keySet())
+			if (d == dir || d == altra)
+				return d == dir;
+		
+		return false;
+	}
+	
+	/**
+	 * Metodo per verificare se due stanze sono uguali
+	 * @return true se sono la stessa stanza, false se sono stanze diverse
+	 */
+	@Override
+	public boolean equals(Object o)
+	{
+		if (o == null || getClass() != o.getClass())
+			return false;
+		
+		Stanza other = (Stanza) o;
+		
+		// Ogni stanza ha il proprio nome e la propria descrizione univoca
+		return nomeStanza.equals(other.nomeStanza) && descrizioneStanza.equals(other.descrizioneStanza);
+	}
+	
+	
+	/**
+	 * Metodo che restituisce l'hashCode associato alla stanza
+	 * @return l'intero associato alla stanza
+	 */
+	@Override
+	public int hashCode()
+	{
+		return Objects.hash(nomeStanza, descrizioneStanza);
+	}
+	
+	
+	/**
+	 * Metodo che ritorna una stringa che elenca tutte le entità presenti nella stanza
+	 * @return l'elenco delle entità nella stanza
+	 */
+	public String showEntitaNellaStanza()
+	{
+		StringBuffer sb = new StringBuffer();
+		sb.append("Ci sono le seguenti entità:\n");
+		
+		for (Entita ent : elencoEntitaNellaStanza.values())
+			sb.append(" - " + ent.toString() + "\n");
+		
+		return sb.toString();
+	}
+	
+	
+	/**
+	 * Metodo che data una Direzione, ritorna la stringa raffigurante i link in quella direzione
+	 * @param dir la direzione da controllare
+	 * @return la stringa rappresentante i link in quella direzione
+	 */
+	public String showCollegamentiByDirezione(Direzione dir)
+	{
+		// Se nella direzione data non ci sono link
+		if (getCollegamentiByDirezione(dir) == null)
+			return DIREZIONE_NON_VALIDA + dir;
+		
+		// Altrimenti compongo la stringa con tutti i link della stanza
+		StringBuffer sb = new StringBuffer();
+		sb.append("Ad " + dir + " ci sono:\n");
+		
+		for (Link link : getCollegamentiByDirezione(dir))
+			sb.append(" - " + link.toString() + "\n");
+		
+		return sb.toString();
+	}
+	
+	/**
+	 * Data una direzione, ritorna l'elenco dei collegamenti in quella direzione
+	 * @param dir la direzione che ci interessa
+	 * @return la lista dei collegamenti in quella direzione
+	 */
+	public List<Link> getCollegamentiByDirezione(Direzione dir)
+	{
+		return collegamentiPerDirezione.get(dir);
+	}
+	
+	/**
+	 * Metodo per ottenere la mappa completa dei collegamenti di una stanza
+	 * @return la mappa dei collegamenti della stanza
+	 */
+	public Map<Direzione, List<Link>> getElencoCollegamenti()
+	{
+		return elencoCollegamenti;
+	}
+	
+	/**
+	 * Metodo che ritorna l'elenco delle entità nella stanza
+	 * @return l'elenco delle entità nella stanza
+	 */
+	public Map<String, Entita> getElencoEntitaNellaStanza()
+	{
+		return elencoEntitaNellaStanza;
+	}
+	
+	
+	/**
+	 * Sapendo il nome dell'entità, otteniamo il suo riferimento
+	 * @param nomeEntita il nome dell'entità che vogliamo ottenere
+	 * @return il riferimento all'entità desiderata
+	 */
+	public Entita getEntitaByName(String nomeEntita)
+	{
+		return elencoEntitaNellaStanza.get(nomeEntita);
+	}
+	
+	
+	/**
+	 * Sapendo l'identificativo del nome dell'entità, otteniamo il suo riferimento
+	 * @param idEntita l'identificativo del nome dell'entità (vedi {@link ContestoMondo#getNomiInterni()})
+	 * @return il riferimento all'entità desiderata
+	 */
+	public Entita getEntitaById(int idEntita)
+	{
+		return elencoEntitaNellaStanza.cerca(idEntita);
+	}
+	
+	
+	/**
+	 * Metodo che dato il nome di un link/stanza, ritorna la sua direzione
+	 * @param nomeLink il nome della stanza/link di cui si vuole conoscere la direzione
+	 * @return la direzione della stanza/link
+	 * 
+	 * @throws LinkInesistenteException sollevata se non esiste alcun link/stanza con il nome dato
+	 */
+	public Direzione getDirezioneByLinkName(String nomeLink) throws LinkInesistenteException
+	{
+		// Se nel mondo non c'è nè un link nè una stanza con il nome dato, sollevo l'eccezione che il link non esiste
+		if (Mondo.getLinkByName(nomeLink) == null && Mondo.getStanzaByName(nomeLink) == null)
+			throw new LinkInesistenteException("Non esiste link per questa stanza: " + nomeLink);
+		
+		return cercaDirezioneByLinkName(nomeLink);
+	}
+	
+	
+	/**
+	 * Metodo che dato il nome di un link/stanza, ritorna la sua direzione.
+	 * A differenza di getDirezioneByLinkName() non solleva eccezioni, pertanto va usato
+	 * quando il nome proviene direttamente dal giocatore.
+	 * 
+	 * @param nomeLink il nome della stanza/link di cui si vuole conoscere la direzione
+	 * @return la direzione della stanza/link, oppure null se non è raggiungibile dalla stanza
+	 */
+	public Direzione cercaDirezioneByLinkName(String nomeLink)
+	{
+		// Ricavo il riferimento al link con il nome dato
+		Link link = Mondo.getLinkByName(nomeLink);
+		
+		// Ricavo il riferimento alla stanza con il nome dato
+		Stanza stanza = Mondo.getStanzaByName(nomeLink);
+		
+		// Se è un link esistente nel mondo
+		if (link != null)
+		{
+			// Se il link richiesto è nella stanza,
+			// -> allora ne ritorno la direzione
+			Collegamento collegamento = collegamentiPerNome.cerca(link.getId());
+			
+			if (collegamento != null && collegamento.link.equals(link))
+				return collegamento.direzione;
+		}
+		// Altrimenti, se il link cercato è in realtà una stanza vicina della stanzaCorrente
+		// -> ritorno la direzione del primo link che porta alla stanza
+		else if (stanza != null)
+			return direzioniPerStanza.cerca(stanza.getId());
+		
+		return null;
+	}
+	
+	
+	/**
+	 * Metodo che ritorna una stringa che elenca tutti i collegamenti della stanza corrente
+	 * @return una stringa che riporta l'elenco dei collegamenti della stanza
+	 */
+	public String showCollegamenti()
+	{
+		StringBuffer sb = new StringBuffer();
+		sb.append("I collegamenti di <" + getNomeStanza() + "> sono:\n");
+		
+		for (Entry<Direzione, List<Link>> entry : elencoCollegamenti.entrySet())
+				if (entry.getValue() != null)
+					sb.append(" - Ad " + entry.getKey() + ": " + entry.getValue() + "\n");
+		
+		return sb.toString();
+	}
+	
+	
+	
+	/**
+	 * Metodo che dato il nome di un link, restituisce il riferimento al link se esso 
+	 * appartiene alla stanza
+	 * 
+	 * @param nomeLink il nome del link di cui interessa ricavare il riferimento
+	 * @return il riferimento al link se esso appartiene alla stanza
+	 * 
+	 * @throws LinkInesistenteException sollevata se il link non è nella stanza
+	 */
+	public Link getLinkByName(String nomeLink) throws LinkInesistenteException
+	{
+		// Se il link non esiste nel mondo, sollevo l'eccezione
+		if (Mondo.getLinkByName(nomeLink) == null)
+			throw new LinkInesistenteException("Il link non esiste: " + nomeLink);
+		
+		return cercaLinkByName(nomeLink);
+	}
+	
+	
+	/**
+	 * Metodo che dato il nome di un link, restituisce il riferimento al link se esso 
+	 * appartiene alla stanza. A differenza di getLinkByName() non solleva eccezioni.
+	 * 
+	 * @param nomeLink il nome del link di cui interessa ricavare il riferimento
+	 * @return il riferimento al link, oppure null se non è un link della stanza
+	 */
+	public Link cercaLinkByName(String nomeLink)
+	{
+		// Cerco il link nell'indice dei link della stanza
+		Collegamento collegamento = collegamentiPerNome.get(nomeLink);
+		
+		return collegamento == null ? null : collegamento.link;
+	}
+	
+	
+	/**
+	 * Metodo che ritora il nome e la descrizione di base della stanza
+	 * @return una stringa che riporta nome e descrizione della stanza
+	 */
+	@Override
+	public String toString()
+	{
+		return "<" + getNomeStanza() + "> (" + getDescrizione() + ")";
+			
+	}
+	
+}
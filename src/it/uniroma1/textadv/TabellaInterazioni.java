@@ -0,0 +1,312 @@
+package it.uniroma1.textadv;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import it.uniroma1.textadv.link.Link;
+import it.uniroma1.textadv.utilita.AccendibileSpegnibile;
+import it.uniroma1.textadv.utilita.Apribile;
+import it.uniroma1.textadv.utilita.ApribileConStrumento;
+import it.uniroma1.textadv.utilita.Capacita;
+import it.uniroma1.textadv.utilita.Controllabile;
+import it.uniroma1.textadv.utilita.EntitaPrendibile;
+import it.uniroma1.textadv.utilita.Fragile;
+import it.uniroma1.textadv.utilita.RiempibileSvuotabile;
+import it.uniroma1.textadv.utilita.Target;
+
+
+/**
+ * Classe che mantiene le interazioni del Giocatore con le entità e i link del mondo.
+ *
+ * Ogni interazione è registrata per un verbo e per le capacità (vedi {@link Capacita}) che lo strumento
+ * e il target devono avere; per ogni verbo vale la prima interazione registrata le cui capacità sono tutte
+ * presenti nello strumento e nel target. La scelta viene poi ricordata in una tabella indicizzata per
+ * (verbo, capacità dello strumento, capacità del target), quindi il {@link Giocatore} trova l'interazione
+ * da eseguire con un solo accesso alla tabella, senza catene di instanceof.
+ *
+ * La tabella standard contiene tutte le interazioni del gioco, ma è possibile registrarne di nuove
+ * tramite il metodo registra(), senza modificare il Giocatore (ES: per un nuovo tipo di oggetto).
+ *
+ * @author Gabriele
+ *
+ */
+public class TabellaInterazioni
+{
+	/**
+	 * Enumerazione dei verbi che scelgono l'interazione dalla tabella
+	 *
+	 * @author Gabriele
+	 */
+	public enum Verbo
+	{
+		APRI, APRI_CON_STRUMENTO, PRENDI, ROMPI, USA
+	}
+
+
+	/**
+	 * Classe che modella un'interazione registrata con le capacità richieste
+	 *
+	 * @author Gabriele
+	 */
+	private static class Regola
+	{
+		/**
+		 * Le capacità richieste allo strumento e al target
+		 */
+		final int capacitaStrumento, capacitaTarget;
+
+		/**
+		 * L'interazione da eseguire
+		 */
+		final Interazione interazione;
+
+		/**
+		 * Costruttore della regola
+		 * @param capacitaStrumento le capacità richieste allo strumento
+		 * @param capacitaTarget le capacità richieste al target
+		 * @param interazione l'interazione da eseguire
+		 */
+		Regola(int capacitaStrumento, int capacitaTarget, Interazione interazione)
+		{
+			this.capacitaStrumento = capacitaStrumento;
+			this.capacitaTarget = capacitaTarget;
+			this.interazione = interazione;
+		}
+	}
+
+
+	/**
+	 * L'interazione ricordata nella tabella quando nessuna regola vale
+	 */
+	private final static Interazione NESSUNA = (giocatore, strumento, target) -> null;
+
+	/**
+	 * La tabella standard, usata da tutti i giocatori a cui non ne è stata assegnata un'altra
+	 */
+	private final static TabellaInterazioni STANDARD = standard();
+
+
+	/**
+	 * Le interazioni registrate per ogni verbo, in ordine di registrazione
+	 */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private final List<Regola>[] regole = new List[Verbo.values().length];
+
+	/**
+	 * Le interazioni già scelte: in scelte[verbo][capacità dello strumento][capacità del target].
+	 * Le righe vengono create la prima volta che servono (di solito sono poche, dato che nel mondo
+	 * ci sono pochi insiemi di capacità diversi)
+	 */
+	private volatile Interazione[][][] scelte;
+
+
+	/**
+	 * Costruttore della tabella vuota
+	 */
+	public TabellaInterazioni()
+	{
+		for (int v = 0; v < regole.length; v++)
+			regole[v] = new ArrayList<>();
+
+		scelte = new Interazione[regole.length][Capacita.COMBINAZIONI][];
+	}
+
+
+	/**
+	 * Metodo che ritorna la tabella standard, condivisa da tutti i giocatori
+	 * @return la tabella con le interazioni standard del gioco
+	 */
+	public static TabellaInterazioni getStandard()
+	{
+		return STANDARD;
+	}
+
+
+	/**
+	 * Metodo che crea una tabella contenente tutte le interazioni standard del gioco
+	 * @return la tabella con le interazioni standard del gioco
+	 */
+	public static TabellaInterazioni standard()
+	{
+		TabellaInterazioni tabella = new TabellaInterazioni();
+
+		int prendibile = Capacita.PRENDIBILE.bit();
+
+		tabella.registra(Verbo.APRI, 0, Capacita.APRIBILE.bit(),
+				(g, s, t) -> g.apriApribile((Apribile) t));
+
+		tabella.registra(Verbo.APRI_CON_STRUMENTO, 0, Capacita.APRIBILE_CON_STRUMENTO.bit(),
+				(g, s, t) -> g.apriApribileConStrumento((ApribileConStrumento) t, (Entita) s));
+
+		// Un oggetto da comprare va prima pagato, uno controllato non può essere preso finché è controllato
+		tabella.registra(Verbo.PRENDI, 0, Capacita.COMPRABILE.bit(),
+				(g, s, t) -> EsitoComando.impossibile(Messaggio.DEVI_PAGARE, t.getName()));
+		tabella.registra(Verbo.PRENDI, 0, Capacita.insieme(Capacita.PRENDIBILE, Capacita.CONTROLLABILE),
+				TabellaInterazioni::prendiControllabile);
+		tabella.registra(Verbo.PRENDI, 0, prendibile,
+				TabellaInterazioni::prendiDallaStanza);
+		tabella.registra(Verbo.PRENDI, 0, Capacita.LINK.bit(),
+				(g, s, t) -> g.vai(g.getStanzaCorrente().cercaDirezioneByLinkName(t.getName()), t.getName()));
+
+		tabella.registra(Verbo.ROMPI, 0, Capacita.FRAGILE.bit(),
+				(g, s, t) -> g.rompiFragile((Fragile) t));
+
+		// Un mezzo di trasporto viene preso, gli altri link non possono essere usati
+		tabella.registra(Verbo.USA, 0, Capacita.MEZZO_DI_TRASPORTO.bit(),
+				(g, s, t) -> g.prendi(t.getName()));
+		tabella.registra(Verbo.USA, 0, Capacita.LINK.bit(),
+				(g, s, t) -> EsitoComando.impossibile(Messaggio.IMPOSSIBILE_USARE_SU, s.getName(), t.getName()));
+		tabella.registra(Verbo.USA, Capacita.POTENTE.bit(), Capacita.FRAGILE.bit(),
+				(g, s, t) -> g.rompiFragile((Fragile) t));
+		tabella.registra(Verbo.USA, 0, Capacita.ACCENDIBILE_SPEGNIBILE.bit(),
+				TabellaInterazioni::accendiSpegni);
+		tabella.registra(Verbo.USA, Capacita.RIEMPIBILE_SVUOTABILE.bit(), 0,
+				TabellaInterazioni::riempiSvuota);
+		tabella.registra(Verbo.USA, 0, 0,
+				TabellaInterazioni::apriLinkDeiTarget);
+
+		return tabella;
+	}
+
+
+	/**
+	 * Metodo per registrare una nuova interazione. L'interazione viene scelta solo se nessuna di quelle
+	 * già registrate per lo stesso verbo vale per lo strumento e per il target.
+	 *
+	 * Le interazioni vanno registrate prima che la tabella venga usata dai giocatori
+	 *
+	 * @param verbo il verbo dell'interazione
+	 * @param capacitaStrumento le capacità che lo strumento deve avere (vedi {@link Capacita#bit()})
+	 * @param capacitaTarget le capacità che il target deve avere (vedi {@link Capacita#bit()})
+	 * @param interazione l'interazione da eseguire
+	 */
+	public void registra(Verbo verbo, int capacitaStrumento, int capacitaTarget, Interazione interazione)
+	{
+		regole[verbo.ordinal()].add(new Regola(capacitaStrumento, capacitaTarget, interazione));
+
+		// Le scelte fatte finora potrebbero non essere più valide
+		scelte = new Interazione[regole.length][Capacita.COMBINAZIONI][];
+	}
+
+
+	/**
+	 * Metodo che ritorna l'interazione da eseguire per un verbo, dato le capacità dello strumento e del target
+	 *
+	 * @param verbo il verbo
+	 * @param capacitaStrumento le capacità dello strumento (0 se non viene usato uno strumento)
+	 * @param capacitaTarget le capacità del target
+	 * @return l'interazione da eseguire, oppure null se non esiste nessuna interazione
+	 */
+	public Interazione getInterazione(Verbo verbo, int capacitaStrumento, int capacitaTarget)
+	{
+		Interazione[][] perStrumento = scelte[verbo.ordinal()];
+		Interazione[] riga = perStrumento[capacitaStrumento];
+
+		// Se la riga non esiste ancora la creo (se due thread la creano insieme, una delle due viene
+		// persa e le sue scelte verranno semplicemente rifatte)
+		if (riga == null)
+			perStrumento[capacitaStrumento] = riga = new Interazione[Capacita.COMBINAZIONI];
+
+		Interazione interazione = riga[capacitaTarget];
+
+		if (interazione == null)
+			riga[capacitaTarget] = interazione = scegli(verbo, capacitaStrumento, capacitaTarget);
+
+		return interazione == NESSUNA ? null : interazione;
+	}
+
+
+	/**
+	 * Metodo di utilità che sceglie la prima interazione registrata per il verbo che vale per
+	 * lo strumento e per il target, oppure {@link #NESSUNA}
+	 */
+	private Interazione scegli(Verbo verbo, int capacitaStrumento, int capacitaTarget)
+	{
+		for (Regola regola : regole[verbo.ordinal()])
+			if ((capacitaStrumento & regola.capacitaStrumento) == regola.capacitaStrumento
+					&& (capacitaTarget & regola.capacitaTarget) == regola.capacitaTarget)
+				return regola.interazione;
+
+		return NESSUNA;
+	}
+
+
+	/**
+	 * Interazione che prende un'entità controllata, se al momento non è controllata
+	 */
+	private static EsitoComando prendiControllabile(Giocatore giocatore, Target strumento, Target target)
+	{
+		if ( ((Controllabile) target).isCheked() )
+			return EsitoComando.impossibile(Messaggio.CONTROLLATO, target.getName());
+
+		return giocatore.prendiOggEMettiInInventario((EntitaPrendibile) target);
+	}
+
+
+	/**
+	 * Interazione che prende un'entità dalla stanza e la mette nell'inventario
+	 */
+	private static EsitoComando prendiDallaStanza(Giocatore giocatore, Target strumento, Target target)
+	{
+		giocatore.getStanzaCorrente().getElencoEntitaNellaStanza().remove(target.getName());
+		return giocatore.prendiOggEMettiInInventario((EntitaPrendibile) target);
+	}
+
+
+	/**
+	 * Interazione che spegne il target se è acceso (usando lo strumento), altrimenti lo accende
+	 */
+	private static EsitoComando accendiSpegni(Giocatore giocatore, Target strumento, Target target)
+	{
+		AccendibileSpegnibile ogg = (AccendibileSpegnibile) target;
+
+		// Se è acceso lo provo a spegnere, se è spento lo provo a accendere
+		EsitoComando esito = ogg.isAcceso() ? ogg.spegni(strumento.getName()) : ogg.accendi();
+
+		// Comunico l'esito dell'operazione
+		return esito.isOk() ? EsitoComando.ok(Messaggio.ORA_HAI, strumento) : esito;
+	}
+
+
+	/**
+	 * Interazione che riempie lo strumento dal target se è vuoto, altrimenti lo svuota sul target
+	 */
+	private static EsitoComando riempiSvuota(Giocatore giocatore, Target strumento, Target target)
+	{
+		RiempibileSvuotabile ogg = (RiempibileSvuotabile) strumento;
+
+		// Se l'oggetto è vuoto lo provo a riempire tramite l'oggetto dato, se invece è pieno provo a svuotarlo
+		EsitoComando esito = ogg.isEmpty() ? ogg.riempiDal(target.getName()) : ogg.svuotaSu(target.getName());
+
+		// Comunico l'esito dell'operazione
+		return esito.isOk() ? EsitoComando.ok(Messaggio.ORA_HAI, strumento) : esito;
+	}
+
+
+	/**
+	 * Interazione che usa lo strumento sul target per aprire il primo dei link target del target
+	 * apribile con uno strumento (ES: il cacciavite sulla vite serve ad aprire la botola)
+	 */
+	private static EsitoComando apriLinkDeiTarget(Giocatore giocatore, Target strumento, Target target)
+	{
+		Entita entita = (Entita) target;
+
+		// Itero sui target dell'oggetto su cui voglio usare lo strumento
+		// fino a che non trovo la corrispondenza che mi interessa
+		for (String nomeLink : entita.getElencoTarget().keySet())
+		{
+			// Ottengo il riferimento al linkTarget dell'oggetto su cui usare lo strumento
+			Link link = Mondo.getLinkByName(nomeLink);
+
+			// Se tale link è un apribile con strumento allora lo apro
+			if (link != null && Capacita.APRIBILE_CON_STRUMENTO.in(link.getCapacita()))
+			{
+				EsitoComando esito = giocatore.apriApribileConStrumento((ApribileConStrumento) link, entita);
+
+				return esito.isOk() ? EsitoComando.ok(Messaggio.OPERAZIONE_RIUSCITA) : esito;
+			}
+		}
+
+		return EsitoComando.OK;
+	}
+}
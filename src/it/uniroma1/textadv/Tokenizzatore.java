@@ -0,0 +1,246 @@
+package it.uniroma1.textadv;
+
+import java.util.Arrays;
+
+import it.uniroma1.textadv.utilita.TabellaNomi;
+
+
+/**
+ * Classe che si occupa di suddividere una linea di comando nel verbo e nei suoi argomenti.
+ *
+ * La linea viene esaminata una sola volta, carattere per carattere: le parole vengono separate
+ * dagli spazi e le stopwords (cercate in una tabella precalcolata) separano un argomento dall'altro.
+ * Gli argomenti sono restituiti come {@link CharSequence} che "guardano" direttamente nella linea,
+ * e i buffer che ne mantengono le posizioni vengono riutilizzati ad ogni linea:
+ * una volta a regime, l'analisi di una linea non alloca memoria.
+ *
+ * Un tokenizzatore mantiene lo stato dell'ultima linea analizzata, pertanto non va condiviso
+ * tra più thread.
+ *
+ * @author Gabriele
+ *
+ */
+public class Tokenizzatore
+{
+	/**
+	 * Elenco delle stopwords, ossia le parole che separano un argomento dall'altro
+	 */
+	public final static String[] STOPWORDS = { "il", "lo", "la", "i", "gli", "in", "da", "per", "ad", "con", "su", "a", "nella" };
+
+	/**
+	 * Tabella delle stopwords, calcolata una sola volta
+	 */
+	private final static TabellaNomi TABELLA_STOPWORDS = new TabellaNomi(STOPWORDS);
+
+
+	/**
+	 * La linea analizzata per ultima
+	 */
+	private CharSequence linea = "";
+
+	/**
+	 * La fine del verbo nella linea
+	 */
+	private int fineVerbo;
+
+	/**
+	 * Le posizioni di inizio e fine (esclusa) di ogni argomento nella linea
+	 */
+	private int[] inizioArgomenti = new int[4];
+	private int[] fineArgomenti = new int[4];
+
+	/**
+	 * Il numero di argomenti trovati nella linea
+	 */
+	private int numeroArgomenti;
+
+	/**
+	 * Le viste (riutilizzabili) sul verbo, sulla parola in esame e sugli argomenti della linea
+	 */
+	private Vista vistaVerbo = new Vista();
+	private Vista vistaParola = new Vista();
+	private Vista[] visteArgomenti = { new Vista(), new Vista(), new Vista(), new Vista() };
+
+
+	/**
+	 * Classe che modella una porzione della linea analizzata, senza copiarne i caratteri
+	 *
+	 * @author Gabriele
+	 */
+	private class Vista implements CharSequence
+	{
+		/**
+		 * Inizio e fine (esclusa) della porzione di linea
+		 */
+		private int inizio, fine;
+
+		@Override
+		public int length()
+		{
+			return fine - inizio;
+		}
+
+		@Override
+		public char charAt(int index)
+		{
+			return linea.charAt(inizio + index);
+		}
+
+		@Override
+		public CharSequence subSequence(int start, int end)
+		{
+			return linea.subSequence(inizio + start, inizio + end);
+		}
+
+		@Override
+		public String toString()
+		{
+			return linea.subSequence(inizio, fine).toString();
+		}
+	}
+
+
+	/**
+	 * Metodo che verifica se un carattere separa le parole
+	 */
+	private static boolean isSpazio(char c)
+	{
+		return c == ' ' || c == '\t';
+	}
+
+
+	/**
+	 * Metodo che analizza una linea, individuandone il verbo e gli argomenti
+	 * @param lineaDaAnalizzare la linea da analizzare
+	 */
+	public void analizza(CharSequence lineaDaAnalizzare)
+	{
+		linea = lineaDaAnalizzare;
+		numeroArgomenti = 0;
+
+		int lunghezza = linea.length();
+
+		// Il verbo è sempre in prima posizione, e termina al primo spazio
+		int i = 0;
+		while (i < lunghezza && !isSpazio(linea.charAt(i)))
+			i++;
+
+		fineVerbo = i;
+
+		// Inizio e fine dell'argomento che si sta componendo (-1 se non ce n'è uno)
+		int inizioArg = -1, fineArg = -1;
+
+		while (i < lunghezza)
+		{
+			// Salto gli spazi
+			while (i < lunghezza && isSpazio(linea.charAt(i)))
+				i++;
+
+			if (i == lunghezza)
+				break;
+
+			// Delimito la parola corrente
+			int inizioParola = i;
+			while (i < lunghezza && !isSpazio(linea.charAt(i)))
+				i++;
+
+			// Una stopword separa due argomenti solo se è seguita da un'altra parola
+			if (i < lunghezza && isStopword(inizioParola, i))
+			{
+				if (inizioArg != -1)
+					aggiungiArgomento(inizioArg, fineArg);
+
+				inizioArg = -1;
+			}
+			// Altrimenti la parola fa parte dell'argomento corrente
+			else
+			{
+				if (inizioArg == -1)
+					inizioArg = inizioParola;
+
+				fineArg = i;
+			}
+		}
+
+		// Aggiungo l'ultimo argomento rimasto in sospeso
+		if (inizioArg != -1)
+			aggiungiArgomento(inizioArg, fineArg);
+	}
+
+
+	/**
+	 * Metodo che verifica se la parola compresa tra le posizioni date è una stopword
+	 */
+	private boolean isStopword(int inizio, int fine)
+	{
+		vistaParola.inizio = inizio;
+		vistaParola.fine = fine;
+
+		return TABELLA_STOPWORDS.contains(vistaParola);
+	}
+
+
+	/**
+	 * Metodo che salva la posizione di un argomento, ingrandendo i buffer se necessario
+	 */
+	private void aggiungiArgomento(int inizio, int fine)
+	{
+		if (numeroArgomenti == inizioArgomenti.length)
+		{
+			inizioArgomenti = Arrays.copyOf(inizioArgomenti, numeroArgomenti * 2);
+			fineArgomenti = Arrays.copyOf(fineArgomenti, numeroArgomenti * 2);
+			visteArgomenti = Arrays.copyOf(visteArgomenti, numeroArgomenti * 2);
+
+			for (int i = numeroArgomenti; i < visteArgomenti.length; i++)
+				visteArgomenti[i] = new Vista();
+		}
+
+		inizioArgomenti[numeroArgomenti] = inizio;
+		fineArgomenti[numeroArgomenti] = fine;
+		numeroArgomenti++;
+	}
+
+
+	/**
+	 * Metodo che ritorna il verbo dell'ultima linea analizzata
+	 * @return il verbo della linea
+	 */
+	public CharSequence getVerbo()
+	{
+		vistaVerbo.inizio = 0;
+		vistaVerbo.fine = fineVerbo;
+
+		return vistaVerbo;
+	}
+
+
+	/**
+	 * Metodo che ritorna il numero di argomenti dell'ultima linea analizzata
+	 * @return il numero di argomenti della linea
+	 */
+	public int getNumeroArgomenti()
+	{
+		return numeroArgomenti;
+	}
+
+
+	/**
+	 * Metodo che ritorna l'argomento in posizione i dell'ultima linea analizzata.
+	 * La vista restituita è valida fino alla prossima chiamata di analizza().
+	 *
+	 * @param i la posizione dell'argomento (a partire da 0)
+	 * @return l'argomento in posizione i
+	 */
+	public CharSequence getArgomento(int i)
+	{
+		if (i < 0 || i >= numeroArgomenti)
+			throw new IndexOutOfBoundsException("Argomento non disponibile: " + i);
+
+		Vista vista = visteArgomenti[i];
+		vista.inizio = inizioArgomenti[i];
+		vista.fine = fineArgomenti[i];
+
+		return vista;
+	}
+
+}
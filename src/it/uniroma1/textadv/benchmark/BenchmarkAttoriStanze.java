@@ -0,0 +1,194 @@
+package it.uniroma1.textadv.benchmark;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+
+import it.uniroma1.textadv.ContestoMondo;
+import it.uniroma1.textadv.ModelloMondo;
+import it.uniroma1.textadv.Mondo;
+import it.uniroma1.textadv.MondoCondiviso;
+import it.uniroma1.textadv.MotoreTestuale;
+import it.uniroma1.textadv.output.UscitaNulla;
+
+
+/**
+ * Benchmark dei modi di esecuzione del {@link MondoCondiviso}: confronta le serrature delle stanze con
+ * gli attori delle stanze in un mondo di poche stanze con 1, 100 e 10.000 giocatori per stanza.
+ *
+ * I giocatori vengono fatti giocare da un numero fisso di thread: ogni thread esegue a turno
+ * un comando di ognuno dei propri giocatori, che si spostano avanti e indietro tra le stanze.
+ *
+ * @author Gabriele
+ *
+ */
+public class BenchmarkAttoriStanze
+{
+	/**
+	 * Il numero di stanze del mondo e di giocatori per stanza misurati di default
+	 */
+	private final static int STANZE = 4;
+	private final static int[] GIOCATORI_PER_STANZA = { 1, 100, 10_000 };
+
+	/**
+	 * Il numero di thread che fanno giocare i giocatori e il numero di comandi eseguiti in ogni misura
+	 */
+	private final static int THREAD = 64;
+	private final static int COMANDI = 200_000;
+
+	/**
+	 * I comandi eseguiti da ogni giocatore (a rotazione)
+	 */
+	private final static String[] SEQUENZA = { "guarda", "vai a E", "inventario", "vai a W" };
+
+
+	/**
+	 * Metodo che esegue tutte le misure con il numero di giocatori per stanza di default
+	 * @param cartella la cartella in cui scrivere il file del mondo
+	 *
+	 * @throws Exception sollevata se una misura fallisce
+	 */
+	static void misura(Path cartella) throws Exception
+	{
+		for (int giocatori : GIOCATORI_PER_STANZA)
+			misura(cartella, giocatori);
+	}
+
+
+	/**
+	 * Metodo che esegue le misure con il numero di giocatori per stanza dato, in entrambi i modi di esecuzione
+	 * @param cartella la cartella in cui scrivere il file del mondo
+	 * @param giocatoriPerStanza il numero di giocatori per stanza
+	 *
+	 * @throws Exception sollevata se una misura fallisce
+	 */
+	static void misura(Path cartella, int giocatoriPerStanza) throws Exception
+	{
+		ModelloMondo modello = ModelloMondo.carica(MondiDiProva.scriviMondoGrande(cartella, STANZE));
+
+		for (MondoCondiviso.Esecuzione esecuzione : MondoCondiviso.Esecuzione.values())
+		{
+			try (MondoCondiviso mondo = new MondoCondiviso(modello, esecuzione))
+			{
+				List<Mondo> giocatori = aggiungiGiocatori(mondo, giocatoriPerStanza * STANZE);
+
+				// Riscaldamento e misura
+				gioca(giocatori);
+				long gcIniziali = Misuratore.numeroGarbageCollection();
+				long tempo = gioca(giocatori);
+
+				Misuratore.stampa(esecuzione + ": " + giocatoriPerStanza + " giocatori per stanza",
+						tempo, -1, Misuratore.numeroGarbageCollection() - gcIniziali, COMANDI);
+			}
+		}
+	}
+
+
+	/**
+	 * Metodo che aggiunge i giocatori al mondo, distribuendoli tra le stanze
+	 * @param mondo il mondo condiviso
+	 * @param numeroGiocatori il numero di giocatori
+	 * @return i mondi visti dai giocatori
+	 *
+	 * @throws Exception sollevata se un comando fallisce
+	 */
+	@SuppressWarnings("try")
+	private static List<Mondo> aggiungiGiocatori(MondoCondiviso mondo, int numeroGiocatori) throws Exception
+	{
+		List<Mondo> giocatori = new ArrayList<>();
+		MotoreTestuale motore = new MotoreTestuale();
+
+		for (int g = 0; g < numeroGiocatori; g++)
+		{
+			Mondo mondoGiocatore = mondo.aggiungiGiocatore("giocatore" + g, UscitaNulla.getInstance());
+
+			try (ContestoMondo.Attivazione attivazione = mondoGiocatore.getContesto().attiva())
+			{
+				for (int i = 0; i < g % STANZE; i++)
+					motore.parseAndExecute("vai a E");
+			}
+
+			giocatori.add(mondoGiocatore);
+		}
+
+		return giocatori;
+	}
+
+
+	/**
+	 * Metodo che fa eseguire {@link #COMANDI} comandi ai giocatori, divisi tra {@link #THREAD} thread
+	 * @param giocatori i mondi visti dai giocatori
+	 * @return il tempo impiegato (in nanosecondi)
+	 *
+	 * @throws Exception sollevata se un thread fallisce
+	 */
+	@SuppressWarnings("try")
+	private static long gioca(List<Mondo> giocatori) throws Exception
+	{
+		int numeroThread = Math.min(THREAD, giocatori.size());
+		CyclicBarrier partenza = new CyclicBarrier(numeroThread + 1);
+		int[] passi = new int[giocatori.size()];
+		List<Thread> threads = new ArrayList<>();
+
+		for (int t = 0; t < numeroThread; t++)
+		{
+			int primo = t;
+
+			Thread thread = new Thread(() ->
+			{
+				MotoreTestuale motore = new MotoreTestuale();
+
+				try
+				{
+					partenza.await();
+
+					// Ogni thread esegue a turno un comando di ognuno dei propri giocatori
+					for (int c = 0, g = primo; c < COMANDI / numeroThread; c++)
+					{
+						try (ContestoMondo.Attivazione attivazione = giocatori.get(g).getContesto().attiva())
+						{
+							motore.parseAndExecute(SEQUENZA[passi[g]++ % SEQUENZA.length]);
+						}
+
+						g += numeroThread;
+						if (g >= giocatori.size())
+							g = primo;
+					}
+				}
+				catch (Exception e)
+				{
+					throw new IllegalStateException(e);
+				}
+			});
+
+			thread.start();
+			threads.add(thread);
+		}
+
+		partenza.await();
+		long inizio = System.nanoTime();
+
+		for (Thread thread : threads)
+			thread.join();
+
+		return System.nanoTime() - inizio;
+	}
+
+
+	/**
+	 * Esegue le misure con i numeri di giocatori per stanza di default oppure, se indicati,
+	 * con quelli passati come argomenti (ES: 1 1000)
+	 */
+	public static void main(String[] args) throws Exception
+	{
+		Path cartella = Files.createTempDirectory("minizak");
+
+		if (args.length == 0)
+			misura(cartella);
+
+		for (String arg : args)
+			misura(cartella, Integer.parseInt(arg));
+	}
+}
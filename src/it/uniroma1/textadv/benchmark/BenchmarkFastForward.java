@@ -0,0 +1,51 @@
+package it.uniroma1.textadv.benchmark;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import it.uniroma1.textadv.Gioco;
+import it.uniroma1.textadv.Mondo;
+import it.uniroma1.textadv.MondoFactory;
+import it.uniroma1.textadv.output.UscitaNulla;
+
+
+/**
+ * Benchmark di una partita completa in fast forward: creazione del mondo piccolo
+ * ed esecuzione dello script che lo vince, sia compilato sia letto in streaming.
+ *
+ * @author Gabriele
+ *
+ */
+public class BenchmarkFastForward
+{
+	/**
+	 * Numero di partite giocate per ogni ripetizione
+	 */
+	private final static int OPERAZIONI = 1_000;
+
+
+	/**
+	 * Metodo che esegue tutte le misure
+	 * @param cartella la cartella in cui scrivere i file dei mondi di prova
+	 *
+	 * @throws Exception sollevata se una misura fallisce
+	 */
+	static void misura(Path cartella) throws Exception
+	{
+		Path mondo = MondiDiProva.scriviMondoPiccolo(cartella);
+		Path script = MondiDiProva.scriviScriptPiccolo(cartella);
+		Mondo.setUscita(UscitaNulla.getInstance());
+
+		Misuratore.misura("fast forward: script compilato", OPERAZIONI, () ->
+					new Gioco().play(MondoFactory.creaMondo(mondo), script));
+
+		Misuratore.misura("fast forward: script in streaming", OPERAZIONI, () ->
+					new Gioco().play(MondoFactory.creaMondo(mondo), script, 0, Gioco.FINE_SCRIPT));
+	}
+
+
+	public static void main(String[] args) throws Exception
+	{
+		misura(Files.createTempDirectory("minizak"));
+	}
+}
@@ -0,0 +1,122 @@
+package it.uniroma1.textadv.benchmark;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+
+import it.uniroma1.textadv.server.CommitDiGruppo;
+import it.uniroma1.textadv.server.GiornaleComandi;
+
+
+/**
+ * Benchmark dei {@link GiornaleComandi}: più sessioni, ognuna nel proprio thread, registrano comandi
+ * nel proprio giornale. Misura i comandi resi durevoli al secondo di tutte le sessioni insieme,
+ * forzando su disco ogni comando da solo e con il {@link CommitDiGruppo}.
+ *
+ * I giornali vengono scritti nella cartella dei file temporanei: se è in memoria (ES: tmpfs) le fsync
+ * non costano niente, e il group commit non può dare vantaggi.
+ *
+ * @author Gabriele
+ *
+ */
+public class BenchmarkGiornale
+{
+	/**
+	 * Il numero di sessioni e di comandi registrati da ogni sessione
+	 */
+	private final static int SESSIONI = 16;
+	private final static int COMANDI_PER_SESSIONE = 500;
+
+	/**
+	 * Il comando registrato
+	 */
+	private final static String COMANDO = "prendi chiave";
+
+
+	/**
+	 * Metodo che esegue tutte le misure
+	 * @param cartella la cartella in cui scrivere i giornali
+	 *
+	 * @throws Exception sollevata se una misura fallisce
+	 */
+	static void misura(Path cartella) throws Exception
+	{
+		for (boolean gruppo : new boolean[] { false, true })
+		{
+			Path giornali = Files.createTempDirectory(cartella, "giornali");
+
+			try (CommitDiGruppo commitDiGruppo = gruppo ? new CommitDiGruppo(giornali) : null)
+			{
+				// Riscaldamento e misura
+				registra(giornali, "riscaldamento", commitDiGruppo);
+				long fsyncIniziali = commitDiGruppo == null ? 0 : commitDiGruppo.getNumeroFsync();
+				long gcIniziali = Misuratore.numeroGarbageCollection();
+				long tempo = registra(giornali, "sessione", commitDiGruppo);
+
+				long comandi = (long) SESSIONI * COMANDI_PER_SESSIONE;
+				long fsync = commitDiGruppo == null ? comandi : commitDiGruppo.getNumeroFsync() - fsyncIniziali;
+				String nome = "giornale: " + SESSIONI + " sessioni, " + (gruppo ? "group commit" : "fsync per comando");
+
+				// I byte allocati non sono misurabili, dato che i comandi vengono registrati da altri thread
+				Misuratore.stampa(nome, tempo, -1, Misuratore.numeroGarbageCollection() - gcIniziali, comandi);
+				System.out.printf("%-50s %12.0f comandi/s %9.1f comandi/fsync%n",
+						nome, comandi * 1e9 / tempo, (double) comandi / fsync);
+			}
+		}
+	}
+
+
+	/**
+	 * Metodo che fa registrare i comandi alle sessioni in parallelo, ognuna nel proprio giornale
+	 * @param cartella la cartella in cui scrivere i giornali
+	 * @param prefisso il prefisso dei nomi dei giornali
+	 * @param commitDiGruppo il group commit (oppure null per forzare ogni comando da solo)
+	 * @return il tempo impiegato da tutte le sessioni (in nanosecondi)
+	 *
+	 * @throws Exception sollevata se una sessione fallisce
+	 */
+	private static long registra(Path cartella, String prefisso, CommitDiGruppo commitDiGruppo) throws Exception
+	{
+		CyclicBarrier partenza = new CyclicBarrier(SESSIONI + 1);
+		List<Thread> threads = new ArrayList<>();
+
+		for (int s = 0; s < SESSIONI; s++)
+		{
+			Path file = cartella.resolve(prefisso + s + ".wal");
+
+			Thread thread = new Thread(() ->
+			{
+				try (GiornaleComandi giornale = new GiornaleComandi(file, commitDiGruppo))
+				{
+					partenza.await();
+
+					for (int i = 0; i < COMANDI_PER_SESSIONE; i++)
+						giornale.registra(COMANDO);
+				}
+				catch (Exception e)
+				{
+					throw new IllegalStateException(e);
+				}
+			});
+
+			thread.start();
+			threads.add(thread);
+		}
+
+		partenza.await();
+		long inizio = System.nanoTime();
+
+		for (Thread thread : threads)
+			thread.join();
+
+		return System.nanoTime() - inizio;
+	}
+
+
+	public static void main(String[] args) throws Exception
+	{
+		misura(Files.createTempDirectory("minizak"));
+	}
+}
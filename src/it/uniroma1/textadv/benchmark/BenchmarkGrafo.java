@@ -0,0 +1,180 @@
+package it.uniroma1.textadv.benchmark;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import it.uniroma1.textadv.ContestoMondo;
+import it.uniroma1.textadv.GrafoStanze;
+import it.uniroma1.textadv.ModelloMondo;
+import it.uniroma1.textadv.Mondo;
+import it.uniroma1.textadv.Stanza;
+import it.uniroma1.textadv.link.Link;
+import it.uniroma1.textadv.output.UscitaNulla;
+import it.uniroma1.textadv.utilita.Direzione;
+
+
+/**
+ * Benchmark del {@link GrafoStanze}: su un mondo grande (una griglia di stanze) misura la creazione del grafo
+ * e la visita in ampiezza di tutte le stanze a partire da un angolo, confrontandola con la stessa visita
+ * fatta sulle stanze istanziate (seguendo i collegamenti già risolti di ogni {@link Stanza}).
+ *
+ * Dato che su mondi grandi una singola visita dura decine di millisecondi, ogni misura viene ripetuta
+ * poche volte, dopo una sola visita di riscaldamento (invece del riscaldamento del {@link Misuratore}).
+ *
+ * @author Gabriele
+ *
+ */
+public class BenchmarkGrafo
+{
+	/**
+	 * Il lato delle griglie misurate di default (10.000, 100.000 e 1.000.000 di stanze)
+	 */
+	private final static int[] LATI = { 100, 317, 1_000 };
+
+	/**
+	 * Il numero di ripetizioni di ogni visita
+	 */
+	private final static int RIPETIZIONI = 5;
+
+
+	/**
+	 * Metodo che esegue tutte le misure sui mondi di default
+	 * @param cartella la cartella in cui scrivere i file dei mondi di prova
+	 *
+	 * @throws Exception sollevata se una misura fallisce
+	 */
+	static void misura(Path cartella) throws Exception
+	{
+		for (int lato : LATI)
+			misura(cartella, lato);
+	}
+
+
+	/**
+	 * Metodo che esegue le misure su una griglia con il lato dato
+	 * @param cartella la cartella in cui scrivere il file del mondo
+	 * @param lato il lato della griglia
+	 *
+	 * @throws Exception sollevata se una misura fallisce
+	 */
+	@SuppressWarnings("try")
+	static void misura(Path cartella, int lato) throws Exception
+	{
+		ModelloMondo modello = ModelloMondo.carica(MondiDiProva.scriviGriglia(cartella, lato));
+		String nome = modello.getNumeroStanze() + " stanze";
+
+		long byteIniziali = Misuratore.byteAllocati();
+		long inizio = System.nanoTime();
+		GrafoStanze grafo = modello.getGrafo();
+		Misuratore.stampa("grafo: creazione, " + nome, System.nanoTime() - inizio,
+				Misuratore.byteAllocati() - byteIniziali, 0, 1);
+
+		int partenza = grafo.getIndice("stanza_0_0");
+		grafo.contaRaggiungibili(partenza);
+		visita(nome, "grafo: visita in ampiezza, ", () -> grafo.contaRaggiungibili(partenza));
+
+		// La stessa visita sulle stanze istanziate (la prima volta vengono istanziate tutte)
+		ContestoMondo contesto = new ContestoMondo(UscitaNulla.getInstance());
+		contesto.carica(modello);
+
+		try (ContestoMondo.Attivazione attivazione = contesto.attiva())
+		{
+			Stanza stanzaDiPartenza = Mondo.getStanzaByName("stanza_0_0");
+			visitaStanze(stanzaDiPartenza);
+
+			visita(nome, "stanze istanziate: visita in ampiezza, ", () -> visitaStanze(stanzaDiPartenza));
+		}
+	}
+
+
+	/**
+	 * Metodo che misura una visita e ne stampa i risultati
+	 * @param nome il nome del mondo
+	 * @param misura il nome della misura
+	 * @param visita la visita, che ritorna il numero di stanze visitate
+	 */
+	private static void visita(String nome, String misura, Visita visita)
+	{
+		long byteIniziali = Misuratore.byteAllocati();
+		long gcIniziali = Misuratore.numeroGarbageCollection();
+		long inizio = System.nanoTime();
+
+		for (int r = 0; r < RIPETIZIONI; r++)
+			Misuratore.consuma(visita.visita());
+
+		Misuratore.stampa(misura + nome, System.nanoTime() - inizio, Misuratore.byteAllocati() - byteIniziali,
+				Misuratore.numeroGarbageCollection() - gcIniziali, RIPETIZIONI);
+	}
+
+
+	/**
+	 * Interfaccia funzionale di una visita del mondo
+	 *
+	 * @author Gabriele
+	 */
+	@FunctionalInterface
+	private interface Visita
+	{
+		/**
+		 * Metodo che visita il mondo
+		 * @return il numero di stanze visitate
+		 */
+		int visita();
+	}
+
+
+	/**
+	 * Metodo che visita in ampiezza le stanze istanziate raggiungibili dalla stanza data
+	 * @param partenza la stanza di partenza
+	 * @return il numero di stanze visitate
+	 */
+	private static int visitaStanze(Stanza partenza)
+	{
+		Set<Stanza> visitate = Collections.newSetFromMap(new IdentityHashMap<>());
+		Deque<Stanza> daVisitare = new ArrayDeque<>();
+
+		visitate.add(partenza);
+		daVisitare.add(partenza);
+
+		while (!daVisitare.isEmpty())
+		{
+			Stanza stanza = daVisitare.poll();
+
+			for (Map.Entry<Direzione, List<Link>> entry : stanza.getElencoCollegamenti().entrySet())
+			{
+				for (int i = 0; i < entry.getValue().size(); i++)
+				{
+					Stanza raggiunta = stanza.getStanzaRaggiunta(entry.getKey(), i);
+
+					if (raggiunta != null && visitate.add(raggiunta))
+						daVisitare.add(raggiunta);
+				}
+			}
+		}
+
+		return visitate.size();
+	}
+
+
+	/**
+	 * Esegue le misure sui mondi di default oppure, se indicati, sulle griglie con i lati passati
+	 * come argomenti (ES: 100 1000)
+	 */
+	public static void main(String[] args) throws Exception
+	{
+		Path cartella = Files.createTempDirectory("minizak");
+
+		if (args.length == 0)
+			misura(cartella);
+
+		for (String arg : args)
+			misura(cartella, Integer.parseInt(arg));
+	}
+}
@@ -0,0 +1,66 @@
+package it.uniroma1.textadv.benchmark;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import it.uniroma1.textadv.ContestoMondo;
+import it.uniroma1.textadv.Istantanea;
+import it.uniroma1.textadv.ModelloMondo;
+import it.uniroma1.textadv.MotoreTestuale;
+import it.uniroma1.textadv.output.UscitaNulla;
+
+
+/**
+ * Benchmark delle {@link Istantanea}: salvataggio e ripristino dello stato del mondo piccolo
+ * a metà della partita (dopo aver rotto il salvadanaio e aperto l'armadio).
+ *
+ * @author Gabriele
+ *
+ */
+public class BenchmarkIstantanea
+{
+	/**
+	 * Numero di istantanee salvate (o ripristinate) per ogni ripetizione
+	 */
+	private final static int OPERAZIONI = 100_000;
+
+
+	/**
+	 * Metodo che esegue tutte le misure
+	 * @param cartella la cartella in cui scrivere i file dei mondi di prova
+	 *
+	 * @throws Exception sollevata se una misura fallisce
+	 */
+	@SuppressWarnings("try")
+	static void misura(Path cartella) throws Exception
+	{
+		ContestoMondo contesto = new ContestoMondo(UscitaNulla.getInstance());
+		contesto.carica(ModelloMondo.carica(MondiDiProva.scriviMondoPiccolo(cartella)));
+
+		List<String> script = Files.readAllLines(MondiDiProva.scriviScriptPiccolo(cartella));
+
+		try (ContestoMondo.Attivazione attivazione = contesto.attiva())
+		{
+			// Gioco metà dello script
+			MotoreTestuale motore = new MotoreTestuale();
+			for (String comando : script.subList(0, script.size() / 2))
+				motore.parseAndExecute(comando);
+
+			Istantanea istantanea = contesto.salvaIstantanea();
+			System.out.println("istantanea del mondo piccolo: " + istantanea.size() + " byte");
+
+			Misuratore.misura("Istantanea: salvataggio", OPERAZIONI, () ->
+						Misuratore.consuma(contesto.salvaIstantanea()));
+
+			Misuratore.misura("Istantanea: ripristino", OPERAZIONI, () ->
+						contesto.ripristina(istantanea));
+		}
+	}
+
+
+	public static void main(String[] args) throws Exception
+	{
+		misura(Files.createTempDirectory("minizak"));
+	}
+}
@@ -0,0 +1,167 @@
+package it.uniroma1.textadv.benchmark;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import it.uniroma1.textadv.ContestoMondo;
+import it.uniroma1.textadv.Entita;
+import it.uniroma1.textadv.ModelloMondo;
+import it.uniroma1.textadv.Mondo;
+import it.uniroma1.textadv.Stanza;
+import it.uniroma1.textadv.oggetti.Chiave;
+import it.uniroma1.textadv.oggetti.Martello;
+import it.uniroma1.textadv.output.UscitaNulla;
+
+
+/**
+ * Benchmark della memoria occupata da stanze ed entità: per ogni misura crea molte stanze (o entità)
+ * uguali e riporta i byte occupati da ognuna, compresi gli elenchi dei target e delle entità nella stanza.
+ *
+ * I nomi e le entità messe nelle stanze vengono creati prima della misura, così che venga contata
+ * solo la memoria della stanza (o dell'entità) stessa. L'ultima misura riporta la memoria per entità
+ * di un mondo generato istanziato per intero.
+ *
+ * @author Gabriele
+ *
+ */
+public class BenchmarkMemoria
+{
+	/**
+	 * Il numero di stanze (o di entità) create per ogni misura
+	 */
+	private final static int ELEMENTI = 200_000;
+
+	/**
+	 * Il numero di entità del mondo generato
+	 */
+	private final static long ENTITA_MONDO = 200_000;
+
+
+	/**
+	 * Metodo che esegue tutte le misure
+	 * @param cartella la cartella in cui scrivere il file del mondo generato
+	 *
+	 * @throws Exception sollevata se una misura fallisce
+	 */
+	@SuppressWarnings("try")
+	static void misura(Path cartella) throws Exception
+	{
+		// Le stanze e le entità prendono gli identificativi dei nomi da questo contesto
+		ContestoMondo contesto = new ContestoMondo(UscitaNulla.getInstance());
+		String[] nomi = new String[ELEMENTI];
+
+		try (ContestoMondo.Attivazione attivazione = contesto.attiva())
+		{
+			for (int i = 0; i < ELEMENTI; i++)
+				contesto.getNomiInterni().interna(nomi[i] = "elemento" + i);
+
+			misuraStanze(nomi, 0);
+			misuraStanze(nomi, 1);
+			misuraStanze(nomi, 4);
+			misuraStanze(nomi, 16);
+
+			misuraEntita(nomi, 0);
+			misuraEntita(nomi, 1);
+			misuraEntita(nomi, 4);
+		}
+
+		misuraMondo(cartella);
+	}
+
+
+	/**
+	 * Metodo che misura la memoria di una stanza con il numero di entità dato
+	 * @param nomi i nomi delle stanze
+	 * @param numeroEntita il numero di entità in ogni stanza
+	 */
+	private static void misuraStanze(String[] nomi, int numeroEntita)
+	{
+		Entita[] entita = new Entita[numeroEntita];
+		for (int e = 0; e < numeroEntita; e++)
+			entita[e] = new Martello("martello" + e);
+
+		Stanza[] stanze = new Stanza[nomi.length];
+		long heapIniziale = Misuratore.heapUsato();
+
+		for (int i = 0; i < nomi.length; i++)
+		{
+			stanze[i] = new Stanza(nomi[i], null);
+
+			for (Entita e : entita)
+				stanze[i].addEntitaNellaStanza(e.getName(), e);
+		}
+
+		long heap = Misuratore.heapUsato() - heapIniziale;
+		Misuratore.stampaMemoria("memoria: stanza con " + numeroEntita + " entità", heap, stanze.length, "stanza");
+		Misuratore.consuma(stanze);
+	}
+
+
+	/**
+	 * Metodo che misura la memoria di un'entità con il numero di target dato
+	 * @param nomi i nomi delle entità
+	 * @param numeroTarget il numero di target di ogni entità
+	 */
+	private static void misuraEntita(String[] nomi, int numeroTarget)
+	{
+		Entita[] target = new Entita[numeroTarget];
+		for (int t = 0; t < numeroTarget; t++)
+			target[t] = new Martello("martello" + t);
+
+		Entita[] entita = new Entita[nomi.length];
+		long heapIniziale = Misuratore.heapUsato();
+
+		for (int i = 0; i < nomi.length; i++)
+		{
+			entita[i] = new Chiave(nomi[i]);
+
+			for (Entita t : target)
+				entita[i].addTarget(t.getName(), t);
+		}
+
+		long heap = Misuratore.heapUsato() - heapIniziale;
+		Misuratore.stampaMemoria("memoria: entità con " + numeroTarget + " target", heap, entita.length, "entità");
+		Misuratore.consuma(entita);
+	}
+
+
+	/**
+	 * Metodo che misura la memoria per entità di un mondo generato, istanziato per intero
+	 * @param cartella la cartella in cui scrivere il file del mondo
+	 *
+	 * @throws Exception sollevata se il mondo non può essere caricato
+	 */
+	@SuppressWarnings("try")
+	private static void misuraMondo(Path cartella) throws Exception
+	{
+		GeneratoreMondo generatore = GeneratoreMondo.conEntita(ENTITA_MONDO);
+		Path file = generatore.scriviMondo(cartella);
+
+		// Il modello viene caricato prima della misura: conta solo ciò che viene istanziato nella partita
+		ModelloMondo modello = ModelloMondo.carica(file);
+		ContestoMondo contesto = new ContestoMondo(UscitaNulla.getInstance());
+		long heapIniziale = Misuratore.heapUsato();
+
+		contesto.carica(modello);
+
+		try (ContestoMondo.Attivazione attivazione = contesto.attiva())
+		{
+			// Istanzio tutto il mondo
+			int numeroEntita = Mondo.getMappaOggettiIstanziati().size() + Mondo.getMappaPersonaggiIstanziati().size();
+
+			long heap = Misuratore.heapUsato() - heapIniziale;
+			Misuratore.stampaMemoria("memoria: partita, " + generatore.getNumeroEntita() + " entità", heap, numeroEntita, "entità");
+		}
+
+		Misuratore.consuma(contesto);
+	}
+
+
+	/**
+	 * Esegue tutte le misure
+	 */
+	public static void main(String[] args) throws Exception
+	{
+		misura(Files.createTempDirectory("minizak"));
+	}
+}
@@ -0,0 +1,147 @@
+package it.uniroma1.textadv.benchmark;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+
+import it.uniroma1.textadv.ContestoMondo;
+import it.uniroma1.textadv.ModelloMondo;
+import it.uniroma1.textadv.Mondo;
+import it.uniroma1.textadv.MondoCondiviso;
+import it.uniroma1.textadv.MotoreTestuale;
+import it.uniroma1.textadv.output.UscitaNulla;
+
+
+/**
+ * Benchmark del {@link MondoCondiviso}: più giocatori, ognuno nel proprio thread, giocano nello stesso
+ * mondo (una fila di stanze), ognuno in una zona diversa. Misura i comandi al secondo di tutti
+ * i giocatori insieme bloccando le stanze con una sola striscia (ossia un lock globale) e con una
+ * striscia per stanza.
+ *
+ * @author Gabriele
+ *
+ */
+public class BenchmarkMondoCondiviso
+{
+	/**
+	 * Il numero di stanze del mondo e di comandi per giocatore
+	 */
+	private final static int STANZE = 1_000;
+	private final static int COMANDI_PER_GIOCATORE = 200_000;
+
+	/**
+	 * I comandi eseguiti da ogni giocatore (a rotazione): si sposta avanti e indietro tra due stanze
+	 */
+	private final static String[] COMANDI = { "guarda", "vai a E", "guarda", "vai a W" };
+
+
+	/**
+	 * Metodo che esegue le misure con un giocatore per processore
+	 * @param cartella la cartella in cui scrivere il file del mondo
+	 *
+	 * @throws Exception sollevata se una misura fallisce
+	 */
+	static void misura(Path cartella) throws Exception
+	{
+		misura(cartella, Runtime.getRuntime().availableProcessors());
+	}
+
+
+	/**
+	 * Metodo che esegue le misure con il numero di giocatori dato
+	 * @param cartella la cartella in cui scrivere il file del mondo
+	 * @param giocatori il numero di giocatori
+	 *
+	 * @throws Exception sollevata se una misura fallisce
+	 */
+	static void misura(Path cartella, int giocatori) throws Exception
+	{
+		ModelloMondo modello = ModelloMondo.carica(MondiDiProva.scriviMondoGrande(cartella, STANZE));
+
+		for (int maxStrisce : new int[] { 1, STANZE })
+		{
+			MondoCondiviso mondo = new MondoCondiviso(modello, maxStrisce);
+
+			// Riscaldamento e misura
+			gioca(mondo, giocatori);
+			long gcIniziali = Misuratore.numeroGarbageCollection();
+			long tempo = gioca(mondo, giocatori);
+
+			// I byte allocati non sono misurabili, dato che i comandi vengono eseguiti da altri thread
+			Misuratore.stampa("mondo condiviso: " + giocatori + " giocatori, " + mondo.getNumeroStrisce() + " strisce",
+					tempo, -1, Misuratore.numeroGarbageCollection() - gcIniziali, (long) giocatori * COMANDI_PER_GIOCATORE);
+		}
+	}
+
+
+	/**
+	 * Metodo che fa giocare i giocatori in parallelo, ognuno nella propria zona del mondo
+	 * @param mondo il mondo condiviso
+	 * @param giocatori il numero di giocatori
+	 * @return il tempo impiegato da tutti i giocatori (in nanosecondi)
+	 *
+	 * @throws Exception sollevata se un giocatore fallisce
+	 */
+	@SuppressWarnings("try")
+	private static long gioca(MondoCondiviso mondo, int giocatori) throws Exception
+	{
+		CyclicBarrier partenza = new CyclicBarrier(giocatori + 1);
+		List<Thread> threads = new ArrayList<>();
+
+		for (int g = 0; g < giocatori; g++)
+		{
+			Mondo mondoGiocatore = mondo.aggiungiGiocatore("giocatore" + g, UscitaNulla.getInstance());
+			int stanzaIniziale = g * (STANZE / giocatori);
+
+			Thread thread = new Thread(() ->
+			{
+				try (ContestoMondo.Attivazione attivazione = mondoGiocatore.getContesto().attiva())
+				{
+					MotoreTestuale motore = new MotoreTestuale();
+
+					// Raggiungo la zona del giocatore
+					for (int i = 0; i < stanzaIniziale; i++)
+						motore.parseAndExecute("vai a E");
+
+					partenza.await();
+
+					for (int i = 0; i < COMANDI_PER_GIOCATORE; i++)
+						motore.parseAndExecute(COMANDI[i % COMANDI.length]);
+				}
+				catch (Exception e)
+				{
+					throw new IllegalStateException(e);
+				}
+			});
+
+			thread.start();
+			threads.add(thread);
+		}
+
+		partenza.await();
+		long inizio = System.nanoTime();
+
+		for (Thread thread : threads)
+			thread.join();
+
+		return System.nanoTime() - inizio;
+	}
+
+
+	/**
+	 * Esegue le misure con un giocatore per processore oppure, se indicati, con i numeri di giocatori
+	 * passati come argomenti (ES: 1 4 16)
+	 */
+	public static void main(String[] args) throws Exception
+	{
+		Path cartella = Files.createTempDirectory("minizak");
+
+		if (args.length == 0)
+			misura(cartella);
+
+		for (String arg : args)
+			misura(cartella, Integer.parseInt(arg));
+	}
+}
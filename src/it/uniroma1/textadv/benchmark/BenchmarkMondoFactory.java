@@ -0,0 +1,50 @@
+package it.uniroma1.textadv.benchmark;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import it.uniroma1.textadv.MondoFactory;
+
+
+/**
+ * Microbenchmark della creazione del mondo ({@link MondoFactory#creaMondo(Path)})
+ * a partire da un mondo piccolo e da mondi sempre più grandi.
+ *
+ * @author Gabriele
+ *
+ */
+public class BenchmarkMondoFactory
+{
+	/**
+	 * Il numero di stanze dei mondi grandi misurati
+	 */
+	private final static int[] STANZE = { 100, 1_000, 10_000 };
+
+
+	/**
+	 * Metodo che esegue tutte le misure
+	 * @param cartella la cartella in cui scrivere i file dei mondi di prova
+	 *
+	 * @throws Exception sollevata se una misura fallisce
+	 */
+	static void misura(Path cartella) throws Exception
+	{
+		Path piccolo = MondiDiProva.scriviMondoPiccolo(cartella);
+
+		Misuratore.misura("creaMondo: piccolo", 2_000, () -> Misuratore.consuma(MondoFactory.creaMondo(piccolo)));
+
+		for (int stanze : STANZE)
+		{
+			Path grande = MondiDiProva.scriviMondoGrande(cartella, stanze);
+
+			Misuratore.misura("creaMondo: " + stanze + " stanze", Math.max(1, 100_000 / stanze), () ->
+						Misuratore.consuma(MondoFactory.creaMondo(grande)));
+		}
+	}
+
+
+	public static void main(String[] args) throws Exception
+	{
+		misura(Files.createTempDirectory("minizak"));
+	}
+}
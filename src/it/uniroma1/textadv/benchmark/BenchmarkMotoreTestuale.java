@@ -0,0 +1,81 @@
+package it.uniroma1.textadv.benchmark;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import it.uniroma1.textadv.Mondo;
+import it.uniroma1.textadv.MotoreTestuale;
+import it.uniroma1.textadv.output.UscitaNulla;
+
+
+/**
+ * Microbenchmark di {@link MotoreTestuale#parseAndExecute(String)} per ogni verbo supportato.
+ *
+ * Ogni misura esegue ciclicamente le linee del proprio verbo su un mondo appena creato. Alcune linee
+ * vengono accettate solo la prima volta (ES: prendi martello), poi vengono rifiutate: viene misurato
+ * quindi soprattutto il caso del comando rifiutato, che è il più frequente.
+ *
+ * @author Gabriele
+ *
+ */
+public class BenchmarkMotoreTestuale
+{
+	/**
+	 * Numero di comandi eseguiti per ogni ripetizione
+	 */
+	private final static int OPERAZIONI = 100_000;
+
+	/**
+	 * Per ogni verbo, le linee da eseguire (le coppie di spostamenti riportano il giocatore dove era partito)
+	 */
+	private final static String[][] LINEE = {
+			{ "guarda" },
+			{ "guarda scrivania", "guarda N", "guarda tavolo" },
+			{ "apri scrivania", "apri tavolo" },
+			{ "apri armadio con martello" },
+			{ "prendi martello", "prendi tavolo" },
+			{ "prendi chiave_armadio da scrivania", "prendi chiave da tavolo" },
+			{ "vai E", "vai W", "vai X" },
+			{ "entra corridoio", "entra soggiorno" },
+			{ "rompi salvadanaio" },
+			{ "rompi salvadanaio con tronchesi" },
+			{ "usa teletrasporto" },
+			{ "usa cacciavite su vite" },
+			{ "inventario" },
+			{ "parla gatto" },
+			{ "accarezza gatto" },
+			{ "dai soldi a gatto" }
+	};
+
+
+	/**
+	 * Metodo che esegue tutte le misure
+	 * @param cartella la cartella in cui scrivere i file dei mondi di prova
+	 *
+	 * @throws Exception sollevata se una misura fallisce
+	 */
+	static void misura(Path cartella) throws Exception
+	{
+		Path mondo = MondiDiProva.scriviMondoPiccolo(cartella);
+		Mondo.setUscita(UscitaNulla.getInstance());
+
+		for (String[] linee : LINEE)
+		{
+			// Ogni verbo parte da un mondo appena creato
+			Mondo.fromFile(mondo);
+			MotoreTestuale motore = new MotoreTestuale();
+			int[] prossima = new int[1];
+
+			Misuratore.misura("parseAndExecute: " + linee[0], OPERAZIONI, () ->
+			{
+				motore.parseAndExecute(linee[prossima[0]++ % linee.length]);
+			});
+		}
+	}
+
+
+	public static void main(String[] args) throws Exception
+	{
+		misura(Files.createTempDirectory("minizak"));
+	}
+}
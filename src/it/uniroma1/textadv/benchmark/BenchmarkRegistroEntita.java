@@ -0,0 +1,174 @@
+package it.uniroma1.textadv.benchmark;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import it.uniroma1.textadv.ContestoMondo;
+import it.uniroma1.textadv.Entita;
+import it.uniroma1.textadv.ModelloMondo;
+import it.uniroma1.textadv.Mondo;
+import it.uniroma1.textadv.Stanza;
+import it.uniroma1.textadv.output.UscitaNulla;
+import it.uniroma1.textadv.utilita.NomiInterni;
+
+
+/**
+ * Benchmark delle ricerche per nome su un mondo generato molto grande ({@link GeneratoreMondo}),
+ * istanziato per intero: misura la memoria occupata dal mondo e il tempo delle ricerche di un oggetto
+ * nel mondo, di un'entità nella sua stanza e di un target nella sua entità.
+ *
+ * Le ricerche vengono fatte a rotazione su molti nomi diversi, presi lungo tutto il mondo,
+ * così che non vengano misurate sempre le stesse celle già in cache. Ogni ricerca viene misurata
+ * sia con il nome che con il suo identificativo ({@link NomiInterni}).
+ *
+ * @author Gabriele
+ *
+ */
+public class BenchmarkRegistroEntita
+{
+	/**
+	 * Il numero di entità del mondo misurato di default
+	 */
+	private final static long ENTITA = 1_000_000;
+
+	/**
+	 * Il numero di ricerche eseguite per ogni ripetizione
+	 */
+	private final static int OPERAZIONI = 1_000_000;
+
+	/**
+	 * Il numero di nomi cercati a rotazione (una potenza di 2)
+	 */
+	private final static int NOMI = 1 << 14;
+
+
+	/**
+	 * Metodo che esegue tutte le misure sul mondo di default
+	 * @param cartella la cartella in cui scrivere il file del mondo
+	 *
+	 * @throws Exception sollevata se una misura fallisce
+	 */
+	static void misura(Path cartella) throws Exception
+	{
+		misura(cartella, ENTITA);
+	}
+
+
+	/**
+	 * Metodo che esegue le misure su un mondo generato con il numero di entità dato
+	 * @param cartella la cartella in cui scrivere il file del mondo
+	 * @param numeroEntita il numero di entità del mondo
+	 *
+	 * @throws Exception sollevata se una misura fallisce
+	 */
+	@SuppressWarnings("try")
+	static void misura(Path cartella, long numeroEntita) throws Exception
+	{
+		GeneratoreMondo generatore = GeneratoreMondo.conEntita(numeroEntita);
+		Path file = generatore.scriviMondo(cartella);
+		String nome = generatore.getNumeroEntita() + " entità";
+
+		long heapIniziale = Misuratore.heapUsato();
+
+		ModelloMondo modello = ModelloMondo.carica(file);
+		ContestoMondo contesto = new ContestoMondo(UscitaNulla.getInstance());
+		contesto.carica(modello);
+
+		try (ContestoMondo.Attivazione attivazione = contesto.attiva())
+		{
+			// Istanzio tutto il mondo
+			int numeroOggetti = Mondo.getMappaOggettiIstanziati().size();
+
+			long heap = Misuratore.heapUsato() - heapIniziale;
+			System.out.printf("%-50s %12.1f MB %12.1f B/entità%n", "registro: heap del mondo istanziato, " + nome,
+					heap / 1e6, (double) heap / (numeroOggetti + Mondo.getMappaPersonaggiIstanziati().size()));
+
+			// Prendo i nomi da cercare lungo tutto il mondo
+			String[] oggetti = new String[NOMI];
+			Stanza[] stanze = new Stanza[NOMI];
+			String[] entitaNelleStanze = new String[NOMI];
+			Entita[] conTarget = new Entita[NOMI];
+			String[] target = new String[NOMI];
+
+			List<String> elencoOggetti = new ArrayList<>(Mondo.getMappaOggettiIstanziati().keySet());
+			List<Stanza> elencoStanze = new ArrayList<>(Mondo.getMappaStanzeIstanziate().values());
+			List<Entita> elencoConTarget = new ArrayList<>();
+			Mondo.getMappaOggettiIstanziati().values().stream()
+					.filter(e -> !e.getElencoTarget().isEmpty()).forEach(elencoConTarget::add);
+
+			for (int i = 0; i < NOMI; i++)
+			{
+				oggetti[i] = elencoOggetti.get((int) ((long) i * elencoOggetti.size() / NOMI));
+
+				Stanza stanza = elencoStanze.get((int) ((long) i * elencoStanze.size() / NOMI));
+				stanze[i] = stanza;
+				entitaNelleStanze[i] = stanza.getElencoEntitaNellaStanza().isEmpty() ? "tavolo"
+						: stanza.getElencoEntitaNellaStanza().keySet().iterator().next();
+
+				conTarget[i] = elencoConTarget.get((int) ((long) i * elencoConTarget.size() / NOMI));
+				target[i] = conTarget[i].getElencoTarget().keySet().iterator().next();
+			}
+
+			int[] i = { 0 };
+
+			Misuratore.misura("registro: Mondo.getOggettoByName, " + nome, OPERAZIONI, () ->
+						Misuratore.consuma(Mondo.getOggettoByName(oggetti[i[0]++ & (NOMI - 1)])));
+
+			Misuratore.misura("registro: Stanza.getEntitaByName, " + nome, OPERAZIONI, () ->
+			{
+				int j = i[0]++ & (NOMI - 1);
+				Misuratore.consuma(stanze[j].getEntitaByName(entitaNelleStanze[j]));
+			});
+
+			Misuratore.misura("registro: Entita.getTargetByName, " + nome, OPERAZIONI, () ->
+			{
+				int j = i[0]++ & (NOMI - 1);
+				Misuratore.consuma(conTarget[j].getTargetByName(target[j]));
+			});
+
+			int[] idOggetti = new int[NOMI];
+			int[] idEntitaNelleStanze = new int[NOMI];
+			int[] idTarget = new int[NOMI];
+
+			for (int j = 0; j < NOMI; j++)
+			{
+				idOggetti[j] = contesto.getNomiInterni().getId(oggetti[j]);
+				idEntitaNelleStanze[j] = contesto.getNomiInterni().getId(entitaNelleStanze[j]);
+				idTarget[j] = contesto.getNomiInterni().getId(target[j]);
+			}
+
+			Misuratore.misura("registro: Mondo.getOggettoById, " + nome, OPERAZIONI, () ->
+						Misuratore.consuma(Mondo.getOggettoById(idOggetti[i[0]++ & (NOMI - 1)])));
+
+			Misuratore.misura("registro: Stanza.getEntitaById, " + nome, OPERAZIONI, () ->
+			{
+				int j = i[0]++ & (NOMI - 1);
+				Misuratore.consuma(stanze[j].getEntitaById(idEntitaNelleStanze[j]));
+			});
+
+			Misuratore.misura("registro: Entita.getTargetById, " + nome, OPERAZIONI, () ->
+			{
+				int j = i[0]++ & (NOMI - 1);
+				Misuratore.consuma(conTarget[j].getTargetById(idTarget[j]));
+			});
+		}
+	}
+
+
+	/**
+	 * Esegue le misure sul mondo di default oppure, se indicato, sul mondo con il numero di entità
+	 * passato come argomento (ES: 100000)
+	 */
+	public static void main(String[] args) throws Exception
+	{
+		Path cartella = Files.createTempDirectory("minizak");
+
+		if (args.length == 0)
+			misura(cartella);
+
+		for (String arg : args)
+			misura(cartella, Long.parseLong(arg));
+	}
+}
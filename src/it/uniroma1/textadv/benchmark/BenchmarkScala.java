@@ -0,0 +1,115 @@
+package it.uniroma1.textadv.benchmark;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import it.uniroma1.textadv.Gioco;
+import it.uniroma1.textadv.Mondo;
+import it.uniroma1.textadv.MondoFactory;
+import it.uniroma1.textadv.oggetti.Tesoro;
+import it.uniroma1.textadv.output.UscitaNulla;
+
+
+/**
+ * Benchmark di scala: per mondi generati ({@link GeneratoreMondo}) con un numero crescente di entità
+ * misura il tempo di creazione del mondo ({@link MondoFactory#creaMondo(Path)}) e la latenza media
+ * dei comandi dello script che lo vince, giocato in streaming.
+ *
+ * Dato che su mondi grandi una singola operazione dura secondi, ogni misura viene ripetuta poche volte
+ * e senza il riscaldamento del {@link Misuratore}.
+ *
+ * @author Gabriele
+ *
+ */
+public class BenchmarkScala
+{
+	/**
+	 * Il numero di entità dei mondi misurati di default
+	 */
+	private final static long[] ENTITA = { 1_000, 10_000, 100_000 };
+
+	/**
+	 * Il numero di ripetizioni di ogni misura
+	 */
+	private final static int RIPETIZIONI = 3;
+
+
+	/**
+	 * Metodo che esegue tutte le misure sui mondi di default
+	 * @param cartella la cartella in cui scrivere i file dei mondi di prova
+	 *
+	 * @throws Exception sollevata se una misura fallisce
+	 */
+	static void misura(Path cartella) throws Exception
+	{
+		for (long entita : ENTITA)
+			misura(cartella, entita);
+	}
+
+
+	/**
+	 * Metodo che esegue le misure su un mondo generato con il numero di entità dato
+	 * @param cartella la cartella in cui scrivere i file del mondo
+	 * @param numeroEntita il numero di entità del mondo
+	 *
+	 * @throws Exception sollevata se una misura fallisce o se lo script non vince il mondo
+	 */
+	static void misura(Path cartella, long numeroEntita) throws Exception
+	{
+		GeneratoreMondo generatore = GeneratoreMondo.conEntita(numeroEntita);
+		Path mondo = generatore.scriviMondo(cartella);
+		Path script = generatore.scriviScript(cartella);
+		String nome = generatore.getNumeroEntita() + " entità";
+		Mondo.setUscita(UscitaNulla.getInstance());
+
+		long tempoCreazione = 0, byteCreazione = 0, gcCreazione = 0;
+		long tempoPartita = 0, bytePartita = 0, gcPartita = 0;
+
+		for (int r = 0; r < RIPETIZIONI; r++)
+		{
+			long byteIniziali = Misuratore.byteAllocati();
+			long gcIniziali = Misuratore.numeroGarbageCollection();
+			long inizio = System.nanoTime();
+
+			Mondo world = MondoFactory.creaMondo(mondo);
+
+			long meta = System.nanoTime();
+			long byteMeta = Misuratore.byteAllocati();
+			long gcMeta = Misuratore.numeroGarbageCollection();
+
+			new Gioco().play(world, script, 0, Gioco.FINE_SCRIPT);
+
+			tempoCreazione += meta - inizio;
+			byteCreazione += byteMeta - byteIniziali;
+			gcCreazione += gcMeta - gcIniziali;
+			tempoPartita += System.nanoTime() - meta;
+			bytePartita += Misuratore.byteAllocati() - byteMeta;
+			gcPartita += Misuratore.numeroGarbageCollection() - gcMeta;
+
+			// Lo script generato deve vincere il mondo, altrimenti la misura non ha senso
+			if (!(Mondo.getOggettoByName(Gioco.TESORO) instanceof Tesoro)
+				|| !Mondo.getPlayer().getInventario().contains((Tesoro) Mondo.getOggettoByName(Gioco.TESORO)))
+				throw new IllegalStateException("Lo script generato non vince il mondo " + mondo);
+		}
+
+		Misuratore.stampa("creaMondo: " + nome, tempoCreazione, byteCreazione, gcCreazione, RIPETIZIONI);
+		Misuratore.stampa("comando: " + nome + " (" + generatore.getNumeroComandi() + " comandi)",
+				tempoPartita, bytePartita, gcPartita, RIPETIZIONI * generatore.getNumeroComandi());
+	}
+
+
+	/**
+	 * Esegue le misure sui mondi di default oppure, se indicati, sui numeri di entità passati
+	 * come argomenti (ES: 1000 1000000)
+	 */
+	public static void main(String[] args) throws Exception
+	{
+		Path cartella = Files.createTempDirectory("minizak");
+
+		if (args.length == 0)
+			misura(cartella);
+
+		for (String arg : args)
+			misura(cartella, Long.parseLong(arg));
+	}
+}
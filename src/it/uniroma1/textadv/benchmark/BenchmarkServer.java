@@ -0,0 +1,415 @@
+package it.uniroma1.textadv.benchmark;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Iterator;
+
+import it.uniroma1.textadv.ModelloMondo;
+import it.uniroma1.textadv.server.ServerGioco;
+
+
+/**
+ * Client scriptato del {@link ServerGioco}: apre molte connessioni sulla stessa macchina e, in ognuna,
+ * invia una sequenza di comandi, uno alla volta, aspettando il prompt prima di inviare il successivo.
+ * Misura i comandi al secondo di tutte le connessioni insieme e la latenza dei singoli comandi
+ * (dall'invio del comando alla ricezione del prompt successivo).
+ *
+ * Tutte le connessioni sono gestite da un solo thread con un {@link Selector}, così che il client
+ * non sia limitato dal numero di thread. Le misure iniziano solo dopo che tutte le connessioni
+ * hanno ricevuto il benvenuto del server.
+ *
+ * @author Gabriele
+ *
+ */
+public class BenchmarkServer
+{
+	/**
+	 * Il numero di connessioni e di comandi per connessione di default
+	 */
+	private final static int CONNESSIONI = 10_000;
+	private final static int COMANDI_PER_CONNESSIONE = 20;
+
+	/**
+	 * I comandi inviati da ogni connessione (a rotazione), che non terminano mai la partita nel mondo piccolo
+	 */
+	private final static String[] COMANDI = {
+			"guarda", "guarda scrivania", "vai a E", "guarda armadio", "inventario", "vai a W", "prendi martello" };
+
+	/**
+	 * Il numero massimo di connessioni in corso di apertura contemporaneamente
+	 */
+	private final static int APERTURE_CONTEMPORANEE = 512;
+
+	/**
+	 * I tre byte con cui termina l'output del server quando aspetta un comando: fine riga e prompt
+	 */
+	private final static int FINE_TURNO = '\n' << 16 | ServerGioco.PROMPT.charAt(0) << 8 | ServerGioco.PROMPT.charAt(1);
+
+
+	/**
+	 * Lo stato di una connessione del client
+	 *
+	 * @author Gabriele
+	 */
+	private static class Connessione
+	{
+		/**
+		 * Il canale della connessione
+		 */
+		SocketChannel canale;
+
+		/**
+		 * Gli ultimi tre byte ricevuti
+		 */
+		int ultimiByte;
+
+		/**
+		 * Il numero di comandi inviati
+		 */
+		int comandiInviati;
+
+		/**
+		 * L'istante di invio dell'ultimo comando (0 se la connessione non sta aspettando una risposta)
+		 */
+		long invio;
+
+		/**
+		 * True se la connessione ha ricevuto il benvenuto ed è in attesa di iniziare
+		 */
+		boolean pronta;
+	}
+
+
+	/**
+	 * Il selettore di tutte le connessioni
+	 */
+	private final Selector selettore;
+
+	/**
+	 * Le latenze dei comandi (in nanosecondi)
+	 */
+	private final long[] latenze;
+
+	/**
+	 * Il numero di latenze misurate
+	 */
+	private int misurate;
+
+	/**
+	 * Il numero di connessioni pronte, chiuse e fallite
+	 */
+	private int pronte, chiuse, fallite;
+
+	/**
+	 * True se le connessioni possono iniziare a inviare comandi
+	 */
+	private boolean avviato;
+
+	/**
+	 * Il numero di comandi da inviare per connessione
+	 */
+	private final int comandiPerConnessione;
+
+	/**
+	 * Il buffer di lettura (condiviso da tutte le connessioni)
+	 */
+	private final ByteBuffer lettura = ByteBuffer.allocateDirect(64 * 1024);
+
+
+	/**
+	 * Costruttore del client
+	 * @param connessioni il numero di connessioni
+	 * @param comandiPerConnessione il numero di comandi da inviare per connessione
+	 *
+	 * @throws IOException sollevata se non è possibile aprire il selettore
+	 */
+	private BenchmarkServer(int connessioni, int comandiPerConnessione) throws IOException
+	{
+		this.selettore = Selector.open();
+		this.latenze = new long[connessioni * comandiPerConnessione];
+		this.comandiPerConnessione = comandiPerConnessione;
+	}
+
+
+	/**
+	 * Metodo che apre tutte le connessioni e aspetta che abbiano ricevuto il benvenuto del server
+	 * @param indirizzo l'indirizzo del server
+	 * @param connessioni il numero di connessioni
+	 *
+	 * @throws IOException sollevata se c'è stato un errore di IO
+	 */
+	private void connetti(InetSocketAddress indirizzo, int connessioni) throws IOException
+	{
+		int aperte = 0;
+
+		while (pronte + chiuse < connessioni)
+		{
+			// Apro nuove connessioni senza superare il numero di aperture contemporanee
+			while (aperte < connessioni && aperte - pronte - chiuse < APERTURE_CONTEMPORANEE)
+			{
+				Connessione connessione = new Connessione();
+				connessione.canale = SocketChannel.open();
+				connessione.canale.configureBlocking(false);
+				connessione.canale.connect(indirizzo);
+				connessione.canale.register(selettore, SelectionKey.OP_CONNECT, connessione);
+				aperte++;
+			}
+
+			seleziona();
+		}
+	}
+
+
+	/**
+	 * Metodo che fa inviare a tutte le connessioni i propri comandi, fino a che non li hanno inviati tutti
+	 * @return il tempo impiegato (in nanosecondi)
+	 *
+	 * @throws IOException sollevata se c'è stato un errore di IO
+	 */
+	private long gioca() throws IOException
+	{
+		long inizio = System.nanoTime();
+		avviato = true;
+
+		for (SelectionKey chiave : selettore.keys())
+			if (chiave.isValid())
+				prossimoComando(chiave, (Connessione) chiave.attachment());
+
+		while (!selettore.keys().isEmpty())
+			seleziona();
+
+		return System.nanoTime() - inizio;
+	}
+
+
+	/**
+	 * Metodo che gestisce gli eventi delle connessioni pronte
+	 * @throws IOException sollevata se c'è stato un errore di IO
+	 */
+	private void seleziona() throws IOException
+	{
+		selettore.select(1000);
+
+		Iterator<SelectionKey> chiavi = selettore.selectedKeys().iterator();
+
+		while (chiavi.hasNext())
+		{
+			SelectionKey chiave = chiavi.next();
+			chiavi.remove();
+			Connessione connessione = (Connessione) chiave.attachment();
+
+			try
+			{
+				if (chiave.isConnectable() && connessione.canale.finishConnect())
+					chiave.interestOps(SelectionKey.OP_READ);
+				else if (chiave.isReadable())
+					leggi(chiave, connessione);
+			}
+			catch (IOException e)
+			{
+				fallite++;
+				chiudi(chiave, connessione);
+			}
+		}
+	}
+
+
+	/**
+	 * Metodo che legge l'output del server e, se è arrivato il prompt, invia il prossimo comando
+	 * @param chiave la chiave della connessione
+	 * @param connessione la connessione
+	 *
+	 * @throws IOException sollevata se c'è stato un errore di IO
+	 */
+	private void leggi(SelectionKey chiave, Connessione connessione) throws IOException
+	{
+		lettura.clear();
+
+		if (connessione.canale.read(lettura) < 0)
+		{
+			// Il server ha chiuso la connessione prima della fine dei comandi
+			fallite++;
+			chiudi(chiave, connessione);
+			return;
+		}
+
+		lettura.flip();
+		boolean prompt = false;
+
+		while (lettura.hasRemaining())
+		{
+			connessione.ultimiByte = (connessione.ultimiByte << 8 | lettura.get() & 0xFF) & 0xFFFFFF;
+			prompt |= connessione.ultimiByte == FINE_TURNO;
+		}
+
+		if (!prompt)
+			return;
+
+		// La risposta al comando è completa
+		if (connessione.invio != 0)
+		{
+			latenze[misurate++] = System.nanoTime() - connessione.invio;
+			connessione.invio = 0;
+		}
+
+		if (avviato)
+			prossimoComando(chiave, connessione);
+		else if (!connessione.pronta)
+		{
+			connessione.pronta = true;
+			pronte++;
+		}
+	}
+
+
+	/**
+	 * Metodo che invia il prossimo comando della connessione, oppure la chiude se li ha inviati tutti
+	 * @param chiave la chiave della connessione
+	 * @param connessione la connessione
+	 *
+	 * @throws IOException sollevata se c'è stato un errore di IO
+	 */
+	private void prossimoComando(SelectionKey chiave, Connessione connessione) throws IOException
+	{
+		if (connessione.comandiInviati == comandiPerConnessione)
+		{
+			chiudi(chiave, connessione);
+			return;
+		}
+
+		String comando = COMANDI[connessione.comandiInviati++ % COMANDI.length] + "\r\n";
+		ByteBuffer scrittura = ByteBuffer.wrap(comando.getBytes(StandardCharsets.UTF_8));
+
+		connessione.invio = System.nanoTime();
+
+		// Il comando è molto più piccolo del buffer del socket, quindi viene scritto subito
+		while (scrittura.hasRemaining())
+			connessione.canale.write(scrittura);
+	}
+
+
+	/**
+	 * Metodo che chiude una connessione
+	 * @param chiave la chiave della connessione
+	 * @param connessione la connessione
+	 */
+	private void chiudi(SelectionKey chiave, Connessione connessione)
+	{
+		chiave.cancel();
+		chiuse++;
+
+		try
+		{
+			connessione.canale.close();
+		}
+		catch (IOException e)
+		{
+			// La connessione è già chiusa
+		}
+	}
+
+
+	/**
+	 * Metodo che stampa i comandi al secondo e la distribuzione delle latenze
+	 * @param nome il nome della misura
+	 * @param tempo il tempo impiegato (in nanosecondi)
+	 */
+	private void stampa(String nome, long tempo)
+	{
+		long[] ordinate = Arrays.copyOf(latenze, misurate);
+		Arrays.sort(ordinate);
+
+		System.out.printf("%-50s %12.0f comandi/s (%d comandi, %d connessioni fallite)%n",
+				nome, misurate * 1e9 / tempo, misurate, fallite);
+
+		if (misurate > 0)
+			System.out.printf("%-50s p50 %.3f ms  p90 %.3f ms  p99 %.3f ms  max %.3f ms%n", "latenza",
+					percentile(ordinate, 0.50), percentile(ordinate, 0.90), percentile(ordinate, 0.99),
+					ordinate[ordinate.length - 1] / 1e6);
+	}
+
+
+	/**
+	 * Metodo che ritorna un percentile delle latenze ordinate
+	 * @param ordinate le latenze ordinate (in nanosecondi)
+	 * @param percentile il percentile (tra 0 e 1)
+	 * @return la latenza al percentile dato, in millisecondi
+	 */
+	private static double percentile(long[] ordinate, double percentile)
+	{
+		return ordinate[(int) Math.min(ordinate.length - 1, Math.round(percentile * (ordinate.length - 1)))] / 1e6;
+	}
+
+
+	/**
+	 * Metodo che esegue la misura sul server all'indirizzo dato
+	 * @param indirizzo l'indirizzo del server
+	 * @param connessioni il numero di connessioni
+	 * @param comandiPerConnessione il numero di comandi da inviare per connessione
+	 *
+	 * @throws IOException sollevata se c'è stato un errore di IO
+	 */
+	static void misura(InetSocketAddress indirizzo, int connessioni, int comandiPerConnessione) throws IOException
+	{
+		BenchmarkServer client = new BenchmarkServer(connessioni, comandiPerConnessione);
+
+		long inizio = System.nanoTime();
+		client.connetti(indirizzo, connessioni);
+		System.out.printf("%-50s %12.1f ms (%d connessioni pronte)%n", "connessione: " + connessioni + " connessioni",
+				(System.nanoTime() - inizio) / 1e6, client.pronte);
+
+		long tempo = client.gioca();
+		client.stampa("server: " + connessioni + " connessioni", tempo);
+		client.selettore.close();
+	}
+
+
+	/**
+	 * Metodo che esegue la misura su un server avviato in questa JVM, con il mondo piccolo
+	 * @param cartella la cartella in cui scrivere il file del mondo
+	 * @param connessioni il numero di connessioni
+	 * @param comandiPerConnessione il numero di comandi da inviare per connessione
+	 *
+	 * @throws Exception sollevata se la misura fallisce
+	 */
+	static void misura(Path cartella, int connessioni, int comandiPerConnessione) throws Exception
+	{
+		ModelloMondo modello = ModelloMondo.carica(MondiDiProva.scriviMondoPiccolo(cartella));
+
+		try (ServerGioco server = new ServerGioco(modello, connessioni, Duration.ofMinutes(1)))
+		{
+			int porta = server.avvia(0);
+			System.out.println("Server con " + (server.isThreadVirtuali() ? "virtual thread" : "thread di piattaforma"));
+			misura(new InetSocketAddress("localhost", porta), connessioni, comandiPerConnessione);
+		}
+	}
+
+
+	/**
+	 * Esegue la misura con un server avviato in questa JVM oppure, se indicato, su un server già avviato.
+	 * Argomenti: [connessioni] [comandi per connessione] [host:porta]
+	 */
+	public static void main(String[] args) throws Exception
+	{
+		int connessioni = args.length > 0 ? Integer.parseInt(args[0]) : CONNESSIONI;
+		int comandi = args.length > 1 ? Integer.parseInt(args[1]) : COMANDI_PER_CONNESSIONE;
+
+		if (args.length > 2)
+		{
+			int separatore = args[2].lastIndexOf(':');
+			misura(new InetSocketAddress(args[2].substring(0, separatore), Integer.parseInt(args[2].substring(separatore + 1))),
+					connessioni, comandi);
+		}
+		else
+			misura(Files.createTempDirectory("minizak"), connessioni, comandi);
+	}
+}
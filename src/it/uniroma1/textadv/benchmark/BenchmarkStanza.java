@@ -0,0 +1,129 @@
+package it.uniroma1.textadv.benchmark;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import it.uniroma1.textadv.Mondo;
+import it.uniroma1.textadv.Stanza;
+import it.uniroma1.textadv.link.StanzaLink;
+import it.uniroma1.textadv.oggetti.Armadio;
+import it.uniroma1.textadv.oggetti.Cacciavite;
+import it.uniroma1.textadv.utilita.Direzione;
+
+
+/**
+ * Microbenchmark dei metodi di ricerca della {@link Stanza}, su una stanza di un mondo grande.
+ *
+ * @author Gabriele
+ *
+ */
+public class BenchmarkStanza
+{
+	/**
+	 * Numero di ricerche eseguite per ogni ripetizione
+	 */
+	private final static int OPERAZIONI = 1_000_000;
+
+	/**
+	 * Il numero di stanze del mondo su cui vengono fatte le ricerche
+	 */
+	private final static int STANZE = 1_000;
+
+	/**
+	 * Il numero di collegamenti della stanza con molte uscite
+	 */
+	private final static int COLLEGAMENTI = 10_000;
+
+	/**
+	 * Il numero di armadi della stanza con molte entità
+	 */
+	private final static int ARMADI = 10_000;
+
+
+	/**
+	 * Metodo che esegue tutte le misure
+	 * @param cartella la cartella in cui scrivere i file dei mondi di prova
+	 *
+	 * @throws Exception sollevata se una misura fallisce
+	 */
+	static void misura(Path cartella) throws Exception
+	{
+		Mondo.fromFile(MondiDiProva.scriviMondoGrande(cartella, STANZE));
+
+		// Una stanza a metà della fila, che ha collegamenti in entrambe le direzioni
+		Stanza stanza = Mondo.getStanzaByName("stanza" + STANZE / 2);
+
+		Misuratore.misura("Stanza.getEntitaByName (presente)", OPERAZIONI, () ->
+					Misuratore.consuma(stanza.getEntitaByName("martello" + STANZE / 2)));
+
+		Misuratore.misura("Stanza.getEntitaByName (assente)", OPERAZIONI, () ->
+					Misuratore.consuma(stanza.getEntitaByName("tavolo")));
+
+		Misuratore.misura("Stanza.getCollegamentiByDirezione", OPERAZIONI, () ->
+					Misuratore.consuma(stanza.getCollegamentiByDirezione(Direzione.E)));
+
+		Misuratore.misura("Stanza.cercaDirezioneByLinkName", OPERAZIONI, () ->
+					Misuratore.consuma(stanza.cercaDirezioneByLinkName("stanza" + (STANZE / 2 + 1))));
+
+		Misuratore.misura("Stanza.cercaLinkByName (assente)", OPERAZIONI, () ->
+					Misuratore.consuma(stanza.cercaLinkByName("porta")));
+
+		Misuratore.misura("Mondo.getStanzaByName", OPERAZIONI, () ->
+					Misuratore.consuma(Mondo.getStanzaByName("stanza" + STANZE / 2)));
+
+		// Una stanza con molte uscite nella stessa direzione
+		Misuratore.misura("Stanza con " + COLLEGAMENTI + " collegamenti: creazione", 1, () ->
+					Misuratore.consuma(incrocio()));
+
+		Stanza incrocio = incrocio();
+
+		Misuratore.misura("Stanza con " + COLLEGAMENTI + " collegamenti: cercaLinkByName", OPERAZIONI, () ->
+					Misuratore.consuma(incrocio.cercaLinkByName("[incrocio:strada" + (COLLEGAMENTI - 1) + "]")));
+
+		// Il giocatore prova a prendere un oggetto chiuso in uno dei tanti armadi della sua stanza
+		riempiDiArmadi(Mondo.getPlayer().getStanzaCorrente());
+
+		Misuratore.misura("Stanza con " + ARMADI + " armadi: prendi (oggetto nell'armadio)", OPERAZIONI, () ->
+					Misuratore.consuma(Mondo.getPlayer().prendi("attrezzo" + (ARMADI - 1))));
+	}
+
+
+	/**
+	 * Metodo che aggiunge alla stanza data {@link #ARMADI} armadi chiusi, ognuno con un attrezzo
+	 * @param stanza la stanza da riempire
+	 */
+	private static void riempiDiArmadi(Stanza stanza)
+	{
+		for (int i = 0; i < ARMADI; i++)
+		{
+			Armadio armadio = new Armadio("armadio" + i);
+			Cacciavite attrezzo = new Cacciavite("attrezzo" + i);
+			armadio.addTarget(attrezzo.getName(), attrezzo);
+
+			Mondo.addOggettoToMappaOggettiIstanziati(armadio.getName(), armadio);
+			Mondo.addOggettoToMappaOggettiIstanziati(attrezzo.getName(), attrezzo);
+			stanza.addEntitaNellaStanza(armadio.getName(), armadio);
+		}
+	}
+
+
+	/**
+	 * Metodo che crea una stanza con {@link #COLLEGAMENTI} uscite verso nord
+	 * @return la stanza creata
+	 */
+	private static Stanza incrocio()
+	{
+		Stanza incrocio = new Stanza("incrocio", "Un incrocio di strade");
+
+		for (int i = 0; i < COLLEGAMENTI; i++)
+			incrocio.addLinkDellaStanza(Direzione.N, new StanzaLink("incrocio", "strada" + i));
+
+		return incrocio;
+	}
+
+
+	public static void main(String[] args) throws Exception
+	{
+		misura(Files.createTempDirectory("minizak"));
+	}
+}
@@ -0,0 +1,96 @@
+package it.uniroma1.textadv.benchmark;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import it.uniroma1.textadv.MotoreTestuale;
+import it.uniroma1.textadv.Tokenizzatore;
+
+
+/**
+ * Microbenchmark che confronta il parsing delle linee di comando basato sulle regex
+ * (come veniva fatto in origine dal {@link MotoreTestuale}) con il {@link Tokenizzatore}.
+ *
+ * @author Gabriele
+ *
+ */
+public class BenchmarkTokenizzatore
+{
+	/**
+	 * Linee di comando tipiche di una partita
+	 */
+	private final static String[] LINEE = {
+			"guarda",
+			"prendi martello",
+			"prendi la chiave da cassetto",
+			"apri porta_cucina con chiave",
+			"usa secchio su camino",
+			"dai soldi a venditore",
+			"vai N",
+			"inventario"
+	};
+
+	/**
+	 * Numero di linee analizzate per ogni ripetizione
+	 */
+	private final static int OPERAZIONI = 200_000;
+
+
+	/**
+	 * Il parsing originale: split sugli spazi per il verbo, split sulla regex delle stopwords
+	 * per gli argomenti, filtraggio e rimozione degli spazi iniziali
+	 *
+	 * @param linea la linea da analizzare
+	 * @return la lista con il verbo seguito dagli argomenti
+	 */
+	static List<String> parsingConRegex(String linea)
+	{
+		String comando = Arrays.stream(linea.split(" ")).findFirst().orElse(null);
+		String argomenti = linea.substring(comando.length());
+
+		List<String> listaArg = Arrays.stream(argomenti.split(MotoreTestuale.STOPWORDS))
+									  .filter( x -> !(x.equals("") || x.equals(" ")) )
+									  .collect(Collectors.toList());
+
+		for (int i = 0; i < listaArg.size(); i++)
+		{
+			String el = listaArg.get(i);
+			if (el.startsWith(" "))
+				listaArg.set(i, el.substring(1));
+		}
+
+		listaArg.add(0, comando);
+		return listaArg;
+	}
+
+
+	public static void main(String[] args) throws Exception
+	{
+		Tokenizzatore tokenizzatore = new Tokenizzatore();
+
+		// Posizione della prossima linea da analizzare e somma delle lunghezze dei token trovati
+		int[] posizione = new int[1];
+		long[] somma = new long[1];
+
+		Misuratore.misura("parsing con regex (originale)", OPERAZIONI, () ->
+		{
+			String linea = LINEE[posizione[0]++ & 7];
+			Misuratore.consuma(parsingConRegex(linea));
+		});
+
+		Misuratore.misura("tokenizzatore a passata singola", OPERAZIONI, () ->
+		{
+			String linea = LINEE[posizione[0]++ & 7];
+			tokenizzatore.analizza(linea);
+
+			int lunghezza = tokenizzatore.getVerbo().length();
+			for (int i = 0; i < tokenizzatore.getNumeroArgomenti(); i++)
+				lunghezza += tokenizzatore.getArgomento(i).length();
+
+			somma[0] += lunghezza;
+		});
+
+		Misuratore.consuma(somma);
+	}
+}
@@ -0,0 +1,643 @@
+package it.uniroma1.textadv.benchmark;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+
+/**
+ * Classe che genera mondi (.game) sintetici di dimensione configurabile, insieme allo script (.ff)
+ * che li vince, per misurare il motore di gioco su mondi molto più grandi di quelli scritti a mano.
+ *
+ * Il mondo generato è una fila di stanze (stanza0, stanza1, ...) in cui ogni stanza è collegata
+ * alla precedente (a W) e alla successiva (a E). Ogni passaggio verso la stanza successiva può essere:
+ * - una stanza (sempre aperta)
+ * - una porta, chiusa con una chiave che si trova in un cassetto oppure, se il contenitore è annidato,
+ *   in un armadio la cui chiave si trova in una scrivania
+ * - una botola, da aprire usando un cacciavite sulla vite
+ * - un bus oppure un teletrasporto (sempre percorribili)
+ *
+ * In ogni stanza ci sono inoltre alcuni oggetti e personaggi di contorno, le monete collezionabili
+ * sono distribuite lungo la fila, il gatto si trova nella prima stanza e il guardiano con il tesoro nell'ultima.
+ *
+ * La posizione dei passaggi viene scelta a caso a partire da un seme, quindi a parità di
+ * configurazione vengono generati sempre gli stessi file.
+ *
+ * @author Gabriele
+ *
+ */
+public class GeneratoreMondo
+{
+	/**
+	 * Enumerazione dei passaggi che collegano una stanza alla successiva
+	 *
+	 * @author Gabriele
+	 */
+	private enum Passaggio { STANZA, PORTA, BOTOLA, BUS, TELETRASPORTO }
+
+
+	/**
+	 * Il numero di stanze del mondo
+	 */
+	private final int numeroStanze;
+
+	/**
+	 * Il numero di oggetti di contorno in ogni stanza
+	 */
+	private int oggettiPerStanza;
+
+	/**
+	 * Il numero di personaggi di contorno in ogni stanza
+	 */
+	private int personaggiPerStanza;
+
+	/**
+	 * Il numero di passaggi di ogni tipo
+	 */
+	private int porte, botole, bus, teletrasporti;
+
+	/**
+	 * Il numero di porte la cui chiave si trova in contenitori annidati (scrivania -> armadio -> chiave)
+	 */
+	private int contenitoriAnnidati;
+
+	/**
+	 * Il numero di monete collezionabili
+	 */
+	private int collezionabili;
+
+	/**
+	 * Il seme usato per posizionare i passaggi
+	 */
+	private long seme = 1916563;
+
+
+	/**
+	 * Costruttore del generatore
+	 * @param numeroStanze il numero di stanze del mondo
+	 */
+	public GeneratoreMondo(int numeroStanze)
+	{
+		if (numeroStanze < 1)
+			throw new IllegalArgumentException("Il mondo deve avere almeno una stanza");
+
+		this.numeroStanze = numeroStanze;
+	}
+
+
+	/**
+	 * Metodo che crea un generatore con una configurazione di default, dimensionato in modo da
+	 * avere circa il numero di entità (stanze, oggetti, personaggi e link) richiesto
+	 *
+	 * @param numeroEntita il numero di entità desiderato
+	 * @return il generatore
+	 */
+	public static GeneratoreMondo conEntita(long numeroEntita)
+	{
+		// Cerco il più grande numero di stanze che non supera il numero di entità desiderato
+		int min = 1, max = (int) Math.min(Integer.MAX_VALUE - 1, Math.max(1, numeroEntita));
+
+		while (min < max)
+		{
+			int medio = (int) (((long) min + max + 1) / 2);
+
+			if (conStanze(medio).getNumeroEntita() <= numeroEntita)
+				min = medio;
+			else
+				max = medio - 1;
+		}
+
+		return conStanze(min);
+	}
+
+
+	/**
+	 * Metodo che crea un generatore con la configurazione di default per il numero di stanze dato:
+	 * due oggetti e un personaggio di contorno per stanza, un quarto dei passaggi sono porte
+	 * (metà con contenitori annidati), un ottavo botole, un ottavo bus, un ottavo teletrasporti,
+	 * e una moneta collezionabile ogni dieci stanze
+	 */
+	private static GeneratoreMondo conStanze(int numeroStanze)
+	{
+		int passaggi = numeroStanze - 1;
+
+		return new GeneratoreMondo(numeroStanze)
+					.setOggettiPerStanza(2)
+					.setPersonaggiPerStanza(1)
+					.setPorte(passaggi / 4)
+					.setContenitoriAnnidati(passaggi / 8)
+					.setBotole(passaggi / 8)
+					.setBus(passaggi / 8)
+					.setTeletrasporti(passaggi / 8)
+					.setCollezionabili(numeroStanze / 10);
+	}
+
+
+	/**
+	 * Metodo che imposta il numero di oggetti di contorno per stanza
+	 * @param oggettiPerStanza il numero di oggetti
+	 * @return il generatore
+	 */
+	public GeneratoreMondo setOggettiPerStanza(int oggettiPerStanza)
+	{
+		this.oggettiPerStanza = nonNegativo(oggettiPerStanza);
+		return this;
+	}
+
+
+	/**
+	 * Metodo che imposta il numero di personaggi di contorno per stanza
+	 * @param personaggiPerStanza il numero di personaggi
+	 * @return il generatore
+	 */
+	public GeneratoreMondo setPersonaggiPerStanza(int personaggiPerStanza)
+	{
+		this.personaggiPerStanza = nonNegativo(personaggiPerStanza);
+		return this;
+	}
+
+
+	/**
+	 * Metodo che imposta il numero di porte
+	 * @param porte il numero di porte
+	 * @return il generatore
+	 */
+	public GeneratoreMondo setPorte(int porte)
+	{
+		this.porte = nonNegativo(porte);
+		return this;
+	}
+
+
+	/**
+	 * Metodo che imposta il numero di botole
+	 * @param botole il numero di botole
+	 * @return il generatore
+	 */
+	public GeneratoreMondo setBotole(int botole)
+	{
+		this.botole = nonNegativo(botole);
+		return this;
+	}
+
+
+	/**
+	 * Metodo che imposta il numero di bus
+	 * @param bus il numero di bus
+	 * @return il generatore
+	 */
+	public GeneratoreMondo setBus(int bus)
+	{
+		this.bus = nonNegativo(bus);
+		return this;
+	}
+
+
+	/**
+	 * Metodo che imposta il numero di teletrasporti
+	 * @param teletrasporti il numero di teletrasporti
+	 * @return il generatore
+	 */
+	public GeneratoreMondo setTeletrasporti(int teletrasporti)
+	{
+		this.teletrasporti = nonNegativo(teletrasporti);
+		return this;
+	}
+
+
+	/**
+	 * Metodo che imposta il numero di porte la cui chiave si trova in contenitori annidati
+	 * @param contenitoriAnnidati il numero di porte con contenitori annidati (al più il numero di porte)
+	 * @return il generatore
+	 */
+	public GeneratoreMondo setContenitoriAnnidati(int contenitoriAnnidati)
+	{
+		this.contenitoriAnnidati = nonNegativo(contenitoriAnnidati);
+		return this;
+	}
+
+
+	/**
+	 * Metodo che imposta il numero di monete collezionabili
+	 * @param collezionabili il numero di monete
+	 * @return il generatore
+	 */
+	public GeneratoreMondo setCollezionabili(int collezionabili)
+	{
+		this.collezionabili = nonNegativo(collezionabili);
+		return this;
+	}
+
+
+	/**
+	 * Metodo che imposta il seme usato per posizionare i passaggi
+	 * @param seme il seme
+	 * @return il generatore
+	 */
+	public GeneratoreMondo setSeme(long seme)
+	{
+		this.seme = seme;
+		return this;
+	}
+
+
+	/**
+	 * Metodo che ritorna il numero di stanze del mondo
+	 * @return il numero di stanze
+	 */
+	public int getNumeroStanze()
+	{
+		return numeroStanze;
+	}
+
+
+	/**
+	 * Metodo che ritorna il numero di entità (stanze, oggetti, personaggi e link) del mondo generato
+	 * @return il numero di entità
+	 */
+	public long getNumeroEntita()
+	{
+		long oggetti = (long) numeroStanze * oggettiPerStanza
+						+ 2L * porte + 2L * contenitoriAnnidati
+						+ 2L * botole
+						+ collezionabili
+						+ 1;
+
+		long personaggi = (long) numeroStanze * personaggiPerStanza + 2;
+
+		return numeroStanze + oggetti + personaggi + (numeroStanze - 1);
+	}
+
+
+	/**
+	 * Metodo che ritorna il numero di comandi dello script che vince il mondo generato
+	 * @return il numero di comandi
+	 */
+	public long getNumeroComandi()
+	{
+		long comandi = 4 + collezionabili + (numeroStanze - 1);
+
+		// Ogni stanza con personaggi di contorno ne accarezza uno
+		if (personaggiPerStanza > 0)
+			comandi += numeroStanze;
+
+		// Porta: apri cassetto, prendi la chiave, apri la porta (+2 comandi se i contenitori sono annidati)
+		// Botola: prendi il cacciavite, usalo sulla vite, apri la botola
+		return comandi + 3L * porte + 2L * contenitoriAnnidati + 3L * botole;
+	}
+
+
+	/**
+	 * Metodo che scrive il mondo generato
+	 * @param cartella la cartella in cui scrivere il file
+	 * @return il percorso del file .game
+	 *
+	 * @throws IOException sollevata se c'è stato un errore di IO
+	 */
+	public Path scriviMondo(Path cartella) throws IOException
+	{
+		Passaggio[] passaggi = generaPassaggi();
+		int[] porteAnnidate = numeraPorte(passaggi);
+		Path file = cartella.resolve(getNomeFile() + ".game");
+
+		try (BufferedWriter out = Files.newBufferedWriter(file))
+		{
+			scriviLinea(out, "[world:generato]");
+			scriviLinea(out, "description\tUn mondo generato con " + numeroStanze + " stanze");
+			scriviLinea(out, "start\tstanza0");
+			out.newLine();
+
+			scriviLinea(out, "[player]");
+			scriviLinea(out, "zak\tGiocatore");
+			out.newLine();
+
+			// Le stanze
+			for (int i = 0; i < numeroStanze; i++)
+				scriviStanza(out, i, passaggi, porteAnnidate);
+
+			// Gli oggetti
+			scriviLinea(out, "[objects]");
+			for (int i = 0; i < numeroStanze; i++)
+			{
+				for (int j = 0; j < oggettiPerStanza; j++)
+					scriviLinea(out, "oggetto" + i + "_" + j + (j % 2 == 0 ? "\tMartello" : "\tTronchesi"));
+
+				if (i < passaggi.length && passaggi[i] == Passaggio.PORTA)
+				{
+					if (porteAnnidate[i] < contenitoriAnnidati)
+					{
+						scriviLinea(out, "scrivania" + i + "\tScrivania\tchiave_armadio" + i);
+						scriviLinea(out, "chiave_armadio" + i + "\tChiave\tarmadio" + i);
+						scriviLinea(out, "armadio" + i + "\tArmadio\tchiave" + i);
+					}
+					else
+						scriviLinea(out, "cassetto" + i + "\tCassetto\tchiave" + i);
+
+					scriviLinea(out, "chiave" + i + "\tChiave\tporta" + i);
+				}
+				else if (i < passaggi.length && passaggi[i] == Passaggio.BOTOLA)
+				{
+					scriviLinea(out, "cacciavite" + i + "\tCacciavite\tvite" + i);
+					scriviLinea(out, "vite" + i + "\tVite\tbotola" + i);
+				}
+			}
+			for (int k = 0; k < collezionabili; k++)
+				scriviLinea(out, "moneta" + k + "\tMoneta");
+			scriviLinea(out, "tesoro\tTesoro");
+			out.newLine();
+
+			// I collezionabili
+			if (collezionabili > 0)
+			{
+				scriviLinea(out, "[collezionabili]");
+				for (int k = 0; k < collezionabili; k++)
+					scriviLinea(out, "moneta" + k + "\tLa moneta numero " + k + " della collezione");
+				out.newLine();
+			}
+
+			// I personaggi
+			scriviLinea(out, "[characters]");
+			scriviLinea(out, "gatto\tGatto");
+			scriviLinea(out, "guardiano\tGuardiano\ttesoro");
+			for (int i = 0; i < numeroStanze; i++)
+				for (int j = 0; j < personaggiPerStanza; j++)
+					scriviLinea(out, "cane" + i + "_" + j + "\tCane");
+			out.newLine();
+
+			// I link (i passaggi di tipo stanza non vanno dichiarati)
+			scriviLinea(out, "[links]");
+			for (int i = 0; i < passaggi.length; i++)
+				if (passaggi[i] != Passaggio.STANZA)
+					scriviLinea(out, getNomeLink(passaggi[i], i) + "\t" + getNomeClasse(passaggi[i])
+										+ "\tstanza" + i + "\tstanza" + (i + 1));
+		}
+
+		return file;
+	}
+
+
+	/**
+	 * Metodo che scrive lo script che vince il mondo generato
+	 * @param cartella la cartella in cui scrivere il file
+	 * @return il percorso del file .ff
+	 *
+	 * @throws IOException sollevata se c'è stato un errore di IO
+	 */
+	public Path scriviScript(Path cartella) throws IOException
+	{
+		Passaggio[] passaggi = generaPassaggi();
+		int[] porteAnnidate = numeraPorte(passaggi);
+		Path file = cartella.resolve(getNomeFile() + ".ff");
+
+		try (BufferedWriter out = Files.newBufferedWriter(file))
+		{
+			scriviLinea(out, "guarda");
+			scriviLinea(out, "prendi gatto");
+
+			for (int i = 0; i < numeroStanze; i++)
+			{
+				if (personaggiPerStanza > 0)
+					scriviLinea(out, "accarezza cane" + i + "_0");
+
+				for (int k = primaMoneta(i); k < primaMoneta(i + 1); k++)
+					scriviLinea(out, "prendi moneta" + k);
+
+				if (i == numeroStanze - 1)
+					break;
+
+				switch (passaggi[i])
+				{
+					case STANZA -> scriviLinea(out, "vai E");
+					case PORTA ->
+					{
+						if (porteAnnidate[i] < contenitoriAnnidati)
+						{
+							scriviLinea(out, "apri scrivania" + i);
+							scriviLinea(out, "prendi chiave_armadio" + i + " da scrivania" + i);
+							scriviLinea(out, "apri armadio" + i + " con chiave_armadio" + i);
+							scriviLinea(out, "prendi chiave" + i);
+						}
+						else
+						{
+							scriviLinea(out, "apri cassetto" + i);
+							scriviLinea(out, "prendi chiave" + i + " da cassetto" + i);
+						}
+						scriviLinea(out, "apri porta" + i + " con chiave" + i);
+						scriviLinea(out, "vai E");
+					}
+					case BOTOLA ->
+					{
+						scriviLinea(out, "prendi cacciavite" + i);
+						scriviLinea(out, "usa cacciavite" + i + " su vite" + i);
+						scriviLinea(out, "apri botola" + i);
+						scriviLinea(out, "vai E");
+					}
+					case BUS -> scriviLinea(out, "prendi bus" + i);
+					case TELETRASPORTO -> scriviLinea(out, "usa teletrasporto" + i);
+				}
+			}
+
+			scriviLinea(out, "dai gatto a guardiano");
+			scriviLinea(out, "prendi tesoro");
+		}
+
+		return file;
+	}
+
+
+	/**
+	 * Metodo di utilità che scrive il blocco di una stanza
+	 */
+	private void scriviStanza(BufferedWriter out, int i, Passaggio[] passaggi, int[] porteAnnidate) throws IOException
+	{
+		scriviLinea(out, "[room:stanza" + i + "]");
+		scriviLinea(out, "description\tLa stanza numero " + i);
+
+		// Gli oggetti della stanza
+		StringBuilder oggetti = new StringBuilder();
+
+		for (int j = 0; j < oggettiPerStanza; j++)
+			aggiungi(oggetti, "oggetto" + i + "_" + j);
+
+		if (i < passaggi.length && passaggi[i] == Passaggio.PORTA)
+		{
+			if (porteAnnidate[i] < contenitoriAnnidati)
+			{
+				aggiungi(oggetti, "scrivania" + i);
+				aggiungi(oggetti, "armadio" + i);
+			}
+			else
+				aggiungi(oggetti, "cassetto" + i);
+		}
+		else if (i < passaggi.length && passaggi[i] == Passaggio.BOTOLA)
+		{
+			aggiungi(oggetti, "cacciavite" + i);
+			aggiungi(oggetti, "vite" + i);
+		}
+
+		for (int k = primaMoneta(i); k < primaMoneta(i + 1); k++)
+			aggiungi(oggetti, "moneta" + k);
+
+		if (i == numeroStanze - 1)
+			aggiungi(oggetti, "tesoro");
+
+		if (oggetti.length() > 0)
+			scriviLinea(out, "objects\t" + oggetti);
+
+		// I personaggi della stanza
+		StringBuilder personaggi = new StringBuilder();
+
+		if (i == 0)
+			aggiungi(personaggi, "gatto");
+		for (int j = 0; j < personaggiPerStanza; j++)
+			aggiungi(personaggi, "cane" + i + "_" + j);
+		if (i == numeroStanze - 1)
+			aggiungi(personaggi, "guardiano");
+
+		if (personaggi.length() > 0)
+			scriviLinea(out, "characters\t" + personaggi);
+
+		// I collegamenti della stanza
+		StringBuilder links = new StringBuilder();
+
+		if (i > 0)
+			aggiungi(links, "W:" + getNomeLink(passaggi[i - 1], i - 1));
+		if (i < passaggi.length)
+			aggiungi(links, "E:" + getNomeLink(passaggi[i], i));
+
+		if (links.length() > 0)
+			scriviLinea(out, "links\t" + links);
+
+		out.newLine();
+	}
+
+
+	/**
+	 * Metodo di utilità che genera, a partire dal seme, il tipo di ogni passaggio:
+	 * l'i-esimo passaggio collega la stanza i alla stanza i+1
+	 */
+	private Passaggio[] generaPassaggi()
+	{
+		Passaggio[] passaggi = new Passaggio[numeroStanze - 1];
+
+		if (porte + botole + bus + teletrasporti > passaggi.length)
+			throw new IllegalArgumentException("Ci sono più link (" + (porte + botole + bus + teletrasporti)
+												+ ") che passaggi tra le stanze (" + passaggi.length + ")");
+		if (contenitoriAnnidati > porte)
+			throw new IllegalArgumentException("Ci sono più contenitori annidati che porte");
+
+		int i = 0;
+		for (int n = 0; n < porte; n++) passaggi[i++] = Passaggio.PORTA;
+		for (int n = 0; n < botole; n++) passaggi[i++] = Passaggio.BOTOLA;
+		for (int n = 0; n < bus; n++) passaggi[i++] = Passaggio.BUS;
+		for (int n = 0; n < teletrasporti; n++) passaggi[i++] = Passaggio.TELETRASPORTO;
+		while (i < passaggi.length) passaggi[i++] = Passaggio.STANZA;
+
+		// Mescolo i passaggi (Fisher-Yates)
+		Random random = new Random(seme);
+		for (int j = passaggi.length - 1; j > 0; j--)
+		{
+			int k = random.nextInt(j + 1);
+			Passaggio tmp = passaggi[j];
+			passaggi[j] = passaggi[k];
+			passaggi[k] = tmp;
+		}
+
+		return passaggi;
+	}
+
+
+	/**
+	 * Metodo di utilità che numera le porte nell'ordine della fila (le prime hanno i contenitori annidati)
+	 */
+	private static int[] numeraPorte(Passaggio[] passaggi)
+	{
+		int[] numeri = new int[passaggi.length];
+		int porta = 0;
+
+		for (int i = 0; i < passaggi.length; i++)
+			if (passaggi[i] == Passaggio.PORTA)
+				numeri[i] = porta++;
+
+		return numeri;
+	}
+
+
+	/**
+	 * Metodo di utilità che ritorna l'indice della prima moneta che si trova nella stanza data
+	 * (le monete della stanza i sono quelle da primaMoneta(i) a primaMoneta(i+1) escluso)
+	 */
+	private int primaMoneta(int stanza)
+	{
+		return (int) ((long) stanza * collezionabili / numeroStanze);
+	}
+
+
+	/**
+	 * Metodo di utilità che ritorna il nome del link dell'i-esimo passaggio
+	 */
+	private static String getNomeLink(Passaggio passaggio, int i)
+	{
+		return switch (passaggio)
+		{
+			case STANZA -> "stanza" + (i + 1);
+			default -> passaggio.name().toLowerCase() + i;
+		};
+	}
+
+
+	/**
+	 * Metodo di utilità che ritorna il nome della classe java del link di un passaggio
+	 */
+	private static String getNomeClasse(Passaggio passaggio)
+	{
+		String nome = passaggio.name().toLowerCase();
+		return Character.toUpperCase(nome.charAt(0)) + nome.substring(1);
+	}
+
+
+	/**
+	 * Metodo di utilità che ritorna il nome (senza estensione) dei file generati
+	 */
+	private String getNomeFile()
+	{
+		return "generato" + numeroStanze + "_" + Long.toHexString(seme);
+	}
+
+
+	/**
+	 * Metodo di utilità che aggiunge un elemento ad un elenco separato da virgole
+	 */
+	private static void aggiungi(StringBuilder elenco, String elemento)
+	{
+		if (elenco.length() > 0)
+			elenco.append(',');
+		elenco.append(elemento);
+	}
+
+
+	/**
+	 * Metodo di utilità che scrive una linea usando il separatore di linea del sistema operativo,
+	 * come si aspetta il MondoFactory
+	 */
+	private static void scriviLinea(BufferedWriter out, String linea) throws IOException
+	{
+		out.write(linea);
+		out.newLine();
+	}
+
+
+	/**
+	 * Metodo di utilità che verifica che un numero non sia negativo
+	 */
+	private static int nonNegativo(int numero)
+	{
+		if (numero < 0)
+			throw new IllegalArgumentException("Il numero non può essere negativo: " + numero);
+
+		return numero;
+	}
+
+}
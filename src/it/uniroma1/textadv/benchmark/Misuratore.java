@@ -0,0 +1,174 @@
+package it.uniroma1.textadv.benchmark;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+
+
+/**
+ * Classe di utilità per i microbenchmark del gioco.
+ *
+ * Ogni misura esegue prima alcune ripetizioni di riscaldamento (per dare tempo al JIT di compilare
+ * il codice), poi le ripetizioni misurate. Per ogni operazione vengono riportati il tempo medio,
+ * i byte allocati dal thread corrente e il numero di garbage collection avvenute.
+ *
+ * @author Gabriele
+ *
+ */
+public class Misuratore
+{
+	/**
+	 * Numero di ripetizioni di riscaldamento e di misura
+	 */
+	public final static int RIPETIZIONI_RISCALDAMENTO = 5;
+	public final static int RIPETIZIONI_MISURA = 10;
+
+
+	/**
+	 * Usato per "consumare" i risultati delle operazioni misurate,
+	 * così che il JIT non possa eliminarle come codice inutile
+	 */
+	private static volatile Object pozzoRisultati;
+
+
+	/**
+	 * Il bean che permette di conoscere la memoria allocata dal thread corrente (se supportato dalla JVM)
+	 */
+	private final static com.sun.management.ThreadMXBean THREAD_BEAN =
+			ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean
+				? (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean() : null;
+
+
+	/**
+	 * Interfaccia funzionale che modella l'operazione da misurare
+	 *
+	 * @author Gabriele
+	 */
+	@FunctionalInterface
+	public interface Operazione
+	{
+		/**
+		 * Esegue l'operazione
+		 * @throws Exception sollevata se l'operazione fallisce
+		 */
+		void esegui() throws Exception;
+	}
+
+
+	/**
+	 * Metodo per consumare il risultato di un'operazione
+	 * @param risultato il risultato da consumare
+	 */
+	public static void consuma(Object risultato)
+	{
+		pozzoRisultati = risultato;
+	}
+
+
+	/**
+	 * Metodo che misura un'operazione e ne stampa i risultati
+	 *
+	 * @param nome il nome della misura
+	 * @param operazioniPerRipetizione quante volte eseguire l'operazione in ogni ripetizione
+	 * @param operazione l'operazione da misurare
+	 *
+	 * @throws Exception sollevata se l'operazione fallisce
+	 */
+	public static void misura(String nome, int operazioniPerRipetizione, Operazione operazione) throws Exception
+	{
+		// Riscaldamento
+		for (int r = 0; r < RIPETIZIONI_RISCALDAMENTO; r++)
+			for (int i = 0; i < operazioniPerRipetizione; i++)
+				operazione.esegui();
+
+		long operazioni = (long) RIPETIZIONI_MISURA * operazioniPerRipetizione;
+		long byteIniziali = byteAllocati();
+		long gcIniziali = numeroGarbageCollection();
+		long inizio = System.nanoTime();
+
+		// Misura
+		for (int r = 0; r < RIPETIZIONI_MISURA; r++)
+			for (int i = 0; i < operazioniPerRipetizione; i++)
+				operazione.esegui();
+
+		long tempo = System.nanoTime() - inizio;
+		long byteUsati = byteAllocati() - byteIniziali;
+		long gc = numeroGarbageCollection() - gcIniziali;
+
+		stampa(nome, tempo, byteUsati, gc, operazioni);
+	}
+
+
+	/**
+	 * Metodo che stampa i risultati di una misura fatta dal chiamante
+	 *
+	 * @param nome il nome della misura
+	 * @param tempo il tempo totale in nanosecondi
+	 * @param byteUsati i byte allocati in totale (negativo se non è possibile saperlo)
+	 * @param gc il numero di garbage collection avvenute
+	 * @param operazioni il numero di operazioni misurate
+	 */
+	public static void stampa(String nome, long tempo, long byteUsati, long gc, long operazioni)
+	{
+		System.out.printf("%-50s %12.1f ns/op %12.1f B/op %6d gc%n",
+				nome, (double) tempo / operazioni, byteUsati < 0 ? Double.NaN : (double) byteUsati / operazioni, gc);
+	}
+
+
+	/**
+	 * Metodo che stampa la memoria occupata da un insieme di elementi (ES: le stanze di un mondo)
+	 *
+	 * @param nome il nome della misura
+	 * @param byteOccupati i byte occupati in totale
+	 * @param elementi il numero di elementi
+	 * @param elemento il nome del singolo elemento (ES: stanza)
+	 */
+	public static void stampaMemoria(String nome, long byteOccupati, long elementi, String elemento)
+	{
+		System.out.printf("%-50s %12.1f B/%s%n", nome, (double) byteOccupati / elementi, elemento);
+	}
+
+
+	/**
+	 * Metodo che ritorna la memoria occupata dagli oggetti ancora raggiungibili
+	 * (dopo aver chiesto più volte al garbage collector di eliminare gli altri)
+	 * @return i byte occupati nello heap
+	 */
+	public static long heapUsato()
+	{
+		Runtime runtime = Runtime.getRuntime();
+
+		for (int i = 0; i < 3; i++)
+			System.gc();
+
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+
+	/**
+	 * Metodo che ritorna i byte allocati finora dal thread corrente (oppure -1 se non è possibile saperlo)
+	 * @return i byte allocati dal thread corrente
+	 */
+	public static long byteAllocati()
+	{
+		if (THREAD_BEAN == null || !THREAD_BEAN.isThreadAllocatedMemorySupported())
+			return -1;
+
+		return THREAD_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+
+
+	/**
+	 * Metodo che ritorna il numero di garbage collection avvenute dall'avvio della JVM
+	 * @return il numero di garbage collection avvenute
+	 */
+	public static long numeroGarbageCollection()
+	{
+		long totale = 0;
+
+		for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans())
+			totale += Math.max(0, gc.getCollectionCount());
+
+		return totale;
+	}
+
+}
@@ -0,0 +1,269 @@
+package it.uniroma1.textadv.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+
+/**
+ * Classe che scrive i mondi (.game) e gli script (.ff) usati dai benchmark.
+ *
+ * - il mondo piccolo contiene almeno un'entità di ogni tipo ed è accompagnato da uno script che lo vince
+ * - il mondo grande è una fila di stanze collegate tra loro, ognuna con alcuni oggetti
+ *
+ * @author Gabriele
+ *
+ */
+public class MondiDiProva
+{
+	/**
+	 * Il mondo piccolo
+	 */
+	private final static String MONDO_PICCOLO = String.join("\n",
+			"[world:minizak]",
+			"description	Un mondo di prova",
+			"start	soggiorno",
+			"",
+			"[player]",
+			"zak	Giocatore",
+			"",
+			"[room:soggiorno]",
+			"description	Il soggiorno di casa",
+			"objects	scrivania, cassetto, martello, salvadanaio",
+			"characters	gatto",
+			"links	N:porta_cucina,E:corridoio",
+			"",
+			"[room:corridoio]",
+			"description	Un corridoio buio",
+			"objects	armadio, vite",
+			"links	W:soggiorno,S:botola",
+			"",
+			"[room:cantina]",
+			"description	La cantina",
+			"links	N:botola",
+			"",
+			"[room:cucina]",
+			"description	La cucina",
+			"objects	camino, pozzo",
+			"characters	venditore",
+			"links	S:porta_cucina,N:bus,E:teletrasporto",
+			"",
+			"[room:strada]",
+			"description	La strada",
+			"objects	moneta1",
+			"characters	cane",
+			"links	S:bus",
+			"",
+			"[room:piazza]",
+			"description	La piazza",
+			"objects	tesoro",
+			"characters	guardiano",
+			"links	W:teletrasporto",
+			"",
+			"[objects]",
+			"scrivania	Scrivania	chiave_armadio",
+			"cassetto	Cassetto	chiave",
+			"chiave	Chiave	porta_cucina",
+			"chiave_armadio	Chiave	armadio",
+			"martello	Martello",
+			"salvadanaio	Salvadanaio",
+			"armadio	Armadio	cacciavite",
+			"cacciavite	Cacciavite	vite",
+			"vite	Vite	botola",
+			"camino	Camino	chiave_teletrasporto",
+			"pozzo	Pozzo",
+			"secchio	Secchio",
+			"tronchesi	Tronchesi",
+			"soldi	Soldi",
+			"tesoro	Tesoro",
+			"chiave_teletrasporto	Chiave	teletrasporto",
+			"moneta1	Moneta",
+			"",
+			"[collezionabili]",
+			"moneta1	Una moneta antica",
+			"",
+			"[characters]",
+			"gatto	Gatto",
+			"cane	Cane",
+			"venditore	Venditore	secchio	tronchesi",
+			"guardiano	Guardiano	tesoro",
+			"",
+			"[links]",
+			"porta_cucina	Porta	soggiorno	cucina",
+			"botola	Botola	corridoio	cantina",
+			"bus	Bus	cucina	strada",
+			"teletrasporto	Teletrasporto	cucina	piazza",
+			"");
+
+	/**
+	 * Lo script che vince il mondo piccolo
+	 */
+	private final static String SCRIPT_PICCOLO = String.join("\n",
+			"guarda",
+			"apri scrivania",
+			"prendi chiave_armadio da scrivania",
+			"apri cassetto",
+			"prendi la chiave da cassetto // commento",
+			"prendi martello",
+			"rompi salvadanaio con martello",
+			"prendi soldi",
+			"prendi gatto",
+			"inventario",
+			"vai E",
+			"apri armadio con chiave_armadio",
+			"prendi cacciavite",
+			"usa cacciavite su vite",
+			"apri botola",
+			"vai S",
+			"vai N",
+			"entra soggiorno",
+			"apri porta_cucina con chiave",
+			"vai N",
+			"parla venditore",
+			"dai soldi a venditore",
+			"usa secchio su pozzo",
+			"usa secchio su camino",
+			"prendi chiave_teletrasporto",
+			"vai N",
+			"accarezza cane",
+			"prendi moneta1",
+			"vai S",
+			"usa teletrasporto",
+			"parla guardiano",
+			"dai gatto a guardiano",
+			"prendi tesoro",
+			"");
+
+
+	/**
+	 * Metodo che scrive il mondo piccolo
+	 * @param cartella la cartella in cui scrivere il file
+	 * @return il percorso del file .game
+	 *
+	 * @throws IOException sollevata se c'è stato un errore di IO
+	 */
+	public static Path scriviMondoPiccolo(Path cartella) throws IOException
+	{
+		return scrivi(cartella.resolve("piccolo.game"), MONDO_PICCOLO);
+	}
+
+
+	/**
+	 * Metodo che scrive lo script che vince il mondo piccolo
+	 * @param cartella la cartella in cui scrivere il file
+	 * @return il percorso del file .ff
+	 *
+	 * @throws IOException sollevata se c'è stato un errore di IO
+	 */
+	public static Path scriviScriptPiccolo(Path cartella) throws IOException
+	{
+		return scrivi(cartella.resolve("piccolo.ff"), SCRIPT_PICCOLO);
+	}
+
+
+	/**
+	 * Metodo che scrive un mondo formato da una fila di stanze, ognuna collegata alla precedente (a W)
+	 * e alla successiva (a E), e con tre oggetti
+	 *
+	 * @param cartella la cartella in cui scrivere il file
+	 * @param numeroStanze il numero di stanze del mondo
+	 * @return il percorso del file .game
+	 *
+	 * @throws IOException sollevata se c'è stato un errore di IO
+	 */
+	public static Path scriviMondoGrande(Path cartella, int numeroStanze) throws IOException
+	{
+		StringBuilder sb = new StringBuilder();
+		sb.append("[world:grande]\ndescription\tUn mondo molto grande\nstart\tstanza0\n\n");
+		sb.append("[player]\nzak\tGiocatore\n\n");
+
+		for (int i = 0; i < numeroStanze; i++)
+		{
+			sb.append("[room:stanza").append(i).append("]\n");
+			sb.append("description\tLa stanza numero ").append(i).append('\n');
+			sb.append("objects\tmartello").append(i).append(", cacciavite").append(i).append(", vite").append(i).append('\n');
+			sb.append("links\t");
+
+			if (i > 0)
+				sb.append("W:stanza").append(i - 1);
+			if (i > 0 && i < numeroStanze - 1)
+				sb.append(',');
+			if (i < numeroStanze - 1)
+				sb.append("E:stanza").append(i + 1);
+
+			sb.append("\n\n");
+		}
+
+		sb.append("[objects]\n");
+		for (int i = 0; i < numeroStanze; i++)
+		{
+			sb.append("martello").append(i).append("\tMartello\n");
+			sb.append("cacciavite").append(i).append("\tCacciavite\tvite").append(i).append('\n');
+			sb.append("vite").append(i).append("\tVite\n");
+		}
+
+		return scrivi(cartella.resolve("grande" + numeroStanze + ".game"), sb.toString());
+	}
+
+
+	/**
+	 * Metodo che scrive un mondo senza entità formato da una griglia quadrata di stanze, ognuna collegata
+	 * alle stanze vicine (a N, S, E e W). La stanza nella riga r e nella colonna c si chiama stanza_r_c.
+	 *
+	 * @param cartella la cartella in cui scrivere il file
+	 * @param lato il numero di stanze di ogni riga e di ogni colonna
+	 * @return il percorso del file .game
+	 *
+	 * @throws IOException sollevata se c'è stato un errore di IO
+	 */
+	public static Path scriviGriglia(Path cartella, int lato) throws IOException
+	{
+		StringBuilder sb = new StringBuilder();
+		sb.append("[world:griglia]\ndescription\tUna griglia di stanze\nstart\tstanza_0_0\n\n");
+		sb.append("[player]\nzak\tGiocatore\n\n");
+
+		for (int r = 0; r < lato; r++)
+		{
+			for (int c = 0; c < lato; c++)
+			{
+				sb.append("[room:stanza_").append(r).append('_').append(c).append("]\n");
+				sb.append("description\tLa stanza ").append(r).append(", ").append(c).append('\n');
+				sb.append("links\t");
+
+				String separatore = "";
+				if (r > 0)
+				{
+					sb.append("N:stanza_").append(r - 1).append('_').append(c);
+					separatore = ",";
+				}
+				if (r < lato - 1)
+				{
+					sb.append(separatore).append("S:stanza_").append(r + 1).append('_').append(c);
+					separatore = ",";
+				}
+				if (c < lato - 1)
+				{
+					sb.append(separatore).append("E:stanza_").append(r).append('_').append(c + 1);
+					separatore = ",";
+				}
+				if (c > 0)
+					sb.append(separatore).append("W:stanza_").append(r).append('_').append(c - 1);
+
+				sb.append("\n\n");
+			}
+		}
+
+		return scrivi(cartella.resolve("griglia" + lato + ".game"), sb.toString());
+	}
+
+
+	/**
+	 * Metodo di utilità che scrive un file usando il separatore di linea del sistema operativo,
+	 * come si aspetta il MondoFactory
+	 */
+	private static Path scrivi(Path file, String contenuto) throws IOException
+	{
+		return Files.writeString(file, contenuto.replace("\n", System.lineSeparator()));
+	}
+
+}
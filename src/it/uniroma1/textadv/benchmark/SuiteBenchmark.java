@@ -0,0 +1,36 @@
+package it.uniroma1.textadv.benchmark;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+
+/**
+ * Esegue tutti i benchmark del motore di gioco.
+ *
+ * Per ogni misura vengono riportati il tempo medio per operazione, i byte allocati per operazione
+ * e il numero di garbage collection avvenute (vedi {@link Misuratore}).
+ *
+ * @author Gabriele
+ *
+ */
+public class SuiteBenchmark
+{
+	public static void main(String[] args) throws Exception
+	{
+		Path cartella = Files.createTempDirectory("minizak");
+
+		BenchmarkTokenizzatore.main(args);
+		BenchmarkMotoreTestuale.misura(cartella);
+		BenchmarkStanza.misura(cartella);
+		BenchmarkMondoFactory.misura(cartella);
+		BenchmarkFastForward.misura(cartella);
+		BenchmarkScala.misura(cartella);
+		BenchmarkGrafo.misura(cartella);
+		BenchmarkMondoCondiviso.misura(cartella);
+		BenchmarkAttoriStanze.misura(cartella);
+		BenchmarkIstantanea.misura(cartella);
+		BenchmarkGiornale.misura(cartella);
+		BenchmarkRegistroEntita.misura(cartella);
+		BenchmarkMemoria.misura(cartella);
+	}
+}
@@ -1,20 +1,21 @@
-package it.uniroma1.textadv.eccezioni;
-
-/**
- * Eccezione che modella l'errore dato dall'inesistenza di un'entit
- * 
- * @author Gabriele
- *
- */
-public class EntitaNonPresenteException extends Exception 
-{
-
-	/**
-	 * Il costruttore dell'eccezione
-	 * @param nomeEntita il nome dell'entit che non esiste
-	 */
-	public EntitaNonPresenteException(String nomeEntita)
-	{
-		super(nomeEntita);
-	}
-}
+package it.uniroma1.textadv.eccezioni;
+
+/**
+ * Eccezione che modella l'errore dato dall'inesistenza di un'entità
+ * 
+ * @author Gabriele
+ *
+ */
+public class EntitaNonPresenteException extends Exception 
+{
+
+	/**
+	 * Il costruttore dell'eccezione.
+	 * Viene sollevata durante il normale svolgimento del gioco, pertanto non registra lo stack trace
+	 * @param nomeEntita il nome dell'entità che non esiste
+	 */
+	public EntitaNonPresenteException(String nomeEntita)
+	{
+		super(nomeEntita, null, false, false);
+	}
+}
@@ -1,21 +1,22 @@
-package it.uniroma1.textadv.eccezioni;
-
-
-/**
- * Eccezione che modella l'errore che pu verificarsi durante il tentativo 
- * di riempire un'entit
- * 
- * @author Gabriele
- *
- */
-public class ImpossibileRiempireException extends Exception {
-
-	/**
-	 * Il costruttore dell'eccezione
-	 * @param messaggio il messaggio dell'errore
-	 */
-	public ImpossibileRiempireException(String messaggio)
-	{
-		super(messaggio);
-	}
-}
+package it.uniroma1.textadv.eccezioni;
+
+
+/**
+ * Eccezione che modella l'errore che può verificarsi durante il tentativo 
+ * di riempire un'entità
+ * 
+ * @author Gabriele
+ *
+ */
+public class ImpossibileRiempireException extends Exception {
+
+	/**
+	 * Il costruttore dell'eccezione.
+	 * Viene sollevata durante il normale svolgimento del gioco, pertanto non registra lo stack trace
+	 * @param messaggio il messaggio dell'errore
+	 */
+	public ImpossibileRiempireException(String messaggio)
+	{
+		super(messaggio, null, false, false);
+	}
+}
@@ -1,18 +1,19 @@
-package it.uniroma1.textadv.eccezioni;
-
-/**
- * Eccezione che modella l'errore che pu verificarsi durante la rimozione di un'entit
- * @author Gabriele
- *
- */
-public class ImpossibileRimuovereException extends Exception {
-
-	/**
-	 * Il costruttore dell'eccezione
-	 * @param messaggio il messaggio dell'errore
-	 */
-	public ImpossibileRimuovereException(String messaggio)
-	{
-		super(messaggio);
-	}
-}
+package it.uniroma1.textadv.eccezioni;
+
+/**
+ * Eccezione che modella l'errore che può verificarsi durante la rimozione di un'entità
+ * @author Gabriele
+ *
+ */
+public class ImpossibileRimuovereException extends Exception {
+
+	/**
+	 * Il costruttore dell'eccezione.
+	 * Viene sollevata durante il normale svolgimento del gioco, pertanto non registra lo stack trace
+	 * @param messaggio il messaggio dell'errore
+	 */
+	public ImpossibileRimuovereException(String messaggio)
+	{
+		super(messaggio, null, false, false);
+	}
+}
@@ -1,20 +1,21 @@
-package it.uniroma1.textadv.eccezioni;
-
-/**
- * Eccezione che viene sollevata se si prova a chiudere un'entit/link gi chiusa.
- * 
- * @author Gabriele
- *
- */
-public class OggettoGiaChiusoException extends Exception 
-{
-
-	/**
-	 * Il costruttore dell'eccezione
-	 * @param messaggio il messaggio dell'errore
-	 */
-	public OggettoGiaChiusoException(String messaggio)
-	{
-		super(messaggio);
-	}
-}
+package it.uniroma1.textadv.eccezioni;
+
+/**
+ * Eccezione che viene sollevata se si prova a chiudere un'entità/link già chiusa.
+ * 
+ * @author Gabriele
+ *
+ */
+public class OggettoGiaChiusoException extends Exception 
+{
+
+	/**
+	 * Il costruttore dell'eccezione.
+	 * Viene sollevata durante il normale svolgimento del gioco, pertanto non registra lo stack trace
+	 * @param messaggio il messaggio dell'errore
+	 */
+	public OggettoGiaChiusoException(String messaggio)
+	{
+		super(messaggio, null, false, false);
+	}
+}
@@ -1,19 +0,0 @@
-package it.uniroma1.textadv.eccezioni;
-
-/**
- * Eccezione che viene sollevata se si prova a spegnere un'entit/link gi spenta.
- * 
- * @author Gabriele
- *
- */
-public class OggettoGiaSpentoException extends Exception {
-
-	/**
-	 * Il costruttore dell'eccezione
-	 * @param messaggio il messaggio dell'errore
-	 */
-	public OggettoGiaSpentoException(String messaggio)
-	{
-		super(messaggio);
-	}
-}
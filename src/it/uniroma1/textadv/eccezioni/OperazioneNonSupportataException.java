@@ -1,20 +0,0 @@
-package it.uniroma1.textadv.eccezioni;
-
-/**
- * Eccezione che viene sollevata se un operazione non  supportata nel gioco
- * 
- * @author Gabriele
- *
- */
-public class OperazioneNonSupportataException extends Exception 
-{
-
-	/**
-	 * Il costruttore dell'eccezione
-	 * @param operazione il nome dell'operazione non supportata
-	 */
-	public OperazioneNonSupportataException(String operazione)
-	{
-		super(operazione);
-	}
-}
@@ -1,170 +1,190 @@
-package it.uniroma1.textadv.link;
-
-import it.uniroma1.textadv.Entita;
-import it.uniroma1.textadv.eccezioni.ImpossibileAprireException;
-import it.uniroma1.textadv.eccezioni.OggettoGiaApertoException;
-import it.uniroma1.textadv.eccezioni.OggettoGiaChiusoException;
-import it.uniroma1.textadv.utilita.Apribile;
-import it.uniroma1.textadv.utilita.ApribileConStrumento;
-import it.uniroma1.textadv.utilita.StatoApertura;
-
-/**
- * Classe che modella la Porta, apribile con o senza uno strumento
- * 
- * @author Gabriele
- *
- */
-public class Porta extends Link implements ApribileConStrumento
-{
-
-	/**
-	 * Lo stato di apertura della porta
-	 */
-	private StatoApertura statoApertura;
-	
-	
-	/**
-	 * Flag utile a capire se la porta  stata aperta usando lo strumento corretto
-	 * Se true:  stata aperta usando lo strumento
-	 */
-	private boolean apertaDalGiocatoreConChiave;
-	
-	
-	/**
-	 * Flag utile a capire se la porta  apribile senza usare uno strumento
-	 * Se true: non  associata a nessuna chiave, pertanto  apribile senza strumento
-	 * Se false:  stato impostato che pu essere aperta solo con la chiave
-	 * 
-	 * Di default tutte le porte sono apribili senza strumento.
-	 * NOTA: sar il costruttore del mondo a cambiare questo parametro nel momento in cui una porta
-	 * 		 deve essere aperta solo con uno strumento
-	 */
-	private boolean apribileSenzaStrumento = true;
-	
-	
-	
-	/**
-	 * Costruttore della Porta, inizialmente chiusa
-	 * 
- 	 * @param nomeCollegamento il nome della porta
-	 * @param stanza1 il nome della stanza1
-	 * @param stanza2 il nome della stanza2
-	 */
-	public Porta(String nomeCollegamento, String stanza1, String stanza2)
-	{
-		super(nomeCollegamento, stanza1, stanza2);
-		statoApertura = StatoApertura.CHIUSO;
-	}
-
-	
-	/**
-	 * Metodo che ritorna lo stato di apertura della Porta
-	 * @return lo stato di apertura della Porta
-	 */
-	public StatoApertura getStatoApertura()
-	{
-		return statoApertura;
-	}
-	
-	
-	/**
-	 * Metodo che ritorna true se la Porta  aperta, false altrimenti
-	 * @return true se la Porta  aperta, false altrimenti
-	 */
-	@Override
-	public boolean isOpen() 
-	{
-		return statoApertura == StatoApertura.APERTO;
-	}
-	
-	
-	/**
-	 * Metodo per impostare che la porta pu essere aperta solo con l'opportuno strumento
-	 */
-	@Override
-	public void setAperturaConStrumento()
-	{
-		// Imposto il flag a false per indicare che nel Mondo esiste uno strumento associato alla porta
-		apribileSenzaStrumento = false;
-	}
-	
-	
-	@Override
-	public String toString()
-	{
-		return super.toString() + " (" + getStatoApertura() + ")";
-	}
-
-
-	/**
-	 * Metodo per aprire la Porta senza usare strumenti
-	 * 
-	 * @throws OggettoGiaApertoException sollevata se la Porta  gi aperta
-	 * @throws ImpossibileAprireException sollevata se  impossibile aprire la Porta
-	 */
-	@Override
-	public void apri() throws OggettoGiaApertoException, ImpossibileAprireException 
-	{
-		// Se la porta  chiusa
-		if ( !isOpen() )
-		{
-			// Se  stata aperta dal giocatore usando una chiave
-			// oppure  apribile senza strumento
-			if ( apertaDalGiocatoreConChiave || apribileSenzaStrumento)
-			{
-				statoApertura = StatoApertura.APERTO;
-				System.out.println("La " + getName() + "  stata aperta!");
-			}
-			// Altrimenti per aprirla serve uno strumento
-			else
-				throw new ImpossibileAprireException("Per aprirla occorre uno strumento!");
-		}
-		// Altrimenti  gi aperta
-		else
-			throw new OggettoGiaApertoException("La " + getName() + "  gi stata aperta!");
-		
-	}
-
-
-	/**
-	 * Metodo utile per aprire la Porta utilizzando uno strumento
-	 * @param oggDaUsarePerAprire lo strumento che si vuole provare ad usare
-	 * 
-	 * @throws ImpossibileAprireException sollevata se  impossibile aprire la porta con lo strumento indicato
-	 */
-	@Override
-	public void apri(Entita oggDaUsarePerAprire) throws ImpossibileAprireException
-	{
-		// Se l'oggetto che si vuole usare per aprire la porta, ha nella sua lista dei target
-		// la porta stessa, allora imposto che la porta pu essere aperta e la apro
-		if (oggDaUsarePerAprire != null && oggDaUsarePerAprire.getElencoTarget().containsKey(getName()))
-		{
-			apertaDalGiocatoreConChiave = true;
-			
-			try
-			{
-				// Provo ad aprirla
-				apri();
-			}
-			catch (OggettoGiaApertoException | ImpossibileAprireException e) 
-			{
-				System.out.println(e.getMessage());
-			}
-		}
-		// Altrimenti non  lo strumento corretto per aprire la Porta
-		else
-			throw new ImpossibileAprireException("Impossibile aprire " + getName() + " con: " + oggDaUsarePerAprire);
-		
-	}
-
-	
-	/**
-	 * La porta non ha un contenuto da mostrare
-	 */
-	@Override
-	public String showContenuto() throws OggettoGiaChiusoException 
-	{
-		return Apribile.NO_CONTENUTO;
-	}
-	
-}
+package it.uniroma1.textadv.link;
+
+import it.uniroma1.textadv.Entita;
+import it.uniroma1.textadv.EsitoComando;
+import it.uniroma1.textadv.Messaggio;
+import it.uniroma1.textadv.Mondo;
+import it.uniroma1.textadv.eccezioni.OggettoGiaChiusoException;
+import it.uniroma1.textadv.utilita.Apribile;
+import it.uniroma1.textadv.utilita.ApribileConStrumento;
+import it.uniroma1.textadv.utilita.Ripristinabile;
+import it.uniroma1.textadv.utilita.StatoApertura;
+
+/**
+ * Classe che modella la Porta, apribile con o senza uno strumento
+ * 
+ * @author Gabriele
+ *
+ */
+public class Porta extends Link implements ApribileConStrumento, Ripristinabile
+{
+
+	/**
+	 * Lo stato di apertura della porta
+	 */
+	private StatoApertura statoApertura;
+	
+	
+	/**
+	 * Flag utile a capire se la porta è stata aperta usando lo strumento corretto
+	 * Se true: è stata aperta usando lo strumento
+	 */
+	private boolean apertaDalGiocatoreConChiave;
+	
+	
+	/**
+	 * Flag utile a capire se la porta è apribile senza usare uno strumento
+	 * Se true: non è associata a nessuna chiave, pertanto è apribile senza strumento
+	 * Se false: è stato impostato che può essere aperta solo con la chiave
+	 * 
+	 * Di default tutte le porte sono apribili senza strumento.
+	 * NOTA: sarà il costruttore del mondo a cambiare questo parametro nel momento in cui una porta
+	 * 		 deve essere aperta solo con uno strumento
+	 */
+	private boolean apribileSenzaStrumento = true;
+	
+	
+	
+	/**
+	 * Costruttore della Porta, inizialmente chiusa
+	 * 
+ 	 * @param nomeCollegamento il nome della porta
+	 * @param stanza1 il nome della stanza1
+	 * @param stanza2 il nome della stanza2
+	 */
+	public Porta(String nomeCollegamento, String stanza1, String stanza2)
+	{
+		super(nomeCollegamento, stanza1, stanza2);
+		statoApertura = StatoApertura.CHIUSO;
+	}
+	
+	
+	/**
+	 * Metodo che ritorna lo stato di apertura della Porta
+	 * @return lo stato di apertura della Porta
+	 */
+	public StatoApertura getStatoApertura()
+	{
+		return statoApertura;
+	}
+	
+	
+	/**
+	 * Metodo che ritorna true se la Porta è aperta, false altrimenti
+	 * @return true se la Porta è aperta, false altrimenti
+	 */
+	@Override
+	public boolean isOpen() 
+	{
+		return statoApertura == StatoApertura.APERTO;
+	}
+	
+	
+	/**
+	 * Metodo per impostare che la porta può essere aperta solo con l'opportuno strumento
+	 */
+	@Override
+	public void setAperturaConStrumento()
+	{
+		// Imposto il flag a false per indicare che nel Mondo esiste uno strumento associato alla porta
+		apribileSenzaStrumento = false;
+	}
+	
+	
+	@Override
+	public String toString()
+	{
+		return super.toString() + " (" + getStatoApertura() + ")";
+	}
+
+
+	/**
+	 * Metodo per aprire la Porta senza usare strumenti
+	 * @return l'esito dell'apertura, che è impossibile se la Porta è già aperta
+	 * 		oppure se può essere aperta solo con uno strumento
+	 */
+	@Override
+	public EsitoComando apri()
+	{
+		// Se la porta è chiusa
+		if ( !isOpen() )
+		{
+			// Se è stata aperta dal giocatore usando una chiave
+			// oppure è apribile senza strumento
+			if ( apertaDalGiocatoreConChiave || apribileSenzaStrumento)
+			{
+				statoApertura = StatoApertura.APERTO;
+				Mondo.getUscita().println("La " + getName() + " è stata aperta!");
+				return EsitoComando.OK;
+			}
+			// Altrimenti per aprirla serve uno strumento
+			else
+				return EsitoComando.impossibile(Messaggio.TESTO, "Per aprirla occorre uno strumento!");
+		}
+		// Altrimenti è già aperta
+		else
+			return EsitoComando.impossibile(Messaggio.TESTO, "La " + getName() + " è già stata aperta!");
+		
+	}
+
+
+	/**
+	 * Metodo utile per aprire la Porta utilizzando uno strumento
+	 * @param oggDaUsarePerAprire lo strumento che si vuole provare ad usare
+	 * @return l'esito dell'operazione, che è impossibile se la porta non può essere aperta con lo strumento indicato
+	 */
+	@Override
+	public EsitoComando apri(Entita oggDaUsarePerAprire)
+	{
+		// Se l'oggetto che si vuole usare per aprire la porta, ha nella sua lista dei target
+		// la porta stessa, allora imposto che la porta può essere aperta e la apro
+		if (oggDaUsarePerAprire != null && oggDaUsarePerAprire.getElencoTarget().containsKey(getName()))
+		{
+			apertaDalGiocatoreConChiave = true;
+			
+			// Provo ad aprirla
+			EsitoComando esito = apri();
+			
+			if (!esito.isOk())
+				Mondo.getUscita().println(esito.getMessaggio());
+			
+			return EsitoComando.OK;
+		}
+		// Altrimenti non è lo strumento corretto per aprire la Porta
+		else
+			return EsitoComando.impossibile(Messaggio.TESTO, "Impossibile aprire " + getName() + " con: " + oggDaUsarePerAprire);
+		
+	}
+
+	
+	/**
+	 * La porta non ha un contenuto da mostrare
+	 */
+	@Override
+	public String showContenuto() throws OggettoGiaChiusoException 
+	{
+		return Apribile.NO_CONTENUTO;
+	}
+	
+	/**
+	 * Metodo che ritorna lo stato della porta da salvare in un'istantanea
+	 * (bit 0: aperta, bit 1: aperta dal giocatore con la chiave)
+	 */
+	@Override
+	public int getStatoSalvabile()
+	{
+		return (isOpen() ? 1 : 0) | (apertaDalGiocatoreConChiave ? 2 : 0);
+	}
+	
+	
+	/**
+	 * Metodo per ripristinare lo stato della porta salvato in un'istantanea
+	 */
+	@Override
+	public void ripristinaStato(int stato)
+	{
+		statoApertura = (stato & 1) != 0 ? StatoApertura.APERTO : StatoApertura.CHIUSO;
+		apertaDalGiocatoreConChiave = (stato & 2) != 0;
+	}
+	
+}
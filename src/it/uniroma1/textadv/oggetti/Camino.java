@@ -1,135 +1,167 @@
-package it.uniroma1.textadv.oggetti;
-
-
-import java.util.Map.Entry;
-
-import it.uniroma1.textadv.Entita;
-import it.uniroma1.textadv.Mondo;
-import it.uniroma1.textadv.eccezioni.ImpossibileUsareSuExeption;
-import it.uniroma1.textadv.eccezioni.OggettoGiaAccesoException;
-import it.uniroma1.textadv.eccezioni.OggettoGiaSpentoException;
-import it.uniroma1.textadv.utilita.AccendibileSpegnibile;
-import it.uniroma1.textadv.utilita.RiempibileSvuotabile;
-import it.uniroma1.textadv.utilita.StatoAccensione;
-import it.uniroma1.textadv.utilita.StatoRiempimento;
-import it.uniroma1.textadv.utilita.Target;
-
-/**
- * Classe che modella un camino
- * 
- * @author Gabriele
- *
- */
-public class Camino extends Oggetto implements AccendibileSpegnibile
-{
-	/**
-	 * Lo stato di accensione del camino
-	 */
-	private StatoAccensione statoAccensione;
-	
-	
-	/**
-	 * Costruttore di un camino inizialmente acceso
-	 * @param nome il nome del camino
-	 */
-	public Camino(String nome)
-	{
-		super(nome);
-		statoAccensione = StatoAccensione.ACCESO;
-	}
-	
-	/**
-	 * Ritorna lo stato di accensione del camino
-	 * @return stato di accensione del camino
-	 */
-	@Override
-	public StatoAccensione getStatoAccensione()
-	{
-		return statoAccensione;
-	}
-	
-	/**
-	 * Metodo che ritorna true se il camino  acceso, false altrimenti
-	 * @return true se il camino  acceso, false altrimenti
-	 */
-	@Override
-	public boolean isAcceso() 
-	{
-		return getStatoAccensione() == StatoAccensione.ACCESO;
-	}
-	
-	
-	/**
-	 * Metodo che ritorna una stringa che indica se il camino  acceso o spento
-	 * @return una stringa che indica se il camino  acceso o spento
-	 */
-	@Override
-	public String toString()
-	{
-		return getName() + " (" + getStatoAccensione() + ")";
-	}
-
-	/**
-	 * Se  spento, accende il camino
-	 * 
-	 * @throws OggettoGiaAccesoException sollevata se il camino  gi acceso
-	 */
-	@Override
-	public void accendi() throws OggettoGiaAccesoException
-	{
-		// Se il camino  spento
-		if ( !isAcceso() )
-		{
-			// Lo imposto ad acceso
-			statoAccensione = StatoAccensione.ACCESO;
-			System.out.println("Il " + getName() + "  stato acceso!");
-		}
-		// Se invece  gi acceso
-		else
-			throw new OggettoGiaAccesoException(getName() + " gi acceso");
-	}
-	
-	
-	/**
-	 * Se acceso, spegni il camino usando uno strumento
-	 * @param nomeOggDaUsare il nome dell'oggetto che si vuole usare per spegnere il camino
-	 * 
-	 * @throws OggettoGiaSpentoException sollevata se il camino  gi spento
-	 * @throws ImpossibileUsareSuExeption sollevata se l'oggetto indicato non pu essere usato per spegnere il camino
-	 */
-	@Override
-	public void spegni(String nomeOggDaUsare) throws OggettoGiaSpentoException, ImpossibileUsareSuExeption
-	{
-		// Ricavo il riferimento all'oggetto da usare per spegnere il camino
-		Entita oggDaUsare = Mondo.getOggettoByName(nomeOggDaUsare);
-		
-		// Se il camino  acceso e se l'oggetto da usare esiste ed  un RiempibileSvuotabile pieno
-		if ( isAcceso() && oggDaUsare != null && 
-			oggDaUsare instanceof RiempibileSvuotabile && !((RiempibileSvuotabile) oggDaUsare).isEmpty() )
-		{
-			// Modifico lo stato del camino
-			statoAccensione = StatoAccensione.SPENTO;
-			
-			// Modifico lo stato dell'oggetto usato per spegnere il camino
-			((RiempibileSvuotabile) oggDaUsare).setStatoRiempimento(StatoRiempimento.VUOTO);
-			
-			System.out.println("Il " + getName() + "  stato spento!");
-			
-			
-			// Tutti gli oggetti target protetti dal camino diventano visibili nella stanza
-			for (Entry<String, Target> entry : this.getElencoTarget().entrySet())
-				stanzaCorrente.addEntitaNellaStanza(entry.getKey(), (Entita) entry.getValue());
-			
-		}
-		// Se il camino  spento
-		else if ( !isAcceso() )
-			throw new OggettoGiaSpentoException(getName() + " gi spento!");
-		
-		// Altrimenti, non  stato possibile spegnere il camino con l'oggetto indicato
-		else
-			throw new ImpossibileUsareSuExeption("Operazione non riuscita!\nImpossibile usare: " + nomeOggDaUsare + " per spegnere: " + getName());
-	}
-	
-	
-	
+package it.uniroma1.textadv.oggetti;
+
+
+import java.util.Map.Entry;
+
+import it.uniroma1.textadv.Entita;
+import it.uniroma1.textadv.EsitoComando;
+import it.uniroma1.textadv.Messaggio;
+import it.uniroma1.textadv.Mondo;
+import it.uniroma1.textadv.utilita.AccendibileSpegnibile;
+import it.uniroma1.textadv.utilita.Contenitore;
+import it.uniroma1.textadv.utilita.RiempibileSvuotabile;
+import it.uniroma1.textadv.utilita.Ripristinabile;
+import it.uniroma1.textadv.utilita.StatoAccensione;
+import it.uniroma1.textadv.utilita.StatoRiempimento;
+import it.uniroma1.textadv.utilita.Target;
+
+/**
+ * Classe che modella un camino
+ * 
+ * @author Gabriele
+ *
+ */
+public class Camino extends Oggetto implements AccendibileSpegnibile, Ripristinabile, Contenitore
+{
+	/**
+	 * Lo stato di accensione del camino
+	 */
+	private StatoAccensione statoAccensione;
+	
+	
+	/**
+	 * Costruttore di un camino inizialmente acceso
+	 * @param nome il nome del camino
+	 */
+	public Camino(String nome)
+	{
+		super(nome);
+		statoAccensione = StatoAccensione.ACCESO;
+	}
+	
+	/**
+	 * Ritorna lo stato di accensione del camino
+	 * @return stato di accensione del camino
+	 */
+	@Override
+	public StatoAccensione getStatoAccensione()
+	{
+		return statoAccensione;
+	}
+	
+	/**
+	 * Metodo che ritorna true se il camino è acceso, false altrimenti
+	 * @return true se il camino è acceso, false altrimenti
+	 */
+	@Override
+	public boolean isAcceso() 
+	{
+		return getStatoAccensione() == StatoAccensione.ACCESO;
+	}
+	
+	
+	/**
+	 * Metodo che ritorna una stringa che indica se il camino è acceso o spento
+	 * @return una stringa che indica se il camino è acceso o spento
+	 */
+	@Override
+	public String toString()
+	{
+		return getName() + " (" + getStatoAccensione() + ")";
+	}
+
+	/**
+	 * Se è spento, accende il camino
+	 * @return l'esito dell'accensione, che è impossibile se il camino è già acceso
+	 */
+	@Override
+	public EsitoComando accendi()
+	{
+		// Se il camino è spento
+		if ( !isAcceso() )
+		{
+			// Lo imposto ad acceso
+			statoAccensione = StatoAccensione.ACCESO;
+			Mondo.getUscita().println("Il " + getName() + " è stato acceso!");
+			return EsitoComando.OK;
+		}
+		// Se invece è già acceso
+		else
+			return EsitoComando.impossibile(Messaggio.TESTO, getName() + " già acceso");
+	}
+	
+	
+	/**
+	 * Se acceso, spegni il camino usando uno strumento
+	 * @param nomeOggDaUsare il nome dell'oggetto che si vuole usare per spegnere il camino
+	 * @return l'esito dello spegnimento, che è impossibile se il camino è già spento
+	 * 		oppure se l'oggetto indicato non può essere usato per spegnerlo
+	 */
+	@Override
+	public EsitoComando spegni(String nomeOggDaUsare)
+	{
+		// Ricavo il riferimento all'oggetto da usare per spegnere il camino
+		Entita oggDaUsare = Mondo.getOggettoByName(nomeOggDaUsare);
+		
+		// Se il camino è acceso e se l'oggetto da usare esiste ed è un RiempibileSvuotabile pieno
+		if ( isAcceso() && oggDaUsare != null && 
+			oggDaUsare instanceof RiempibileSvuotabile && !((RiempibileSvuotabile) oggDaUsare).isEmpty() )
+		{
+			// Modifico lo stato del camino
+			statoAccensione = StatoAccensione.SPENTO;
+			
+			// Modifico lo stato dell'oggetto usato per spegnere il camino
+			((RiempibileSvuotabile) oggDaUsare).setStatoRiempimento(StatoRiempimento.VUOTO);
+			
+			Mondo.getUscita().println("Il " + getName() + " è stato spento!");
+			
+			
+			// Tutti gli oggetti target protetti dal camino diventano visibili nella stanza
+			for (Entry<String, Target> entry : this.getElencoTarget().entrySet())
+			{
+				stanzaCorrente.addEntitaNellaStanza(entry.getKey(), (Entita) entry.getValue());
+				rilascia(entry.getValue());
+			}
+			
+			return EsitoComando.OK;
+		}
+		// Se il camino è spento
+		else if ( !isAcceso() )
+			return EsitoComando.impossibile(Messaggio.TESTO, getName() + " già spento!");
+		
+		// Altrimenti, non è stato possibile spegnere il camino con l'oggetto indicato
+		else
+			return EsitoComando.impossibile(Messaggio.TESTO, "Operazione non riuscita!\nImpossibile usare: " + nomeOggDaUsare + " per spegnere: " + getName());
+	}
+	
+	
+	/**
+	 * Metodo che ritorna lo stato del camino da salvare in un'istantanea
+	 * (1 se è acceso, 0 se è spento)
+	 */
+	@Override
+	public int getStatoSalvabile()
+	{
+		return isAcceso() ? 1 : 0;
+	}
+	
+	
+	/**
+	 * Metodo per ripristinare lo stato del camino salvato in un'istantanea
+	 */
+	@Override
+	public void ripristinaStato(int stato)
+	{
+		statoAccensione = stato != 0 ? StatoAccensione.ACCESO : StatoAccensione.SPENTO;
+		
+		// Se è acceso protegge di nuovo i suoi oggetti, altrimenti li ha già resi visibili nella stanza
+		for (Target ogg : getElencoTarget().values())
+		{
+			if (isAcceso())
+				contieni(ogg);
+			else
+				rilascia(ogg);
+		}
+	}
+	
 }
\ No newline at end of file
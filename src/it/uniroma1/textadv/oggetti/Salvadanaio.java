@@ -1,117 +1,167 @@
-package it.uniroma1.textadv.oggetti;
-
-import it.uniroma1.textadv.eccezioni.ImpossibilePrendereException;
-import it.uniroma1.textadv.eccezioni.OggettoGiaRottoException;
-import it.uniroma1.textadv.utilita.Fragile;
-import it.uniroma1.textadv.utilita.StatoRottura;
-
-/**
- * Classe che modella un Salvadanaio
- * 
- * @author Gabriele
- *
- */
-public class Salvadanaio extends Oggetto implements Fragile
-{
-	/**
-	 * Stato che indica se il salvadanaio  rotto oppure  intero
-	 */
-	private StatoRottura statoRottura;
-	
-	/**
-	 * I soldi contenuti nel salvadanaio
-	 */
-	private Soldi soldiContenuti;
-	
-	
-	/**
-	 * Costruttore del salvadanaio.
-	 * Inizialmente intero e contenente dei soldi
-	 * @param nome il nome del salvadanaio
-	 */
-	public Salvadanaio(String nome)
-	{
-		super(nome);
-		statoRottura = StatoRottura.INTERO;
-		soldiContenuti = new Soldi();	
-	}
-	
-	
-	/**
-	 * Metodo che ritorna se il salvadanaio  rotto o meno
-	 * @return true se il salvadanaio  rotto, false atrimenti
-	 */
-	public boolean isBroken()
-	{
-		return statoRottura == StatoRottura.ROTTO;
-	}
-	
-	
-	/**
-	 * Metodo per vedere lo stato di rottura del salvadanaio
-	 * @return lo stato di rottura del salvadanaio
-	 */
-	public StatoRottura getStatoRottura()
-	{
-		return statoRottura;
-	}
-	
-
-	@Override
-	public String toString()
-	{
-		return getName() + " (" + getStatoRottura() + ")";
-	}
-
-	
-	/**
-	 * Metodo che disperde i soldi nel salvadanaio nella stanza
-	 * 
-	 * @throws ImpossibilePrendereException sollevata se il salvadanaio  intero oppure se non ci sono soldi.
-	 * 		   In questo caso  impossibile prendere i soldi
-	 */
-	private void disperdiSoldi() throws ImpossibilePrendereException
-	{
-		// Se il salvadanaio  rotto oppure contiene dei soldi
-		if ( isBroken() || soldiContenuti != null )
-		{
-			Soldi soldi = soldiContenuti;
-			soldiContenuti = null;
-			
-			// Quando rompo il salvadanaio, i soldi diventano un entit della stanza
-			// In questo modo possono essere presi
-			stanzaCorrente.addEntitaNellaStanza(soldi.getName(), soldi);
-			
-		}
-		else
-			throw new ImpossibilePrendereException("Impossibile prendere: soldi");		
-	}
-	
-
-	@Override
-	public void rompi() throws OggettoGiaRottoException 
-	{
-		// Se il salvadanaio  intero
-		if ( !isBroken() )
-		{
-			// Lo rompo
-			statoRottura = StatoRottura.ROTTO;
-			try 
-			{
-				// Disperdo i soldi contenuti nella stanza e comunico al giocatore che  stato rotto
-				disperdiSoldi();
-				System.out.println("Il " + getName() + "  stato rotto");
-				
-			}
-			catch (ImpossibilePrendereException e)
-			{
-				System.out.println(e.getMessage());
-			}
-		}
-		// Altrimenti, il salvadanaio  gi stato rotto
-		else 
-			throw new OggettoGiaRottoException("Il " + getName() + "  gi rotto!");
-		
-	}
-	
-}
+package it.uniroma1.textadv.oggetti;
+
+import java.util.Collections;
+import java.util.List;
+
+import it.uniroma1.textadv.EsitoComando;
+import it.uniroma1.textadv.Messaggio;
+import it.uniroma1.textadv.Mondo;
+import it.uniroma1.textadv.utilita.Contenitore;
+import it.uniroma1.textadv.utilita.Fragile;
+import it.uniroma1.textadv.utilita.Ripristinabile;
+import it.uniroma1.textadv.utilita.StatoRottura;
+import it.uniroma1.textadv.utilita.Target;
+
+/**
+ * Classe che modella un Salvadanaio
+ * 
+ * @author Gabriele
+ *
+ */
+public class Salvadanaio extends Oggetto implements Fragile, Ripristinabile, Contenitore
+{
+	/**
+	 * Stato che indica se il salvadanaio è rotto oppure è intero
+	 */
+	private StatoRottura statoRottura;
+	
+	/**
+	 * I soldi contenuti nel salvadanaio
+	 */
+	private Soldi soldiContenuti;
+	
+	/**
+	 * I soldi del salvadanaio, anche dopo essere stati dispersi nella stanza
+	 * (per poterli rimettere nel salvadanaio quando viene ripristinato uno stato precedente)
+	 */
+	private final Soldi soldi;
+	
+	
+	/**
+	 * Costruttore del salvadanaio.
+	 * Inizialmente intero e contenente dei soldi
+	 * @param nome il nome del salvadanaio
+	 */
+	public Salvadanaio(String nome)
+	{
+		super(nome);
+		statoRottura = StatoRottura.INTERO;
+		soldi = new Soldi();
+		soldiContenuti = soldi;
+		contieni(soldi);
+	}
+	
+	
+	/**
+	 * Metodo che ritorna se il salvadanaio è rotto o meno
+	 * @return true se il salvadanaio è rotto, false atrimenti
+	 */
+	public boolean isBroken()
+	{
+		return statoRottura == StatoRottura.ROTTO;
+	}
+	
+	
+	/**
+	 * Metodo per vedere lo stato di rottura del salvadanaio
+	 * @return lo stato di rottura del salvadanaio
+	 */
+	public StatoRottura getStatoRottura()
+	{
+		return statoRottura;
+	}
+	
+
+	@Override
+	public String toString()
+	{
+		return getName() + " (" + getStatoRottura() + ")";
+	}
+
+	
+	/**
+	 * Metodo che disperde i soldi nel salvadanaio nella stanza
+	 * @return true se i soldi sono stati dispersi, false se il salvadanaio è intero oppure se non ci sono soldi
+	 * 		(in questo caso è impossibile prendere i soldi)
+	 */
+	private boolean disperdiSoldi()
+	{
+		// Se il salvadanaio è rotto oppure contiene dei soldi
+		if ( isBroken() || soldiContenuti != null )
+		{
+			Soldi soldi = soldiContenuti;
+			soldiContenuti = null;
+			
+			// Quando rompo il salvadanaio, i soldi diventano un entità della stanza
+			// In questo modo possono essere presi
+			stanzaCorrente.addEntitaNellaStanza(soldi.getName(), soldi);
+			rilascia(soldi);
+			
+			return true;
+		}
+		
+		return false;
+	}
+	
+
+	@Override
+	public EsitoComando rompi()
+	{
+		// Se il salvadanaio è intero
+		if ( !isBroken() )
+		{
+			// Lo rompo
+			statoRottura = StatoRottura.ROTTO;
+			
+			// Disperdo i soldi contenuti nella stanza e comunico al giocatore che è stato rotto
+			if (disperdiSoldi())
+				Mondo.getUscita().println("Il " + getName() + " è stato rotto");
+			else
+				Mondo.getUscita().println("Impossibile prendere: soldi");
+			
+			return EsitoComando.OK;
+		}
+		// Altrimenti, il salvadanaio è già stato rotto
+		else 
+			return EsitoComando.impossibile(Messaggio.TESTO, "Il " + getName() + " è già rotto!");
+		
+	}
+	
+	
+	/**
+	 * Metodo che ritorna lo stato del salvadanaio da salvare in un'istantanea
+	 * (bit 0: rotto, bit 1: i soldi sono stati dispersi nella stanza)
+	 */
+	@Override
+	public int getStatoSalvabile()
+	{
+		return (isBroken() ? 1 : 0) | (soldiContenuti == null ? 2 : 0);
+	}
+	
+	
+	/**
+	 * Metodo per ripristinare lo stato del salvadanaio salvato in un'istantanea
+	 */
+	@Override
+	public void ripristinaStato(int stato)
+	{
+		statoRottura = (stato & 1) != 0 ? StatoRottura.ROTTO : StatoRottura.INTERO;
+		soldiContenuti = (stato & 2) != 0 ? null : soldi;
+		
+		if (soldiContenuti == null)
+			rilascia(soldi);
+		else
+			contieni(soldi);
+	}
+	
+	
+	/**
+	 * Metodo che ritorna i soldi del salvadanaio, che compaiono nella stanza quando viene rotto
+	 */
+	@Override
+	public List<Target> getEntitaCreate()
+	{
+		return Collections.singletonList(soldi);
+	}
+	
+}
@@ -1,21 +1,21 @@
-package it.uniroma1.textadv.oggetti;
-
-/**
- * Classe che modella una vite
- * 
- * @author Gabriele
- *
- */
-public class Vite extends Oggetto
-{
-	
-	/**
-	 * Costruttore della vite
-	 * @param nome il nome della vite
-	 */
-	public Vite(String nome) 
-	{
-		super(nome);
-	}
-	
-}
+package it.uniroma1.textadv.oggetti;
+
+/**
+ * Classe che modella una vite
+ * 
+ * @author Gabriele
+ *
+ */
+public class Vite extends Oggetto
+{
+	
+	/**
+	 * Costruttore della vite
+	 * @param nome il nome della vite
+	 */
+	public Vite(String nome) 
+	{
+		super(nome);
+	}
+	
+}
@@ -0,0 +1,37 @@
+package it.uniroma1.textadv.output;
+
+/**
+ * Interfaccia che modella la destinazione di tutto ciò che il gioco mostra al giocatore.
+ * 
+ * Ogni mondo (o sessione di gioco) ha la propria uscita: in questo modo il gioco non scrive
+ * direttamente su System.out, e l'output può essere bufferizzato, inviato altrove oppure scartato.
+ * 
+ * @author Gabriele
+ *
+ */
+public interface Uscita
+{
+	
+	/**
+	 * Metodo che mostra una linea di testo
+	 * @param linea la linea da mostrare
+	 */
+	void println(String linea);
+	
+	
+	/**
+	 * Metodo che mostra una linea vuota
+	 */
+	default void println()
+	{
+		println("");
+	}
+	
+	
+	/**
+	 * Metodo che segnala la fine di un turno di gioco: tutto ciò che è stato mostrato
+	 * durante il turno deve arrivare a destinazione
+	 */
+	void fineTurno();
+	
+}
@@ -0,0 +1,89 @@
+package it.uniroma1.textadv.output;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Uscita che accumula in memoria tutte le linee di un turno e le scrive a destinazione
+ * in una sola volta, alla fine del turno.
+ * 
+ * In questo modo per ogni comando viene fatta una sola scrittura (ad esempio sulla console),
+ * invece di una per ogni linea mostrata.
+ * 
+ * NOTA: non è thread-safe, ogni sessione di gioco deve avere la propria uscita.
+ * 
+ * @author Gabriele
+ *
+ */
+public class UscitaBufferizzata implements Uscita
+{
+	/**
+	 * Il separatore di linea usato (lo stesso di System.out.println())
+	 */
+	private final static String FINE_LINEA = System.lineSeparator();
+	
+	
+	/**
+	 * La destinazione su cui scrivere alla fine di ogni turno
+	 */
+	private Appendable destinazione;
+	
+	/**
+	 * Il testo mostrato durante il turno corrente
+	 */
+	private StringBuilder turno = new StringBuilder();
+	
+	
+	/**
+	 * Costruttore dell'uscita che scrive sulla console
+	 */
+	public UscitaBufferizzata()
+	{
+		this(System.out);
+	}
+	
+	
+	/**
+	 * Costruttore dell'uscita
+	 * @param destinazione la destinazione su cui scrivere alla fine di ogni turno
+	 */
+	public UscitaBufferizzata(Appendable destinazione)
+	{
+		this.destinazione = destinazione;
+	}
+	
+	
+	@Override
+	public void println(String linea)
+	{
+		turno.append(linea).append(FINE_LINEA);
+	}
+	
+	
+	@Override
+	public void fineTurno()
+	{
+		// Se nel turno non è stato mostrato niente, non scrivo
+		if (turno.length() == 0)
+			return;
+		
+		try 
+		{
+			destinazione.append(turno);
+			
+			if (destinazione instanceof Flushable)
+				((Flushable) destinazione).flush();
+		}
+		catch (IOException e) 
+		{
+			throw new UncheckedIOException("Impossibile scrivere l'output del gioco", e);
+		}
+		finally
+		{
+			// Il buffer viene riusato nel turno successivo
+			turno.setLength(0);
+		}
+	}
+	
+}
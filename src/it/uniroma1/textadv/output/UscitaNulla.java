@@ -0,0 +1,58 @@
+package it.uniroma1.textadv.output;
+
+/**
+ * Uscita che scarta tutto ciò che le viene mostrato.
+ * 
+ * Usata nei benchmark e nei replay, dove l'output del gioco non interessa.
+ * Non avendo stato è realizzata implementando il Singleton.
+ * 
+ * @author Gabriele
+ *
+ */
+public class UscitaNulla implements Uscita
+{
+	/**
+	 * L'unica istanza dell'uscita
+	 */
+	private static UscitaNulla istanza;
+	
+	
+	/**
+	 * Costruttore dell'uscita
+	 */
+	private UscitaNulla()
+	{
+	}
+	
+	
+	/**
+	 * Metodo per ottenere l'unica istanza dell'uscita
+	 * @return l'unica istanza dell'uscita
+	 */
+	public static UscitaNulla getInstance()
+	{
+		if (istanza == null)
+			istanza = new UscitaNulla();
+		
+		return istanza;
+	}
+	
+	
+	@Override
+	public void println(String linea)
+	{
+	}
+	
+	
+	@Override
+	public void println()
+	{
+	}
+	
+	
+	@Override
+	public void fineTurno()
+	{
+	}
+	
+}
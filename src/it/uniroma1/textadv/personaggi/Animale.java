@@ -1,24 +1,24 @@
-package it.uniroma1.textadv.personaggi;
-
-/**
- * Interfaccia che definisce i comportamenti degli animali
- * 
- * @author Gabriele
- *
- */
-public interface Animale 
-{
-
-	/**
-	 * Per mostrare il verso dell'animale
-	 */
-	void emettiVerso();
-	
-	
-	/**
-	 * Metodo che fa ricevere una carezza all'animale
-	 */
-	void riceviCarezza();
-	
-	
-}
+package it.uniroma1.textadv.personaggi;
+
+/**
+ * Interfaccia che definisce i comportamenti degli animali
+ * 
+ * @author Gabriele
+ *
+ */
+public interface Animale 
+{
+
+	/**
+	 * Per mostrare il verso dell'animale
+	 */
+	void emettiVerso();
+	
+	
+	/**
+	 * Metodo che fa ricevere una carezza all'animale
+	 */
+	void riceviCarezza();
+	
+	
+}
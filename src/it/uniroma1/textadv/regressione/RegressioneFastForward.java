@@ -0,0 +1,494 @@
+package it.uniroma1.textadv.regressione;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import it.uniroma1.textadv.ContestoMondo;
+import it.uniroma1.textadv.Gioco;
+import it.uniroma1.textadv.ModelloMondo;
+import it.uniroma1.textadv.Mondo;
+import it.uniroma1.textadv.output.UscitaBufferizzata;
+
+
+/**
+ * Classe che esegue in parallelo un corpus di script .ff, ognuno sul proprio mondo, per verificare
+ * che una modifica al mondo (o al gioco) non cambi il risultato degli script.
+ *
+ * Ogni coppia (mondo, script) viene giocata tramite {@link Gioco#play(Mondo, Path)} in un proprio
+ * {@link ContestoMondo}, creato dal {@link ModelloMondo} del mondo (caricato una sola volta e condiviso
+ * da tutti gli script dello stesso mondo), su un {@link ForkJoinPool} con il parallelismo dato.
+ *
+ * Per ogni script vengono riportati l'esito (WIN, GAME OVER oppure ERRORE), l'impronta SHA-256 della
+ * trascrizione della partita (tutto ciò che viene mostrato al giocatore) e il tempo impiegato.
+ * Due esecuzioni con la stessa impronta hanno mostrato esattamente lo stesso testo.
+ *
+ * Il corpus può essere:
+ * - un file con una coppia per linea: il file .game e il file .ff, separati da spazi o tab
+ *   (i percorsi relativi sono relativi alla cartella del corpus, le linee vuote e quelle che
+ *   iniziano con // vengono ignorate)
+ * - una cartella: ogni script nome.ff viene giocato sul mondo nome.game
+ *
+ * @author Gabriele
+ *
+ */
+public class RegressioneFastForward
+{
+	/**
+	 * L'algoritmo usato per l'impronta delle trascrizioni
+	 */
+	private final static String ALGORITMO_IMPRONTA = "SHA-256";
+
+
+	/**
+	 * Enumerazione che specifica i possibili esiti di uno script
+	 *
+	 * @author Gabriele
+	 */
+	public enum Esito
+	{
+		WIN("WIN"), GAME_OVER("GAME OVER"), ERRORE("ERRORE");
+
+		/**
+		 * Il nome dell'esito riportato nel report
+		 */
+		private final String nome;
+
+		Esito(String nome) { this.nome = nome; }
+
+		@Override
+		public String toString() { return nome; }
+	}
+
+
+	/**
+	 * Classe che modella una coppia (mondo, script) del corpus
+	 *
+	 * @author Gabriele
+	 */
+	public static class Caso
+	{
+		/**
+		 * Il file .game del mondo e il file .ff dello script
+		 */
+		private final Path mondo, script;
+
+		/**
+		 * Costruttore del caso
+		 * @param mondo il file .game del mondo
+		 * @param script il file .ff dello script
+		 */
+		public Caso(Path mondo, Path script)
+		{
+			this.mondo = mondo.toAbsolutePath().normalize();
+			this.script = script.toAbsolutePath().normalize();
+		}
+
+		public Path getMondo() { return mondo; }
+
+		public Path getScript() { return script; }
+	}
+
+
+	/**
+	 * Classe che modella il risultato di uno script
+	 *
+	 * @author Gabriele
+	 */
+	public static class Risultato
+	{
+		/**
+		 * Il caso eseguito
+		 */
+		private final Caso caso;
+
+		/**
+		 * L'esito dello script
+		 */
+		private final Esito esito;
+
+		/**
+		 * L'impronta della trascrizione (null in caso di errore)
+		 */
+		private final String impronta;
+
+		/**
+		 * Il tempo impiegato (in nanosecondi)
+		 */
+		private final long tempo;
+
+		/**
+		 * Il messaggio dell'errore (null se lo script è stato eseguito)
+		 */
+		private final String errore;
+
+		/**
+		 * Costruttore del risultato
+		 */
+		Risultato(Caso caso, Esito esito, String impronta, long tempo, String errore)
+		{
+			this.caso = caso;
+			this.esito = esito;
+			this.impronta = impronta;
+			this.tempo = tempo;
+			this.errore = errore;
+		}
+
+		public Caso getCaso() { return caso; }
+
+		public Esito getEsito() { return esito; }
+
+		public String getImpronta() { return impronta; }
+
+		public long getTempo() { return tempo; }
+
+		public String getErrore() { return errore; }
+	}
+
+
+	/**
+	 * Classe che calcola l'impronta del testo che le viene aggiunto, senza conservarlo
+	 *
+	 * @author Gabriele
+	 */
+	private static class Impronta implements Appendable
+	{
+		/**
+		 * Il digest che calcola l'impronta
+		 */
+		private final MessageDigest digest;
+
+		/**
+		 * Costruttore dell'impronta
+		 */
+		Impronta()
+		{
+			try
+			{
+				digest = MessageDigest.getInstance(ALGORITMO_IMPRONTA);
+			}
+			catch (NoSuchAlgorithmException e)
+			{
+				// Ogni JVM deve supportare SHA-256
+				throw new IllegalStateException(e);
+			}
+		}
+
+		@Override
+		public Appendable append(CharSequence testo)
+		{
+			digest.update(String.valueOf(testo).getBytes(StandardCharsets.UTF_8));
+			return this;
+		}
+
+		@Override
+		public Appendable append(CharSequence testo, int inizio, int fine)
+		{
+			return append(String.valueOf(testo).subSequence(inizio, fine));
+		}
+
+		@Override
+		public Appendable append(char c)
+		{
+			return append(String.valueOf(c));
+		}
+
+		/**
+		 * Metodo che ritorna l'impronta del testo aggiunto finora, in esadecimale
+		 * @return l'impronta
+		 */
+		String esadecimale()
+		{
+			StringBuilder sb = new StringBuilder();
+
+			for (byte b : digest.digest())
+				sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+
+			return sb.toString();
+		}
+	}
+
+
+	/**
+	 * Il pool su cui vengono eseguiti gli script
+	 */
+	private final ForkJoinPool pool;
+
+	/**
+	 * I modelli dei mondi già caricati, per percorso del file .game
+	 */
+	private final Map<Path, ModelloMondo> modelli = new ConcurrentHashMap<>();
+
+
+	/**
+	 * Costruttore del runner, con un thread per processore
+	 */
+	public RegressioneFastForward()
+	{
+		this(Runtime.getRuntime().availableProcessors());
+	}
+
+
+	/**
+	 * Costruttore del runner
+	 * @param parallelismo il numero di script da eseguire contemporaneamente
+	 */
+	public RegressioneFastForward(int parallelismo)
+	{
+		this.pool = new ForkJoinPool(parallelismo);
+	}
+
+
+	/**
+	 * Metodo che legge il corpus da un file di coppie (mondo, script) oppure da una cartella
+	 * @param corpus il file oppure la cartella del corpus
+	 * @return i casi del corpus, nell'ordine in cui compaiono
+	 *
+	 * @throws IOException sollevata se c'è stato un errore di IO, oppure se una linea del corpus non è valida
+	 */
+	public static List<Caso> leggiCorpus(Path corpus) throws IOException
+	{
+		List<Caso> casi = new ArrayList<>();
+
+		// Una cartella: ogni script viene giocato sul mondo con lo stesso nome
+		if (Files.isDirectory(corpus))
+		{
+			List<Path> scripts = new ArrayList<>();
+
+			try (DirectoryStream<Path> elenco = Files.newDirectoryStream(corpus, "*.ff"))
+			{
+				elenco.forEach(scripts::add);
+			}
+
+			scripts.sort(null);
+
+			for (Path script : scripts)
+			{
+				String nome = script.getFileName().toString();
+				casi.add(new Caso(script.resolveSibling(nome.substring(0, nome.length() - ".ff".length()) + ".game"), script));
+			}
+
+			return casi;
+		}
+
+		// Un file: una coppia per linea
+		Path cartella = corpus.toAbsolutePath().getParent();
+		int numeroLinea = 0;
+
+		for (String linea : Files.readAllLines(corpus))
+		{
+			numeroLinea++;
+			linea = linea.strip();
+
+			if (linea.isEmpty() || linea.startsWith("//"))
+				continue;
+
+			String[] coppia = linea.split("\\s+");
+
+			if (coppia.length != 2)
+				throw new IOException("Linea " + numeroLinea + " del corpus non valida: " + linea);
+
+			casi.add(new Caso(cartella.resolve(coppia[0]), cartella.resolve(coppia[1])));
+		}
+
+		return casi;
+	}
+
+
+	/**
+	 * Metodo che esegue in parallelo tutti i casi dati
+	 * @param casi i casi da eseguire
+	 * @return i risultati, nello stesso ordine dei casi
+	 *
+	 * @throws InterruptedException sollevata se il thread viene interrotto durante l'attesa dei risultati
+	 */
+	public List<Risultato> esegui(List<Caso> casi) throws InterruptedException
+	{
+		// Carico (in parallelo) una sola volta ogni mondo del corpus
+		Set<Path> mondi = new LinkedHashSet<>();
+		for (Caso caso : casi)
+			mondi.add(caso.getMondo());
+
+		List<Callable<Void>> caricamenti = new ArrayList<>();
+		for (Path mondo : mondi)
+			caricamenti.add(() -> { carica(mondo); return null; });
+
+		pool.invokeAll(caricamenti);
+
+		// Eseguo gli script
+		List<Callable<Risultato>> esecuzioni = new ArrayList<>();
+		for (Caso caso : casi)
+			esecuzioni.add(() -> esegui(caso));
+
+		List<Risultato> risultati = new ArrayList<>();
+
+		for (Future<Risultato> risultato : pool.invokeAll(esecuzioni))
+		{
+			try
+			{
+				risultati.add(risultato.get());
+			}
+			catch (ExecutionException e)
+			{
+				// esegui(Caso) riporta tutti gli errori nel risultato
+				throw new IllegalStateException(e.getCause());
+			}
+		}
+
+		return risultati;
+	}
+
+
+	/**
+	 * Metodo che carica il modello di un mondo, se non è già stato caricato
+	 * @param mondo il file .game del mondo
+	 * @return il modello, oppure null se il mondo non può essere caricato
+	 */
+	private ModelloMondo carica(Path mondo)
+	{
+		ModelloMondo modello = modelli.get(mondo);
+
+		if (modello == null)
+		{
+			try
+			{
+				modello = ModelloMondo.carica(mondo);
+				modelli.put(mondo, modello);
+			}
+			catch (Exception e)
+			{
+				// L'errore verrà riportato da ogni script del mondo
+				return null;
+			}
+		}
+
+		return modello;
+	}
+
+
+	/**
+	 * Metodo che esegue un caso nel proprio contesto
+	 * @param caso il caso da eseguire
+	 * @return il risultato del caso
+	 */
+	private Risultato esegui(Caso caso)
+	{
+		long inizio = System.nanoTime();
+
+		try
+		{
+			// Gioco.play mostra gli errori di lettura dello script senza sollevarli, e la partita finirebbe
+			// come un GAME_OVER: uno script che non si può leggere è invece un errore del caso
+			if (!Files.isReadable(caso.getScript()))
+				throw new NoSuchFileException(caso.getScript().toString(), null, "script non leggibile");
+
+			ModelloMondo modello = modelli.get(caso.getMondo());
+
+			// Se il mondo non è stato caricato, riprovo per ottenere l'errore
+			if (modello == null)
+				modello = ModelloMondo.carica(caso.getMondo());
+
+			Impronta impronta = new Impronta();
+			ContestoMondo contesto = new ContestoMondo(new UscitaBufferizzata(impronta));
+			Mondo mondo = contesto.carica(modello);
+
+			Gioco gioco = new Gioco();
+			gioco.play(mondo, caso.getScript());
+
+			return new Risultato(caso, gioco.isVinto() ? Esito.WIN : Esito.GAME_OVER, impronta.esadecimale(),
+					System.nanoTime() - inizio, null);
+		}
+		catch (Exception e)
+		{
+			return new Risultato(caso, Esito.ERRORE, null, System.nanoTime() - inizio,
+					e.getClass().getSimpleName() + ": " + e.getMessage());
+		}
+	}
+
+
+	/**
+	 * Metodo che scrive il report dei risultati: una linea per script, con esito, impronta,
+	 * tempo in millisecondi, mondo e script (separati da tab), seguite dal riepilogo
+	 *
+	 * @param risultati i risultati da riportare
+	 * @param tempoTotale il tempo impiegato per eseguire tutto il corpus (in nanosecondi)
+	 * @param report dove scrivere il report
+	 */
+	public void scriviReport(List<Risultato> risultati, long tempoTotale, PrintWriter report)
+	{
+		int[] conteggi = new int[Esito.values().length];
+		long tempoScript = 0;
+
+		report.println("// esito\timpronta\tms\tmondo\tscript");
+
+		for (Risultato risultato : risultati)
+		{
+			conteggi[risultato.getEsito().ordinal()]++;
+			tempoScript += risultato.getTempo();
+
+			report.printf("%s\t%s\t%.3f\t%s\t%s%s%n", risultato.getEsito(),
+					risultato.getImpronta() != null ? risultato.getImpronta() : "-",
+					risultato.getTempo() / 1e6, risultato.getCaso().getMondo(), risultato.getCaso().getScript(),
+					risultato.getErrore() != null ? "\t" + risultato.getErrore().replaceAll("\\s+", " ") : "");
+		}
+
+		report.printf("// %d script: %d WIN, %d GAME OVER, %d ERRORE%n", risultati.size(),
+				conteggi[Esito.WIN.ordinal()], conteggi[Esito.GAME_OVER.ordinal()], conteggi[Esito.ERRORE.ordinal()]);
+		report.printf("// tempo totale %.1f ms, somma dei tempi degli script %.1f ms, %d thread%n",
+				tempoTotale / 1e6, tempoScript / 1e6, pool.getParallelism());
+		report.flush();
+	}
+
+
+	/**
+	 * Esegue un corpus e ne scrive il report.
+	 * Argomenti: corpus (file o cartella) [file del report, altrimenti la console] [numero di thread]
+	 */
+	public static void main(String[] args) throws Exception
+	{
+		if (args.length == 0)
+		{
+			System.out.println("Uso: RegressioneFastForward corpus [report] [thread]");
+			return;
+		}
+
+		List<Caso> casi = leggiCorpus(Paths.get(args[0]));
+		RegressioneFastForward regressione = args.length > 2
+				? new RegressioneFastForward(Integer.parseInt(args[2])) : new RegressioneFastForward();
+
+		long inizio = System.nanoTime();
+		List<Risultato> risultati = regressione.esegui(casi);
+		long tempo = System.nanoTime() - inizio;
+
+		if (args.length > 1)
+		{
+			try (BufferedWriter file = Files.newBufferedWriter(Paths.get(args[1]));
+				 PrintWriter report = new PrintWriter(file))
+			{
+				regressione.scriviReport(risultati, tempo, report);
+			}
+		}
+		else
+			regressione.scriviReport(risultati, tempo, new PrintWriter(System.out));
+
+		regressione.pool.shutdown();
+	}
+}
@@ -0,0 +1,299 @@
+package it.uniroma1.textadv.regressione;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CyclicBarrier;
+
+import it.uniroma1.textadv.ContestoMondo;
+import it.uniroma1.textadv.EsitoComando;
+import it.uniroma1.textadv.IndiceContenimento;
+import it.uniroma1.textadv.Istantanea;
+import it.uniroma1.textadv.ModelloMondo;
+import it.uniroma1.textadv.Mondo;
+import it.uniroma1.textadv.MondoCondiviso;
+import it.uniroma1.textadv.MotoreTestuale;
+import it.uniroma1.textadv.oggetti.Oggetto;
+import it.uniroma1.textadv.output.UscitaNulla;
+import it.uniroma1.textadv.utilita.EntitaPrendibile;
+
+
+/**
+ * Classe che verifica come vengono prese le entità contenute in altre entità (ES: la chiave nella scrivania).
+ *
+ * Le verifiche vengono eseguite su un piccolo mondo scritto in una cartella temporanea:
+ * - l'indice dei contenimenti del mondo riporta solo i contenimenti reali: la chiave è nella scrivania,
+ *   ma l'armadio che la chiave apre non è contenuto nella chiave
+ * - presa la chiave dalla scrivania, la chiave non ha più un contenitore e la scrivania è vuota;
+ *   ripristinata un'istantanea precedente, la chiave torna nella scrivania
+ * - il cacciavite non può essere preso finché è nell'armadio chiuso, e può essere preso dopo che
+ *   l'armadio, aperto, lo ha rilasciato
+ * - in un {@link MondoCondiviso}, due giocatori nella stessa stanza aprono la scrivania e provano
+ *   a prenderne la chiave nello stesso momento: la chiave deve essere presa da uno solo dei due,
+ *   in entrambi i modi di esecuzione
+ *
+ * Ogni verifica fallita viene riportata, e in tal caso il processo termina con codice 1.
+ *
+ * @author Gabriele
+ *
+ */
+public class VerificaContenitori
+{
+	/**
+	 * Il numero di volte che viene ripetuta la presa contemporanea
+	 */
+	private final static int RIPETIZIONI = 500;
+
+	/**
+	 * Il mondo su cui vengono eseguite le verifiche
+	 */
+	private final static String MONDO = String.join("\n",
+			"[world:contenitori]",
+			"description	Un mondo con delle entità contenute in altre",
+			"start	studio",
+			"",
+			"[player]",
+			"zak	Giocatore",
+			"",
+			"[room:studio]",
+			"description	Lo studio",
+			"objects	scrivania, armadio",
+			"links	E:corridoio",
+			"",
+			"[room:corridoio]",
+			"description	Il corridoio",
+			"links	W:studio",
+			"",
+			"[objects]",
+			"scrivania	Scrivania	chiave_armadio",
+			"chiave_armadio	Chiave	armadio",
+			"armadio	Armadio	cacciavite",
+			"cacciavite	Cacciavite",
+			"");
+
+
+	/**
+	 * Il numero di verifiche fallite
+	 */
+	private int fallite;
+
+
+	/**
+	 * Metodo che esegue tutte le verifiche
+	 * @param cartella la cartella in cui scrivere il file del mondo
+	 * @return il numero di verifiche fallite
+	 *
+	 * @throws Exception sollevata se una verifica non può essere eseguita
+	 */
+	public int verifica(Path cartella) throws Exception
+	{
+		Path file = cartella.resolve("contenitori.game");
+		Files.writeString(file, MONDO);
+
+		ModelloMondo modello = ModelloMondo.carica(file);
+
+		verificaIndice(modello);
+
+		for (MondoCondiviso.Esecuzione esecuzione : MondoCondiviso.Esecuzione.values())
+			verificaPresaContemporanea(modello, esecuzione);
+
+		return fallite;
+	}
+
+
+	/**
+	 * Verifica l'indice dei contenimenti di una partita con un solo giocatore,
+	 * prima e dopo le prese dai contenitori
+	 * @param modello il modello del mondo
+	 */
+	@SuppressWarnings("try")
+	private void verificaIndice(ModelloMondo modello)
+	{
+		ContestoMondo contesto = new ContestoMondo(UscitaNulla.getInstance());
+		Mondo mondo = contesto.carica(modello);
+		IndiceContenimento contenimenti = contesto.getContenimenti();
+
+		try (ContestoMondo.Attivazione attivazione = contesto.attiva())
+		{
+			Oggetto scrivania = Mondo.getOggettoByName("scrivania");
+			Oggetto chiave = Mondo.getOggettoByName("chiave_armadio");
+			Oggetto armadio = Mondo.getOggettoByName("armadio");
+			Oggetto cacciavite = Mondo.getOggettoByName("cacciavite");
+
+			if (contenimenti.getContenitore(chiave) == scrivania && contenimenti.getContenitore(armadio) == null)
+				riuscita("la chiave è nella scrivania e l'armadio non è contenuto nella chiave");
+			else
+				fallita("contenitore della chiave: " + contenimenti.getContenitore(chiave)
+						+ ", contenitore dell'armadio: " + contenimenti.getContenitore(armadio));
+
+			Istantanea iniziale = contesto.salvaIstantanea();
+
+			esegui(mondo, "apri scrivania");
+			EsitoComando presa = esegui(mondo, "prendi chiave_armadio da scrivania");
+
+			if (presa.isOk() && contenimenti.getContenitore(chiave) == null && contenimenti.getContenuto(scrivania).isEmpty())
+				riuscita("presa dalla scrivania: la chiave non ha più un contenitore e la scrivania è vuota");
+			else
+				fallita("presa dalla scrivania: esito " + presa + ", contenitore della chiave "
+						+ contenimenti.getContenitore(chiave) + ", contenuto della scrivania " + contenimenti.getContenuto(scrivania));
+
+			EsitoComando chiuso = esegui(mondo, "prendi cacciavite");
+
+			if (!chiuso.isOk() && contenimenti.getContenitore(cacciavite) == armadio)
+				riuscita("il cacciavite non può essere preso dall'armadio chiuso");
+			else
+				fallita("presa dall'armadio chiuso: esito " + chiuso + ", contenitore del cacciavite "
+						+ contenimenti.getContenitore(cacciavite));
+
+			esegui(mondo, "apri armadio con chiave_armadio");
+			boolean rilasciato = contenimenti.getContenitore(cacciavite) == null;
+			EsitoComando aperto = esegui(mondo, "prendi cacciavite");
+
+			if (rilasciato && aperto.isOk() && possiede(mondo, "cacciavite"))
+				riuscita("il cacciavite rilasciato dall'armadio aperto può essere preso");
+			else
+				fallita("presa dopo il rilascio: rilasciato " + rilasciato + ", esito " + aperto);
+
+			contesto.ripristina(iniziale);
+
+			if (contenimenti.getContenitore(chiave) == scrivania && contenimenti.getContenuto(scrivania).contains(chiave))
+				riuscita("ripristinata l'istantanea, la chiave torna nella scrivania");
+			else
+				fallita("dopo il ripristino: contenitore della chiave " + contenimenti.getContenitore(chiave));
+		}
+	}
+
+
+	/**
+	 * Verifica che, se due giocatori prendono la stessa entità da un contenitore nello stesso momento,
+	 * la presa riesca a uno solo dei due
+	 * @param modello il modello del mondo
+	 * @param esecuzione il modo in cui vengono eseguiti i comandi dei giocatori
+	 *
+	 * @throws Exception sollevata se un giocatore non può eseguire i comandi
+	 */
+	private void verificaPresaContemporanea(ModelloMondo modello, MondoCondiviso.Esecuzione esecuzione) throws Exception
+	{
+		for (int r = 0; r < RIPETIZIONI; r++)
+		{
+			try (MondoCondiviso mondo = new MondoCondiviso(modello, esecuzione))
+			{
+				Mondo[] giocatori = { mondo.aggiungiGiocatore("zak", UscitaNulla.getInstance()),
+									  mondo.aggiungiGiocatore("annie", UscitaNulla.getInstance()) };
+
+				for (Mondo giocatore : giocatori)
+					esegui(giocatore, "apri scrivania");
+
+				EsitoComando[] esiti = new EsitoComando[giocatori.length];
+				CyclicBarrier partenza = new CyclicBarrier(giocatori.length);
+				Thread[] threads = new Thread[giocatori.length];
+
+				for (int g = 0; g < giocatori.length; g++)
+				{
+					int i = g;
+
+					threads[g] = new Thread(() ->
+					{
+						try
+						{
+							partenza.await();
+							esiti[i] = esegui(giocatori[i], "prendi chiave_armadio da scrivania");
+						}
+						catch (Exception e)
+						{
+							throw new IllegalStateException(e);
+						}
+					});
+					threads[g].start();
+				}
+
+				for (Thread thread : threads)
+					thread.join();
+
+				int prese = 0, inventari = 0;
+
+				for (int g = 0; g < giocatori.length; g++)
+				{
+					if (esiti[g] != null && esiti[g].isOk())
+						prese++;
+
+					if (possiede(giocatori[g], "chiave_armadio"))
+						inventari++;
+				}
+
+				if (prese != 1 || inventari != 1)
+				{
+					fallita(esecuzione + ": presa contemporanea dalla scrivania riuscita a " + prese
+							+ " giocatori, chiave in " + inventari + " inventari (ripetizione " + r + ")");
+					return;
+				}
+			}
+		}
+
+		riuscita(esecuzione + ": presa contemporanea dalla scrivania riuscita a un solo giocatore");
+	}
+
+
+	/**
+	 * Metodo di utilità che esegue un comando nel mondo di un giocatore
+	 * @param giocatore il mondo visto dal giocatore
+	 * @param comando il comando da eseguire
+	 * @return l'esito del comando
+	 */
+	@SuppressWarnings("try")
+	private static EsitoComando esegui(Mondo giocatore, String comando)
+	{
+		try (ContestoMondo.Attivazione attivazione = giocatore.getContesto().attiva())
+		{
+			return new MotoreTestuale().parseAndExecute(comando);
+		}
+	}
+
+
+	/**
+	 * Metodo di utilità che ritorna true se l'entità con il nome dato è nell'inventario del giocatore
+	 * @param giocatore il mondo visto dal giocatore
+	 * @param nomeEntita il nome dell'entità
+	 * @return true se il giocatore possiede l'entità, false altrimenti
+	 */
+	@SuppressWarnings("try")
+	private static boolean possiede(Mondo giocatore, String nomeEntita)
+	{
+		try (ContestoMondo.Attivazione attivazione = giocatore.getContesto().attiva())
+		{
+			return Mondo.getPlayer().getInventario().contains((EntitaPrendibile) Mondo.getOggettoByName(nomeEntita));
+		}
+	}
+
+
+	/**
+	 * Metodo di utilità che riporta una verifica riuscita
+	 * @param descrizione la descrizione della verifica
+	 */
+	private void riuscita(String descrizione)
+	{
+		System.out.println("OK      " + descrizione);
+	}
+
+
+	/**
+	 * Metodo di utilità che riporta una verifica fallita
+	 * @param descrizione la descrizione della verifica
+	 */
+	private void fallita(String descrizione)
+	{
+		System.out.println("FALLITA " + descrizione);
+		fallite++;
+	}
+
+
+	/**
+	 * Esegue tutte le verifiche e termina con codice 1 se almeno una è fallita
+	 */
+	public static void main(String[] args) throws Exception
+	{
+		Path cartella = Files.createTempDirectory("minizak");
+
+		if (new VerificaContenitori().verifica(cartella) > 0)
+			System.exit(1);
+	}
+}
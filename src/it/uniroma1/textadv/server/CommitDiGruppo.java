@@ -0,0 +1,374 @@
+package it.uniroma1.textadv.server;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+
+
+/**
+ * Classe che rende durevoli i comandi dei {@link GiornaleComandi} di più sessioni insieme (group commit).
+ *
+ * Le sessioni accodano i propri comandi e aspettano; un unico thread aggiunge tutti i comandi in coda
+ * ai file dei rispettivi giornali (senza forzarli su disco) e, con una sola scrittura, al registro del gruppo,
+ * poi forza su disco (fsync) il solo registro e infine sveglia le sessioni.
+ * Mentre il thread aspetta il disco, i comandi delle altre sessioni si accumulano nella coda e vengono
+ * resi durevoli tutti insieme alla volta successiva: con molte sessioni attive il numero di fsync
+ * resta quello che il disco sostiene, mentre i comandi per fsync crescono.
+ *
+ * Quando il registro supera {@link #DIMENSIONE_MASSIMA_REGISTRO} byte i giornali scritti vengono forzati
+ * su disco e il registro viene svuotato. Dopo un crash, i comandi del registro che mancano dai file
+ * dei giornali vengono aggiunti ai giornali alla creazione del group commit successivo.
+ *
+ * @author Gabriele
+ *
+ */
+public class CommitDiGruppo implements Closeable
+{
+	/**
+	 * Il nome del file del registro del gruppo, nella cartella dei giornali
+	 */
+	public final static String REGISTRO = "gruppo.log";
+
+	/**
+	 * La dimensione oltre la quale il registro viene svuotato
+	 */
+	public final static long DIMENSIONE_MASSIMA_REGISTRO = 16 * 1024 * 1024;
+
+
+	/**
+	 * Classe che modella un comando in attesa di essere scritto
+	 *
+	 * @author Gabriele
+	 */
+	private static class Scrittura
+	{
+		/**
+		 * Il giornale su cui scrivere il comando
+		 */
+		final GiornaleComandi giornale;
+
+		/**
+		 * Il record del comando per il file del giornale e per il registro del gruppo
+		 */
+		final ByteBuffer record, recordRegistro;
+
+		/**
+		 * Completato quando il comando è durevole
+		 */
+		final CompletableFuture<Void> durevole = new CompletableFuture<>();
+
+		/**
+		 * Costruttore della scrittura
+		 * @param giornale il giornale su cui scrivere
+		 * @param record il record per il file del giornale
+		 * @param recordRegistro il record per il registro del gruppo
+		 */
+		Scrittura(GiornaleComandi giornale, ByteBuffer record, ByteBuffer recordRegistro)
+		{
+			this.giornale = giornale;
+			this.record = record;
+			this.recordRegistro = recordRegistro;
+		}
+	}
+
+
+	/**
+	 * La scrittura che indica al thread di terminare
+	 */
+	private final static Scrittura FINE = new Scrittura(null, null, null);
+
+
+	/**
+	 * La cartella dei giornali
+	 */
+	private final Path cartella;
+
+	/**
+	 * Il canale del registro del gruppo
+	 */
+	private final FileChannel registro;
+
+	/**
+	 * I comandi in attesa di essere scritti
+	 */
+	private final BlockingQueue<Scrittura> coda = new LinkedBlockingQueue<>();
+
+	/**
+	 * I giornali scritti dall'ultimo svuotamento del registro (usato solo dal thread di scrittura)
+	 */
+	private final Set<GiornaleComandi> daForzare = Collections.newSetFromMap(new IdentityHashMap<>());
+
+	/**
+	 * Il thread che scrive i comandi
+	 */
+	private final Thread scrittore;
+
+	/**
+	 * True quando il group commit è stato chiuso
+	 */
+	private volatile boolean chiuso;
+
+	/**
+	 * Il numero di fsync eseguite e di comandi resi durevoli (per le statistiche)
+	 */
+	private volatile long numeroFsync, numeroComandi;
+
+
+	/**
+	 * Costruttore del group commit, che completa i giornali con i comandi rimasti nel registro
+	 * e avvia il thread di scrittura
+	 * @param cartella la cartella dei giornali, in cui si trova il registro
+	 *
+	 * @throws IOException sollevata se non è possibile leggere o scrivere il registro
+	 */
+	public CommitDiGruppo(Path cartella) throws IOException
+	{
+		this.cartella = cartella.toAbsolutePath();
+		this.registro = FileChannel.open(this.cartella.resolve(REGISTRO), StandardOpenOption.CREATE,
+				StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+		try
+		{
+			completaGiornali();
+		}
+		catch (IOException e)
+		{
+			registro.close();
+			throw e;
+		}
+
+		scrittore = new Thread(this::scrivi, "commit-di-gruppo");
+		scrittore.setDaemon(true);
+		scrittore.start();
+	}
+
+
+	/**
+	 * Metodo che aggiunge ai giornali i comandi del registro che non hanno raggiunto i loro file,
+	 * e poi svuota il registro
+	 *
+	 * @throws IOException sollevata se non è possibile leggere il registro o scrivere i giornali
+	 */
+	private void completaGiornali() throws IOException
+	{
+		Map<String, List<String>> comandi = new LinkedHashMap<>();
+		Map<String, Long> primiNumeri = new LinkedHashMap<>();
+
+		for (GiornaleComandi.Record record : GiornaleComandi.leggiRecord(Files.readAllBytes(cartella.resolve(REGISTRO))))
+		{
+			byte[] nome = new byte[record.dati.getShort()];
+			record.dati.get(nome);
+			long numero = record.dati.getLong();
+
+			String giornale = new String(nome, StandardCharsets.UTF_8);
+			primiNumeri.putIfAbsent(giornale, numero);
+			comandi.computeIfAbsent(giornale, g -> new ArrayList<>())
+					.add(StandardCharsets.UTF_8.decode(record.dati).toString());
+		}
+
+		for (Map.Entry<String, List<String>> giornale : comandi.entrySet())
+		{
+			Path file = cartella.resolve(giornale.getKey());
+
+			// Il giornale di una partita finita è già stato cancellato
+			if (!Files.exists(file))
+				continue;
+
+			try (GiornaleComandi daCompletare = new GiornaleComandi(file, null))
+			{
+				daCompletare.completa(giornale.getValue(), primiNumeri.get(giornale.getKey()));
+			}
+		}
+
+		registro.truncate(0);
+		registro.force(false);
+	}
+
+
+	/**
+	 * Metodo che ritorna la cartella dei giornali
+	 * @return la cartella dei giornali
+	 */
+	public Path getCartella()
+	{
+		return cartella;
+	}
+
+
+	/**
+	 * Metodo che scrive un comando sul giornale dato e aspetta che sia durevole
+	 * @param giornale il giornale su cui scrivere
+	 * @param record il record del comando per il file del giornale
+	 * @param recordRegistro il record del comando per il registro del gruppo
+	 *
+	 * @throws IOException sollevata se non è stato possibile scrivere il comando
+	 */
+	void scrivi(GiornaleComandi giornale, ByteBuffer record, ByteBuffer recordRegistro) throws IOException
+	{
+		Scrittura scrittura = new Scrittura(giornale, record, recordRegistro);
+		coda.add(scrittura);
+
+		// Se il thread è già terminato nessuno scriverà il comando
+		if (chiuso && coda.remove(scrittura))
+			throw new IOException("Il group commit è stato chiuso");
+
+		try
+		{
+			scrittura.durevole.join();
+		}
+		catch (CompletionException e)
+		{
+			if (e.getCause() instanceof IOException)
+				throw (IOException) e.getCause();
+
+			throw e;
+		}
+	}
+
+
+	/**
+	 * Metodo eseguito dal thread di scrittura, fino alla chiusura
+	 */
+	private void scrivi()
+	{
+		List<Scrittura> gruppo = new ArrayList<>();
+		List<ByteBuffer> recordRegistro = new ArrayList<>();
+
+		while (true)
+		{
+			try
+			{
+				gruppo.add(coda.take());
+			}
+			catch (InterruptedException e)
+			{
+				return;
+			}
+
+			// Prendo tutti i comandi accumulati mentre veniva eseguita l'ultima fsync
+			coda.drainTo(gruppo);
+			boolean fine = gruppo.remove(FINE);
+
+			try
+			{
+				for (Scrittura scrittura : gruppo)
+				{
+					scrittura.giornale.scriviRecord(scrittura.record);
+					daForzare.add(scrittura.giornale);
+					recordRegistro.add(scrittura.recordRegistro);
+				}
+
+				ByteBuffer[] buffer = recordRegistro.toArray(new ByteBuffer[0]);
+				while (buffer.length > 0 && buffer[buffer.length - 1].hasRemaining())
+					registro.write(buffer);
+
+				registro.force(false);
+				numeroFsync++;
+				numeroComandi += gruppo.size();
+
+				if (registro.size() > DIMENSIONE_MASSIMA_REGISTRO)
+					svuotaRegistro();
+
+				for (Scrittura scrittura : gruppo)
+					scrittura.durevole.complete(null);
+			}
+			catch (IOException e)
+			{
+				for (Scrittura scrittura : gruppo)
+					scrittura.durevole.completeExceptionally(e);
+			}
+
+			gruppo.clear();
+			recordRegistro.clear();
+
+			if (fine)
+			{
+				// Rifiuto i comandi accodati durante la chiusura
+				chiuso = true;
+				coda.drainTo(gruppo);
+
+				for (Scrittura scrittura : gruppo)
+					scrittura.durevole.completeExceptionally(new IOException("Il group commit è stato chiuso"));
+
+				return;
+			}
+		}
+	}
+
+
+	/**
+	 * Metodo che forza su disco i giornali scritti e svuota il registro, i cui comandi sono ora
+	 * durevoli anche nei file dei giornali
+	 *
+	 * @throws IOException sollevata se non è stato possibile forzare i giornali o svuotare il registro
+	 */
+	private void svuotaRegistro() throws IOException
+	{
+		for (GiornaleComandi giornale : daForzare)
+			giornale.forza();
+
+		numeroFsync += daForzare.size();
+		daForzare.clear();
+
+		registro.truncate(0);
+		registro.force(false);
+		numeroFsync++;
+	}
+
+
+	/**
+	 * Metodo che ritorna il numero di fsync eseguite finora
+	 * @return il numero di fsync
+	 */
+	public long getNumeroFsync()
+	{
+		return numeroFsync;
+	}
+
+
+	/**
+	 * Metodo che ritorna il numero di comandi resi durevoli finora
+	 * @return il numero di comandi
+	 */
+	public long getNumeroComandi()
+	{
+		return numeroComandi;
+	}
+
+
+	/**
+	 * Chiude il group commit, dopo aver reso durevoli i comandi già in coda
+	 */
+	@Override
+	public void close() throws IOException
+	{
+		coda.add(FINE);
+
+		try
+		{
+			scrittore.join();
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+
+		registro.close();
+	}
+}
@@ -0,0 +1,496 @@
+package it.uniroma1.textadv.server;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import it.uniroma1.textadv.ContestoMondo;
+import it.uniroma1.textadv.Istantanea;
+import it.uniroma1.textadv.MotoreTestuale;
+import it.uniroma1.textadv.output.Uscita;
+import it.uniroma1.textadv.output.UscitaNulla;
+
+
+/**
+ * Classe che modella il giornale dei comandi di una sessione (write-ahead log): un file in cui ogni
+ * comando ricevuto viene aggiunto, e reso durevole su disco, prima di essere eseguito.
+ *
+ * Ogni {@link #COMANDI_PER_ISTANTANEA} comandi il giornale viene riscritto con la sola {@link Istantanea}
+ * della partita, così che non cresca all'infinito. Dopo un crash la partita viene recuperata
+ * (vedi {@link #recupera(ContestoMondo)}) ripristinando l'istantanea e rieseguendo, tramite il
+ * {@link MotoreTestuale}, i comandi registrati dopo di essa.
+ *
+ * Se il giornale usa un {@link CommitDiGruppo} i comandi vengono resi durevoli insieme a quelli delle altre
+ * sessioni, nel registro del gruppo; altrimenti ogni comando viene scritto e forzato su disco (fsync) da solo.
+ *
+ * Formato del file: una sequenza di record, ognuno composto da
+ * 		tipo (1 byte: comando o istantanea), lunghezza dei dati (int), dati, CRC32 di tipo e dati (int)
+ * I dati di un comando sono la linea in UTF-8; quelli di un'istantanea sono il numero di comandi
+ * registrati prima di essa (long) seguito dai byte dell'istantanea.
+ * Un record incompleto o con il CRC sbagliato (ES: scritto a metà durante un crash) e tutto ciò che
+ * lo segue vengono scartati durante il recupero.
+ *
+ * @author Gabriele
+ *
+ */
+public class GiornaleComandi implements Closeable
+{
+	/**
+	 * Ogni quanti comandi il giornale viene sostituito da un'istantanea della partita
+	 */
+	public final static int COMANDI_PER_ISTANTANEA = 256;
+
+	/**
+	 * I tipi dei record
+	 */
+	final static byte COMANDO = 1, ISTANTANEA = 2;
+
+	/**
+	 * La dimensione dell'intestazione (tipo e lunghezza) e della coda (CRC) di ogni record
+	 */
+	private final static int INTESTAZIONE = 5, CODA = 4;
+
+
+	/**
+	 * Classe che modella un record letto da un file
+	 *
+	 * @author Gabriele
+	 */
+	static class Record
+	{
+		/**
+		 * Il tipo del record
+		 */
+		final byte tipo;
+
+		/**
+		 * I dati del record
+		 */
+		final ByteBuffer dati;
+
+		/**
+		 * Costruttore del record
+		 * @param tipo il tipo del record
+		 * @param dati i dati del record
+		 */
+		Record(byte tipo, ByteBuffer dati)
+		{
+			this.tipo = tipo;
+			this.dati = dati;
+		}
+
+		/**
+		 * Metodo che ritorna i byte occupati dal record nel file (da chiamare prima di leggerne i dati)
+		 * @return la dimensione del record
+		 */
+		int dimensione()
+		{
+			return INTESTAZIONE + dati.remaining() + CODA;
+		}
+	}
+
+
+	/**
+	 * Classe che modella il contenuto valido di un giornale
+	 *
+	 * @author Gabriele
+	 */
+	private static class Contenuto
+	{
+		/**
+		 * L'ultima istantanea (null se non ce ne sono)
+		 */
+		Istantanea istantanea;
+
+		/**
+		 * Il numero di comandi registrati prima dell'ultima istantanea
+		 */
+		long numeroIstantanea;
+
+		/**
+		 * I comandi registrati dopo l'ultima istantanea
+		 */
+		final List<String> comandi = new ArrayList<>();
+
+		/**
+		 * La fine dell'ultimo record valido
+		 */
+		long fineValida;
+
+		/**
+		 * Metodo che ritorna il numero di comandi registrati in tutto
+		 * @return il numero di comandi
+		 */
+		long numeroComandi()
+		{
+			return numeroIstantanea + comandi.size();
+		}
+	}
+
+
+	/**
+	 * Il file del giornale
+	 */
+	private final Path file;
+
+	/**
+	 * Il group commit con cui rendere durevoli i comandi (null se ogni comando viene forzato da solo)
+	 */
+	private final CommitDiGruppo commitDiGruppo;
+
+	/**
+	 * Il nome del giornale nel registro del group commit
+	 */
+	private final byte[] nome;
+
+	/**
+	 * Il canale su cui vengono aggiunti i record
+	 */
+	private FileChannel canale;
+
+	/**
+	 * Il numero di comandi registrati dall'inizio della partita e dall'ultima istantanea
+	 */
+	private long numeroComandi, comandiDopoIstantanea;
+
+
+	/**
+	 * Costruttore del giornale, che apre (o crea) il file e si posiziona alla sua fine
+	 * @param file il file del giornale
+	 * @param commitDiGruppo il group commit da usare (oppure null per forzare ogni comando da solo):
+	 * 		il file deve essere nella cartella del group commit
+	 *
+	 * @throws IOException sollevata se non è possibile aprire il file
+	 */
+	public GiornaleComandi(Path file, CommitDiGruppo commitDiGruppo) throws IOException
+	{
+		if (commitDiGruppo != null && !commitDiGruppo.getCartella().equals(file.toAbsolutePath().getParent()))
+			throw new IllegalArgumentException("Il giornale " + file + " non è nella cartella del group commit");
+
+		this.file = file;
+		this.commitDiGruppo = commitDiGruppo;
+		this.nome = file.getFileName().toString().getBytes(StandardCharsets.UTF_8);
+		this.canale = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+		canale.position(canale.size());
+	}
+
+
+	/**
+	 * Metodo che ritorna il file del giornale
+	 * @return il file del giornale
+	 */
+	public Path getFile()
+	{
+		return file;
+	}
+
+
+	/**
+	 * Metodo che registra un comando nel giornale, ritornando solo quando il comando è durevole
+	 * @param comando la linea del comando
+	 *
+	 * @throws IOException sollevata se non è stato possibile scrivere il comando
+	 */
+	public void registra(String comando) throws IOException
+	{
+		byte[] linea = comando.getBytes(StandardCharsets.UTF_8);
+		ByteBuffer record = record(COMANDO, ByteBuffer.wrap(linea));
+
+		if (commitDiGruppo != null)
+		{
+			// Nel registro del gruppo il comando è preceduto dal nome del giornale e dal suo numero
+			ByteBuffer dati = ByteBuffer.allocate(2 + nome.length + 8 + linea.length);
+			dati.putShort((short) nome.length).put(nome).putLong(numeroComandi).put(linea).flip();
+
+			commitDiGruppo.scrivi(this, record, record(COMANDO, dati));
+		}
+		else
+		{
+			synchronized (this)
+			{
+				scriviRecord(record);
+				forza();
+			}
+		}
+
+		numeroComandi++;
+		comandiDopoIstantanea++;
+	}
+
+
+	/**
+	 * Metodo che indica se è il momento di sostituire il giornale con un'istantanea
+	 * (vedi {@link #COMANDI_PER_ISTANTANEA})
+	 *
+	 * @return true se dall'ultima istantanea sono stati registrati abbastanza comandi
+	 */
+	public boolean isIstantaneaNecessaria()
+	{
+		return comandiDopoIstantanea >= COMANDI_PER_ISTANTANEA;
+	}
+
+
+	/**
+	 * Metodo che sostituisce tutto il giornale con l'istantanea data.
+	 * Il nuovo giornale viene scritto in un file temporaneo, reso durevole e poi spostato al posto
+	 * del vecchio, così che dopo un crash ci sia sempre uno dei due giornali completo.
+	 *
+	 * @param istantanea l'istantanea della partita, dopo l'ultimo comando registrato
+	 *
+	 * @throws IOException sollevata se non è stato possibile scrivere il giornale
+	 */
+	public synchronized void salvaIstantanea(Istantanea istantanea) throws IOException
+	{
+		Path temporaneo = file.resolveSibling(file.getFileName() + ".tmp");
+
+		try (FileChannel nuovo = FileChannel.open(temporaneo, StandardOpenOption.CREATE,
+				StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING))
+		{
+			byte[] byteIstantanea = istantanea.getDati();
+			ByteBuffer dati = ByteBuffer.allocate(8 + byteIstantanea.length);
+			dati.putLong(numeroComandi).put(byteIstantanea).flip();
+
+			scrivi(nuovo, record(ISTANTANEA, dati));
+			nuovo.force(false);
+		}
+
+		canale.close();
+		Files.move(temporaneo, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		forzaCartella();
+
+		canale = FileChannel.open(file, StandardOpenOption.WRITE);
+		canale.position(canale.size());
+		comandiDopoIstantanea = 0;
+	}
+
+
+	/**
+	 * Metodo che forza su disco la cartella del giornale, così che lo spostamento del file sia durevole
+	 */
+	private void forzaCartella()
+	{
+		try (FileChannel cartella = FileChannel.open(file.toAbsolutePath().getParent(), StandardOpenOption.READ))
+		{
+			cartella.force(true);
+		}
+		catch (IOException e)
+		{
+			// Alcuni sistemi (ES: Windows) non permettono di aprire una cartella: lo spostamento è comunque atomico
+		}
+	}
+
+
+	/**
+	 * Metodo che recupera la partita registrata nel giornale nel contesto dato (in cui deve essere caricato
+	 * lo stesso mondo): ripristina l'ultima istantanea e riesegue i comandi registrati dopo di essa,
+	 * senza mostrarne l'output. I record scartati (ES: scritti a metà durante un crash) vengono
+	 * rimossi dal giornale, così che i nuovi comandi vengano aggiunti dopo l'ultimo record valido.
+	 *
+	 * @param contesto il contesto della partita
+	 * @return il numero di comandi rieseguiti
+	 *
+	 * @throws IOException sollevata se non è stato possibile leggere il giornale
+	 */
+	@SuppressWarnings("try")
+	public synchronized int recupera(ContestoMondo contesto) throws IOException
+	{
+		Contenuto contenuto = leggiContenuto();
+
+		// Riporto la partita allo stato registrato, senza mostrare niente al giocatore
+		Uscita uscita = contesto.getUscita();
+		contesto.setUscita(UscitaNulla.getInstance());
+
+		try (ContestoMondo.Attivazione attivazione = contesto.attiva())
+		{
+			if (contenuto.istantanea != null)
+				contesto.ripristina(contenuto.istantanea);
+
+			MotoreTestuale motore = new MotoreTestuale();
+
+			// I comandi rifiutati durante la partita vengono rifiutati allo stesso modo
+			for (String comando : contenuto.comandi)
+				motore.parseAndExecute(comando);
+		}
+		finally
+		{
+			contesto.setUscita(uscita);
+		}
+
+		numeroComandi = contenuto.numeroComandi();
+		comandiDopoIstantanea = contenuto.comandi.size();
+		return contenuto.comandi.size();
+	}
+
+
+	/**
+	 * Metodo che aggiunge al giornale i comandi resi durevoli nel registro del group commit ma non ancora
+	 * nel file del giornale (ES: dopo un crash), e li forza su disco
+	 * @param comandi i comandi del giornale trovati nel registro, in ordine a partire da quello con il numero dato
+	 * @param primoNumero il numero del primo comando
+	 *
+	 * @throws IOException sollevata se non è stato possibile scrivere i comandi
+	 */
+	synchronized void completa(List<String> comandi, long primoNumero) throws IOException
+	{
+		long registrati = leggiContenuto().numeroComandi();
+
+		for (int i = 0; i < comandi.size(); i++)
+			if (primoNumero + i >= registrati)
+				scriviRecord(record(COMANDO, ByteBuffer.wrap(comandi.get(i).getBytes(StandardCharsets.UTF_8))));
+
+		forza();
+	}
+
+
+	/**
+	 * Metodo che legge il contenuto valido del giornale, rimuovendo dal file i record scartati
+	 * @return il contenuto del giornale
+	 *
+	 * @throws IOException sollevata se non è stato possibile leggere il giornale
+	 */
+	private Contenuto leggiContenuto() throws IOException
+	{
+		Contenuto contenuto = new Contenuto();
+
+		for (Record record : leggiRecord(Files.readAllBytes(file)))
+		{
+			contenuto.fineValida += record.dimensione();
+
+			if (record.tipo == ISTANTANEA)
+			{
+				contenuto.numeroIstantanea = record.dati.getLong();
+
+				byte[] istantanea = new byte[record.dati.remaining()];
+				record.dati.get(istantanea);
+				contenuto.istantanea = Istantanea.daDati(istantanea);
+				contenuto.comandi.clear();
+			}
+			else
+				contenuto.comandi.add(StandardCharsets.UTF_8.decode(record.dati).toString());
+		}
+
+		// Scarto il record incompleto (e tutto ciò che lo segue)
+		canale.truncate(contenuto.fineValida);
+		canale.position(contenuto.fineValida);
+
+		return contenuto;
+	}
+
+
+	/**
+	 * Metodo che legge i record validi contenuti nei byte di un file, fino al primo record
+	 * incompleto o con il CRC sbagliato
+	 * @param file il contenuto del file
+	 * @return i record validi, in ordine
+	 */
+	static List<Record> leggiRecord(byte[] file)
+	{
+		ByteBuffer dati = ByteBuffer.wrap(file);
+		List<Record> records = new ArrayList<>();
+		CRC32 crc = new CRC32();
+
+		while (dati.remaining() >= INTESTAZIONE + CODA)
+		{
+			int inizio = dati.position();
+			byte tipo = dati.get();
+			int lunghezza = dati.getInt();
+
+			if (lunghezza < 0 || lunghezza > dati.remaining() - CODA)
+				break;
+
+			crc.reset();
+			crc.update(file, inizio, INTESTAZIONE + lunghezza);
+
+			if (dati.getInt(inizio + INTESTAZIONE + lunghezza) != (int) crc.getValue())
+				break;
+
+			records.add(new Record(tipo, ByteBuffer.wrap(file, inizio + INTESTAZIONE, lunghezza).slice()));
+			dati.position(inizio + INTESTAZIONE + lunghezza + CODA);
+		}
+
+		return records;
+	}
+
+
+	/**
+	 * Metodo che crea un record
+	 * @param tipo il tipo del record
+	 * @param dati i dati del record
+	 * @return il record, pronto per essere scritto
+	 */
+	static ByteBuffer record(byte tipo, ByteBuffer dati)
+	{
+		ByteBuffer record = ByteBuffer.allocate(INTESTAZIONE + dati.remaining() + CODA);
+		record.put(tipo).putInt(dati.remaining()).put(dati);
+
+		CRC32 crc = new CRC32();
+		crc.update(record.array(), 0, record.position());
+		record.putInt((int) crc.getValue());
+
+		return record.flip();
+	}
+
+
+	/**
+	 * Metodo che scrive tutto un buffer su un canale
+	 * @param canale il canale su cui scrivere
+	 * @param buffer il buffer da scrivere
+	 *
+	 * @throws IOException sollevata se non è stato possibile scrivere il buffer
+	 */
+	static void scrivi(FileChannel canale, ByteBuffer buffer) throws IOException
+	{
+		while (buffer.hasRemaining())
+			canale.write(buffer);
+	}
+
+
+	/**
+	 * Metodo che aggiunge un record alla fine del giornale (senza forzarlo su disco)
+	 * @param record il record da aggiungere
+	 *
+	 * @throws IOException sollevata se non è stato possibile scrivere il record
+	 */
+	synchronized void scriviRecord(ByteBuffer record) throws IOException
+	{
+		scrivi(canale, record);
+	}
+
+
+	/**
+	 * Metodo che forza su disco i record aggiunti al giornale
+	 *
+	 * @throws IOException sollevata se non è stato possibile forzare i record su disco
+	 */
+	synchronized void forza() throws IOException
+	{
+		if (canale.isOpen())
+			canale.force(false);
+	}
+
+
+	/**
+	 * Chiude il file del giornale, dopo aver forzato su disco i record aggiunti
+	 */
+	@Override
+	public synchronized void close() throws IOException
+	{
+		try
+		{
+			forza();
+		}
+		finally
+		{
+			canale.close();
+		}
+	}
+}
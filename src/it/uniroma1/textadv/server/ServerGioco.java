@@ -0,0 +1,813 @@
+package it.uniroma1.textadv.server;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import it.uniroma1.textadv.ContestoMondo;
+import it.uniroma1.textadv.Gioco;
+import it.uniroma1.textadv.ModelloMondo;
+import it.uniroma1.textadv.Mondo;
+import it.uniroma1.textadv.MondoCondiviso;
+import it.uniroma1.textadv.MotoreTestuale;
+import it.uniroma1.textadv.output.Uscita;
+import it.uniroma1.textadv.output.UscitaBufferizzata;
+
+
+/**
+ * Server locale (in stile telnet) che permette di giocare più partite contemporaneamente.
+ *
+ * Ogni connessione è una sessione di gioco: ha il proprio {@link ContestoMondo}, creato dal
+ * {@link ModelloMondo} condiviso (oppure un proprio giocatore in un {@link MondoCondiviso}),
+ * e i suoi comandi (uno per riga) vengono eseguiti da un {@link MotoreTestuale}
+ * tramite {@link Gioco#play(Mondo, BufferedReader)}.
+ * Quando il server aspetta il prossimo comando invia il prompt {@link #PROMPT} all'inizio di una riga.
+ *
+ * Ogni sessione viene eseguita su un virtual thread, se la JVM li supporta (altrimenti su un thread
+ * con uno stack ridotto). Il server accetta al massimo il numero di connessioni dato: le connessioni
+ * in eccesso ricevono un messaggio di errore e vengono chiuse. Una sessione che non riceve comandi
+ * entro il timeout di inattività termina.
+ *
+ * Se sono abilitati i giornali (vedi {@link #abilitaGiornali(Path, boolean)}), ogni comando di una sessione
+ * viene registrato nel suo {@link GiornaleComandi} prima di essere eseguito. All'inizio della sessione
+ * viene inviato il codice della partita: dopo una disconnessione (o un crash del server) il giocatore
+ * può riprendere la partita inviando come primo comando {@link #COMANDO_RIPRENDI} seguito dal codice.
+ * Il giornale viene creato al primo comando della partita ed eliminato quando la partita viene vinta;
+ * i giornali delle partite abbandonate vengono eliminati quando non ricevono comandi per più della
+ * loro scadenza (vedi {@link #SCADENZA_GIORNALI_PREDEFINITA}), e da quel momento il codice non è più valido.
+ *
+ * @author Gabriele
+ *
+ */
+public class ServerGioco implements Closeable
+{
+	/**
+	 * Il prompt inviato quando il server aspetta il prossimo comando
+	 */
+	public final static String PROMPT = "> ";
+
+	/**
+	 * Il comando con cui riprendere una partita registrata nel giornale, dato il suo codice
+	 */
+	public final static String COMANDO_RIPRENDI = "riprendi";
+
+	/**
+	 * La porta, il numero massimo di connessioni e il timeout di inattività di default
+	 */
+	public final static int PORTA_PREDEFINITA = 4000;
+	public final static int MAX_CONNESSIONI_PREDEFINITO = 10_000;
+	public final static Duration TIMEOUT_PREDEFINITO = Duration.ofMinutes(5);
+
+	/**
+	 * Il tempo dopo l'ultimo comando oltre il quale una partita abbandonata non può più essere ripresa
+	 * e il suo giornale viene eliminato
+	 */
+	public final static Duration SCADENZA_GIORNALI_PREDEFINITA = Duration.ofDays(1);
+
+	/**
+	 * L'intervallo massimo tra due ricerche dei giornali scaduti
+	 */
+	private final static Duration INTERVALLO_PULIZIA = Duration.ofMinutes(10);
+
+	/**
+	 * Il numero massimo di connessioni in attesa di essere accettate
+	 */
+	private final static int CODA_CONNESSIONI = 4096;
+
+	/**
+	 * La dimensione dello stack dei thread delle sessioni, quando non sono disponibili i virtual thread
+	 */
+	private final static long DIMENSIONE_STACK = 256 * 1024;
+
+	/**
+	 * Il tempo massimo di attesa della fine delle sessioni alla chiusura del server (in secondi)
+	 */
+	private final static long ATTESA_CHIUSURA = 5;
+
+	/**
+	 * L'attesa prima di accettare di nuovo le connessioni dopo un errore (in millisecondi):
+	 * raddoppia ad ogni errore consecutivo, fino a ATTESA_ERRORE_MASSIMA
+	 */
+	private final static long ATTESA_ERRORE = 10;
+
+	/**
+	 * L'attesa massima dopo errori consecutivi nell'accettare le connessioni (in millisecondi)
+	 */
+	private final static long ATTESA_ERRORE_MASSIMA = 1000;
+
+
+	/**
+	 * Crea il mondo su cui gioca una nuova sessione, data l'uscita della sessione
+	 */
+	private final Function<Uscita, Mondo> creaPartita;
+
+	/**
+	 * Il modello del mondo in cui giocano le sessioni (null se le sessioni condividono lo stesso mondo)
+	 */
+	private final ModelloMondo modello;
+
+	/**
+	 * Il timeout di inattività di ogni sessione (in millisecondi)
+	 */
+	private final int timeoutInattivita;
+
+	/**
+	 * I posti liberi per nuove connessioni
+	 */
+	private final Semaphore postiLiberi;
+
+	/**
+	 * Il numero di sessioni attive
+	 */
+	private final AtomicInteger sessioniAttive = new AtomicInteger();
+
+	/**
+	 * Le connessioni delle sessioni attive (chiuse alla chiusura del server)
+	 */
+	private final Set<Socket> connessioni = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * L'esecutore delle sessioni
+	 */
+	private final ExecutorService sessioni;
+
+	/**
+	 * True se le sessioni vengono eseguite su virtual thread
+	 */
+	private final boolean threadVirtuali;
+
+	/**
+	 * Il socket su cui il server accetta le connessioni (null se il server non è avviato)
+	 */
+	private volatile ServerSocket serverSocket;
+
+	/**
+	 * La cartella dei giornali delle sessioni (null se i giornali non sono abilitati)
+	 */
+	private Path cartellaGiornali;
+
+	/**
+	 * Il group commit dei giornali (null se ogni comando viene forzato su disco da solo)
+	 */
+	private CommitDiGruppo commitDiGruppo;
+
+	/**
+	 * Il tempo dopo l'ultimo comando oltre il quale il giornale di una partita abbandonata viene eliminato
+	 */
+	private Duration scadenzaGiornali;
+
+	/**
+	 * L'esecutore che elimina periodicamente i giornali scaduti (null se i giornali non sono abilitati)
+	 */
+	private ScheduledExecutorService pulizia;
+
+	/**
+	 * I codici delle partite giocate dalle sessioni attive (una partita può essere ripresa da una sola sessione)
+	 */
+	private final Set<String> partiteAttive = ConcurrentHashMap.newKeySet();
+
+
+	/**
+	 * Costruttore del server in cui ogni sessione gioca una partita indipendente
+	 * @param modello il modello del mondo in cui giocano le sessioni
+	 * @param maxConnessioni il numero massimo di connessioni contemporanee
+	 * @param timeoutInattivita il tempo massimo di attesa di un comando, dopo il quale la sessione termina
+	 */
+	public ServerGioco(ModelloMondo modello, int maxConnessioni, Duration timeoutInattivita)
+	{
+		// Ogni sessione ha il proprio contesto, con il mondo istanziato dal modello condiviso
+		this(uscita -> new ContestoMondo(uscita).carica(modello), modello, maxConnessioni, timeoutInattivita);
+	}
+
+
+	/**
+	 * Costruttore del server in cui tutte le sessioni giocano nello stesso mondo, ognuna con il proprio giocatore
+	 * @param mondo il mondo condiviso da tutte le sessioni
+	 * @param maxConnessioni il numero massimo di connessioni contemporanee
+	 * @param timeoutInattivita il tempo massimo di attesa di un comando, dopo il quale la sessione termina
+	 */
+	public ServerGioco(MondoCondiviso mondo, int maxConnessioni, Duration timeoutInattivita)
+	{
+		this(giocatoriDi(mondo), null, maxConnessioni, timeoutInattivita);
+	}
+
+
+	/**
+	 * Metodo che ritorna la funzione che aggiunge un nuovo giocatore al mondo condiviso per ogni sessione
+	 * @param mondo il mondo condiviso
+	 * @return la funzione che, data l'uscita della sessione, aggiunge il giocatore (giocatore1, giocatore2, ...)
+	 */
+	private static Function<Uscita, Mondo> giocatoriDi(MondoCondiviso mondo)
+	{
+		AtomicInteger giocatori = new AtomicInteger();
+		return uscita -> mondo.aggiungiGiocatore("giocatore" + giocatori.incrementAndGet(), uscita);
+	}
+
+
+	/**
+	 * Costruttore del server
+	 * @param creaPartita crea il mondo su cui gioca una nuova sessione, data l'uscita della sessione
+	 * @param modello il modello del mondo delle sessioni (null se condividono lo stesso mondo)
+	 * @param maxConnessioni il numero massimo di connessioni contemporanee
+	 * @param timeoutInattivita il tempo massimo di attesa di un comando, dopo il quale la sessione termina
+	 */
+	private ServerGioco(Function<Uscita, Mondo> creaPartita, ModelloMondo modello, int maxConnessioni,
+			Duration timeoutInattivita)
+	{
+		if (maxConnessioni <= 0)
+			throw new IllegalArgumentException("Numero massimo di connessioni non valido: " + maxConnessioni);
+
+		this.creaPartita = creaPartita;
+		this.modello = modello;
+		this.timeoutInattivita = (int) Math.min(Integer.MAX_VALUE, Math.max(1, timeoutInattivita.toMillis()));
+		this.postiLiberi = new Semaphore(maxConnessioni);
+
+		ExecutorService virtuali = creaEsecutoreVirtuale();
+		this.threadVirtuali = virtuali != null;
+		this.sessioni = threadVirtuali ? virtuali : Executors.newCachedThreadPool(task ->
+		{
+			Thread thread = new Thread(null, task, "sessione-gioco", DIMENSIONE_STACK);
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+
+	/**
+	 * Metodo che crea l'esecutore con un virtual thread per ogni sessione.
+	 * Viene cercato tramite reflection, dato che il gioco è compilato per versioni di Java che non li prevedono.
+	 *
+	 * @return l'esecutore, oppure null se la JVM non supporta i virtual thread
+	 */
+	private static ExecutorService creaEsecutoreVirtuale()
+	{
+		try
+		{
+			return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		}
+		catch (ReflectiveOperationException e)
+		{
+			return null;
+		}
+	}
+
+
+	/**
+	 * Metodo che abilita i giornali delle sessioni (da chiamare prima di avviare il server).
+	 * Non sono supportati quando le sessioni condividono lo stesso mondo, dato che i comandi di un giocatore
+	 * non basterebbero a ricostruire la sua partita.
+	 *
+	 * @param cartella la cartella in cui scrivere i giornali (creata se non esiste)
+	 * @param commitDiGruppo true per rendere durevoli i comandi di più sessioni insieme (group commit),
+	 * 		false per forzare su disco ogni comando da solo
+	 *
+	 * @throws IOException sollevata se non è possibile creare la cartella
+	 */
+	public void abilitaGiornali(Path cartella, boolean commitDiGruppo) throws IOException
+	{
+		abilitaGiornali(cartella, commitDiGruppo, SCADENZA_GIORNALI_PREDEFINITA);
+	}
+
+
+	/**
+	 * Metodo che abilita i giornali delle sessioni (da chiamare prima di avviare il server), come
+	 * {@link #abilitaGiornali(Path, boolean)}, con la scadenza data per le partite abbandonate
+	 *
+	 * @param cartella la cartella in cui scrivere i giornali (creata se non esiste)
+	 * @param commitDiGruppo true per rendere durevoli i comandi di più sessioni insieme (group commit),
+	 * 		false per forzare su disco ogni comando da solo
+	 * @param scadenza il tempo dopo l'ultimo comando oltre il quale il giornale di una partita
+	 * 		abbandonata viene eliminato
+	 *
+	 * @throws IOException sollevata se non è possibile creare la cartella
+	 */
+	public synchronized void abilitaGiornali(Path cartella, boolean commitDiGruppo, Duration scadenza) throws IOException
+	{
+		if (scadenza.isNegative() || scadenza.isZero())
+			throw new IllegalArgumentException("Scadenza dei giornali non valida: " + scadenza);
+
+		if (modello == null)
+			throw new IllegalStateException("I giornali non sono supportati nei mondi condivisi");
+
+		if (serverSocket != null)
+			throw new IllegalStateException("Il server è già avviato");
+
+		this.cartellaGiornali = Files.createDirectories(cartella);
+		this.commitDiGruppo = commitDiGruppo ? new CommitDiGruppo(cartellaGiornali) : null;
+		this.scadenzaGiornali = scadenza;
+	}
+
+
+	/**
+	 * Metodo che avvia il server in ascolto sull'interfaccia di loopback.
+	 * Le connessioni vengono accettate da un thread dedicato.
+	 *
+	 * @param porta la porta su cui ascoltare (0 per una porta libera qualsiasi)
+	 * @return la porta su cui il server è in ascolto
+	 *
+	 * @throws IOException sollevata se non è possibile aprire la porta
+	 */
+	public synchronized int avvia(int porta) throws IOException
+	{
+		if (serverSocket != null)
+			throw new IllegalStateException("Il server è già avviato");
+
+		serverSocket = new ServerSocket(porta, CODA_CONNESSIONI, InetAddress.getLoopbackAddress());
+
+		Thread accettatore = new Thread(this::accetta, "server-gioco");
+		accettatore.start();
+
+		// I giornali scaduti vengono cercati all'avvio (anche quelli rimasti da un'esecuzione precedente),
+		// poi periodicamente
+		if (cartellaGiornali != null)
+		{
+			long intervallo = Math.max(1, Math.min(INTERVALLO_PULIZIA.toMillis(), scadenzaGiornali.toMillis()));
+
+			pulizia = Executors.newSingleThreadScheduledExecutor(task ->
+			{
+				Thread thread = new Thread(task, "giornali-scaduti");
+				thread.setDaemon(true);
+				return thread;
+			});
+			pulizia.scheduleWithFixedDelay(this::eliminaGiornaliScaduti, 0, intervallo, TimeUnit.MILLISECONDS);
+		}
+
+		return serverSocket.getLocalPort();
+	}
+
+
+	/**
+	 * Metodo eseguito dal thread che accetta le connessioni, fino alla chiusura del server
+	 */
+	private void accetta()
+	{
+		ServerSocket server = serverSocket;
+		long attesa = ATTESA_ERRORE;
+
+		while (!server.isClosed())
+		{
+			Socket connessione;
+
+			try
+			{
+				connessione = server.accept();
+				attesa = ATTESA_ERRORE;
+			}
+			catch (IOException e)
+			{
+				if (server.isClosed())
+					return;
+
+				// L'errore può ripetersi ad ogni accept (ES: troppi file aperti): aspetto prima di riprovare
+				System.err.println("[ERROR] Impossibile accettare una connessione: " + e.getMessage());
+
+				try
+				{
+					Thread.sleep(attesa);
+				}
+				catch (InterruptedException interruzione)
+				{
+					return;
+				}
+
+				attesa = Math.min(attesa * 2, ATTESA_ERRORE_MASSIMA);
+				continue;
+			}
+
+			// Se non ci sono posti liberi la connessione viene rifiutata
+			if (!postiLiberi.tryAcquire())
+			{
+				rifiuta(connessione);
+				continue;
+			}
+
+			sessioniAttive.incrementAndGet();
+			connessioni.add(connessione);
+			sessioni.execute(() -> gioca(connessione));
+		}
+	}
+
+
+	/**
+	 * Metodo che elimina i giornali delle partite che non sono in corso e non ricevono comandi
+	 * da più della scadenza dei giornali
+	 */
+	private void eliminaGiornaliScaduti()
+	{
+		long limite = System.currentTimeMillis() - scadenzaGiornali.toMillis();
+
+		try (DirectoryStream<Path> giornali = Files.newDirectoryStream(cartellaGiornali, "*.wal"))
+		{
+			for (Path giornale : giornali)
+			{
+				String nome = giornale.getFileName().toString();
+				String codice = nome.substring(0, nome.length() - ".wal".length());
+
+				// Prenoto il codice come fa una sessione che riprende la partita, così che nessuna
+				// sessione possa riprenderla mentre il giornale viene eliminato
+				if (!partiteAttive.add(codice))
+					continue;
+
+				try
+				{
+					if (Files.getLastModifiedTime(giornale).toMillis() < limite)
+						Files.deleteIfExists(giornale);
+				}
+				catch (IOException e)
+				{
+					// Il giornale verrà eliminato alla prossima ricerca
+				}
+				finally
+				{
+					partiteAttive.remove(codice);
+				}
+			}
+		}
+		catch (IOException | UncheckedIOException e)
+		{
+			// La cartella non è leggibile: riprovo alla prossima ricerca
+		}
+	}
+
+
+	/**
+	 * Metodo che rifiuta una connessione, dato che il server ha raggiunto il numero massimo di connessioni
+	 * @param connessione la connessione da rifiutare
+	 */
+	private void rifiuta(Socket connessione)
+	{
+		try (Socket socket = connessione)
+		{
+			socket.setSoTimeout(timeoutInattivita);
+			socket.getOutputStream().write(("[ERROR] Server pieno, riprova più tardi!" + System.lineSeparator())
+					.getBytes(StandardCharsets.UTF_8));
+		}
+		catch (IOException e)
+		{
+			// Il client si è già disconnesso
+		}
+	}
+
+
+	/**
+	 * Metodo che gioca la sessione di una connessione, fino alla fine della partita o alla disconnessione
+	 * @param connessione la connessione del giocatore
+	 */
+	private void gioca(Socket connessione)
+	{
+		try (Socket socket = connessione)
+		{
+			socket.setSoTimeout(timeoutInattivita);
+			socket.setTcpNoDelay(true);
+
+			Writer scrittore = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+			BufferedReader lettore = new LettoreConnessione(
+					new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8), scrittore);
+
+			Mondo mondo = creaPartita.apply(new UscitaBufferizzata(scrittore));
+
+			if (cartellaGiornali == null)
+			{
+				new Gioco().play(mondo, lettore);
+				return;
+			}
+
+			try (LettoreRegistrato registrato = new LettoreRegistrato(lettore, mondo.getContesto()))
+			{
+				Gioco gioco = new Gioco();
+				gioco.play(mondo, registrato);
+
+				// Una partita vinta non deve più essere ripresa
+				if (gioco.isVinto())
+					registrato.eliminaGiornale();
+			}
+		}
+		catch (IOException | UncheckedIOException e)
+		{
+			// Il giocatore si è disconnesso
+		}
+		finally
+		{
+			connessioni.remove(connessione);
+			sessioniAttive.decrementAndGet();
+			postiLiberi.release();
+		}
+	}
+
+
+	/**
+	 * Metodo che ritorna la porta su cui il server è in ascolto
+	 * @return la porta, oppure -1 se il server non è avviato
+	 */
+	public int getPorta()
+	{
+		ServerSocket server = serverSocket;
+		return server == null ? -1 : server.getLocalPort();
+	}
+
+
+	/**
+	 * Metodo che ritorna il numero di sessioni attive
+	 * @return il numero di sessioni attive
+	 */
+	public int getSessioniAttive()
+	{
+		return sessioniAttive.get();
+	}
+
+
+	/**
+	 * Metodo che indica se le sessioni vengono eseguite su virtual thread
+	 * @return true se le sessioni vengono eseguite su virtual thread
+	 */
+	public boolean isThreadVirtuali()
+	{
+		return threadVirtuali;
+	}
+
+
+	/**
+	 * Chiude il server: non vengono più accettate connessioni e le sessioni attive vengono interrotte
+	 */
+	@Override
+	public synchronized void close() throws IOException
+	{
+		if (serverSocket != null)
+			serverSocket.close();
+
+		if (pulizia != null)
+			pulizia.shutdownNow();
+
+		sessioni.shutdown();
+
+		// Chiudendo le connessioni le sessioni in attesa di un comando terminano
+		for (Socket connessione : connessioni)
+			connessione.close();
+
+		try
+		{
+			sessioni.awaitTermination(ATTESA_CHIUSURA, TimeUnit.SECONDS);
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+
+		if (commitDiGruppo != null)
+			commitDiGruppo.close();
+	}
+
+
+	/**
+	 * Lettore dei comandi di una connessione: prima di leggere ogni comando invia il prompt al giocatore
+	 *
+	 * @author Gabriele
+	 */
+	private static class LettoreConnessione extends BufferedReader
+	{
+		/**
+		 * Lo scrittore della connessione, su cui inviare il prompt
+		 */
+		private final Writer scrittore;
+
+		/**
+		 * Costruttore del lettore
+		 * @param ingresso il flusso di ingresso della connessione
+		 * @param scrittore lo scrittore della connessione
+		 */
+		LettoreConnessione(Reader ingresso, Writer scrittore)
+		{
+			super(ingresso);
+			this.scrittore = scrittore;
+		}
+
+		@Override
+		public String readLine() throws IOException
+		{
+			scrittore.write(PROMPT);
+			scrittore.flush();
+			return super.readLine();
+		}
+	}
+
+
+	/**
+	 * Lettore dei comandi di una sessione che registra ogni comando nel giornale della partita, prima di
+	 * ritornarlo per l'esecuzione. Riconosce il comando {@link #COMANDO_RIPRENDI} come primo comando della sessione.
+	 *
+	 * @author Gabriele
+	 */
+	private class LettoreRegistrato extends BufferedReader
+	{
+		/**
+		 * Il lettore della connessione
+		 */
+		private final BufferedReader lettore;
+
+		/**
+		 * Il contesto della partita della sessione
+		 */
+		private final ContestoMondo contesto;
+
+		/**
+		 * Il codice della partita
+		 */
+		private String codice;
+
+		/**
+		 * Il giornale della partita (null finché la partita non ha comandi)
+		 */
+		private GiornaleComandi giornale;
+
+		/**
+		 * True finché non è stato letto il primo comando della sessione
+		 */
+		private boolean primoComando = true;
+
+		/**
+		 * Costruttore del lettore di una nuova partita: il suo giornale viene creato al primo comando,
+		 * così che le sessioni chiuse prima di giocare non lascino giornali vuoti
+		 * @param lettore il lettore della connessione
+		 * @param contesto il contesto della partita della sessione
+		 */
+		LettoreRegistrato(BufferedReader lettore, ContestoMondo contesto)
+		{
+			super(lettore);
+			this.lettore = lettore;
+			this.contesto = contesto;
+			this.codice = UUID.randomUUID().toString();
+			partiteAttive.add(codice);
+		}
+
+		/**
+		 * Metodo che ritorna il file del giornale di una partita
+		 * @param codice il codice della partita
+		 * @return il file del giornale
+		 */
+		private Path fileGiornale(String codice)
+		{
+			return cartellaGiornali.resolve(codice + ".wal");
+		}
+
+		@Override
+		public String readLine() throws IOException
+		{
+			Uscita uscita = contesto.getUscita();
+
+			if (primoComando)
+			{
+				uscita.println("Codice della partita: " + codice
+						+ " (per riprenderla: " + COMANDO_RIPRENDI + " <codice>)");
+				uscita.fineTurno();
+			}
+			else if (giornale != null && giornale.isIstantaneaNecessaria())
+				giornale.salvaIstantanea(contesto.salvaIstantanea());
+
+			String linea = lettore.readLine();
+
+			if (primoComando && linea != null && linea.startsWith(COMANDO_RIPRENDI + " "))
+			{
+				uscita.println(riprendi(linea.substring(COMANDO_RIPRENDI.length()).trim()));
+				uscita.println();
+				uscita.fineTurno();
+				linea = lettore.readLine();
+			}
+
+			primoComando = false;
+
+			// Il comando deve essere durevole prima di essere eseguito
+			if (linea != null)
+			{
+				if (giornale == null)
+					giornale = new GiornaleComandi(fileGiornale(codice), commitDiGruppo);
+
+				giornale.registra(linea);
+			}
+
+			return linea;
+		}
+
+		/**
+		 * Metodo che riprende la partita con il codice dato, al posto di quella nuova
+		 * @param codiceRipreso il codice della partita da riprendere
+		 * @return il messaggio da mostrare al giocatore
+		 *
+		 * @throws IOException sollevata se non è possibile leggere il giornale della partita
+		 */
+		private String riprendi(String codiceRipreso) throws IOException
+		{
+			try
+			{
+				// Il codice deve essere un UUID, così che non possa indicare un file fuori dalla cartella
+				codiceRipreso = UUID.fromString(codiceRipreso).toString();
+			}
+			catch (IllegalArgumentException e)
+			{
+				return "[ERROR] Codice della partita non valido: " + codiceRipreso;
+			}
+
+			if (!Files.exists(fileGiornale(codiceRipreso)))
+				return "[ERROR] Nessuna partita con il codice " + codiceRipreso;
+
+			if (!partiteAttive.add(codiceRipreso))
+				return "[ERROR] La partita " + codiceRipreso + " è già in corso in un'altra sessione";
+
+			// Il giornale potrebbe essere scaduto ed eliminato prima che il codice venisse prenotato
+			if (!Files.exists(fileGiornale(codiceRipreso)))
+			{
+				partiteAttive.remove(codiceRipreso);
+				return "[ERROR] Nessuna partita con il codice " + codiceRipreso;
+			}
+
+			// Abbandono la partita nuova, che non ha ancora comandi (e quindi nemmeno un giornale)
+			partiteAttive.remove(codice);
+
+			codice = codiceRipreso;
+			giornale = new GiornaleComandi(fileGiornale(codice), commitDiGruppo);
+
+			int comandi = giornale.recupera(contesto);
+			return "Partita " + codice + " ripresa (" + comandi + " comandi rieseguiti)";
+		}
+
+		/**
+		 * Metodo che chiude ed elimina il giornale della partita, che non potrà più essere ripresa
+		 *
+		 * @throws IOException sollevata se non è possibile eliminare il giornale
+		 */
+		void eliminaGiornale() throws IOException
+		{
+			if (giornale != null)
+			{
+				giornale.close();
+				Files.deleteIfExists(giornale.getFile());
+				giornale = null;
+			}
+		}
+
+		@Override
+		public void close() throws IOException
+		{
+			// La connessione viene chiusa dalla sessione: chiudo solo il giornale
+			partiteAttive.remove(codice);
+
+			if (giornale != null)
+				giornale.close();
+		}
+	}
+
+
+	/**
+	 * Avvia il server sul mondo dato.
+	 * Argomenti: file.game [porta] [numero massimo di connessioni] [timeout di inattività in secondi]
+	 * 		[cartella dei giornali]
+	 */
+	public static void main(String[] args) throws Exception
+	{
+		if (args.length == 0)
+		{
+			System.out.println("Uso: ServerGioco file.game [porta] [max connessioni] [timeout in secondi]"
+					+ " [cartella dei giornali]");
+			return;
+		}
+
+		ModelloMondo modello = ModelloMondo.carica(Paths.get(args[0]));
+		int porta = args.length > 1 ? Integer.parseInt(args[1]) : PORTA_PREDEFINITA;
+		int maxConnessioni = args.length > 2 ? Integer.parseInt(args[2]) : MAX_CONNESSIONI_PREDEFINITO;
+		Duration timeout = args.length > 3 ? Duration.ofSeconds(Long.parseLong(args[3])) : TIMEOUT_PREDEFINITO;
+
+		ServerGioco server = new ServerGioco(modello, maxConnessioni, timeout);
+
+		if (args.length > 4)
+			server.abilitaGiornali(Paths.get(args[4]), true);
+
+		porta = server.avvia(porta);
+
+		System.out.println("Server del mondo " + modello.getNomeMondo() + " in ascolto sulla porta " + porta
+				+ " (" + (server.isThreadVirtuali() ? "virtual thread" : "thread di piattaforma") + ")");
+	}
+}
@@ -0,0 +1,118 @@
+package it.uniroma1.textadv.utilita;
+
+import it.uniroma1.textadv.link.Link;
+
+
+/**
+ * Enumerazione delle capacità che un'entità o un link può avere, ognuna legata all'interfaccia
+ * (o alla classe) che la modella (ES: un oggetto {@link Fragile} ha la capacità {@link #FRAGILE}).
+ *
+ * L'insieme delle capacità di un target è rappresentato da un intero, in cui è acceso il bit
+ * di ogni capacità che il target ha (vedi {@link #bit()}). Le capacità di una classe vengono
+ * calcolate una sola volta, la prima volta che vengono richieste.
+ *
+ * @author Gabriele
+ *
+ */
+public enum Capacita
+{
+	PRENDIBILE(EntitaPrendibile.class),
+	APRIBILE(Apribile.class),
+	APRIBILE_CON_STRUMENTO(ApribileConStrumento.class),
+	FRAGILE(Fragile.class),
+	POTENTE(Potente.class),
+	COMPRABILE(Comprabile.class),
+	CONTROLLABILE(Controllabile.class),
+	RIEMPIBILE_SVUOTABILE(RiempibileSvuotabile.class),
+	ACCENDIBILE_SPEGNIBILE(AccendibileSpegnibile.class),
+	MEZZO_DI_TRASPORTO(MezzoDiTrasposto.class),
+	LINK(Link.class);
+
+
+	/**
+	 * Il numero di insiemi di capacità diversi
+	 */
+	public final static int COMBINAZIONI = 1 << values().length;
+
+	/**
+	 * Le capacità di ogni classe, calcolate la prima volta che vengono richieste
+	 */
+	private final static ClassValue<Integer> CAPACITA_DELLE_CLASSI = new ClassValue<>()
+	{
+		@Override
+		protected Integer computeValue(Class<?> classe)
+		{
+			int capacita = 0;
+
+			for (Capacita c : values())
+				if (c.tipo.isAssignableFrom(classe))
+					capacita |= c.bit();
+
+			return capacita;
+		}
+	};
+
+
+	/**
+	 * L'interfaccia (o la classe) che modella la capacità
+	 */
+	private final Class<?> tipo;
+
+
+	/**
+	 * Costruttore della capacità
+	 * @param tipo l'interfaccia (o la classe) che modella la capacità
+	 */
+	private Capacita(Class<?> tipo)
+	{
+		this.tipo = tipo;
+	}
+
+
+	/**
+	 * Metodo che ritorna il bit della capacità
+	 * @return il bit della capacità
+	 */
+	public int bit()
+	{
+		return 1 << ordinal();
+	}
+
+
+	/**
+	 * Metodo che ritorna true se la capacità fa parte dell'insieme di capacità dato
+	 * @param capacita l'insieme di capacità
+	 * @return true se la capacità fa parte dell'insieme, false altrimenti
+	 */
+	public boolean in(int capacita)
+	{
+		return (capacita & bit()) != 0;
+	}
+
+
+	/**
+	 * Metodo che ritorna l'insieme delle capacità date
+	 * @param capacita le capacità
+	 * @return l'insieme delle capacità
+	 */
+	public static int insieme(Capacita... capacita)
+	{
+		int insieme = 0;
+
+		for (Capacita c : capacita)
+			insieme |= c.bit();
+
+		return insieme;
+	}
+
+
+	/**
+	 * Metodo che ritorna l'insieme delle capacità delle istanze di una classe
+	 * @param classe la classe
+	 * @return l'insieme delle capacità
+	 */
+	public static int di(Class<?> classe)
+	{
+		return CAPACITA_DELLE_CLASSI.get(classe);
+	}
+}
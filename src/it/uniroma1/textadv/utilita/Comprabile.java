@@ -1,13 +1,13 @@
-package it.uniroma1.textadv.utilita;
-
-/**
- * Interfaccia segna posto che indica che un oggetto pu essere comprato.
- * Essere un comprabile implica essere un'entit prendibile.
- * 
- * @author Gabriele
- *
- */
-public interface Comprabile extends EntitaPrendibile
-{
-
-}
+package it.uniroma1.textadv.utilita;
+
+/**
+ * Interfaccia segna posto che indica che un oggetto può essere comprato.
+ * Essere un comprabile implica essere un'entità prendibile.
+ * 
+ * @author Gabriele
+ *
+ */
+public interface Comprabile extends EntitaPrendibile
+{
+
+}
@@ -0,0 +1,16 @@
+package it.uniroma1.textadv.utilita;
+
+/**
+ * Interfaccia segna posto utile ad indicare che un'entità contiene i propri target
+ * (ES: l'armadio contiene il cacciavite), a differenza delle altre entità, i cui target
+ * sono solo le entità con cui interagiscono (ES: la chiave ha come target l'armadio che apre).
+ * 
+ * Solo i contenitori compaiono nell'indice dei contenimenti del mondo
+ * (vedi {@link it.uniroma1.textadv.IndiceContenimento})
+ * 
+ * @author Gabriele
+ *
+ */
+public interface Contenitore {
+
+}
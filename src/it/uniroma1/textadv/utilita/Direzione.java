@@ -1,13 +1,30 @@
-package it.uniroma1.textadv.utilita;
-
-/**
- * Enumerazione che modella le direzioni percorribili nel mondo
- * 
- * @author Gabriele
- *
- */
-public enum Direzione
-{	
-	N, S, O, E, W
-	
-}
+package it.uniroma1.textadv.utilita;
+
+/**
+ * Enumerazione che modella le direzioni percorribili nel mondo
+ * 
+ * @author Gabriele
+ *
+ */
+public enum Direzione
+{	
+	N, S, O, E, W;
+	
+	
+	/**
+	 * Metodo che dato il nome di una direzione (senza distinguere maiuscole e minuscole),
+	 * ne ritorna l'istanza. A differenza di valueOf() non solleva eccezioni.
+	 * 
+	 * @param nomeDirezione il nome della direzione
+	 * @return la direzione con il nome dato, oppure null se non esiste
+	 */
+	public static Direzione daNome(String nomeDirezione)
+	{
+		for (Direzione dir : values())
+			if (dir.name().equalsIgnoreCase(nomeDirezione))
+				return dir;
+		
+		return null;
+	}
+	
+}
@@ -1,14 +1,14 @@
-package it.uniroma1.textadv.utilita;
-
-
-/**
- * Interfaccia segna posto che serve ad indicare che un oggetto pu essere
- * preso dai personaggi e dal giocatore, e cambiare stanza assieme a loro
- * 
- * @author Gabriele
- *
- */
-public interface EntitaPrendibile extends Observer
-{
-	
-}
+package it.uniroma1.textadv.utilita;
+
+
+/**
+ * Interfaccia segna posto che serve ad indicare che un oggetto può essere
+ * preso dai personaggi e dal giocatore, e cambiare stanza assieme a loro
+ * 
+ * @author Gabriele
+ *
+ */
+public interface EntitaPrendibile extends Observer
+{
+	
+}
@@ -0,0 +1,541 @@
+package it.uniroma1.textadv.utilita;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+
+/**
+ * Mappa che ha come chiavi dei nomi di entità, stanze o link, e che al suo interno usa
+ * l'identificativo intero del nome nella tabella dei nomi del mondo ({@link NomiInterni}) al posto della stringa.
+ *
+ * Le coppie sono memorizzate in due array paralleli (identificativi e valori), nell'ordine
+ * in cui sono state inserite, come in una LinkedHashMap, senza creare un oggetto per ogni coppia.
+ * La mappa occupa solo lo spazio che le serve, dato che la maggior parte delle mappe di un mondo
+ * (i target di un'entità, le entità di una stanza) è vuota o quasi:
+ * - finché è vuota, usa degli array vuoti condivisi da tutte le mappe
+ * - fino a {@link #MAX_PICCOLA} coppie, la ricerca scorre l'array degli identificativi
+ * - oltre, la ricerca avviene in una tabella hash di interi
+ *
+ * Le mappe che contengono gran parte dei nomi del mondo (ES: tutti gli oggetti di una partita) possono
+ * usare invece un indice diretto, ossia un array con la posizione di ogni coppia indicizzato dall'identificativo:
+ * dato che gli identificativi del mondo sono densi, l'array non ha quasi celle vuote.
+ *
+ * I metodi con le stringhe (get, put, remove, ...) sono quelli di una normale mappa e si limitano
+ * a tradurre il nome nel suo identificativo; chi ha già l'identificativo può usare direttamente
+ * {@link #cerca(int)}, {@link #inserisci(int, Object)} e {@link #rimuovi(int)}.
+ *
+ * @author Gabriele
+ *
+ * @param <V> il tipo dei valori della mappa
+ */
+public class MappaNomi<V> extends AbstractMap<String, V>
+{
+	/**
+	 * Identificativo delle posizioni rimaste vuote dopo una rimozione
+	 */
+	private final static int RIMOSSO = NomiInterni.NON_PRESENTE;
+
+	/**
+	 * Capacità iniziale degli array, alla prima coppia inserita
+	 */
+	private final static int CAPACITA_INIZIALE = 2;
+
+	/**
+	 * La capacità massima per cui la mappa non usa la tabella hash
+	 */
+	public final static int MAX_PICCOLA = 8;
+
+	/**
+	 * Array vuoti condivisi dalle mappe in cui non è ancora stato inserito niente
+	 */
+	private final static int[] INTERI_VUOTI = {};
+	private final static Object[] VALORI_VUOTI = {};
+
+
+	/**
+	 * La tabella dei nomi del mondo, che dà l'identificativo delle chiavi
+	 */
+	private final NomiInterni nomi;
+
+	/**
+	 * True se la mappa usa l'indice diretto
+	 */
+	private final boolean diretta;
+
+	/**
+	 * Gli identificativi delle chiavi, in ordine di inserimento (RIMOSSO se la coppia è stata rimossa)
+	 */
+	private int[] chiavi = INTERI_VUOTI;
+
+	/**
+	 * I valori, nella stessa posizione della chiave
+	 */
+	private Object[] valori = VALORI_VUOTI;
+
+	/**
+	 * La tabella hash ad indirizzamento aperto, con due interi per cella: l'identificativo della chiave
+	 * e (posizione + 1) della coppia, oppure 0 se la cella è vuota.
+	 * Tenendo l'identificativo nella cella, una ricerca legge un solo punto della memoria prima del valore.
+	 * È vuota finché la capacità non supera MAX_PICCOLA.
+	 * Con l'indice diretto, invece, la cella id contiene (posizione + 1) della coppia, oppure 0
+	 */
+	private int[] indice = INTERI_VUOTI;
+
+	/**
+	 * Il numero di posizioni degli array già usate (comprese quelle rimosse)
+	 */
+	private int usati;
+
+	/**
+	 * Il numero di coppie presenti nella mappa
+	 */
+	private int dimensione;
+
+
+	/**
+	 * Costruttore di una mappa vuota
+	 * @param nomi la tabella dei nomi del mondo
+	 */
+	public MappaNomi(NomiInterni nomi)
+	{
+		this(nomi, false);
+	}
+
+
+	/**
+	 * Costruttore di una mappa vuota
+	 * @param nomi la tabella dei nomi del mondo
+	 * @param diretta true per usare l'indice diretto
+	 */
+	public MappaNomi(NomiInterni nomi, boolean diretta)
+	{
+		this.nomi = nomi;
+		this.diretta = diretta;
+	}
+
+
+	/**
+	 * Metodo che ritorna la cella dell'indice in cui si trova l'identificativo,
+	 * oppure la cella vuota in cui andrebbe inserito
+	 */
+	private int cella(int id)
+	{
+		int maschera = (indice.length >> 1) - 1;
+		int i = ideale(id, maschera);
+
+		while (indice[2 * i + 1] != 0 && indice[2 * i] != id)
+			i = (i + 1) & maschera;
+
+		return i;
+	}
+
+
+	/**
+	 * Metodo che ritorna la prima cella in cui si cerca l'identificativo
+	 */
+	private static int ideale(int id, int maschera)
+	{
+		// Gli identificativi sono consecutivi: li moltiplico per distribuirli su tutta la tabella
+		return TabellaNomi.mescola(id * 0x9E3779B9) & maschera;
+	}
+
+
+	/**
+	 * Metodo che ritorna la posizione della coppia con l'identificativo dato, oppure -1 se non c'è
+	 */
+	private int posizione(int id)
+	{
+		if (dimensione == 0 || id < 0)
+			return -1;
+
+		if (diretta)
+			return id < indice.length ? indice[id] - 1 : -1;
+
+		// Senza tabella hash scorro gli identificativi (le posizioni rimosse non coincidono mai con un identificativo)
+		if (indice.length == 0)
+		{
+			for (int p = 0; p < usati; p++)
+				if (chiavi[p] == id)
+					return p;
+
+			return -1;
+		}
+
+		return indice[2 * cella(id) + 1] - 1;
+	}
+
+
+	/**
+	 * Metodo che ritorna il valore associato all'identificativo di un nome
+	 * @param id l'identificativo del nome
+	 * @return il valore associato, oppure null se l'identificativo non è nella mappa
+	 */
+	@SuppressWarnings("unchecked")
+	public V cerca(int id)
+	{
+		int p = posizione(id);
+		return p < 0 ? null : (V) valori[p];
+	}
+
+
+	/**
+	 * Metodo che verifica se l'identificativo di un nome è nella mappa
+	 * @param id l'identificativo del nome
+	 * @return true se è nella mappa, false altrimenti
+	 */
+	public boolean contiene(int id)
+	{
+		return posizione(id) >= 0;
+	}
+
+
+	/**
+	 * Metodo che associa un valore all'identificativo di un nome
+	 * @param id l'identificativo del nome
+	 * @param valore il valore da associare
+	 * @return il valore associato in precedenza, oppure null
+	 */
+	@SuppressWarnings("unchecked")
+	public V inserisci(int id, V valore)
+	{
+		if (id < 0)
+			throw new IllegalArgumentException("Identificativo non valido: " + id);
+
+		int p = posizione(id);
+
+		if (p >= 0)
+		{
+			V vecchio = (V) valori[p];
+			valori[p] = valore;
+			return vecchio;
+		}
+
+		if (usati == chiavi.length)
+			ricostruisci();
+
+		chiavi[usati] = id;
+		valori[usati] = valore;
+		usati++;
+		dimensione++;
+
+		if (diretta)
+		{
+			if (id >= indice.length)
+				indice = Arrays.copyOf(indice, Math.max(id + 1, Math.max(nomi.size(), indice.length * 2)));
+
+			indice[id] = usati;
+		}
+		else if (indice.length != 0)
+		{
+			int i = cella(id);
+			indice[2 * i] = id;
+			indice[2 * i + 1] = usati;
+		}
+
+		return null;
+	}
+
+
+	/**
+	 * Metodo che rimuove dalla mappa l'identificativo di un nome
+	 * @param id l'identificativo del nome
+	 * @return il valore associato in precedenza, oppure null
+	 */
+	public V rimuovi(int id)
+	{
+		if (diretta || indice.length == 0)
+		{
+			int p = posizione(id);
+
+			if (p < 0)
+				return null;
+
+			if (diretta)
+				indice[id] = 0;
+
+			return libera(p);
+		}
+
+		if (dimensione == 0 || id < 0)
+			return null;
+
+		int i = cella(id);
+		if (indice[2 * i + 1] == 0)
+			return null;
+
+		V vecchio = libera(indice[2 * i + 1] - 1);
+
+		// Sposto indietro le celle successive, così che nessuna ricerca si fermi sulla cella liberata
+		int maschera = (indice.length >> 1) - 1;
+		for (int j = (i + 1) & maschera; indice[2 * j + 1] != 0; j = (j + 1) & maschera)
+		{
+			if (((j - ideale(indice[2 * j], maschera)) & maschera) >= ((j - i) & maschera))
+			{
+				indice[2 * i] = indice[2 * j];
+				indice[2 * i + 1] = indice[2 * j + 1];
+				i = j;
+			}
+		}
+		indice[2 * i] = 0;
+		indice[2 * i + 1] = 0;
+
+		return vecchio;
+	}
+
+
+	/**
+	 * Metodo di utilità che libera una posizione degli array e ritorna il valore che conteneva
+	 */
+	@SuppressWarnings("unchecked")
+	private V libera(int p)
+	{
+		V vecchio = (V) valori[p];
+		chiavi[p] = RIMOSSO;
+		valori[p] = null;
+		dimensione--;
+
+		return vecchio;
+	}
+
+
+	/**
+	 * Metodo di utilità che fa spazio per una nuova coppia: se abbastanza posizioni sono state liberate
+	 * compatta gli array, altrimenti li raddoppia. In entrambi i casi ricostruisce l'indice.
+	 */
+	private void ricostruisci()
+	{
+		// Una mappa piccola viene compattata appena c'è una posizione libera, una grande solo quando
+		// ce ne sono abbastanza da non doverla compattare di nuovo dopo poche coppie
+		int libere = chiavi.length <= MAX_PICCOLA ? 1 : chiavi.length / 4;
+		int capacita = chiavi.length == 0 ? CAPACITA_INIZIALE
+				: usati - dimensione >= libere ? chiavi.length : chiavi.length * 2;
+
+		int[] nuoveChiavi = new int[capacita];
+		Object[] nuoviValori = new Object[capacita];
+		int n = 0;
+
+		for (int p = 0; p < usati; p++)
+			if (chiavi[p] != RIMOSSO)
+			{
+				nuoveChiavi[n] = chiavi[p];
+				nuoviValori[n++] = valori[p];
+			}
+
+		chiavi = nuoveChiavi;
+		valori = nuoviValori;
+		usati = n;
+		if (diretta)
+		{
+			// L'indice diretto resta della stessa lunghezza: cambiano solo le posizioni
+			for (int p = 0; p < n; p++)
+				indice[chiavi[p]] = p + 1;
+
+			return;
+		}
+
+		if (capacita <= MAX_PICCOLA)
+		{
+			indice = INTERI_VUOTI;
+			return;
+		}
+
+		indice = new int[capacita * 4];
+
+		for (int p = 0; p < n; p++)
+		{
+			int i = cella(chiavi[p]);
+			indice[2 * i] = chiavi[p];
+			indice[2 * i + 1] = p + 1;
+		}
+	}
+
+
+	/**
+	 * Metodo che ritorna l'identificativo di una chiave, oppure RIMOSSO se il nome non è mai stato aggiunto
+	 */
+	private int id(Object chiave)
+	{
+		return chiave instanceof String ? nomi.getId((String) chiave) : RIMOSSO;
+	}
+
+
+	/**
+	 * Metodo che ritorna la tabella dei nomi della mappa
+	 * @return la tabella dei nomi
+	 */
+	public NomiInterni getNomi()
+	{
+		return nomi;
+	}
+
+
+	@Override
+	public V get(Object chiave)
+	{
+		return cerca(id(chiave));
+	}
+
+
+	@Override
+	public boolean containsKey(Object chiave)
+	{
+		return contiene(id(chiave));
+	}
+
+
+	@Override
+	public V put(String chiave, V valore)
+	{
+		return inserisci(nomi.interna(chiave), valore);
+	}
+
+
+	@Override
+	public V remove(Object chiave)
+	{
+		return rimuovi(id(chiave));
+	}
+
+
+	@Override
+	public int size()
+	{
+		return dimensione;
+	}
+
+
+	@Override
+	public boolean isEmpty()
+	{
+		return dimensione == 0;
+	}
+
+
+	@Override
+	public void clear()
+	{
+		chiavi = INTERI_VUOTI;
+		valori = VALORI_VUOTI;
+		indice = INTERI_VUOTI;
+		usati = 0;
+		dimensione = 0;
+	}
+
+
+	@Override
+	public Set<Map.Entry<String, V>> entrySet()
+	{
+		// La vista non viene memorizzata nella mappa, così da non occupare un campo in ogni mappa
+		return new AbstractSet<>()
+		{
+			@Override
+			public Iterator<Map.Entry<String, V>> iterator()
+			{
+				return new Iterator<>()
+				{
+					/**
+					 * La posizione della prossima coppia da restituire
+					 */
+					private int prossima = salta(0);
+
+					/**
+					 * La posizione dell'ultima coppia restituita
+					 */
+					private int ultima = -1;
+
+					/**
+					 * Metodo che ritorna la prima posizione occupata a partire da quella data
+					 */
+					private int salta(int p)
+					{
+						while (p < usati && chiavi[p] == RIMOSSO)
+							p++;
+
+						return p;
+					}
+
+					@Override
+					public boolean hasNext()
+					{
+						return prossima < usati;
+					}
+
+					@Override
+					public Map.Entry<String, V> next()
+					{
+						if (prossima >= usati)
+							throw new NoSuchElementException();
+
+						ultima = prossima;
+						prossima = salta(prossima + 1);
+
+						return new Coppia(ultima);
+					}
+
+					@Override
+					public void remove()
+					{
+						if (ultima < 0 || chiavi[ultima] == RIMOSSO)
+							throw new IllegalStateException();
+
+						// La rimozione non sposta le coppie negli array, quindi l'iterazione può continuare
+						rimuovi(chiavi[ultima]);
+					}
+				};
+			}
+
+			@Override
+			public int size()
+			{
+				return dimensione;
+			}
+
+			@Override
+			public void clear()
+			{
+				MappaNomi.this.clear();
+			}
+		};
+	}
+
+
+	/**
+	 * Classe che modella una coppia della mappa restituita dall'iterazione
+	 *
+	 * @author Gabriele
+	 */
+	private class Coppia extends AbstractMap.SimpleEntry<String, V>
+	{
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * La posizione della coppia negli array della mappa
+		 */
+		private final int posizione;
+
+		/**
+		 * Costruttore della coppia
+		 * @param posizione la posizione della coppia negli array della mappa
+		 */
+		@SuppressWarnings("unchecked")
+		Coppia(int posizione)
+		{
+			super(nomi.getNome(chiavi[posizione]), (V) valori[posizione]);
+			this.posizione = posizione;
+		}
+
+		@Override
+		public V setValue(V valore)
+		{
+			// Il valore viene scritto anche nella mappa, come in una normale mappa
+			valori[posizione] = valore;
+			return super.setValue(valore);
+		}
+	}
+
+}
@@ -1,13 +1,13 @@
-package it.uniroma1.textadv.utilita;
-
-
-/**
- * Interfaccia segna posto che indica che l'oggetto  un mezzo di trasporto
- * 
- * @author Gabriele
- *
- */
-public interface MezzoDiTrasposto 
-{
-
-}
+package it.uniroma1.textadv.utilita;
+
+
+/**
+ * Interfaccia segna posto che indica che l'oggetto è un mezzo di trasporto
+ * 
+ * @author Gabriele
+ *
+ */
+public interface MezzoDiTrasposto 
+{
+
+}
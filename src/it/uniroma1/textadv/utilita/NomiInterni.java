@@ -0,0 +1,267 @@
+package it.uniroma1.textadv.utilita;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+
+
+/**
+ * Classe che associa ad ogni nome di entità, stanza e link di un mondo un identificativo intero denso (0, 1, 2, ...):
+ * due nomi uguali hanno sempre lo stesso identificativo.
+ *
+ * Ogni mondo ha la propria tabella, che viene eliminata dal garbage collector insieme al mondo:
+ * - il modello di un mondo ({@link it.uniroma1.textadv.ModelloMondo}) aggiunge tutti i suoi nomi quando viene caricato
+ * - ogni partita ({@link it.uniroma1.textadv.ContestoMondo}) ha una tabella che parte da quella del modello (la base),
+ *   e a cui vengono aggiunti solo i nomi creati durante la partita. Gli identificativi dei nomi del modello
+ *   sono quindi gli stessi in tutte le partite giocate su quel mondo
+ *
+ * Le ricerche non prendono lock e possono essere fatte da più thread mentre altri aggiungono nomi
+ * (ES: i giocatori di un mondo condiviso). I nomi non vengono mai rimossi.
+ *
+ * Rispetto a un'unica tabella per tutto il processo, una tabella per mondo non è gratuita: la ricerca
+ * di un nome passa dalla base, e legge la tabella della partita solo se le sono stati aggiunti dei nomi.
+ * Su un mondo di 1.000.000 di entità ({@link it.uniroma1.textadv.benchmark.BenchmarkRegistroEntita})
+ * la ricerca di un target per nome costa il 10-20% in più (327-355 contro 269-319 ns), quella di un oggetto
+ * nel mondo costa meno grazie all'indice diretto (283-308 contro 358-437 ns), in cambio di 45 MB in meno
+ * di heap per il mondo istanziato (477 contro 523 MB) e di nessun nome trattenuto dopo la fine della partita
+ * (circa 23 MB per un mondo di 300.000 entità).
+ *
+ * @author Gabriele
+ *
+ */
+public final class NomiInterni
+{
+	/**
+	 * Valore restituito dalla ricerca quando il nome non è presente
+	 */
+	public final static int NON_PRESENTE = TabellaNomi.NON_PRESENTE;
+
+	/**
+	 * Capacità iniziale della tabella
+	 */
+	private final static int CAPACITA_INIZIALE = 16;
+
+	/**
+	 * Accesso alle celle della tabella con la semantica acquire/release, così che chi legge una cella
+	 * veda anche il nome scritto prima della cella
+	 */
+	private final static VarHandle CELLE = MethodHandles.arrayElementVarHandle(int[].class);
+
+
+	/**
+	 * Classe che modella la tabella dei nomi: quando è piena ne viene creata una più grande
+	 *
+	 * @author Gabriele
+	 */
+	private static class Tabella
+	{
+		/**
+		 * I nomi presenti nella tabella, in posizione id
+		 */
+		final String[] nomi;
+
+		/**
+		 * La tabella hash ad indirizzamento aperto.
+		 * Ogni cella contiene (id + 1) del nome, oppure 0 se è vuota
+		 */
+		final int[] celle;
+
+		/**
+		 * Costruttore della tabella
+		 * @param nomi i nomi della tabella (con spazio per quelli da aggiungere)
+		 * @param dimensione il numero di nomi già presenti
+		 */
+		Tabella(String[] nomi, int dimensione)
+		{
+			this.nomi = nomi;
+			this.celle = new int[nomi.length * 2];
+
+			for (int id = 0; id < dimensione; id++)
+				celle[cerca(nomi[id], nomi[id].hashCode())] = id + 1;
+		}
+
+		/**
+		 * Metodo che ritorna la cella in cui si trova il nome, oppure la cella vuota in cui andrebbe inserito
+		 */
+		int cerca(CharSequence nome, int h)
+		{
+			int maschera = celle.length - 1;
+			// I nomi di un mondo hanno spesso hash vicini (ES: stanza1, stanza2, ...): li moltiplico per sparpagliarli
+			int i = TabellaNomi.mescola(h * 0x9E3779B9) & maschera;
+
+			for (int cella = (int) CELLE.getAcquire(celle, i); cella != 0; cella = (int) CELLE.getAcquire(celle, i))
+			{
+				if (TabellaNomi.uguali(nomi[cella - 1], nome))
+					return i;
+
+				i = (i + 1) & maschera;
+			}
+
+			return i;
+		}
+	}
+
+
+	/**
+	 * La tabella di base (null se non c'è): i suoi nomi hanno gli identificativi da 0 a primo (escluso)
+	 */
+	private final NomiInterni base;
+
+	/**
+	 * Il primo identificativo dei nomi aggiunti a questa tabella
+	 */
+	private final int primo;
+
+	/**
+	 * La tabella corrente
+	 */
+	private volatile Tabella tabella = new Tabella(new String[CAPACITA_INIZIALE], 0);
+
+	/**
+	 * Il numero di nomi aggiunti a questa tabella (modificato solo con il lock della tabella)
+	 */
+	private volatile int dimensione;
+
+
+	/**
+	 * Costruttore di una tabella vuota
+	 */
+	public NomiInterni()
+	{
+		this(null);
+	}
+
+
+	/**
+	 * Costruttore di una tabella che parte dai nomi della tabella di base data: i nomi della base mantengono
+	 * il loro identificativo, quelli aggiunti dopo vengono aggiunti solo a questa tabella.
+	 * I nomi aggiunti alla base dopo la creazione di questa tabella non ne fanno parte.
+	 *
+	 * @param base la tabella di base (oppure null)
+	 */
+	public NomiInterni(NomiInterni base)
+	{
+		this.base = base;
+		this.primo = base == null ? 0 : base.size();
+	}
+
+
+	/**
+	 * Metodo che dato un nome, ne ritorna l'identificativo
+	 * @param nome il nome da cercare
+	 * @return l'identificativo del nome, oppure NON_PRESENTE se il nome non è mai stato aggiunto
+	 */
+	public int getId(CharSequence nome)
+	{
+		return nome == null ? NON_PRESENTE : getId(nome, TabellaNomi.hash(nome));
+	}
+
+
+	/**
+	 * Metodo di utilità che cerca un nome, prima nella base e poi in questa tabella.
+	 * I nomi di una partita sono quasi tutti nella base, quindi di solito la ricerca legge una sola tabella:
+	 * questa tabella viene letta solo se le sono stati aggiunti dei nomi
+	 */
+	private int getId(CharSequence nome, int h)
+	{
+		if (base != null)
+		{
+			int id = base.getId(nome, h);
+
+			if (id != NON_PRESENTE && id < primo)
+				return id;
+
+			// Un nome aggiunto da un altro thread mentre lo si cerca può non essere ancora visto,
+			// come se la ricerca fosse avvenuta prima dell'aggiunta
+			if (dimensione == 0)
+				return NON_PRESENTE;
+		}
+
+		return cercaNellaTabella(nome, h);
+	}
+
+
+	/**
+	 * Metodo di utilità che cerca un nome solo fra quelli aggiunti a questa tabella
+	 */
+	private int cercaNellaTabella(CharSequence nome, int h)
+	{
+		Tabella t = tabella;
+		int cella = (int) CELLE.getAcquire(t.celle, t.cerca(nome, h));
+
+		return cella == 0 ? NON_PRESENTE : primo + cella - 1;
+	}
+
+
+	/**
+	 * Metodo che aggiunge un nome (se non è già presente) e ne ritorna l'identificativo
+	 * @param nome il nome da aggiungere
+	 * @return l'identificativo del nome
+	 */
+	public int interna(String nome)
+	{
+		int id = getId(nome);
+		return id != NON_PRESENTE ? id : aggiungi(nome);
+	}
+
+
+	/**
+	 * Metodo di utilità che aggiunge un nome che non è stato trovato senza lock
+	 */
+	private synchronized int aggiungi(String nome)
+	{
+		Tabella t = tabella;
+		int h = nome.hashCode();
+		int cella = t.cerca(nome, h);
+
+		// Nel frattempo il nome potrebbe essere stato aggiunto da un altro thread
+		int trovato = (int) CELLE.getAcquire(t.celle, cella);
+		if (trovato != 0)
+			return primo + trovato - 1;
+
+		// Se la tabella è piena ne creo una più grande, e la pubblico solo quando è completa
+		if (dimensione == t.nomi.length)
+		{
+			t = new Tabella(Arrays.copyOf(t.nomi, t.nomi.length * 2), dimensione);
+			tabella = t;
+			cella = t.cerca(nome, h);
+		}
+
+		int id = dimensione;
+		t.nomi[id] = nome;
+		CELLE.setRelease(t.celle, cella, id + 1);
+		dimensione = id + 1;
+
+		return primo + id;
+	}
+
+
+	/**
+	 * Metodo che dato un identificativo ritorna il nome associato
+	 * @param id l'identificativo del nome
+	 * @return il nome associato all'identificativo
+	 */
+	public String getNome(int id)
+	{
+		if (id >= 0 && id < primo)
+			return base.getNome(id);
+
+		String[] nomi = tabella.nomi;
+		int i = id - primo;
+
+		if (i < 0 || i >= nomi.length || nomi[i] == null)
+			throw new IndexOutOfBoundsException("Identificativo non valido: " + id);
+
+		return nomi[i];
+	}
+
+
+	/**
+	 * Metodo che ritorna il numero di nomi presenti (compresi quelli della base)
+	 * @return il numero di nomi presenti
+	 */
+	public int size()
+	{
+		return primo + dimensione;
+	}
+}
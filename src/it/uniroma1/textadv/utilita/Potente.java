@@ -1,12 +1,12 @@
-package it.uniroma1.textadv.utilita;
-
-/**
- * Interfaccia segna posto utile ad indicare che un oggetto ha la potenzialit
- * di rompere un altro oggetto
- * 
- * @author Gabriele
- *
- */
-public interface Potente {
-
-}
+package it.uniroma1.textadv.utilita;
+
+/**
+ * Interfaccia segna posto utile ad indicare che un oggetto ha la potenzialità
+ * di rompere un altro oggetto
+ * 
+ * @author Gabriele
+ *
+ */
+public interface Potente {
+
+}
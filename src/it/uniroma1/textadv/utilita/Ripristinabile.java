@@ -0,0 +1,38 @@
+package it.uniroma1.textadv.utilita;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Interfaccia che modella la capacità di un'istanza di salvare il proprio stato (ES: aperta, rotta, accesa)
+ * in un intero, e di ripristinarlo in seguito (vedi {@link it.uniroma1.textadv.Istantanea})
+ *
+ * @author Gabriele
+ *
+ */
+public interface Ripristinabile
+{
+
+	/**
+	 * Metodo che ritorna lo stato corrente dell'istanza, codificato in un intero
+	 * @return lo stato codificato dell'istanza
+	 */
+	int getStatoSalvabile();
+
+	/**
+	 * Metodo per ripristinare uno stato ritornato in precedenza da {@link #getStatoSalvabile()}
+	 * @param stato lo stato codificato da ripristinare
+	 */
+	void ripristinaStato(int stato);
+
+	/**
+	 * Metodo che ritorna le entità create dall'istanza stessa, che non sono nel mondo ma possono
+	 * comparirvi durante la partita (ES: i soldi dispersi da un salvadanaio rotto)
+	 * @return le entità create dall'istanza (di default nessuna)
+	 */
+	default List<Target> getEntitaCreate()
+	{
+		return Collections.emptyList();
+	}
+
+}
@@ -0,0 +1,86 @@
+package it.uniroma1.textadv.utilita;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+
+/**
+ * Classe di utilità che sostituisce un file con un nuovo contenuto in modo atomico: il contenuto viene
+ * scritto in un file temporaneo nella stessa cartella, che poi viene spostato al posto del file.
+ * In questo modo chi sta leggendo il file in quel momento non vede mai un file scritto a metà.
+ *
+ * Viene usata per salvare le forme compilate dei mondi e degli script.
+ *
+ * @author Gabriele
+ *
+ */
+public final class ScritturaAtomica
+{
+	/**
+	 * Interfaccia che modella la scrittura del contenuto di un file
+	 *
+	 * @author Gabriele
+	 */
+	@FunctionalInterface
+	public interface Contenuto
+	{
+		/**
+		 * Metodo che scrive il contenuto
+		 * @param out lo stream del file
+		 *
+		 * @throws IOException sollevata se non è possibile scrivere il contenuto
+		 */
+		void scrivi(OutputStream out) throws IOException;
+	}
+
+
+	/**
+	 * Costruttore privato: la classe ha solo metodi statici
+	 */
+	private ScritturaAtomica()
+	{
+	}
+
+
+	/**
+	 * Metodo che sostituisce il file dato con il contenuto dato.
+	 * Se la scrittura o lo spostamento falliscono il file non viene modificato,
+	 * e il file temporaneo viene eliminato.
+	 *
+	 * @param file il file da sostituire
+	 * @param contenuto la scrittura del nuovo contenuto
+	 * @return true se il file è stato sostituito, false se non è stato possibile (ES: cartella in sola lettura,
+	 * 		oppure file system che non supporta lo spostamento atomico)
+	 */
+	public static boolean scrivi(Path file, Contenuto contenuto)
+	{
+		try
+		{
+			Path temporaneo = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+
+			try
+			{
+				try (OutputStream out = Files.newOutputStream(temporaneo))
+				{
+					contenuto.scrivi(out);
+				}
+
+				Files.move(temporaneo, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			}
+			finally
+			{
+				// Dopo lo spostamento non c'è più niente da eliminare
+				Files.deleteIfExists(temporaneo);
+			}
+
+			return true;
+		}
+		catch (IOException | UnsupportedOperationException e)
+		{
+			return false;
+		}
+	}
+}
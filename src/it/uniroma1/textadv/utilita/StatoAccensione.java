@@ -1,12 +1,12 @@
-package it.uniroma1.textadv.utilita;
-
-/**
- * Enumerazione che modella lo stato di accensione degli oggetti
- * 
- * @author Gabriele
- *
- */
-public enum StatoAccensione 
-{
-	ACCESO, SPENTO
-}
+package it.uniroma1.textadv.utilita;
+
+/**
+ * Enumerazione che modella lo stato di accensione degli oggetti
+ * 
+ * @author Gabriele
+ *
+ */
+public enum StatoAccensione 
+{
+	ACCESO, SPENTO
+}
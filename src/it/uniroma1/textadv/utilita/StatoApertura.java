@@ -1,12 +1,12 @@
-package it.uniroma1.textadv.utilita;
-
-/**
- * Enumerazione che modella lo stato di apertura degli oggetti
- * 
- * @author Gabriele
- *
- */
-public enum StatoApertura 
-{
-	CHIUSO, APERTO
-}
+package it.uniroma1.textadv.utilita;
+
+/**
+ * Enumerazione che modella lo stato di apertura degli oggetti
+ * 
+ * @author Gabriele
+ *
+ */
+public enum StatoApertura 
+{
+	CHIUSO, APERTO
+}
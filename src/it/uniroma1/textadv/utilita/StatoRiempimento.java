@@ -1,12 +1,12 @@
-package it.uniroma1.textadv.utilita;
-
-/**
- * Enumerazione che modella lo stato di riempimento di oggetti in grado di ospitare qualcosa
- * 
- * @author Gabriele
- *
- */
-public enum StatoRiempimento 
-{ 
-	PIENO, VUOTO
+package it.uniroma1.textadv.utilita;
+
+/**
+ * Enumerazione che modella lo stato di riempimento di oggetti in grado di ospitare qualcosa
+ * 
+ * @author Gabriele
+ *
+ */
+public enum StatoRiempimento 
+{ 
+	PIENO, VUOTO
 }
\ No newline at end of file
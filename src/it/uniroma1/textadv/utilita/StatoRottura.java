@@ -1,13 +1,13 @@
-package it.uniroma1.textadv.utilita;
-
-
-/**
- * Enumerazione che modella lo stato di rottura degli oggetti
- * 
- * @author Gabriele
- *
- */
-public enum StatoRottura 
-{
-	INTERO, ROTTO
-}
+package it.uniroma1.textadv.utilita;
+
+
+/**
+ * Enumerazione che modella lo stato di rottura degli oggetti
+ * 
+ * @author Gabriele
+ *
+ */
+public enum StatoRottura 
+{
+	INTERO, ROTTO
+}
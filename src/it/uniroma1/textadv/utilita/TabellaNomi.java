@@ -0,0 +1,220 @@
+package it.uniroma1.textadv.utilita;
+
+import java.util.Arrays;
+
+/**
+ * Classe che associa ad ogni nome un identificativo intero denso (0, 1, 2, ...).
+ *
+ * A differenza di una normale mappa, la ricerca può essere fatta con una qualsiasi
+ * {@link CharSequence} (ad esempio una porzione della linea digitata dal giocatore)
+ * senza dover prima creare una nuova stringa: in questo modo le ricerche non allocano memoria.
+ *
+ * @author Gabriele
+ *
+ */
+public class TabellaNomi
+{
+	/**
+	 * Valore restituito dalla ricerca quando il nome non è presente
+	 */
+	public final static int NON_PRESENTE = -1;
+
+	/**
+	 * Capacità iniziale della tabella
+	 */
+	private final static int CAPACITA_INIZIALE = 16;
+
+	/**
+	 * I nomi presenti nella tabella, in posizione id
+	 */
+	private String[] nomi;
+
+	/**
+	 * La tabella hash ad indirizzamento aperto.
+	 * Ogni cella contiene (id + 1) del nome, oppure 0 se è vuota
+	 */
+	private int[] celle;
+
+	/**
+	 * Il numero di nomi presenti nella tabella
+	 */
+	private int dimensione;
+
+
+	/**
+	 * Costruttore di una tabella vuota
+	 */
+	public TabellaNomi()
+	{
+		nomi = new String[CAPACITA_INIZIALE];
+		celle = new int[CAPACITA_INIZIALE * 2];
+	}
+
+
+	/**
+	 * Costruttore di una tabella che contiene già i nomi dati
+	 * @param nomi i nomi da inserire nella tabella
+	 */
+	public TabellaNomi(String... nomi)
+	{
+		this();
+
+		for (String nome : nomi)
+			aggiungi(nome);
+	}
+
+
+	/**
+	 * Metodo che calcola l'hash di una sequenza di caratteri.
+	 * Coincide con String.hashCode(), così per le stringhe si può usare l'hash già calcolato.
+	 *
+	 * @param seq la sequenza di caratteri
+	 * @return l'hash della sequenza
+	 */
+	static int hash(CharSequence seq)
+	{
+		if (seq instanceof String)
+			return seq.hashCode();
+
+		int h = 0;
+		for (int i = 0; i < seq.length(); i++)
+			h = 31 * h + seq.charAt(i);
+
+		return h;
+	}
+
+
+	/**
+	 * Metodo che verifica se una sequenza di caratteri coincide con una stringa
+	 */
+	static boolean uguali(String nome, CharSequence seq)
+	{
+		// Spesso la stringa cercata è proprio quella nella tabella: in tal caso non leggo i caratteri
+		if (nome == seq)
+			return true;
+
+		if (nome.length() != seq.length())
+			return false;
+
+		for (int i = 0; i < nome.length(); i++)
+			if (nome.charAt(i) != seq.charAt(i))
+				return false;
+
+		return true;
+	}
+
+
+	/**
+	 * Metodo che mescola i bit alti di un hash con quelli bassi
+	 */
+	static int mescola(int h)
+	{
+		return h ^ (h >>> 16);
+	}
+
+
+	/**
+	 * Metodo che ritorna la cella in cui si trova il nome, oppure la cella vuota in cui andrebbe inserito
+	 */
+	private int cerca(CharSequence nome, int h)
+	{
+		int maschera = celle.length - 1;
+
+		// Mescolo i bit alti dell'hash con quelli bassi, per distribuire meglio i nomi
+		int i = mescola(h) & maschera;
+
+		while (celle[i] != 0 && !uguali(nomi[celle[i] - 1], nome))
+			i = (i + 1) & maschera;
+
+		return i;
+	}
+
+
+	/**
+	 * Metodo che dato un nome, ne ritorna l'identificativo
+	 * @param nome il nome da cercare
+	 * @return l'identificativo del nome, oppure NON_PRESENTE se il nome non è nella tabella
+	 */
+	public int getId(CharSequence nome)
+	{
+		return celle[cerca(nome, hash(nome))] - 1;
+	}
+
+
+	/**
+	 * Metodo che verifica se un nome è presente nella tabella
+	 * @param nome il nome da cercare
+	 * @return true se è presente, false altrimenti
+	 */
+	public boolean contains(CharSequence nome)
+	{
+		return getId(nome) != NON_PRESENTE;
+	}
+
+
+	/**
+	 * Metodo che aggiunge un nome alla tabella (se non è già presente)
+	 * @param nome il nome da aggiungere
+	 * @return l'identificativo associato al nome
+	 */
+	public int aggiungi(CharSequence nome)
+	{
+		int h = hash(nome);
+		int cella = cerca(nome, h);
+
+		// Se il nome è già presente ne ritorno l'identificativo
+		if (celle[cella] != 0)
+			return celle[cella] - 1;
+
+		// Se la tabella è troppo piena la ingrandisco e ricalcolo la cella
+		if (dimensione == nomi.length)
+		{
+			ingrandisci();
+			cella = cerca(nome, h);
+		}
+
+		nomi[dimensione] = nome.toString();
+		celle[cella] = ++dimensione;
+
+		return dimensione - 1;
+	}
+
+
+	/**
+	 * Metodo che raddoppia la capacità della tabella
+	 */
+	private void ingrandisci()
+	{
+		nomi = Arrays.copyOf(nomi, nomi.length * 2);
+		celle = new int[nomi.length * 2];
+
+		// Reinserisco tutti i nomi nella nuova tabella
+		for (int id = 0; id < dimensione; id++)
+			celle[cerca(nomi[id], nomi[id].hashCode())] = id + 1;
+	}
+
+
+	/**
+	 * Metodo che dato un identificativo ritorna il nome associato
+	 * @param id l'identificativo del nome
+	 * @return il nome associato all'identificativo
+	 */
+	public String getNome(int id)
+	{
+		if (id < 0 || id >= dimensione)
+			throw new IndexOutOfBoundsException("Identificativo non valido: " + id);
+
+		return nomi[id];
+	}
+
+
+	/**
+	 * Metodo che ritorna il numero di nomi presenti nella tabella
+	 * @return il numero di nomi presenti nella tabella
+	 */
+	public int size()
+	{
+		return dimensione;
+	}
+
+}
@@ -1,11 +1,24 @@
-package it.uniroma1.textadv.utilita;
-
-/**
- * Interfaccia segna posto che indica che un'istanza pu essere un target di un'altra
- * 
- * @author Gabriele
- *
- */
-public interface Target {
-
-}
+package it.uniroma1.textadv.utilita;
+
+/**
+ * Interfaccia che indica che un'istanza può essere un target di un'altra.
+ * Ogni target ha un nome e un insieme di {@link Capacita}, calcolato quando viene creato
+ * 
+ * @author Gabriele
+ *
+ */
+public interface Target {
+
+	/**
+	 * Metodo che ritorna il nome del target
+	 * @return il nome del target
+	 */
+	String getName();
+	
+	
+	/**
+	 * Metodo che ritorna l'insieme delle capacità del target (vedi {@link Capacita#bit()})
+	 * @return l'insieme delle capacità del target
+	 */
+	int getCapacita();
+}